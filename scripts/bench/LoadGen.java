@@ -0,0 +1,97 @@
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Minimal closed-loop HTTP load generator (no external tools needed).
+ *
+ * <pre>
+ * java scripts/bench/LoadGen.java &lt;url&gt; [concurrency=32] [warmupSeconds=10] [seconds=30]
+ * </pre>
+ *
+ * Every worker sends GET requests back-to-back; the warm-up window is discarded and the
+ * measured window reports throughput and latency percentiles.
+ */
+public class LoadGen {
+
+    public static void main(String[] args) throws Exception {
+        URI uri = URI.create(args[0]);
+        int concurrency = args.length > 1 ? Integer.parseInt(args[1]) : 32;
+        int warmup = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+        int seconds = args.length > 3 ? Integer.parseInt(args[3]) : 30;
+
+        HttpClient client = HttpClient.newBuilder()
+                .executor(Executors.newFixedThreadPool(concurrency))
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+        HttpRequest request = HttpRequest.newBuilder(uri).GET().build();
+
+        run(client, request, concurrency, warmup);
+        Result result = run(client, request, concurrency, seconds);
+
+        long[] lat = result.latenciesMicros;
+        Arrays.sort(lat);
+        System.out.printf("requests=%d errors=%d throughput=%.0f req/s p50=%.2fms p90=%.2fms p99=%.2fms%n",
+                lat.length, result.errors, lat.length / (double) seconds,
+                pct(lat, 0.50) / 1000.0, pct(lat, 0.90) / 1000.0, pct(lat, 0.99) / 1000.0);
+        System.exit(0);
+    }
+
+    private static Result run(HttpClient client, HttpRequest request, int concurrency, int seconds) throws Exception {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        ExecutorService workers = Executors.newFixedThreadPool(concurrency);
+        List<Future<Result>> futures = new ArrayList<>();
+        for (int i = 0; i < concurrency; i++) {
+            futures.add(workers.submit(() -> {
+                long[] buf = new long[1 << 16];
+                int n = 0;
+                long errors = 0;
+                while (System.nanoTime() < deadline) {
+                    long start = System.nanoTime();
+                    try {
+                        HttpResponse<Void> response = client.send(request, HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() >= 400) {
+                            errors++;
+                            continue;
+                        }
+                    } catch (Exception e) {
+                        errors++;
+                        continue;
+                    }
+                    if (n == buf.length) {
+                        buf = Arrays.copyOf(buf, n * 2);
+                    }
+                    buf[n++] = (System.nanoTime() - start) / 1000;
+                }
+                return new Result(Arrays.copyOf(buf, n), errors);
+            }));
+        }
+        long[] all = new long[0];
+        long errors = 0;
+        for (Future<Result> f : futures) {
+            Result r = f.get();
+            int offset = all.length;
+            all = Arrays.copyOf(all, offset + r.latenciesMicros.length);
+            System.arraycopy(r.latenciesMicros, 0, all, offset, r.latenciesMicros.length);
+            errors += r.errors;
+        }
+        workers.shutdown();
+        return new Result(all, errors);
+    }
+
+    private static long pct(long[] sorted, double p) {
+        return sorted.length == 0 ? 0 : sorted[Math.min(sorted.length - 1, (int) (sorted.length * p))];
+    }
+
+    private record Result(long[] latenciesMicros, long errors) {
+    }
+}
@@ -0,0 +1,114 @@
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.net.URI;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Holds thousands of concurrent slow readers against the API and samples what they cost the server.
+ *
+ * <pre>
+ * java scripts/bench/SlowClients.java &lt;url&gt; &lt;serverPid&gt; [clients=2000] [bytesPerSecond=512] [seconds=60] [dbPort=5544]
+ * </pre>
+ *
+ * Every client opens its own connection, sends one GET and then reads the response at the
+ * given rate, so the server has to keep each request open for a long time. Once per second the
+ * tool prints the server's live thread count ({@code /proc/<pid>/status}) and the number of
+ * established TCP connections to the database port ({@code /proc/net/tcp*}), together with the
+ * client-side connected / completed / failed counts.
+ *
+ * Run it once against the servlet application and once against
+ * {@code ReactiveBookShopApplication}, with the same data, and compare the two series. Raise
+ * {@code ulimit -n} first; each client holds one file descriptor on both sides.
+ */
+public class SlowClients {
+
+    public static void main(String[] args) throws Exception {
+        URI uri = URI.create(args[0]);
+        long pid = Long.parseLong(args[1]);
+        int clients = args.length > 2 ? Integer.parseInt(args[2]) : 2000;
+        int bytesPerSecond = args.length > 3 ? Integer.parseInt(args[3]) : 512;
+        int seconds = args.length > 4 ? Integer.parseInt(args[4]) : 60;
+        int dbPort = args.length > 5 ? Integer.parseInt(args[5]) : 5544;
+
+        AtomicInteger connected = new AtomicInteger();
+        AtomicInteger completed = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+        AtomicLong bytes = new AtomicLong();
+        long deadline = System.nanoTime() + seconds * 1_000_000_000L;
+        CountDownLatch done = new CountDownLatch(clients);
+
+        for (int i = 0; i < clients; i++) {
+            Thread t = new Thread(() -> {
+                try (Socket socket = new Socket()) {
+                    socket.setReceiveBufferSize(1024); // keep the kernel from buffering the whole body for us
+                    socket.connect(new InetSocketAddress(uri.getHost(), uri.getPort()), 10_000);
+                    connected.incrementAndGet();
+                    OutputStream out = socket.getOutputStream();
+                    String path = uri.getRawPath() + (uri.getRawQuery() == null ? "" : "?" + uri.getRawQuery());
+                    out.write(("GET " + path + " HTTP/1.1\r\nHost: " + uri.getHost()
+                            + "\r\nAccept: " + System.getProperty("accept", "application/json")
+                            + "\r\nConnection: close\r\n\r\n").getBytes(StandardCharsets.US_ASCII));
+                    out.flush();
+                    InputStream in = socket.getInputStream();
+                    byte[] chunk = new byte[Math.max(1, bytesPerSecond / 10)];
+                    int n;
+                    while (System.nanoTime() < deadline && (n = in.read(chunk)) > 0) {
+                        bytes.addAndGet(n);
+                        Thread.sleep(100);
+                    }
+                    completed.incrementAndGet();
+                } catch (Exception e) {
+                    failed.incrementAndGet();
+                } finally {
+                    done.countDown();
+                }
+            });
+            t.setDaemon(true);
+            t.start();
+        }
+
+        System.out.println("t(s)  server-threads  db-connections  connected  completed  failed  bytes-read");
+        for (int s = 0; s <= seconds && done.getCount() > 0; s++) {
+            System.out.printf("%4d  %14d  %14d  %9d  %9d  %6d  %10d%n",
+                    s, serverThreads(pid), establishedTo(dbPort), connected.get(), completed.get(), failed.get(), bytes.get());
+            Thread.sleep(1000);
+        }
+        System.exit(0);
+    }
+
+    private static long serverThreads(long pid) throws Exception {
+        for (String line : Files.readAllLines(Path.of("/proc/" + pid + "/status"))) {
+            if (line.startsWith("Threads:")) {
+                return Long.parseLong(line.substring("Threads:".length()).trim());
+            }
+        }
+        return -1;
+    }
+
+    /** Established TCP connections whose remote port is {@code port} (IPv4 and IPv6 tables). */
+    private static long establishedTo(int port) throws Exception {
+        String hexPort = String.format(":%04X", port);
+        long count = 0;
+        for (String table : List.of("/proc/net/tcp", "/proc/net/tcp6")) {
+            Path path = Path.of(table);
+            if (!Files.exists(path)) {
+                continue;
+            }
+            for (String line : Files.readAllLines(path)) {
+                String[] cols = line.trim().split("\\s+");
+                if (cols.length > 3 && cols[2].endsWith(hexPort) && cols[3].equals("01")) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+}
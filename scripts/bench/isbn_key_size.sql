@@ -0,0 +1,52 @@
+-- Index and table size: VARCHAR ISBN key (pre-V4, hyphenated) versus BIGINT key, on PostgreSQL.
+--
+-- Run against a scratch database:   psql -d scratch -f scripts/bench/isbn_key_size.sql
+-- :rows below is the catalogue size; the ISBNs are synthetic but correctly shaped.
+
+\set rows 1000000
+
+DROP TABLE IF EXISTS bench_books_string;
+DROP TABLE IF EXISTS bench_books_numeric;
+
+CREATE TABLE bench_books_string (
+    isbn      VARCHAR(255) PRIMARY KEY,
+    title     VARCHAR(255),
+    author_id BIGINT
+);
+
+CREATE TABLE bench_books_numeric (
+    isbn      BIGINT PRIMARY KEY,
+    title     VARCHAR(255),
+    author_id BIGINT
+);
+
+-- 978 + 9-digit sequence + one digit standing in for the check digit; sizes do not depend on it.
+INSERT INTO bench_books_numeric
+SELECT 9780000000000 + g * 10 + (g % 10), 'title-' || g, g % 1000
+FROM generate_series(1, :rows) AS g;
+
+INSERT INTO bench_books_string
+SELECT substr(isbn::text, 1, 3) || '-' || substr(isbn::text, 4, 1) || '-' || substr(isbn::text, 5, 2) || '-'
+           || substr(isbn::text, 7, 6) || '-' || substr(isbn::text, 13, 1),
+       title, author_id
+FROM bench_books_numeric;
+
+CREATE INDEX bench_books_string_author ON bench_books_string (author_id);
+CREATE INDEX bench_books_numeric_author ON bench_books_numeric (author_id);
+CREATE INDEX bench_books_string_title ON bench_books_string (title, isbn);
+CREATE INDEX bench_books_numeric_title ON bench_books_numeric (title, isbn);
+
+VACUUM ANALYZE bench_books_string;
+VACUUM ANALYZE bench_books_numeric;
+
+SELECT relname                                                          AS relation,
+       pg_size_pretty(pg_relation_size(relid))                          AS heap,
+       pg_size_pretty(pg_relation_size((relname || '_pkey')::regclass)) AS primary_key,
+       pg_size_pretty(pg_indexes_size(relid))                           AS all_indexes
+FROM pg_stat_user_tables
+WHERE relname IN ('bench_books_string', 'bench_books_numeric')
+ORDER BY relname;
+
+-- Point-lookup latency: compare "Execution Time" of the two plans (run each a few times).
+EXPLAIN (ANALYZE, BUFFERS) SELECT title FROM bench_books_string WHERE isbn = '978-0-00-012345-5';
+EXPLAIN (ANALYZE, BUFFERS) SELECT title FROM bench_books_numeric WHERE isbn = 9780000123455;
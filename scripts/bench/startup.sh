@@ -0,0 +1,90 @@
+#!/usr/bin/env bash
+# Startup benchmark: time-to-first-successful-request and RSS at that moment.
+#
+# Build first:   mvn -Pfast-startup -DskipTests package
+#                mvn -Pnative -DskipTests native:compile      (optional, for the native mode)
+# Then run:      scripts/bench/startup.sh [runs]
+#
+# Modes measured:
+#   jvm       plain `java -jar target/<app>.jar`
+#   aot-cds   extracted jar + AOT initializers + AppCDS archive (target/cds)
+#   native    GraalVM executable target/bookShop (skipped when not built)
+#
+# With THROUGHPUT=1 each mode additionally gets one steady-state run: LoadGen.java drives
+# GET /books for LOAD_SECONDS after a warm-up, then RSS is sampled again under load.
+#
+# Each run uses the self-contained `training` profile (in-memory H2), so the
+# numbers compare JVM/Spring bootstrap cost and not database latency.
+set -euo pipefail
+
+RUNS="${1:-5}"
+PORT="${PORT:-18080}"
+PROFILE="${PROFILE:-training}"
+URL="http://localhost:${PORT}/books?size=1"
+ROOT="$(cd "$(dirname "$0")/../.." && pwd)"
+JAR_NAME="bookShop-0.0.1-SNAPSHOT.jar"
+
+now_ms() { date +%s%3N; }
+
+rss_kb() { awk '/VmRSS/ {print $2}' "/proc/$1/status" 2>/dev/null || echo 0; }
+
+# start_app <workdir> <command...>  -> sets APP_PID, blocks until the first successful request.
+# Port and profile go in as Spring arguments: after `-jar x.jar` a -D option would be a program
+# argument, which Spring ignores.
+start_app() {
+  local dir="$1"; shift
+  (cd "$dir" && exec "$@" --server.port="$PORT" --spring.profiles.active="$PROFILE" >/dev/null 2>&1) &
+  APP_PID=$!
+  until curl -fs -o /dev/null "$URL"; do
+    if ! kill -0 "$APP_PID" 2>/dev/null; then echo "process exited before becoming ready" >&2; exit 1; fi
+    sleep 0.02
+  done
+}
+
+stop_app() { kill "$APP_PID"; wait "$APP_PID" 2>/dev/null || true; }
+
+# run_once <workdir> <command...>  -> prints "<millis> <rss_kb>"
+run_once() {
+  local start ms rss
+  start=$(now_ms)
+  start_app "$@"
+  ms=$(( $(now_ms) - start ))
+  rss=$(rss_kb "$APP_PID")
+  stop_app
+  echo "$ms $rss"
+}
+
+# steady_state <workdir> <command...>  -> prints LoadGen summary and RSS under load
+steady_state() {
+  start_app "$@"
+  java "$ROOT/scripts/bench/LoadGen.java" "$URL" "${LOAD_CONCURRENCY:-32}" "${WARMUP_SECONDS:-20}" "${LOAD_SECONDS:-30}"
+  echo "          rss-after-load(MB)=$(( $(rss_kb "$APP_PID") / 1024 ))"
+  stop_app
+}
+
+median() { sort -n | awk '{a[NR]=$1} END {print a[int((NR+1)/2)]}'; }
+
+bench() {
+  local label="$1"; shift
+  local times="" rss=""
+  for _ in $(seq "$RUNS"); do
+    read -r t r < <(run_once "$@")
+    times+="$t"$'\n'; rss+="$r"$'\n'
+  done
+  printf '%-8s  first-request(ms) median=%-6s  rss(MB) median=%s\n' "$label" \
+    "$(printf '%s' "$times" | median)" \
+    "$(( $(printf '%s' "$rss" | median) / 1024 ))"
+  if [[ "${THROUGHPUT:-0}" == 1 ]]; then
+    printf '%-8s  ' "$label"
+    steady_state "$@"
+  fi
+}
+
+[[ -f "$ROOT/target/$JAR_NAME" ]] || { echo "missing target/$JAR_NAME; run mvn -Pfast-startup package" >&2; exit 1; }
+[[ -f "$ROOT/target/cds/application.jsa" ]] || { echo "missing target/cds/application.jsa; build with -Pfast-startup" >&2; exit 1; }
+
+bench jvm     "$ROOT/target"     java -jar "$JAR_NAME"
+bench aot-cds "$ROOT/target/cds" java -XX:SharedArchiveFile=application.jsa -Dspring.aot.enabled=true -jar "$JAR_NAME"
+if [[ -x "$ROOT/target/bookShop" ]]; then
+  bench native "$ROOT/target" ./bookShop
+fi
@@ -2,7 +2,16 @@ package com.govind.bookshop;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.boot.SpringApplication;
+import org.springframework.boot.autoconfigure.AutoConfigurationExcludeFilter;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
+import org.springframework.boot.autoconfigure.data.r2dbc.R2dbcDataAutoConfiguration;
+import org.springframework.boot.autoconfigure.data.r2dbc.R2dbcRepositoriesAutoConfiguration;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcAutoConfiguration;
+import org.springframework.boot.autoconfigure.r2dbc.R2dbcTransactionManagerAutoConfiguration;
+import org.springframework.boot.context.TypeExcludeFilter;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.FilterType;
+import org.springframework.context.annotation.PropertySource;
 
 import java.util.TimeZone;
 
@@ -12,9 +21,28 @@ import java.util.TimeZone;
  * <p>Sets the default JVM timezone to {@code Asia/Kolkata} to make date/time
  * handling predictable across environments. Adjust to your deployment region
  * or consider using UTC and formatting at the edges.</p>
+ *
+ * <p>The reactive variant ({@code com.govind.bookshop.reactive}) is a separate
+ * application with its own entry point, so it is excluded from scanning here,
+ * together with the R2DBC auto-configuration it brings onto the classpath.
+ * The filters below repeat the ones {@code @SpringBootApplication} declares,
+ * since a local {@code @ComponentScan} replaces them. Settings that only make sense
+ * here, such as health groups naming servlet-only indicators, live in
+ * {@code servlet.properties}.</p>
  */
 @Slf4j
-@SpringBootApplication
+@SpringBootApplication(exclude = {
+		R2dbcAutoConfiguration.class,
+		R2dbcTransactionManagerAutoConfiguration.class,
+		R2dbcDataAutoConfiguration.class,
+		R2dbcRepositoriesAutoConfiguration.class
+})
+@ComponentScan(excludeFilters = {
+		@ComponentScan.Filter(type = FilterType.CUSTOM, classes = TypeExcludeFilter.class),
+		@ComponentScan.Filter(type = FilterType.CUSTOM, classes = AutoConfigurationExcludeFilter.class),
+		@ComponentScan.Filter(type = FilterType.REGEX, pattern = "com\\.govind\\.bookshop\\.reactive\\..*")
+})
+@PropertySource("classpath:servlet.properties")
 public class BookShopApplication {
 
 	public static void main(String[] args) {
@@ -23,4 +51,4 @@ public class BookShopApplication {
 
 		SpringApplication.run(BookShopApplication.class, args);
 	}
-}
\ No newline at end of file
+}
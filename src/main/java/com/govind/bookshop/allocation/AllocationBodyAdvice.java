@@ -0,0 +1,36 @@
+package com.govind.bookshop.allocation;
+
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Marks the start of response serialization: MVC calls this right before handing the body
+ * to a message converter.
+ */
+@ControllerAdvice
+public class AllocationBodyAdvice implements ResponseBodyAdvice<Object> {
+
+    private final AllocationTracker tracker;
+
+    public AllocationBodyAdvice(AllocationTracker tracker) {
+        this.tracker = tracker;
+    }
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return tracker.isEnabled();
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        tracker.serializationStarting();
+        return body;
+    }
+}
@@ -0,0 +1,41 @@
+package com.govind.bookshop.allocation;
+
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Carries a request's allocation recording onto the worker thread that runs its
+ * {@code Callable}, and hands it back to {@link AllocationFilter} for the async dispatch.
+ */
+class AllocationCallableInterceptor implements CallableProcessingInterceptor {
+
+    private final AllocationTracker tracker;
+
+    AllocationCallableInterceptor(AllocationTracker tracker) {
+        this.tracker = tracker;
+    }
+
+    @Override
+    public <T> void preProcess(NativeWebRequest request, Callable<T> task) {
+        AllocationTracker.Recording recording = recording(request);
+        if (recording != null) {
+            tracker.resume(recording, true);
+        }
+    }
+
+    @Override
+    public <T> void postProcess(NativeWebRequest request, Callable<T> task, Object concurrentResult) {
+        AllocationTracker.Recording recording = recording(request);
+        if (recording != null) {
+            tracker.suspend(recording);
+        }
+    }
+
+    private static AllocationTracker.Recording recording(NativeWebRequest request) {
+        return request.getAttribute(AllocationFilter.ATTRIBUTE, RequestAttributes.SCOPE_REQUEST)
+                instanceof AllocationTracker.Recording recording ? recording : null;
+    }
+}
@@ -0,0 +1,36 @@
+package com.govind.bookshop.allocation;
+
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Registers {@link AllocationFilter} ahead of every other filter, so a request's figures
+ * include all the work done on its behalf, and {@link AllocationCallableInterceptor} to follow
+ * {@code Callable} handlers onto their worker thread.
+ */
+@Configuration(proxyBeanMethods = false)
+public class AllocationConfig implements WebMvcConfigurer {
+
+    private final AllocationTracker tracker;
+
+    public AllocationConfig(AllocationTracker tracker) {
+        this.tracker = tracker;
+    }
+
+    @Bean
+    public FilterRegistrationBean<AllocationFilter> allocationFilter() {
+        FilterRegistrationBean<AllocationFilter> registration = new FilterRegistrationBean<>(new AllocationFilter(tracker));
+        registration.addUrlPatterns("/*");
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE);
+        return registration;
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.registerCallableInterceptors(new AllocationCallableInterceptor(tracker));
+    }
+}
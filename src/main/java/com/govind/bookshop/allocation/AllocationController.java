@@ -0,0 +1,51 @@
+package com.govind.bookshop.allocation;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Allocation summary for debugging GC pressure.
+ *
+ * <p>Endpoints:
+ * <ul>
+ *   <li>GET    /debug/allocations – mean bytes per request by route, page size and phase</li>
+ *   <li>DELETE /debug/allocations – start the means afresh (e.g. before a load test)</li>
+ * </ul>
+ *
+ * <p>The endpoints are unauthenticated, so they exist only with
+ * {@code bookshop.allocations.debug.enabled=true} (off by default); the figures are published
+ * as metrics either way.</p>
+ */
+@RestController
+@ConditionalOnProperty(name = "bookshop.allocations.debug.enabled", havingValue = "true")
+public class AllocationController {
+
+    private final AllocationTracker tracker;
+
+    public AllocationController(AllocationTracker tracker) {
+        this.tracker = tracker;
+    }
+
+    /**
+     * @return routes by mean bytes allocated per request, highest first (200), or 404 when
+     *         tracking is off or unsupported by the JVM
+     */
+    @GetMapping("/debug/allocations")
+    public ResponseEntity<List<AllocationTracker.RouteAllocations>> allocations() {
+        if (!tracker.isEnabled()) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(tracker.summary());
+    }
+
+    @DeleteMapping("/debug/allocations")
+    public ResponseEntity<Void> reset() {
+        tracker.reset();
+        return ResponseEntity.noContent().build();
+    }
+}
@@ -0,0 +1,91 @@
+package com.govind.bookshop.allocation;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Records each request's allocations with {@link AllocationTracker}, keyed by the matched
+ * route and the {@code size} parameter's bucket.
+ *
+ * <p>A request that goes async keeps its recording in a request attribute; the async
+ * dispatch picks it up and finishes it if a {@code Callable} ran, and drops it otherwise.</p>
+ */
+public class AllocationFilter extends OncePerRequestFilter {
+
+    static final String ATTRIBUTE = AllocationTracker.Recording.class.getName();
+
+    /** Page sizes above this share one bucket. */
+    private static final int MAX_PAGE_SIZE_BUCKET = 4096;
+
+    private final AllocationTracker tracker;
+
+    public AllocationFilter(AllocationTracker tracker) {
+        this.tracker = tracker;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        AllocationTracker.Recording recording = isAsyncDispatch(request) ? resume(request) : tracker.begin();
+        if (recording == null) {
+            chain.doFilter(request, response);
+            return;
+        }
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            if (request.isAsyncStarted()) {
+                tracker.suspend(recording);
+                request.setAttribute(ATTRIBUTE, recording);
+            } else if (isAsyncDispatch(request) && !AllocationTracker.isCallable(recording)) {
+                tracker.discard();
+            } else {
+                tracker.finish(recording, route(request), pageSizeBucket(request.getParameter("size")));
+            }
+        }
+    }
+
+    @Override
+    protected boolean shouldNotFilterAsyncDispatch() {
+        return false;
+    }
+
+    private AllocationTracker.Recording resume(HttpServletRequest request) {
+        if (request.getAttribute(ATTRIBUTE) instanceof AllocationTracker.Recording recording) {
+            tracker.resume(recording, false);
+            return recording;
+        }
+        return null;
+    }
+
+    private static String route(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return request.getMethod() + " " + (pattern != null ? pattern : "unmatched");
+    }
+
+    /** {@code "none"}, or the power of two the requested size rounds up to ({@code "32"} = 17–32). */
+    static String pageSizeBucket(String size) {
+        if (size == null || size.isBlank()) {
+            return "none";
+        }
+        int value;
+        try {
+            value = Integer.parseInt(size.trim());
+        } catch (NumberFormatException e) {
+            return "invalid";
+        }
+        if (value <= 1) {
+            return "1";
+        }
+        if (value > MAX_PAGE_SIZE_BUCKET) {
+            return ">" + MAX_PAGE_SIZE_BUCKET;
+        }
+        return Integer.toString(Integer.highestOneBit(value - 1) << 1);
+    }
+}
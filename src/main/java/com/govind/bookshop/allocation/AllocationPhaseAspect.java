@@ -0,0 +1,34 @@
+package com.govind.bookshop.allocation;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Attributes allocations inside repository and mapper calls to their {@link AllocationTracker}
+ * phase. Does nothing outside a recorded request.
+ */
+@Aspect
+@Component
+@ConditionalOnProperty(name = "bookshop.allocations.enabled", havingValue = "true", matchIfMissing = true)
+public class AllocationPhaseAspect {
+
+    private final AllocationTracker tracker;
+
+    public AllocationPhaseAspect(AllocationTracker tracker) {
+        this.tracker = tracker;
+    }
+
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..))"
+            + " || within(@org.springframework.stereotype.Repository com.govind.bookshop..*)")
+    public Object repository(ProceedingJoinPoint call) throws Throwable {
+        return tracker.inPhase(AllocationTracker.Phase.REPOSITORY, call::proceed);
+    }
+
+    @Around("execution(* com.govind.bookshop.mapper.Mapper+.*(..))")
+    public Object mapping(ProceedingJoinPoint call) throws Throwable {
+        return tracker.inPhase(AllocationTracker.Phase.MAPPING, call::proceed);
+    }
+}
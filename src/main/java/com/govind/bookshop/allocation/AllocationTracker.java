@@ -0,0 +1,253 @@
+package com.govind.bookshop.allocation;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Heap bytes allocated per request on the handling thread, by route and phase.
+ *
+ * <p>Reads HotSpot's per-thread allocation counter
+ * ({@link com.sun.management.ThreadMXBean#getCurrentThreadAllocatedBytes()}) when a request
+ * starts and ends ({@link AllocationFilter}) and around three phases:</p>
+ * <ul>
+ *   <li>{@code repository} – Spring Data repository calls ({@link AllocationPhaseAspect})</li>
+ *   <li>{@code mapping} – {@code Mapper} calls (entity ↔ DTO)</li>
+ *   <li>{@code serialization} – writing the response body with a message converter
+ *       ({@link AllocationBodyAdvice}); streamed responses written by the controller itself
+ *       count as {@code other}</li>
+ * </ul>
+ * <p>Phases do not nest: a repository call made while mapping counts as mapping.
+ * {@code other} is the rest of the request (filters, MVC, controller and service code).
+ * A handler that returns a {@code Callable} is followed onto the worker thread
+ * ({@link AllocationCallableInterceptor}) and back to the dispatch that writes its result;
+ * other async requests (long-poll, SSE) are not recorded, since they finish on threads the
+ * application owns.</p>
+ *
+ * <p>Requests are grouped by route ({@code "GET /books/{isbn}"}) and by the {@code size}
+ * parameter rounded up to a power of two, so list endpoints can be compared per page size.
+ * Metrics: summary {@code bookshop.allocation.bytes{route, page.size, phase}} (phase also
+ * {@code total}); {@code GET /debug/allocations} shows the same figures as means.
+ * Off with {@code bookshop.allocations.enabled=false}.</p>
+ */
+@Slf4j
+@Component
+public class AllocationTracker {
+
+    /** Exclusive parts of a request. */
+    public enum Phase {
+        REPOSITORY, MAPPING, SERIALIZATION, OTHER;
+
+        String tag() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    /** Mean bytes per request for one route and page-size bucket. */
+    public record RouteAllocations(String route, String pageSize, long requests, long meanBytes,
+                                   long meanRepositoryBytes, long meanMappingBytes,
+                                   long meanSerializationBytes, long meanOtherBytes, long maxBytes) {
+    }
+
+    /** One in-progress request; on one thread at a time. */
+    static final class Recording {
+        private long start;
+        private long carried;
+        private boolean callable;
+        private final long[] phaseBytes = new long[Phase.values().length];
+        private Phase open;
+        private long serializationStart = -1;
+
+        private Recording(long start) {
+            this.start = start;
+        }
+    }
+
+    private record Key(String route, String pageSize) {
+    }
+
+    private final class Stats {
+        private final LongAdder requests = new LongAdder();
+        private final LongAdder totalBytes = new LongAdder();
+        private final LongAdder[] phaseBytes = new LongAdder[Phase.values().length];
+        private final LongAccumulator maxBytes = new LongAccumulator(Math::max, 0);
+        private final DistributionSummary total;
+        private final DistributionSummary[] phases = new DistributionSummary[Phase.values().length];
+
+        private Stats(Key key) {
+            total = summary(key, "total");
+            for (Phase phase : Phase.values()) {
+                phaseBytes[phase.ordinal()] = new LongAdder();
+                phases[phase.ordinal()] = summary(key, phase.tag());
+            }
+        }
+
+        private DistributionSummary summary(Key key, String phase) {
+            return DistributionSummary.builder("bookshop.allocation.bytes")
+                    .description("Heap bytes allocated on the request thread")
+                    .baseUnit("bytes")
+                    .tag("route", key.route())
+                    .tag("page.size", key.pageSize())
+                    .tag("phase", phase)
+                    .register(registry);
+        }
+    }
+
+    private final MeterRegistry registry;
+    private final com.sun.management.ThreadMXBean threads;
+    private final boolean enabled;
+    private final ThreadLocal<Recording> current = new ThreadLocal<>();
+    private final ConcurrentHashMap<Key, Stats> stats = new ConcurrentHashMap<>();
+
+    public AllocationTracker(MeterRegistry registry,
+                             @Value("${bookshop.allocations.enabled:true}") boolean enabled) {
+        this.registry = registry;
+        this.threads = ManagementFactory.getThreadMXBean() instanceof com.sun.management.ThreadMXBean bean
+                && bean.isThreadAllocatedMemorySupported() ? bean : null;
+        if (enabled && threads == null) {
+            log.warn("Per-thread allocation counters are not available on this JVM; allocation tracking is off");
+        }
+        if (threads != null && enabled && !threads.isThreadAllocatedMemoryEnabled()) {
+            threads.setThreadAllocatedMemoryEnabled(true);
+        }
+        this.enabled = enabled && threads != null;
+    }
+
+    /** Start recording a request on this thread; {@code null} when tracking is off. */
+    Recording begin() {
+        if (!enabled) {
+            return null;
+        }
+        Recording recording = new Recording(allocatedBytes());
+        current.set(recording);
+        return recording;
+    }
+
+    /**
+     * Run {@code call}, counting its allocations towards {@code phase} unless another phase
+     * is already open on this thread.
+     */
+    <T> T inPhase(Phase phase, ThrowingSupplier<T> call) throws Throwable {
+        Recording recording = current.get();
+        if (recording == null || recording.open != null) {
+            return call.get();
+        }
+        recording.open = phase;
+        long before = allocatedBytes();
+        try {
+            return call.get();
+        } finally {
+            recording.phaseBytes[phase.ordinal()] += allocatedBytes() - before;
+            recording.open = null;
+        }
+    }
+
+    /** The response body is about to be serialized; the rest of the request counts as serialization. */
+    void serializationStarting() {
+        Recording recording = current.get();
+        if (recording != null && recording.serializationStart < 0) {
+            recording.serializationStart = allocatedBytes();
+        }
+    }
+
+    /** Stop recording without keeping the figures (e.g. the request went async). */
+    void discard() {
+        current.remove();
+    }
+
+    /** Stop recording on this thread, keeping what it allocated so far, to resume on another. */
+    void suspend(Recording recording) {
+        recording.carried += allocatedBytes() - recording.start;
+        current.remove();
+    }
+
+    /** Continue {@code recording} on this thread; {@code callable} marks the worker leg. */
+    void resume(Recording recording, boolean callable) {
+        recording.callable |= callable;
+        recording.start = allocatedBytes();
+        current.set(recording);
+    }
+
+    /** Whether a {@code Callable} ran for the request, so its work was followed. */
+    static boolean isCallable(Recording recording) {
+        return recording.callable;
+    }
+
+    /** Finish the request recorded by {@code recording} and account it to {@code route}. */
+    void finish(Recording recording, String route, String pageSize) {
+        long now = allocatedBytes();
+        current.remove();
+        long total = recording.carried + now - recording.start;
+        long[] bytes = recording.phaseBytes;
+        if (recording.serializationStart >= 0) {
+            bytes[Phase.SERIALIZATION.ordinal()] += now - recording.serializationStart;
+        }
+        bytes[Phase.OTHER.ordinal()] = Math.max(0, total - bytes[Phase.REPOSITORY.ordinal()]
+                - bytes[Phase.MAPPING.ordinal()] - bytes[Phase.SERIALIZATION.ordinal()]);
+
+        Stats figures = stats.computeIfAbsent(new Key(route, pageSize), Stats::new);
+        figures.requests.increment();
+        figures.totalBytes.add(total);
+        figures.maxBytes.accumulate(total);
+        figures.total.record(total);
+        for (Phase phase : Phase.values()) {
+            figures.phaseBytes[phase.ordinal()].add(bytes[phase.ordinal()]);
+            figures.phases[phase.ordinal()].record(bytes[phase.ordinal()]);
+        }
+    }
+
+    /** Per-route means so far, most bytes per request first. */
+    public List<RouteAllocations> summary() {
+        List<RouteAllocations> result = new ArrayList<>(stats.size());
+        stats.forEach((key, route) -> {
+            long requests = Math.max(1, route.requests.sum());
+            result.add(new RouteAllocations(key.route(), key.pageSize(), route.requests.sum(),
+                    route.totalBytes.sum() / requests,
+                    route.phaseBytes[Phase.REPOSITORY.ordinal()].sum() / requests,
+                    route.phaseBytes[Phase.MAPPING.ordinal()].sum() / requests,
+                    route.phaseBytes[Phase.SERIALIZATION.ordinal()].sum() / requests,
+                    route.phaseBytes[Phase.OTHER.ordinal()].sum() / requests,
+                    route.maxBytes.get()));
+        });
+        result.sort(Comparator.comparingLong(RouteAllocations::meanBytes).reversed());
+        return result;
+    }
+
+    /** Forget the means behind {@link #summary()}; metrics keep accumulating. */
+    public void reset() {
+        stats.values().forEach(route -> {
+            route.requests.reset();
+            route.totalBytes.reset();
+            route.maxBytes.reset();
+            for (LongAdder phase : route.phaseBytes) {
+                phase.reset();
+            }
+        });
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    private long allocatedBytes() {
+        return threads.getCurrentThreadAllocatedBytes();
+    }
+
+    /** {@link Supplier} that may throw, for advice around arbitrary calls. */
+    @FunctionalInterface
+    interface ThrowingSupplier<T> {
+        T get() throws Throwable;
+    }
+}
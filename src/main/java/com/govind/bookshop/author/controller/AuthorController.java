@@ -2,52 +2,137 @@ package com.govind.bookshop.author.controller;
 
 import com.govind.bookshop.author.domain.dto.AuthorDto;
 import com.govind.bookshop.author.domain.entity.AuthorEntity;
+import com.govind.bookshop.author.repository.JdbcAuthorReader;
+import com.govind.bookshop.idempotency.IdempotencyConfig;
+import com.govind.bookshop.idempotency.IdempotencyStore;
+import com.govind.bookshop.json.CatalogJson;
+import com.govind.bookshop.json.PageJsonWriter;
 import com.govind.bookshop.mapper.Mapper;
+import com.govind.bookshop.membership.KeyMembership;
 import com.govind.bookshop.author.service.AuthorService;
+import com.govind.bookshop.singleflight.SingleFlight;
+import com.govind.bookshop.snapshot.CatalogSnapshot;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.web.PageableDefault;
+import org.springframework.data.web.SortDefault;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
 import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.Callable;
 
 /**
  * REST controller exposing CRUD endpoints for {@link AuthorEntity}.
  *
  * <p>Endpoints:
  * <ul>
- *   <li>POST   /authors                – create author</li>
+ *   <li>POST   /authors                – create author (optional {@code Idempotency-Key})</li>
+ *   <li>POST   /authors:batch          – create many authors (batched inserts)</li>
  *   <li>GET    /authors                – list authors</li>
+ *   <li>GET    /authors/prolific       – authors by book count (paged, sortable; lean envelope
+ *       for {@value PageJsonWriter#MEDIA_TYPE})</li>
  *   <li>GET    /authors/{id}           – get author by id</li>
  *   <li>PUT    /authors/{id}           – full update (upsert not allowed)</li>
  *   <li>PATCH  /authors/{id}           – partial update</li>
  *   <li>DELETE /authors/{id}           – delete author</li>
  * </ul>
  *
- * <p>All responses use DTOs to decouple the API surface from persistence.
+ * <p>All responses use DTOs to decouple the API surface from persistence. The author list
+ * and single-author hits are served from the {@link CatalogSnapshot} once it is loaded. Ids that
+ * {@link KeyMembership} rules out get 404 on read without a query.
  */
 @RestController
 public class AuthorController {
 
+    private static final int MAX_IDEMPOTENCY_KEY_LENGTH = 255;
+
     /** Domain service containing business logic and data access. */
     private final AuthorService authorService;
 
     /** Generic mapper for converting between entity and DTO types. */
     private final Mapper<AuthorEntity, AuthorDto> mapper;
 
-    public AuthorController(AuthorService authorService, Mapper<AuthorEntity, AuthorDto> mapper) {
+    /** Collapses concurrent reads of the same author into one load. */
+    private final SingleFlight<Long, Optional<AuthorDto>> authorReads;
+
+    /** In-memory read model; consulted only once loaded. */
+    private final CatalogSnapshot snapshot;
+
+    /** Streams the lean list envelope. */
+    private final PageJsonWriter pageWriter;
+
+    /** Replays {@code POST /authors} responses for retried {@code Idempotency-Key}s. */
+    private final IdempotencyStore<ResponseEntity<AuthorDto>> authorCreates;
+
+    /** Most authors accepted by one {@code POST /authors:batch}. */
+    private final int maxCreateBatchSize;
+
+    /** Rules out author ids that do not exist before any lookup. */
+    private final KeyMembership membership;
+
+    /** Entity-free page reads straight to DTOs. */
+    private final JdbcAuthorReader authorReader;
+
+    public AuthorController(AuthorService authorService, Mapper<AuthorEntity, AuthorDto> mapper,
+                            SingleFlight<Long, Optional<AuthorDto>> authorReads, CatalogSnapshot snapshot,
+                            PageJsonWriter pageWriter,
+                            IdempotencyStore<ResponseEntity<AuthorDto>> authorCreates,
+                            @Value("${bookshop.authors.batch.max-size:5000}") int maxCreateBatchSize,
+                            KeyMembership membership, JdbcAuthorReader authorReader) {
         this.authorService = authorService;
         this.mapper = mapper;
+        this.authorReads = authorReads;
+        this.snapshot = snapshot;
+        this.pageWriter = pageWriter;
+        this.authorCreates = authorCreates;
+        this.maxCreateBatchSize = maxCreateBatchSize;
+        this.membership = membership;
+        this.authorReader = authorReader;
     }
 
     /**
      * Create a new author.
      *
-     * @param author payload (name, age); id is ignored if present
-     * @return created author with generated id and HTTP 201
+     * <p>With an {@code Idempotency-Key} header, retries of the same request return the
+     * first response (marked {@code Idempotent-Replayed: true}) instead of creating another
+     * author; see {@link IdempotencyStore}.</p>
+     *
+     * @param author         payload (name, age); id is ignored if present
+     * @param idempotencyKey optional client-chosen key, 1–255 characters
+     * @return created author with generated id and HTTP 201; 400 for an invalid key, 409 while
+     *         the first request with the key is still running, 422 if the key was used for a
+     *         different payload
      */
     @PostMapping("/authors")
-    public ResponseEntity<AuthorDto> createAuthor(@RequestBody AuthorDto author) {
+    public ResponseEntity<AuthorDto> createAuthor(@RequestBody AuthorDto author,
+                                                  @RequestHeader(name = IdempotencyConfig.HEADER, required = false)
+                                                  String idempotencyKey) {
+        if (idempotencyKey == null) {
+            return create(author);
+        }
+        if (idempotencyKey.isBlank() || idempotencyKey.length() > MAX_IDEMPOTENCY_KEY_LENGTH) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        IdempotencyStore.Result<ResponseEntity<AuthorDto>> result =
+                authorCreates.execute(idempotencyKey, author, () -> create(author));
+        if (!result.replayed()) {
+            return result.value();
+        }
+        ResponseEntity<AuthorDto> original = result.value();
+        return ResponseEntity.status(original.getStatusCode())
+                .headers(original.getHeaders())
+                .header(IdempotencyConfig.REPLAYED_HEADER, "true")
+                .body(original.getBody());
+    }
+
+    private ResponseEntity<AuthorDto> create(AuthorDto author) {
         AuthorEntity toSave = mapper.fromDto(author);
         AuthorEntity saved = authorService.save(toSave);
         // Map the SAVED entity so generated fields (e.g. id) are returned to the client.
@@ -55,15 +140,84 @@ public class AuthorController {
         return new ResponseEntity<>(body, HttpStatus.CREATED);
     }
 
+    /**
+     * Create many authors in one transaction.
+     *
+     * @param authors payloads (name, age); ids are ignored
+     * @return the created authors, with generated ids, in request order (201), or 400 when
+     *         the list is empty or longer than {@code bookshop.authors.batch.max-size}
+     */
+    @PostMapping("/authors:batch")
+    public ResponseEntity<List<AuthorDto>> createAuthors(@RequestBody List<AuthorDto> authors) {
+        if (authors.isEmpty() || authors.size() > maxCreateBatchSize) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        List<AuthorEntity> saved = authorService.createAll(authors.stream().map(mapper::fromDto).toList());
+        return new ResponseEntity<>(saved.stream().map(mapper::toDto).toList(), HttpStatus.CREATED);
+    }
+
     /**
      * List all authors.
      *
+     * <p>Runs as a {@link Callable}, so a client that disconnects mid-query cancels it.</p>
+     *
      * @return collection of authors (200 OK)
      */
     @GetMapping("/authors")
-    public List<AuthorDto> listAuthors() {
-        List<AuthorEntity> result = authorService.findAll();
-        return result.stream().map(mapper::toDto).toList();
+    public Callable<List<AuthorDto>> listAuthors() {
+        return () -> {
+            if (snapshot.isReady()) {
+                return snapshot.findAllAuthors();
+            }
+            List<AuthorEntity> result = authorService.findAll();
+            return result.stream().map(mapper::toDto).toList();
+        };
+    }
+
+    /**
+     * Page through authors, most books first by default.
+     *
+     * <p>Served by {@code idx_authors_book_count}; counts are maintained on write, so this
+     * never counts books at read time. Any other {@code sort} is accepted too.</p>
+     *
+     * @param pageable page, size and optional sort (default {@code bookCount,desc} then {@code id})
+     * @return a page of authors with {@code bookCount}
+     */
+    @GetMapping("/authors/prolific")
+    public Page<AuthorDto> listMostProlificAuthors(
+            @PageableDefault(size = 20)
+            @SortDefault.SortDefaults({
+                    @SortDefault(sort = "bookCount", direction = Sort.Direction.DESC),
+                    @SortDefault(sort = "id")
+            }) Pageable pageable) {
+        if (authorReader.isEnabled()) {
+            Optional<Page<AuthorDto>> page = authorReader.findAuthors(pageable);
+            if (page.isPresent()) {
+                return page.get();
+            }
+        }
+        return authorService.findAll(pageable).map(mapper::toDto);
+    }
+
+    /**
+     * Same page as {@link #listMostProlificAuthors(Pageable)}, streamed as the lean envelope.
+     * Read through {@link JdbcAuthorReader} when it is enabled and supports the sort.
+     */
+    @GetMapping(value = "/authors/prolific", produces = PageJsonWriter.MEDIA_TYPE)
+    public void listMostProlificAuthorsLean(
+            @PageableDefault(size = 20)
+            @SortDefault.SortDefaults({
+                    @SortDefault(sort = "bookCount", direction = Sort.Direction.DESC),
+                    @SortDefault(sort = "id")
+            }) Pageable pageable,
+            HttpServletResponse response) throws IOException {
+        Optional<Page<AuthorDto>> rows = authorReader.isEnabled() ? authorReader.findAuthors(pageable) : Optional.empty();
+        response.setContentType(PageJsonWriter.MEDIA_TYPE);
+        if (rows.isPresent()) {
+            pageWriter.write(rows.get(), CatalogJson::writeAuthor, response.getOutputStream());
+        } else {
+            pageWriter.write(authorService.findAll(pageable), CatalogJson::writeAuthor, response.getOutputStream());
+        }
     }
 
     /**
@@ -74,9 +228,18 @@ public class AuthorController {
      */
     @GetMapping("/authors/{id}")
     public ResponseEntity<AuthorDto> displayOneAuthor(@PathVariable("id") Long id) {
-        Optional<AuthorEntity> result = authorService.findOne(id);
+        if (!membership.mightContainAuthor(id)) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+        Optional<AuthorDto> result = snapshot.isReady() ? snapshot.findAuthor(id) : Optional.empty();
+        if (result.isEmpty()) {
+            result = authorReads.execute(id, () -> authorService.findOne(id).map(mapper::toDto));
+        }
+        if (result.isEmpty()) {
+            membership.authorNotFound();
+        }
         return result
-                .map(entity -> new ResponseEntity<>(mapper.toDto(entity), HttpStatus.OK))
+                .map(dto -> new ResponseEntity<>(dto, HttpStatus.OK))
                 .orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
     }
 
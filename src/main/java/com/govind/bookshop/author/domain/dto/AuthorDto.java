@@ -1,5 +1,6 @@
 package com.govind.bookshop.author.domain.dto;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Builder;
 import lombok.Data;
@@ -24,4 +25,11 @@ public class AuthorDto {
 
     /** Age of the author. */
     private Integer age;
-}
\ No newline at end of file
+
+    /**
+     * Books by this author. Read-only: reported by the author read endpoints, ignored on
+     * input, and omitted from write responses.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private Long bookCount;
+}
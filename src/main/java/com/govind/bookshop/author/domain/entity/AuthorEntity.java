@@ -21,9 +21,17 @@ import lombok.NoArgsConstructor;
 @Table(name = "authors")
 public class AuthorEntity {
 
-    /** Primary key generated by the database (AUTO_INCREMENT / IDENTITY). */
+    /** Ids per sequence call; must equal the sequence's {@code INCREMENT BY} (50 since V5). */
+    public static final int ID_BLOCK = 50;
+
+    /**
+     * Primary key from the {@code author_ids} sequence (see {@code V5__Author_id_sequence}).
+     * Hibernate reserves {@value #ID_BLOCK} ids per sequence call (pooled-lo), so inserts are
+     * not executed one by one to read back a generated key and can be batched.
+     */
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "author_ids")
+    @SequenceGenerator(name = "author_ids", sequenceName = "author_ids", allocationSize = ID_BLOCK)
     private Long id;
 
     /** Author name. */
@@ -31,4 +39,13 @@ public class AuthorEntity {
 
     /** Author age. */
     private Integer age;
-}
\ No newline at end of file
+
+    /**
+     * Number of books referencing this author. Read-only for JPA: it is written only by
+     * atomic {@code UPDATE ... SET book_count = book_count + ?} statements (see
+     * {@code AuthorRepository#adjustBookCount}), never by entity saves. Null on entities
+     * that were not loaded from the database.
+     */
+    @Column(name = "book_count", insertable = false, updatable = false)
+    private Long bookCount;
+}
@@ -0,0 +1,49 @@
+package com.govind.bookshop.author.migration;
+
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.Statement;
+
+/**
+ * Moves {@code authors.id} from an {@code IDENTITY} column to the {@code author_ids} sequence.
+ *
+ * <p>The sequence starts after the highest existing id and steps by 50, the entity's
+ * {@code ID_BLOCK}: each {@code nextval} reserves a block that Hibernate hands out in memory
+ * (pooled-lo). The column keeps a default of the sequence's next value, so inserts that omit
+ * the id (the reactive variant, hand-written SQL) still work and can never collide with a
+ * reserved block.</p>
+ *
+ * <p>The step is written out rather than read from the entity because an applied migration
+ * must not change. A different block size needs a new migration that alters the sequence;
+ * Hibernate refuses to start on a mismatch.</p>
+ *
+ * <p>A Java migration because the start value must be computed and the default expression
+ * differs between PostgreSQL and H2.</p>
+ */
+@Slf4j
+@Component
+public class V5__Author_id_sequence extends BaseJavaMigration {
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        boolean postgres = "PostgreSQL".equalsIgnoreCase(connection.getMetaData().getDatabaseProductName());
+        try (Statement ddl = connection.createStatement()) {
+            long start;
+            try (ResultSet rs = ddl.executeQuery("SELECT COALESCE(MAX(id), 0) + 1 FROM authors")) {
+                rs.next();
+                start = rs.getLong(1);
+            }
+            ddl.execute("CREATE SEQUENCE author_ids START WITH " + start + " INCREMENT BY 50");
+            ddl.execute("ALTER TABLE authors ALTER COLUMN id DROP IDENTITY");
+            ddl.execute("ALTER TABLE authors ALTER COLUMN id SET DEFAULT "
+                    + (postgres ? "nextval('author_ids')" : "NEXT VALUE FOR author_ids"));
+            log.info("authors.id now drawn from sequence author_ids, starting at {}", start);
+        }
+    }
+}
@@ -1,13 +1,64 @@
 package com.govind.bookshop.author.repository;
 
 import com.govind.bookshop.author.domain.entity.AuthorEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
 
 /**
  * Spring Data repository for {@link AuthorEntity}.
  *
- * <p>Exposes basic CRUD operations. For paging/sorting, consider extending
- * {@code PagingAndSortingRepository} or {@code JpaRepository}.
+ * <p>Exposes CRUD, paging and sorting, plus the statements that maintain
+ * {@code authors.book_count}.</p>
  */
-public interface AuthorRepository extends CrudRepository<AuthorEntity, Long> {
-}
\ No newline at end of file
+public interface AuthorRepository extends CrudRepository<AuthorEntity, Long>,
+        PagingAndSortingRepository<AuthorEntity, Long> {
+
+    /** Keyset page of authors after {@code afterId}, in id order; used to load the catalog snapshot. */
+    List<AuthorEntity> findByIdGreaterThanOrderByIdAsc(long afterId, Pageable pageable);
+
+    /**
+     * Atomically add {@code delta} to an author's book count.
+     *
+     * <p>A single read-modify-write in the database, so concurrent adjustments never lose
+     * updates; the row lock it takes is held until the surrounding transaction commits.</p>
+     *
+     * @return rows updated (0 if the author does not exist)
+     */
+    @Modifying
+    @Query(value = "update authors set book_count = book_count + :delta where id = :id", nativeQuery = true)
+    int adjustBookCount(@Param("id") Long id, @Param("delta") long delta);
+
+    /**
+     * Lock the next {@code size} author rows after {@code afterId}, in id order.
+     * Used by the reconciliation job to block concurrent count adjustments while it recounts.
+     */
+    @Query(value = "select id from authors where id > :afterId order by id limit :size for update", nativeQuery = true)
+    List<Long> lockIdsAfter(@Param("afterId") long afterId, @Param("size") int size);
+
+    /**
+     * Lock the given author rows, in id order. Callers that go on to lock more rows take these
+     * first, in the same order as everyone else, so they cannot deadlock with each other.
+     *
+     * @return ids of the authors that exist
+     */
+    @Query(value = "select id from authors where id in (:ids) order by id for update", nativeQuery = true)
+    List<Long> lockIds(@Param("ids") Collection<Long> ids);
+
+    /**
+     * Recount books for the given (locked) authors and fix rows that drifted.
+     *
+     * @return rows corrected
+     */
+    @Modifying
+    @Query(value = "update authors a set book_count = (select count(*) from books b where b.author_id = a.id) "
+            + "where a.id in (:ids) and a.book_count <> (select count(*) from books b where b.author_id = a.id)",
+            nativeQuery = true)
+    int recountBookCounts(@Param("ids") Collection<Long> ids);
+}
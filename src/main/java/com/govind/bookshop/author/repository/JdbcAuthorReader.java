@@ -0,0 +1,118 @@
+package com.govind.bookshop.author.repository;
+
+import com.govind.bookshop.author.domain.dto.AuthorDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Read-only path for {@code GET /authors/prolific} that maps rows straight to
+ * {@link AuthorDto}s, like {@code JdbcBookReader} does for books.
+ *
+ * <p>On when {@code bookshop.authors.read-path=jdbc} (the default). Authors always live in the
+ * main database, so sharding does not turn it off. Pages sorted by anything other than
+ * {@code id}, {@code name}, {@code age} and {@code bookCount} return empty, and the caller uses
+ * JPA for them.</p>
+ */
+@Repository
+public class JdbcAuthorReader {
+
+    /** Columns read by every statement, in {@link #ROW} order. */
+    static final String SELECT = "SELECT a.id, a.name, a.age, a.book_count FROM authors a";
+
+    public static final String COUNT = "SELECT COUNT(*) FROM authors";
+
+    /** Sortable properties and their columns; {@code a.id} also breaks ties. */
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "id", "a.id", "name", "a.name", "age", "a.age", "bookCount", "a.book_count");
+
+    private static final RowMapper<AuthorDto> ROW = JdbcAuthorReader::mapRow;
+
+    private final JdbcTemplate jdbc;
+    private final boolean enabled;
+    private final Map<Sort, String> pageStatements = new ConcurrentHashMap<>();
+
+    public JdbcAuthorReader(JdbcTemplate jdbc, @Value("${bookshop.authors.read-path:jdbc}") String readPath) {
+        this.jdbc = jdbc;
+        this.enabled = "jdbc".equalsIgnoreCase(readPath);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * One page of authors, or empty if the sort is not supported here.
+     * The total is counted only when the page does not already tell it.
+     */
+    public Optional<Page<AuthorDto>> findAuthors(Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return Optional.empty();
+        }
+        String sql = pageStatements.get(pageable.getSort());
+        if (sql == null) {
+            sql = pageStatement(pageable.getSort());
+            if (sql == null) {
+                return Optional.empty();
+            }
+            pageStatements.put(pageable.getSort(), sql);
+        }
+        List<AuthorDto> content = jdbc.query(sql, ROW, pageable.getPageSize(), pageable.getOffset());
+        return Optional.of(PageableExecutionUtils.getPage(content, pageable,
+                () -> jdbc.queryForObject(COUNT, Long.class)));
+    }
+
+    /** The page statement for a sort (parameters: limit, offset), or null if it is not supported. */
+    public static String pageStatement(Sort sort) {
+        String orderBy = orderBy(sort);
+        return orderBy == null ? null : SELECT + " ORDER BY " + orderBy + " LIMIT ? OFFSET ?";
+    }
+
+    /**
+     * {@code ORDER BY} for a sort over {@link #SORT_COLUMNS} (unsorted: id order), or null.
+     * Only whitelisted columns reach the SQL, each property at most once.
+     */
+    static String orderBy(Sort sort) {
+        StringBuilder orderBy = new StringBuilder();
+        Set<String> seen = new HashSet<>();
+        for (Sort.Order order : sort) {
+            String column = SORT_COLUMNS.get(order.getProperty());
+            if (column == null || order.isIgnoreCase() || order.getNullHandling() != Sort.NullHandling.NATIVE
+                    || !seen.add(column)) {
+                return null;
+            }
+            if (!orderBy.isEmpty()) {
+                orderBy.append(", ");
+            }
+            orderBy.append(column).append(' ').append(order.getDirection().name().toLowerCase(Locale.ROOT));
+        }
+        if (!seen.contains("a.id")) {
+            orderBy.append(orderBy.isEmpty() ? "a.id" : ", a.id");
+        }
+        return orderBy.toString();
+    }
+
+    private static AuthorDto mapRow(ResultSet rs, int rowNum) throws SQLException {
+        return AuthorDto.builder()
+                .id(rs.getLong(1))
+                .name(rs.getString(2))
+                .age(rs.getObject(3, Integer.class))
+                .bookCount(rs.getObject(4, Long.class))
+                .build();
+    }
+}
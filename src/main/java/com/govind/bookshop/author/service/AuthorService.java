@@ -1,6 +1,8 @@
 package com.govind.bookshop.author.service;
 
 import com.govind.bookshop.author.domain.entity.AuthorEntity;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 
 import java.util.List;
 import java.util.Optional;
@@ -17,11 +19,23 @@ public interface AuthorService {
      */
     AuthorEntity save(AuthorEntity author);
 
+    /**
+     * Create new authors in one transaction, with batched inserts.
+     *
+     * @return the saved authors, with their ids, in input order
+     */
+    List<AuthorEntity> createAll(List<AuthorEntity> authors);
+
     /**
      * Fetch all authors.
      */
     List<AuthorEntity> findAll();
 
+    /**
+     * Page through authors ordered by the pageable's sort (e.g. most books first).
+     */
+    Page<AuthorEntity> findAll(Pageable pageable);
+
     /**
      * Find one author by id.
      */
@@ -0,0 +1,83 @@
+package com.govind.bookshop.author.service.impl;
+
+import com.govind.bookshop.author.repository.AuthorRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+
+/**
+ * Rebuilds {@code authors.book_count} from the {@code books} table.
+ *
+ * <p>Counts are normally kept exact by {@code BookServiceImpl}; this job repairs drift from
+ * writes that bypass it (manual SQL, the reactive variant, restores). It walks authors in
+ * id order, one batch per transaction: the batch's author rows are locked first, then
+ * recounted in a separate statement, so an in-flight book write either finishes before the
+ * recount (and is counted) or waits for it (and adds its +1 on top).</p>
+ *
+ * <p>Runs on {@code bookshop.authors.book-count.reconcile-cron} (off by default) or on demand
+ * via {@link #reconcile()}. It counts the main database's {@code books} table, so it does
+ * nothing when books are sharded ({@code bookshop.sharding.enabled}).</p>
+ */
+@Slf4j
+@Component
+public class AuthorBookCountReconciler {
+
+    private final AuthorRepository authorRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final boolean booksSharded;
+
+    public AuthorBookCountReconciler(AuthorRepository authorRepository, TransactionTemplate transactionTemplate,
+                                     @Value("${bookshop.authors.book-count.reconcile-batch-size:500}") int batchSize,
+                                     @Value("${bookshop.sharding.enabled:false}") boolean booksSharded) {
+        this.authorRepository = authorRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.booksSharded = booksSharded;
+    }
+
+    @Scheduled(cron = "${bookshop.authors.book-count.reconcile-cron:-}")
+    public void scheduledReconcile() {
+        reconcile();
+    }
+
+    /**
+     * Recount every author's books and fix rows that drifted.
+     *
+     * @return number of authors whose count was corrected
+     */
+    public int reconcile() {
+        if (booksSharded) {
+            log.warn("Skipping book_count reconciliation: books are sharded, the main books table is unused");
+            return 0;
+        }
+        long afterId = 0;
+        int corrected = 0;
+        while (true) {
+            long from = afterId;
+            Batch batch = transactionTemplate.execute(status -> {
+                List<Long> ids = authorRepository.lockIdsAfter(from, batchSize);
+                if (ids.isEmpty()) {
+                    return null;
+                }
+                return new Batch(ids.get(ids.size() - 1), authorRepository.recountBookCounts(ids));
+            });
+            if (batch == null) {
+                break;
+            }
+            corrected += batch.corrected();
+            afterId = batch.lastId();
+        }
+        if (corrected > 0) {
+            log.warn("Corrected book_count for {} author(s)", corrected);
+        }
+        return corrected;
+    }
+
+    private record Batch(long lastId, int corrected) {
+    }
+}
@@ -3,9 +3,15 @@ package com.govind.bookshop.author.service.impl;
 import com.govind.bookshop.author.service.AuthorService;
 import com.govind.bookshop.author.domain.entity.AuthorEntity;
 import com.govind.bookshop.author.repository.AuthorRepository;
+import com.govind.bookshop.change.domain.entity.ChangeEntity;
+import com.govind.bookshop.change.service.ChangeService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.stream.StreamSupport;
@@ -14,19 +20,23 @@ import java.util.stream.StreamSupport;
  * Default {@link AuthorService} implementation backed by Spring Data.
  *
  * <p>Only minimal logic lives here; complex rules should be added to this
- * layer rather than controllers or repositories.
+ * layer rather than controllers or repositories. Every mutation also appends
+ * to the change feed in the same transaction.
  */
 @Service
 public class AuthorServiceImpl implements AuthorService {
 
     private final AuthorRepository authorRepository;
+    private final ChangeService changeService;
 
     @Autowired
-    public AuthorServiceImpl(AuthorRepository authorRepository) {
+    public AuthorServiceImpl(AuthorRepository authorRepository, ChangeService changeService) {
         this.authorRepository = authorRepository;
+        this.changeService = changeService;
     }
 
     @Override
+    @Transactional
     public AuthorEntity partialUpdate(Long id, AuthorEntity author) {
         // Ensure the patch is applied to the correct row
         author.setId(id);
@@ -35,18 +45,36 @@ public class AuthorServiceImpl implements AuthorService {
         return authorRepository.findById(id).map(existing -> {
             Optional.ofNullable(author.getAge()).ifPresent(existing::setAge);
             Optional.ofNullable(author.getName()).ifPresent(existing::setName);
-            return authorRepository.save(existing);
+            return recordUpsert(authorRepository.save(existing));
         }).orElseThrow(() -> new RuntimeException("Author not found for id=" + id)); // TODO: replace with domain-specific exception
     }
 
     @Override
+    @Transactional
     public void delete(Long id) {
-        authorRepository.deleteById(id); // idempotent
+        // idempotent; only a real delete produces a tombstone
+        if (authorRepository.existsById(id)) {
+            authorRepository.deleteById(id);
+            changeService.record(ChangeEntity.Type.AUTHOR, id.toString(), ChangeEntity.Op.DELETE);
+        }
     }
 
     @Override
+    @Transactional
     public AuthorEntity save(AuthorEntity author) {
-        return authorRepository.save(author);
+        return recordUpsert(authorRepository.save(author));
+    }
+
+    @Override
+    @Transactional
+    public List<AuthorEntity> createAll(List<AuthorEntity> authors) {
+        authors.forEach(author -> author.setId(null));
+        // Ids come from the pooled sequence at persist time; the INSERTs go out batched at flush.
+        List<AuthorEntity> saved = new ArrayList<>(authors.size());
+        authorRepository.saveAll(authors).forEach(saved::add);
+        changeService.recordAll(ChangeEntity.Type.AUTHOR,
+                saved.stream().map(author -> author.getId().toString()).toList(), ChangeEntity.Op.UPSERT);
+        return saved;
     }
 
     @Override
@@ -56,6 +84,11 @@ public class AuthorServiceImpl implements AuthorService {
         return StreamSupport.stream(result.spliterator(), false).toList();
     }
 
+    @Override
+    public Page<AuthorEntity> findAll(Pageable pageable) {
+        return authorRepository.findAll(pageable);
+    }
+
     @Override
     public Optional<AuthorEntity> findOne(Long id) {
         return authorRepository.findById(id);
@@ -65,4 +98,9 @@ public class AuthorServiceImpl implements AuthorService {
     public boolean isExists(Long id) {
         return authorRepository.existsById(id);
     }
-}
\ No newline at end of file
+
+    private AuthorEntity recordUpsert(AuthorEntity saved) {
+        changeService.record(ChangeEntity.Type.AUTHOR, saved.getId().toString(), ChangeEntity.Op.UPSERT);
+        return saved;
+    }
+}
@@ -0,0 +1,92 @@
+package com.govind.bookshop.batch.controller;
+
+import com.govind.bookshop.batch.domain.dto.BatchOperationResultDto;
+import com.govind.bookshop.batch.domain.dto.BatchRequestDto;
+import com.govind.bookshop.batch.domain.dto.BatchResultDto;
+import com.govind.bookshop.batch.service.BatchService;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.ConcurrencyFailureException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.transaction.TransactionTimedOutException;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RestController;
+
+/**
+ * REST controller for mixed write batches.
+ *
+ * <p>Endpoints:
+ * <ul>
+ *   <li>POST /batch – run an ordered list of book and author writes in one transaction</li>
+ * </ul>
+ *
+ * <p>Each operation names a single-resource endpoint ({@code POST /authors},
+ * {@code PUT|PATCH|DELETE /authors/{id}}, {@code PUT|PATCH|DELETE /books/{isbn}}) and behaves as
+ * that endpoint would. A {@code POST /authors} may carry a {@code ref}; later operations use
+ * {@code $ref} in place of the generated id, in a path or as an {@code "id"} in a body.</p>
+ *
+ * <p>A batch that loses a lock conflict with concurrent writers (deadlock, lock wait timeout,
+ * serialization failure) is rolled back and answered 409 with {@code Retry-After}; one that
+ * runs out of time is answered 503. Either way nothing was written and it can be resent.</p>
+ */
+@RestController
+public class BatchController {
+
+    private final BatchService batchService;
+
+    /** Most operations accepted by one {@code POST /batch}. */
+    private final int maxOperations;
+
+    public BatchController(BatchService batchService,
+                           @Value("${bookshop.batch.max-operations:100}") int maxOperations) {
+        this.batchService = batchService;
+        this.maxOperations = maxOperations;
+    }
+
+    /**
+     * Run a batch of writes, all or nothing.
+     *
+     * @param request operations, in the order they run
+     * @return 200 with a result per operation if all succeeded and were committed; otherwise
+     *         nothing is written and the status is that of the failing operation (400, 404),
+     *         with later operations reported as 424. 400 without a body for an empty batch or
+     *         one over {@code bookshop.batch.max-operations}
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<BatchResultDto> executeBatch(@RequestBody BatchRequestDto request) {
+        if (request.getOperations() == null || request.getOperations().isEmpty()
+                || request.getOperations().size() > maxOperations) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        BatchResultDto result = batchService.execute(request.getOperations());
+        if (result.isCommitted()) {
+            return new ResponseEntity<>(result, HttpStatus.OK);
+        }
+        int status = result.getOperations().stream()
+                .mapToInt(BatchOperationResultDto::getStatus)
+                .filter(s -> s >= 400 && s != HttpStatus.FAILED_DEPENDENCY.value())
+                .findFirst()
+                .orElse(HttpStatus.CONFLICT.value());
+        return ResponseEntity.status(status).body(result);
+    }
+
+    /** Lost a deadlock, lock wait or serialization conflict; rolled back, safe to resend. */
+    @ExceptionHandler(ConcurrencyFailureException.class)
+    public ResponseEntity<Void> lockConflict() {
+        return retryLater(HttpStatus.CONFLICT);
+    }
+
+    /** Ran past {@code bookshop.batch.timeout} or the request deadline; rolled back. */
+    @ExceptionHandler({TransactionTimedOutException.class, QueryTimeoutException.class})
+    public ResponseEntity<Void> timedOut() {
+        return retryLater(HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
+    private static ResponseEntity<Void> retryLater(HttpStatus status) {
+        return ResponseEntity.status(status).header(HttpHeaders.RETRY_AFTER, "1").build();
+    }
+}
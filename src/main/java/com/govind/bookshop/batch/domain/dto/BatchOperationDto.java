@@ -0,0 +1,32 @@
+package com.govind.bookshop.batch.domain.dto;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One operation of {@code POST /batch}, written like the single request it stands for.
+ *
+ * <p>{@code path} and any {@code "id"} field in {@code body} may name an author created
+ * earlier in the same batch as {@code "$<ref>"}.</p>
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class BatchOperationDto {
+
+    /** {@code POST}, {@code PUT}, {@code PATCH} or {@code DELETE}. */
+    private String method;
+
+    /** {@code /authors}, {@code /authors/{id}} or {@code /books/{isbn}}. */
+    private String path;
+
+    /** Name for the id of the author this operation creates ({@code POST /authors} only). */
+    private String ref;
+
+    /** Request body, as for the single endpoint; absent for {@code DELETE}. */
+    private JsonNode body;
+}
@@ -0,0 +1,33 @@
+package com.govind.bookshop.batch.domain.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Outcome of one batch operation: the status and body the single endpoint would have
+ * answered with, or why it failed or did not run.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchOperationResultDto {
+
+    /** Position in the request, from 0. */
+    private int index;
+
+    /** HTTP status of the operation; {@code 424} for operations not run after a failure. */
+    private int status;
+
+    /** The operation's {@code ref}, if it had one. */
+    private String ref;
+
+    /** {@code AuthorDto} or {@code BookDto}, as the single endpoint returns it. */
+    private Object body;
+
+    private String error;
+}
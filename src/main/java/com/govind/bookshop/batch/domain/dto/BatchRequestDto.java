@@ -0,0 +1,20 @@
+package com.govind.bookshop.batch.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Body of {@code POST /batch}: operations run in order, in one transaction.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class BatchRequestDto {
+
+    private List<BatchOperationDto> operations;
+}
@@ -0,0 +1,26 @@
+package com.govind.bookshop.batch.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Response of {@code POST /batch}.
+ *
+ * <p>When {@code committed} is false nothing was written: statuses of the operations before
+ * the failing one describe what they did inside the rolled-back transaction.</p>
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class BatchResultDto {
+
+    private boolean committed;
+
+    /** One result per requested operation, in request order. */
+    private List<BatchOperationResultDto> operations;
+}
@@ -0,0 +1,21 @@
+package com.govind.bookshop.batch.service;
+
+import com.govind.bookshop.batch.domain.dto.BatchOperationDto;
+import com.govind.bookshop.batch.domain.dto.BatchResultDto;
+
+import java.util.List;
+
+/**
+ * Runs ordered lists of book and author writes as one unit.
+ */
+public interface BatchService {
+
+    /**
+     * Run the operations in order in one transaction, with the semantics of the single
+     * endpoints they name. Commits only if every operation succeeds; the first failure rolls
+     * back all of them and the rest are not run.
+     *
+     * @return one result per operation, in order, and whether the batch was committed
+     */
+    BatchResultDto execute(List<BatchOperationDto> operations);
+}
@@ -0,0 +1,428 @@
+package com.govind.bookshop.batch.service.impl;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.govind.bookshop.author.domain.dto.AuthorDto;
+import com.govind.bookshop.author.domain.entity.AuthorEntity;
+import com.govind.bookshop.author.repository.AuthorRepository;
+import com.govind.bookshop.author.service.AuthorService;
+import com.govind.bookshop.batch.domain.dto.BatchOperationDto;
+import com.govind.bookshop.batch.domain.dto.BatchOperationResultDto;
+import com.govind.bookshop.batch.domain.dto.BatchResultDto;
+import com.govind.bookshop.batch.service.BatchService;
+import com.govind.bookshop.book.domain.Isbn;
+import com.govind.bookshop.book.domain.dto.BookDto;
+import com.govind.bookshop.book.domain.entity.BookEntity;
+import com.govind.bookshop.book.repository.BookRepository;
+import com.govind.bookshop.book.service.BookService;
+import com.govind.bookshop.change.service.ChangeService;
+import com.govind.bookshop.mapper.Mapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.SortedSet;
+import java.util.TreeSet;
+import java.util.regex.Pattern;
+
+/**
+ * Default {@link BatchService}: parses every operation up front, then runs them through
+ * {@link AuthorService} and {@link BookService} inside one transaction.
+ *
+ * <p>Malformed operations (unknown route, bad ISBN or id, missing body, a {@code $ref} not
+ * defined by an earlier operation) reject the batch before it touches the database. At run
+ * time an operation fails with the status its endpoint would return (404 for a missing
+ * target, 400 for a body that does not bind); the transaction is then rolled back.</p>
+ *
+ * <p>Consecutive {@code POST /authors} go through {@link AuthorService#createAll} together, so
+ * their inserts leave in JDBC batches. Other writes batch as far as each service call allows
+ * (book writes adjust author counts with an immediate update). The transaction times out after
+ * {@code bookshop.batch.timeout}.</p>
+ *
+ * <p>Locking follows the order single writes use – book rows, then author rows, then the
+ * change counter – so a batch cannot deadlock with them. Before the first operation it locks
+ * every book it targets (by ISBN) and then the authors it names or those books belong to (by
+ * id); its change-feed rows are {@linkplain ChangeService#deferring held back} and recorded
+ * together at the end, so the counter lock that serializes all writers is only held from then
+ * until commit. Rows reached only through request bodies are locked as the operations run;
+ * a lock conflict on those surfaces as a {@code ConcurrencyFailureException}.</p>
+ */
+@Service
+public class BatchServiceImpl implements BatchService {
+
+    private static final Pattern REF = Pattern.compile("[A-Za-z0-9_-]{1,64}");
+    private static final String REF_PREFIX = "$";
+
+    private enum Kind {
+        CREATE_AUTHOR, UPDATE_AUTHOR, PATCH_AUTHOR, DELETE_AUTHOR, PUT_BOOK, PATCH_BOOK, DELETE_BOOK
+    }
+
+    /** A parsed operation. The target is {@code key}, or the author id {@code targetRef} names. */
+    private record Step(int index, Kind kind, String ref, Long key, String targetRef, JsonNode body) {
+    }
+
+    /** An operation that cannot run as written. */
+    private static final class InvalidOperationException extends Exception {
+
+        private InvalidOperationException(String message) {
+            super(message, null, false, false);
+        }
+    }
+
+    private final AuthorService authorService;
+    private final BookService bookService;
+    private final Mapper<AuthorEntity, AuthorDto> authorMapper;
+    private final Mapper<BookEntity, BookDto> bookMapper;
+    private final ChangeService changeService;
+    private final BookRepository bookRepository;
+    private final AuthorRepository authorRepository;
+    private final ObjectMapper objectMapper;
+    private final TransactionTemplate transactionTemplate;
+
+    public BatchServiceImpl(AuthorService authorService, BookService bookService,
+                            Mapper<AuthorEntity, AuthorDto> authorMapper, Mapper<BookEntity, BookDto> bookMapper,
+                            ChangeService changeService, BookRepository bookRepository,
+                            AuthorRepository authorRepository, ObjectMapper objectMapper,
+                            PlatformTransactionManager transactionManager,
+                            @Value("${bookshop.batch.timeout:10s}") Duration timeout) {
+        this.authorService = authorService;
+        this.bookService = bookService;
+        this.changeService = changeService;
+        this.bookRepository = bookRepository;
+        this.authorRepository = authorRepository;
+        this.authorMapper = authorMapper;
+        this.bookMapper = bookMapper;
+        this.objectMapper = objectMapper;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.transactionTemplate.setTimeout((int) Math.max(1, timeout.toSeconds()));
+    }
+
+    @Override
+    public BatchResultDto execute(List<BatchOperationDto> operations) {
+        BatchOperationResultDto[] results = new BatchOperationResultDto[operations.size()];
+        List<Step> steps = new ArrayList<>(operations.size());
+        Set<String> refs = new HashSet<>();
+        for (int i = 0; i < operations.size(); i++) {
+            try {
+                steps.add(parse(i, operations.get(i), refs));
+            } catch (InvalidOperationException e) {
+                results[i] = failed(i, refOf(operations.get(i)), HttpStatus.BAD_REQUEST, e.getMessage());
+                return finish(false, results, i, operations);
+            }
+        }
+
+        int[] failedAt = {-1};
+        transactionTemplate.executeWithoutResult(status -> {
+            lockTargets(steps);
+            failedAt[0] = changeService.deferring(() -> run(steps, results));
+            if (failedAt[0] >= 0) {
+                status.setRollbackOnly();
+            }
+        });
+        return finish(failedAt[0] < 0, results, failedAt[0], operations);
+    }
+
+    /**
+     * Locks the books the steps target in ISBN order, then in id order the authors they name by
+     * id (in a path or as a book's numeric {@code author.id}) or that those books belong to.
+     */
+    private void lockTargets(List<Step> steps) {
+        SortedSet<Long> isbns = new TreeSet<>();
+        SortedSet<Long> authorIds = new TreeSet<>();
+        for (Step step : steps) {
+            switch (step.kind()) {
+                case PUT_BOOK, PATCH_BOOK, DELETE_BOOK -> {
+                    isbns.add(step.key());
+                    JsonNode authorId = step.body() == null ? null : step.body().path("author").get("id");
+                    if (authorId != null && authorId.canConvertToLong()) {
+                        authorIds.add(authorId.asLong());
+                    }
+                }
+                case UPDATE_AUTHOR, PATCH_AUTHOR, DELETE_AUTHOR -> {
+                    if (step.key() != null) {
+                        authorIds.add(step.key());
+                    }
+                }
+                default -> {
+                    // new authors are not visible to anyone else yet
+                }
+            }
+        }
+        for (long isbn : isbns) {
+            bookRepository.findWithLockByIsbn(isbn)
+                    .map(BookEntity::getAuthorEntity)
+                    .map(AuthorEntity::getId)
+                    .ifPresent(authorIds::add);
+        }
+        if (!authorIds.isEmpty()) {
+            authorRepository.lockIds(authorIds);
+        }
+    }
+
+    /** Runs the steps in order until one fails; returns its index, or -1. */
+    private int run(List<Step> steps, BatchOperationResultDto[] results) {
+        Map<String, Long> ids = new HashMap<>();
+        int i = 0;
+        while (i < steps.size()) {
+            if (steps.get(i).kind() == Kind.CREATE_AUTHOR) {
+                int end = i;
+                while (end < steps.size() && steps.get(end).kind() == Kind.CREATE_AUTHOR) {
+                    end++;
+                }
+                int failed = createAuthors(steps.subList(i, end), ids, results);
+                if (failed >= 0) {
+                    return failed;
+                }
+                i = end;
+                continue;
+            }
+            Step step = steps.get(i);
+            try {
+                results[i] = runOne(step, ids);
+            } catch (InvalidOperationException e) {
+                results[i] = failed(i, step.ref(), HttpStatus.BAD_REQUEST, e.getMessage());
+            }
+            if (results[i].getStatus() >= 400) {
+                return i;
+            }
+            i++;
+        }
+        return -1;
+    }
+
+    /** Creates a run of authors with one {@code createAll}; a body that does not bind ends the run there. */
+    private int createAuthors(List<Step> run, Map<String, Long> ids, BatchOperationResultDto[] results) {
+        List<AuthorEntity> authors = new ArrayList<>(run.size());
+        Step invalid = null;
+        String error = null;
+        for (Step step : run) {
+            try {
+                authors.add(authorMapper.fromDto(read(step.body(), AuthorDto.class, ids)));
+            } catch (InvalidOperationException e) {
+                invalid = step;
+                error = e.getMessage();
+                break;
+            }
+        }
+        if (!authors.isEmpty()) {
+            Iterator<AuthorEntity> saved = authorService.createAll(authors).iterator();
+            for (Step step : run.subList(0, authors.size())) {
+                AuthorEntity author = saved.next();
+                if (step.ref() != null) {
+                    ids.put(step.ref(), author.getId());
+                }
+                results[step.index()] = succeeded(step, HttpStatus.CREATED, authorMapper.toDto(author));
+            }
+        }
+        if (invalid != null) {
+            results[invalid.index()] = failed(invalid.index(), invalid.ref(), HttpStatus.BAD_REQUEST, error);
+            return invalid.index();
+        }
+        return -1;
+    }
+
+    private BatchOperationResultDto runOne(Step step, Map<String, Long> ids) throws InvalidOperationException {
+        long key = step.key() != null ? step.key() : ids.get(step.targetRef());
+        switch (step.kind()) {
+            case UPDATE_AUTHOR -> {
+                AuthorDto author = read(step.body(), AuthorDto.class, ids);
+                if (!authorService.isExists(key)) {
+                    return notFound(step);
+                }
+                author.setId(key);
+                return succeeded(step, HttpStatus.OK, authorMapper.toDto(authorService.save(authorMapper.fromDto(author))));
+            }
+            case PATCH_AUTHOR -> {
+                AuthorDto author = read(step.body(), AuthorDto.class, ids);
+                if (!authorService.isExists(key)) {
+                    return notFound(step);
+                }
+                return succeeded(step, HttpStatus.OK,
+                        authorMapper.toDto(authorService.partialUpdate(key, authorMapper.fromDto(author))));
+            }
+            case DELETE_AUTHOR -> {
+                authorService.delete(key);
+                return succeeded(step, HttpStatus.NO_CONTENT, null);
+            }
+            case PUT_BOOK -> {
+                BookEntity book = bookMapper.fromDto(read(step.body(), BookDto.class, ids));
+                boolean exists = bookService.isExists(key);
+                BookEntity saved = bookService.createUpdateBook(key, book);
+                return succeeded(step, exists ? HttpStatus.OK : HttpStatus.CREATED, bookMapper.toDto(saved));
+            }
+            case PATCH_BOOK -> {
+                BookDto book = read(step.body(), BookDto.class, ids);
+                if (!bookService.isExists(key)) {
+                    return notFound(step);
+                }
+                return succeeded(step, HttpStatus.OK, bookMapper.toDto(bookService.partialUpdate(key, bookMapper.fromDto(book))));
+            }
+            case DELETE_BOOK -> {
+                bookService.delete(key);
+                return succeeded(step, HttpStatus.NO_CONTENT, null);
+            }
+            default -> throw new IllegalStateException("Unexpected step " + step.kind());
+        }
+    }
+
+    private static Step parse(int index, BatchOperationDto operation, Set<String> refs) throws InvalidOperationException {
+        if (operation == null || operation.getMethod() == null || operation.getPath() == null) {
+            throw new InvalidOperationException("method and path are required");
+        }
+        String method = operation.getMethod().toUpperCase(Locale.ROOT);
+        String path = operation.getPath();
+        String ref = operation.getRef();
+        Kind kind;
+        Long key = null;
+        String targetRef = null;
+        if (path.equals("/authors")) {
+            if (!method.equals("POST")) {
+                throw unsupported(method, path);
+            }
+            kind = Kind.CREATE_AUTHOR;
+        } else if (path.startsWith("/authors/")) {
+            kind = switch (method) {
+                case "PUT" -> Kind.UPDATE_AUTHOR;
+                case "PATCH" -> Kind.PATCH_AUTHOR;
+                case "DELETE" -> Kind.DELETE_AUTHOR;
+                default -> throw unsupported(method, path);
+            };
+            String id = path.substring("/authors/".length());
+            if (id.startsWith(REF_PREFIX)) {
+                targetRef = id.substring(REF_PREFIX.length());
+                if (!refs.contains(targetRef)) {
+                    throw new InvalidOperationException("ref '" + targetRef + "' is not defined by an earlier operation");
+                }
+            } else {
+                key = parseId(id);
+            }
+        } else if (path.startsWith("/books/")) {
+            kind = switch (method) {
+                case "PUT" -> Kind.PUT_BOOK;
+                case "PATCH" -> Kind.PATCH_BOOK;
+                case "DELETE" -> Kind.DELETE_BOOK;
+                default -> throw unsupported(method, path);
+            };
+            OptionalLong isbn = Isbn.tryParse(path.substring("/books/".length()));
+            if (isbn.isEmpty()) {
+                throw new InvalidOperationException("invalid ISBN in " + path);
+            }
+            key = isbn.getAsLong();
+        } else {
+            throw unsupported(method, path);
+        }
+
+        if (ref != null) {
+            if (kind != Kind.CREATE_AUTHOR) {
+                throw new InvalidOperationException("ref is only allowed on POST /authors");
+            }
+            if (!REF.matcher(ref).matches()) {
+                throw new InvalidOperationException("ref must be 1-64 letters, digits, '_' or '-'");
+            }
+            if (!refs.add(ref)) {
+                throw new InvalidOperationException("ref '" + ref + "' is already defined");
+            }
+        }
+        boolean delete = kind == Kind.DELETE_AUTHOR || kind == Kind.DELETE_BOOK;
+        if (!delete && (operation.getBody() == null || !operation.getBody().isObject())) {
+            throw new InvalidOperationException("a JSON object body is required");
+        }
+        return new Step(index, kind, ref, key, targetRef, operation.getBody());
+    }
+
+    private static long parseId(String id) throws InvalidOperationException {
+        try {
+            return Long.parseLong(id);
+        } catch (NumberFormatException e) {
+            throw new InvalidOperationException("invalid author id '" + id + "'");
+        }
+    }
+
+    private static InvalidOperationException unsupported(String method, String path) {
+        return new InvalidOperationException("unsupported operation " + method + " " + path);
+    }
+
+    /** Binds a body, first replacing {@code "$ref"} values of {@code id} fields with the ids they name. */
+    private <T> T read(JsonNode body, Class<T> type, Map<String, Long> ids) throws InvalidOperationException {
+        JsonNode resolved = body.deepCopy();
+        resolveRefs(resolved, ids);
+        try {
+            return objectMapper.treeToValue(resolved, type);
+        } catch (JsonProcessingException e) {
+            throw new InvalidOperationException("body does not bind: " + e.getOriginalMessage());
+        }
+    }
+
+    private static void resolveRefs(JsonNode node, Map<String, Long> ids) throws InvalidOperationException {
+        if (node instanceof ObjectNode object) {
+            JsonNode id = object.get("id");
+            if (id != null && id.isTextual() && id.asText().startsWith(REF_PREFIX)) {
+                String ref = id.asText().substring(REF_PREFIX.length());
+                Long value = ids.get(ref);
+                if (value == null) {
+                    throw new InvalidOperationException("ref '" + ref + "' is not defined by an earlier operation");
+                }
+                object.put("id", value);
+            }
+        }
+        for (JsonNode child : node) {
+            resolveRefs(child, ids);
+        }
+    }
+
+    private static String refOf(BatchOperationDto operation) {
+        return operation == null ? null : operation.getRef();
+    }
+
+    private static BatchOperationResultDto succeeded(Step step, HttpStatus status, Object body) {
+        return BatchOperationResultDto.builder()
+                .index(step.index())
+                .status(status.value())
+                .ref(step.ref())
+                .body(body)
+                .build();
+    }
+
+    private static BatchOperationResultDto notFound(Step step) {
+        return failed(step.index(), step.ref(), HttpStatus.NOT_FOUND, "not found");
+    }
+
+    private static BatchOperationResultDto failed(int index, String ref, HttpStatus status, String error) {
+        return BatchOperationResultDto.builder()
+                .index(index)
+                .status(status.value())
+                .ref(ref)
+                .error(error)
+                .build();
+    }
+
+    /** Marks every operation after {@code failedAt} as not run. */
+    private static BatchResultDto finish(boolean committed, BatchOperationResultDto[] results, int failedAt,
+                                         List<BatchOperationDto> operations) {
+        for (int i = 0; i < results.length; i++) {
+            if (results[i] == null) {
+                results[i] = failed(i, refOf(operations.get(i)),
+                        HttpStatus.FAILED_DEPENDENCY, "not run: operation " + failedAt + " failed");
+            }
+        }
+        return BatchResultDto.builder()
+                .committed(committed)
+                .operations(Arrays.asList(results))
+                .build();
+    }
+}
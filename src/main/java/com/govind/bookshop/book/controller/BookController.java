@@ -1,16 +1,39 @@
 package com.govind.bookshop.book.controller;
 
+import com.govind.bookshop.book.domain.Isbn;
 import com.govind.bookshop.book.domain.dto.BookDto;
+import com.govind.bookshop.book.domain.dto.BookLookupDto;
+import com.govind.bookshop.book.domain.dto.PopularBookDto;
 import com.govind.bookshop.book.domain.entity.BookEntity;
+import com.govind.bookshop.book.repository.JdbcBookReader;
+import com.govind.bookshop.json.CatalogJson;
+import com.govind.bookshop.json.PageJsonWriter;
 import com.govind.bookshop.mapper.Mapper;
+import com.govind.bookshop.membership.KeyMembership;
+import com.govind.bookshop.singleflight.SingleFlight;
+import com.govind.bookshop.snapshot.CatalogSnapshot;
 import com.govind.bookshop.book.service.impl.BookServiceImpl;
+import com.govind.bookshop.views.BookViewCounter;
+import com.govind.bookshop.views.PopularityRanking;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.OptionalLong;
+import java.util.Set;
+import java.util.concurrent.Callable;
 
 /**
  * REST controller for {@link BookEntity} resources.
@@ -19,12 +42,24 @@ import java.util.Optional;
  * <ul>
  *   <li>PUT    /books/{isbn}   – create or replace a book (idempotent by ISBN)</li>
  *   <li>GET    /books          – list (paged)</li>
- *   <li>GET    /books/{isbn}   – fetch one</li>
+ *   <li>GET    /books          – list (paged), lean streamed envelope for {@value PageJsonWriter#MEDIA_TYPE}</li>
+ *   <li>GET    /books?isbn=a,b – multi-get by ISBN list</li>
+ *   <li>GET    /books/popular  – most viewed books lately</li>
+ *   <li>GET    /books/{isbn}   – fetch one (counted as a view)</li>
  *   <li>PATCH  /books/{isbn}   – partial update</li>
  *   <li>DELETE /books/{isbn}   – delete</li>
  * </ul>
  *
  * <p>All inputs/outputs use {@link BookDto} to decouple persistence from the API shape.
+ * Path and query ISBNs may be ISBN-10 or ISBN-13, with or without hyphens; they are
+ * canonicalized with {@link Isbn} (400 if the check digit fails) and responses always
+ * carry the 13-digit form.
+ *
+ * <p>When the {@link CatalogSnapshot} is enabled and loaded, list pages it can serve and
+ * single-book hits are answered from memory; everything else goes to the database.
+ * ISBNs that {@link KeyMembership} rules out are answered as missing without either.
+ * Database reads for single books and pages use {@link JdbcBookReader} when it is enabled,
+ * JPA otherwise.
  */
 @RestController
 public class BookController {
@@ -35,9 +70,51 @@ public class BookController {
     /** Generic mapper between entity and DTO. */
     private final Mapper<BookEntity, BookDto> mapper;
 
-    public BookController(BookServiceImpl bookService, Mapper<BookEntity, BookDto> mapper) {
+    /** Upper bound on distinct ISBNs accepted by one multi-get. */
+    private final int maxLookupBatchSize;
+
+    /** Collapses concurrent reads of the same ISBN into one load. */
+    private final SingleFlight<Long, Optional<BookDto>> bookReads;
+
+    /** Collapses concurrent identical page requests into one load. */
+    private final SingleFlight<Pageable, Page<BookDto>> bookPageReads;
+
+    /** In-memory read model; consulted only once loaded. */
+    private final CatalogSnapshot snapshot;
+
+    /** Streams the lean list envelope. */
+    private final PageJsonWriter pageWriter;
+
+    /** Counts single-book reads, lock-free. */
+    private final BookViewCounter viewCounter;
+
+    /** Books ranked by recent views. */
+    private final PopularityRanking popularBooks;
+
+    /** Rules out ISBNs that do not exist before any lookup. */
+    private final KeyMembership membership;
+
+    /** Entity-free reads straight to DTOs. */
+    private final JdbcBookReader bookReader;
+
+    public BookController(BookServiceImpl bookService, Mapper<BookEntity, BookDto> mapper,
+                          @Value("${bookshop.books.lookup.max-batch-size:200}") int maxLookupBatchSize,
+                          SingleFlight<Long, Optional<BookDto>> bookReads,
+                          SingleFlight<Pageable, Page<BookDto>> bookPageReads,
+                          CatalogSnapshot snapshot, PageJsonWriter pageWriter,
+                          BookViewCounter viewCounter, PopularityRanking popularBooks,
+                          KeyMembership membership, JdbcBookReader bookReader) {
         this.bookService = bookService;
         this.mapper = mapper;
+        this.maxLookupBatchSize = maxLookupBatchSize;
+        this.bookReads = bookReads;
+        this.bookPageReads = bookPageReads;
+        this.snapshot = snapshot;
+        this.pageWriter = pageWriter;
+        this.viewCounter = viewCounter;
+        this.popularBooks = popularBooks;
+        this.membership = membership;
+        this.bookReader = bookReader;
     }
 
     /**
@@ -45,15 +122,19 @@ public class BookController {
      *
      * @param isbn  natural identifier of the book
      * @param book  request payload
-     * @return 201 (created) if it did not exist, or 200 (ok) if it was replaced
+     * @return 201 (created) if it did not exist, 200 (ok) if it was replaced, 400 for an invalid ISBN
      */
     @PutMapping("/books/{isbn}")
     public ResponseEntity<BookDto> createUpdateBook(@PathVariable("isbn") String isbn,
                                                     @RequestBody BookDto book) {
+        OptionalLong key = Isbn.tryParse(isbn);
+        if (key.isEmpty()) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
         BookEntity toSave = mapper.fromDto(book);
-        boolean exists = bookService.isExists(isbn);
+        boolean exists = bookService.isExists(key.getAsLong());
 
-        BookEntity saved = bookService.createUpdateBook(isbn, toSave);
+        BookEntity saved = bookService.createUpdateBook(key.getAsLong(), toSave);
         BookDto body = mapper.toDto(saved);
 
         return new ResponseEntity<>(body, exists ? HttpStatus.OK : HttpStatus.CREATED);
@@ -62,26 +143,177 @@ public class BookController {
     /**
      * Return a paginated list of books.
      *
+     * <p>Runs as a {@link Callable}, so a client that disconnects mid-query is reported to
+     * {@link com.govind.bookshop.deadline.DeadlineCallableInterceptor}, which cancels the
+     * running statement.</p>
+     *
      * @param pageable Spring Data pagination & sorting
      * @return a page of {@link BookDto}
      */
     @GetMapping("/books")
-    public Page<BookDto> listBooks(Pageable pageable) {
-        Page<BookEntity> page = bookService.findAll(pageable);
-        return page.map(mapper::toDto);
+    public Callable<Page<BookDto>> listBooks(Pageable pageable) {
+        return () -> {
+            if (snapshot.isReady()) {
+                Optional<Page<BookDto>> page = snapshot.findBooks(pageable);
+                if (page.isPresent()) {
+                    return page.get();
+                }
+            }
+            return bookPageReads.execute(pageable, () -> readPage(pageable));
+        };
+    }
+
+    private Page<BookDto> readPage(Pageable pageable) {
+        if (bookReader.isEnabled()) {
+            Optional<Page<BookDto>> page = bookReader.findBooks(pageable);
+            if (page.isPresent()) {
+                return page.get();
+            }
+        }
+        return bookService.findAll(pageable).map(mapper::toDto);
     }
 
     /**
-     * Fetch a single book by ISBN.
+     * Same page as {@link #listBooks(Pageable)}, written as the lean envelope
+     * ({@code content}, {@code page}, {@code size}, {@code totalElements}, {@code totalPages}).
+     * Read through {@link JdbcBookReader} when it is enabled and supports the sort; otherwise
+     * through JPA, with each entity serialized as it is read and no DTOs built.
+     *
+     * @param pageable Spring Data pagination & sorting
+     */
+    @GetMapping(value = "/books", produces = PageJsonWriter.MEDIA_TYPE)
+    public void listBooksLean(Pageable pageable, HttpServletResponse response) throws IOException {
+        Optional<Page<BookDto>> rows = bookReader.isEnabled() ? bookReader.findBooks(pageable) : Optional.empty();
+        response.setContentType(PageJsonWriter.MEDIA_TYPE);
+        if (rows.isPresent()) {
+            pageWriter.write(rows.get(), CatalogJson::writeBook, response.getOutputStream());
+        } else {
+            pageWriter.write(bookService.findAll(pageable), CatalogJson::writeBook, response.getOutputStream());
+        }
+    }
+
+    /**
+     * Resolve many ISBNs in one request and one database query.
+     *
+     * <p>Accepts a comma-separated list and/or repeated {@code isbn} parameters. Duplicates
+     * (including different spellings of the same ISBN) are collapsed; the response keeps the
+     * request order and lists unknown ISBNs separately, as they were sent.</p>
+     *
+     * @param isbns requested ISBNs
+     * @return 200 with found and missing books, or 400 if the list is empty, over the cap,
+     *         or contains an invalid ISBN
+     */
+    @GetMapping(value = "/books", params = "isbn")
+    public ResponseEntity<BookLookupDto> lookupBooks(@RequestParam("isbn") List<String> isbns) {
+        Set<String> requested = new LinkedHashSet<>();
+        for (String isbn : isbns) {
+            if (!isbn.isBlank()) {
+                requested.add(isbn.trim());
+            }
+        }
+        if (requested.isEmpty() || requested.size() > maxLookupBatchSize) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+
+        // canonical key -> first spelling seen, in request order
+        Map<Long, String> keys = new LinkedHashMap<>();
+        for (String isbn : requested) {
+            OptionalLong key = Isbn.tryParse(isbn);
+            if (key.isEmpty()) {
+                return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+            }
+            keys.putIfAbsent(key.getAsLong(), isbn);
+        }
+
+        Map<Long, BookEntity> found = new HashMap<>();
+        for (BookEntity book : bookService.findAllByIsbn(keys.keySet())) {
+            found.put(book.getIsbn(), book);
+        }
+
+        List<BookDto> books = new ArrayList<>(found.size());
+        List<String> missing = new ArrayList<>();
+        for (Map.Entry<Long, String> entry : keys.entrySet()) {
+            BookEntity book = found.get(entry.getKey());
+            if (book != null) {
+                books.add(mapper.toDto(book));
+            } else {
+                missing.add(entry.getValue());
+            }
+        }
+        return new ResponseEntity<>(new BookLookupDto(books, missing), HttpStatus.OK);
+    }
+
+    /**
+     * Most viewed books lately, highest score first.
+     *
+     * <p>Ranks {@code GET /books/{isbn}} hits served by this instance, decayed by age, as of
+     * the last view flush (a few seconds behind). Books deleted since are left out.</p>
+     *
+     * @param limit entries wanted, at most {@code bookshop.views.popular.size}
+     * @return 200 with the ranking, or 400 if limit is out of range
+     */
+    @GetMapping("/books/popular")
+    public ResponseEntity<List<PopularBookDto>> listPopularBooks(
+            @RequestParam(value = "limit", defaultValue = "10") int limit) {
+        if (limit < 1 || limit > popularBooks.size()) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        List<PopularityRanking.Entry> ranked = popularBooks.top(limit);
+        Map<Long, BookDto> books = new HashMap<>();
+        List<Long> unresolved = new ArrayList<>();
+        for (PopularityRanking.Entry entry : ranked) {
+            Optional<BookDto> book = snapshot.isReady() ? snapshot.findBook(entry.isbn()) : Optional.empty();
+            if (book.isPresent()) {
+                books.put(entry.isbn(), book.get());
+            } else {
+                unresolved.add(entry.isbn());
+            }
+        }
+        if (!unresolved.isEmpty()) {
+            for (BookEntity book : bookService.findAllByIsbn(unresolved)) {
+                books.put(book.getIsbn(), mapper.toDto(book));
+            }
+        }
+        List<PopularBookDto> result = new ArrayList<>(ranked.size());
+        for (PopularityRanking.Entry entry : ranked) {
+            BookDto book = books.get(entry.isbn());
+            if (book != null) {
+                result.add(new PopularBookDto(book, Math.round(entry.score() * 10) / 10.0));
+            }
+        }
+        return new ResponseEntity<>(result, HttpStatus.OK);
+    }
+
+    /**
+     * Fetch a single book by ISBN. Hits are counted as views of the book.
      *
      * @param isbn the ISBN
-     * @return 200 with body if found, else 404
+     * @return 200 with body if found, 404 if not, 400 for an invalid ISBN
      */
     @GetMapping("/books/{isbn}")
     public ResponseEntity<BookDto> displayOneBook(@PathVariable("isbn") String isbn) {
-        Optional<BookEntity> found = bookService.findOne(isbn);
+        OptionalLong key = Isbn.tryParse(isbn);
+        if (key.isEmpty()) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        long id = key.getAsLong();
+        if (!membership.mightContainBook(id)) {
+            return new ResponseEntity<>(HttpStatus.NOT_FOUND);
+        }
+        Optional<BookDto> found = snapshot.isReady() ? snapshot.findBook(id) : Optional.empty();
+        if (found.isEmpty()) {
+            // Misses fall through, so a book created a moment ago is never reported missing.
+            found = bookReads.execute(id, () -> bookReader.isEnabled()
+                    ? bookReader.findBook(id)
+                    : bookService.findOne(id).map(mapper::toDto));
+        }
+        if (found.isPresent()) {
+            viewCounter.record(id);
+        } else {
+            membership.bookNotFound();
+        }
         return found
-                .map(entity -> new ResponseEntity<>(mapper.toDto(entity), HttpStatus.OK))
+                .map(dto -> new ResponseEntity<>(dto, HttpStatus.OK))
                 .orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
     }
 
@@ -90,15 +322,19 @@ public class BookController {
      *
      * @param isbn    target book
      * @param bookDto patch payload
-     * @return 200 with the updated book, or 404 if the ISBN does not exist
+     * @return 200 with the updated book, 404 if the ISBN does not exist, 400 if it is invalid
      */
     @PatchMapping("/books/{isbn}")
     public ResponseEntity<BookDto> partialUpdateOneBook(@PathVariable("isbn") String isbn,
                                                         @RequestBody BookDto bookDto) {
-        if (!bookService.isExists(isbn)) {
+        OptionalLong key = Isbn.tryParse(isbn);
+        if (key.isEmpty()) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        if (!bookService.isExists(key.getAsLong())) {
             return new ResponseEntity<>(HttpStatus.NOT_FOUND);
         }
-        BookEntity patched = bookService.partialUpdate(isbn, mapper.fromDto(bookDto));
+        BookEntity patched = bookService.partialUpdate(key.getAsLong(), mapper.fromDto(bookDto));
         return new ResponseEntity<>(mapper.toDto(patched), HttpStatus.OK);
     }
 
@@ -106,11 +342,15 @@ public class BookController {
      * Delete a book by ISBN. Idempotent.
      *
      * @param isbn ISBN to delete
-     * @return 204 No Content
+     * @return 204 No Content, or 400 for an invalid ISBN
      */
     @DeleteMapping("/books/{isbn}")
     public ResponseEntity<BookDto> deleteBook(@PathVariable("isbn") String isbn) {
-        bookService.delete(isbn);
+        OptionalLong key = Isbn.tryParse(isbn);
+        if (key.isEmpty()) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        bookService.delete(key.getAsLong());
         return new ResponseEntity<>(HttpStatus.NO_CONTENT);
     }
 }
\ No newline at end of file
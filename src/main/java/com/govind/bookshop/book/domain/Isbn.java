@@ -0,0 +1,128 @@
+package com.govind.bookshop.book.domain;
+
+import java.util.OptionalLong;
+
+/**
+ * Canonical ISBN handling: parse any accepted spelling into one 64-bit key, and back.
+ *
+ * <p>Accepted input: ISBN-13 (prefix 978/979) or ISBN-10 (last character may be {@code X}),
+ * with optional hyphens or spaces. The check digit is verified. ISBN-10s are converted to
+ * their 978-prefixed ISBN-13, so every spelling of a book maps to the same key.</p>
+ *
+ * <p>The key is the ISBN-13 read as a decimal number (always 13 digits, below 10<sup>13</sup>).
+ * It is what the database, caches and in-memory indexes store; the API only ever sees
+ * {@link #format(long)}.</p>
+ */
+public final class Isbn {
+
+    private Isbn() {
+        // Utility class – no instances
+    }
+
+    /**
+     * Parse and canonicalize.
+     *
+     * @throws IllegalArgumentException if {@code text} is not a valid ISBN-10 or ISBN-13
+     */
+    public static long parse(String text) {
+        OptionalLong key = tryParse(text);
+        if (key.isEmpty()) {
+            throw new IllegalArgumentException("Not a valid ISBN: " + text);
+        }
+        return key.getAsLong();
+    }
+
+    /** Like {@link #parse(String)}, but empty instead of throwing. */
+    public static OptionalLong tryParse(String text) {
+        if (text == null) {
+            return OptionalLong.empty();
+        }
+        char[] digits = new char[13];
+        int n = 0;
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '-' || c == ' ') {
+                continue;
+            }
+            if (n == digits.length) {
+                return OptionalLong.empty();
+            }
+            digits[n++] = c;
+        }
+        if (n == 13) {
+            return parse13(digits);
+        }
+        if (n == 10) {
+            return parse10(digits);
+        }
+        return OptionalLong.empty();
+    }
+
+    /** The canonical API form: 13 digits, no separators. */
+    public static String format(long isbn) {
+        return Long.toString(isbn);
+    }
+
+    /**
+     * Complete a 12-digit ISBN-13 prefix (e.g. {@code 978030640615}) with its check digit.
+     */
+    public static long withCheckDigit(long first12) {
+        if (first12 < 978_000_000_000L || first12 > 979_999_999_999L) {
+            throw new IllegalArgumentException("ISBN-13 must start with 978 or 979: " + first12);
+        }
+        return first12 * 10 + checkDigit13(first12);
+    }
+
+    private static OptionalLong parse13(char[] digits) {
+        long value = 0;
+        for (int i = 0; i < 13; i++) {
+            int d = digits[i] - '0';
+            if (d < 0 || d > 9) {
+                return OptionalLong.empty();
+            }
+            value = value * 10 + d;
+        }
+        long first12 = value / 10;
+        if (first12 < 978_000_000_000L || first12 > 979_999_999_999L || checkDigit13(first12) != value % 10) {
+            return OptionalLong.empty();
+        }
+        return OptionalLong.of(value);
+    }
+
+    private static OptionalLong parse10(char[] digits) {
+        long first9 = 0;
+        int sum = 0;
+        for (int i = 0; i < 10; i++) {
+            char c = digits[i];
+            int d;
+            if (i == 9 && (c == 'X' || c == 'x')) {
+                d = 10;
+            } else {
+                d = c - '0';
+                if (d < 0 || d > 9) {
+                    return OptionalLong.empty();
+                }
+            }
+            sum += (10 - i) * d;
+            if (i < 9) {
+                first9 = first9 * 10 + d;
+            }
+        }
+        if (sum % 11 != 0) {
+            return OptionalLong.empty();
+        }
+        return OptionalLong.of(withCheckDigit(978_000_000_000L + first9));
+    }
+
+    /** Weights alternate 1, 3 from the left over the first 12 digits. */
+    private static int checkDigit13(long first12) {
+        int sum = 0;
+        for (int i = 0; i < 12; i++) {
+            int d = (int) (first12 % 10);
+            first12 /= 10;
+            // Rightmost of the 12 digits (i == 0) is position 12, weight 3.
+            sum += (i % 2 == 0) ? 3 * d : d;
+        }
+        return (10 - sum % 10) % 10;
+    }
+}
@@ -18,7 +18,7 @@ import lombok.NoArgsConstructor;
 @Builder
 public class BookDto {
 
-    /** Natural identifier (primary key in the API). */
+    /** Natural identifier. Any hyphenated ISBN-10/13 is accepted; responses use the 13-digit form. */
     private String isbn;
 
     /** Human-readable title. */
@@ -0,0 +1,27 @@
+package com.govind.bookshop.book.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Result of a multi-get by ISBN ({@code GET /books?isbn=a,b,c}).
+ *
+ * <p>{@code books} follows the order of the requested ISBNs (duplicates collapsed);
+ * ISBNs with no matching book are listed in {@code missing}, also in request order.</p>
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class BookLookupDto {
+
+    /** Books found, in request order. */
+    private List<BookDto> books;
+
+    /** Requested ISBNs that do not exist. */
+    private List<String> missing;
+}
@@ -0,0 +1,21 @@
+package com.govind.bookshop.book.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One entry of {@code GET /books/popular}.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class PopularBookDto {
+
+    private BookDto book;
+
+    /** Recent views, each weighted down by half per half-life of age; rounded to one decimal. */
+    private double score;
+}
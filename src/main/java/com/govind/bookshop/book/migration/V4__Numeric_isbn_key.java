@@ -0,0 +1,145 @@
+package com.govind.bookshop.book.migration;
+
+import com.govind.bookshop.book.domain.Isbn;
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.api.migration.BaseJavaMigration;
+import org.flywaydb.core.api.migration.Context;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.Set;
+
+/**
+ * Re-keys {@code books} from {@code VARCHAR} ISBNs to the canonical numeric ISBN-13
+ * ({@link Isbn}), and rewrites book keys in the change feed to the canonical spelling.
+ *
+ * <p>A Java migration because the conversion (ISBN-10 → ISBN-13, check digits) is not
+ * expressible in portable SQL. Rows are copied into a {@code BIGINT}-keyed table and swapped
+ * in; the foreign key and indexes from V1/V2 are recreated on it. The migration refuses to
+ * run, leaving the schema untouched, if any existing ISBN is invalid or two rows collapse to
+ * the same book — fix those rows by hand and restart.</p>
+ *
+ * <p>Registered as a bean: Spring Boot hands every {@code JavaMigration} bean to Flyway.</p>
+ */
+@Slf4j
+@Component
+public class V4__Numeric_isbn_key extends BaseJavaMigration {
+
+    private static final int BATCH_SIZE = 1000;
+    private static final int MAX_REPORTED = 20;
+
+    @Override
+    public void migrate(Context context) throws Exception {
+        Connection connection = context.getConnection();
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("""
+                    CREATE TABLE books_numeric (
+                        isbn      BIGINT CONSTRAINT books_numeric_pkey PRIMARY KEY,
+                        title     VARCHAR(255),
+                        author_id BIGINT
+                    )""");
+        }
+
+        int copied = copyBooks(connection);
+        int rewritten = canonicalizeChangeKeys(connection);
+
+        try (Statement ddl = connection.createStatement()) {
+            ddl.execute("DROP TABLE books");
+            ddl.execute("ALTER TABLE books_numeric RENAME TO books");
+            ddl.execute("ALTER TABLE books RENAME CONSTRAINT books_numeric_pkey TO books_pkey");
+            ddl.execute("ALTER TABLE books ADD CONSTRAINT fk_books_author FOREIGN KEY (author_id) REFERENCES authors (id)");
+            ddl.execute("CREATE INDEX idx_books_author_id ON books (author_id)");
+            ddl.execute("CREATE INDEX idx_books_title ON books (title, isbn)");
+        }
+        log.info("Re-keyed {} book(s) to numeric ISBNs; rewrote {} change key(s)", copied, rewritten);
+    }
+
+    private int copyBooks(Connection connection) throws SQLException {
+        Set<Long> seen = new HashSet<>();
+        List<String> rejected = new ArrayList<>();
+        int copied = 0;
+        try (Statement select = connection.createStatement();
+             PreparedStatement insert = connection.prepareStatement(
+                     "INSERT INTO books_numeric (isbn, title, author_id) VALUES (?, ?, ?)")) {
+            select.setFetchSize(BATCH_SIZE);
+            try (ResultSet rs = select.executeQuery("SELECT isbn, title, author_id FROM books")) {
+                int pending = 0;
+                while (rs.next()) {
+                    String isbn = rs.getString(1);
+                    OptionalLong key = Isbn.tryParse(isbn);
+                    if (key.isEmpty()) {
+                        rejected.add("'" + isbn + "' (invalid)");
+                        continue;
+                    }
+                    if (!seen.add(key.getAsLong())) {
+                        rejected.add("'" + isbn + "' (duplicate of " + Isbn.format(key.getAsLong()) + ")");
+                        continue;
+                    }
+                    insert.setLong(1, key.getAsLong());
+                    insert.setString(2, rs.getString(2));
+                    long authorId = rs.getLong(3);
+                    if (rs.wasNull()) {
+                        insert.setNull(3, Types.BIGINT);
+                    } else {
+                        insert.setLong(3, authorId);
+                    }
+                    insert.addBatch();
+                    copied++;
+                    if (++pending == BATCH_SIZE) {
+                        insert.executeBatch();
+                        pending = 0;
+                    }
+                }
+                if (pending > 0) {
+                    insert.executeBatch();
+                }
+            }
+        }
+        if (!rejected.isEmpty()) {
+            throw new IllegalStateException(rejected.size() + " book(s) cannot be re-keyed to a numeric ISBN, e.g. "
+                    + rejected.subList(0, Math.min(MAX_REPORTED, rejected.size())));
+        }
+        return copied;
+    }
+
+    /** Unparseable keys are left alone; the feed reports them as deletions. */
+    private int canonicalizeChangeKeys(Connection connection) throws SQLException {
+        int rewritten = 0;
+        try (Statement select = connection.createStatement();
+             PreparedStatement update = connection.prepareStatement(
+                     "UPDATE changes SET entity_key = ? WHERE seq = ?")) {
+            select.setFetchSize(BATCH_SIZE);
+            try (ResultSet rs = select.executeQuery("SELECT seq, entity_key FROM changes WHERE entity_type = 'BOOK'")) {
+                int pending = 0;
+                while (rs.next()) {
+                    String key = rs.getString(2);
+                    OptionalLong isbn = Isbn.tryParse(key);
+                    if (isbn.isEmpty() || Isbn.format(isbn.getAsLong()).equals(key)) {
+                        continue;
+                    }
+                    update.setString(1, Isbn.format(isbn.getAsLong()));
+                    update.setLong(2, rs.getLong(1));
+                    update.addBatch();
+                    rewritten++;
+                    if (++pending == BATCH_SIZE) {
+                        update.executeBatch();
+                        pending = 0;
+                    }
+                }
+                if (pending > 0) {
+                    update.executeBatch();
+                }
+            }
+        }
+        return rewritten;
+    }
+}
@@ -1,8 +1,17 @@
 package com.govind.bookshop.book.repository;
 
 import com.govind.bookshop.book.domain.entity.BookEntity;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.PagingAndSortingRepository;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
 
 /**
  * Spring Data repository for {@link BookEntity}.
@@ -10,6 +19,29 @@ import org.springframework.data.repository.PagingAndSortingRepository;
  * <p>Exposes CRUD, paging, and sorting. (Note: {@code PagingAndSortingRepository}
  * already extends {@code CrudRepository}; both are included here to match the current setup.)
  */
-public interface BookRepository extends CrudRepository<BookEntity, String>,
-        PagingAndSortingRepository<BookEntity, String> {
-}
\ No newline at end of file
+public interface BookRepository extends CrudRepository<BookEntity, Long>,
+        PagingAndSortingRepository<BookEntity, Long> {
+
+    /**
+     * Load many books and their authors in a single {@code IN} query.
+     *
+     * <p>Plain {@code findAllById} would fetch the eager author of each book with a
+     * follow-up select; the fetch join brings them back in the same round trip.</p>
+     */
+    @Query("select b from BookEntity b left join fetch b.authorEntity where b.isbn in :isbns")
+    List<BookEntity> findAllWithAuthorByIsbnIn(@Param("isbns") Collection<Long> isbns);
+
+    /**
+     * Keyset page of books (with authors) after {@code afterIsbn}, in ISBN order.
+     * Walks the whole table in constant time per page; used to load the catalog snapshot.
+     */
+    @Query("select b from BookEntity b left join fetch b.authorEntity where b.isbn > :afterIsbn order by b.isbn")
+    List<BookEntity> findPageAfter(@Param("afterIsbn") long afterIsbn, Pageable pageable);
+
+    /**
+     * Load a book with {@code SELECT ... FOR UPDATE}. Writers take this lock before reading the
+     * current author, so concurrent writes to the same ISBN adjust author book counts in turn.
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<BookEntity> findWithLockByIsbn(Long isbn);
+}
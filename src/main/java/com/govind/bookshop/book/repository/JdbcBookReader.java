@@ -0,0 +1,141 @@
+package com.govind.bookshop.book.repository;
+
+import com.govind.bookshop.author.domain.dto.AuthorDto;
+import com.govind.bookshop.book.domain.Isbn;
+import com.govind.bookshop.book.domain.dto.BookDto;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.support.PageableExecutionUtils;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Read-only path for {@code GET /books/{isbn}} and {@code GET /books} that maps rows straight
+ * to {@link BookDto}s.
+ *
+ * <p>One hand-written statement per read, with the author left-joined in: no persistence
+ * context, no entity snapshots for dirty checking, no proxies, no mapper. Statement text is
+ * fixed per read shape (one per supported sort), so the driver's prepared-statement cache
+ * (PostgreSQL: server-side after a few executions; H2: per-session query cache) reuses the
+ * parsed statement.</p>
+ *
+ * <p>On when {@code bookshop.books.read-path=jdbc} (the default) and books are not sharded;
+ * writes always go through JPA. Pages sorted by anything other than {@code isbn} and
+ * {@code title} return empty, and the caller uses JPA for them.</p>
+ */
+@Repository
+public class JdbcBookReader {
+
+    /** Columns read by every statement, in {@link #ROW} order. */
+    static final String SELECT = "SELECT b.isbn, b.title, a.id, a.name, a.age, a.book_count "
+            + "FROM books b LEFT JOIN authors a ON a.id = b.author_id";
+
+    public static final String FIND_ONE = SELECT + " WHERE b.isbn = ?";
+
+    public static final String COUNT = "SELECT COUNT(*) FROM books";
+
+    /** Sortable properties and their columns; {@code b.isbn} also breaks ties. */
+    private static final Map<String, String> SORT_COLUMNS = Map.of("isbn", "b.isbn", "title", "b.title");
+
+    private static final RowMapper<BookDto> ROW = JdbcBookReader::mapRow;
+
+    private final JdbcTemplate jdbc;
+    private final boolean enabled;
+    private final Map<Sort, String> pageStatements = new ConcurrentHashMap<>();
+
+    public JdbcBookReader(JdbcTemplate jdbc,
+                          @Value("${bookshop.books.read-path:jdbc}") String readPath,
+                          @Value("${bookshop.sharding.enabled:false}") boolean sharded) {
+        this.jdbc = jdbc;
+        this.enabled = "jdbc".equalsIgnoreCase(readPath) && !sharded;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public Optional<BookDto> findBook(long isbn) {
+        List<BookDto> rows = jdbc.query(FIND_ONE, ROW, isbn);
+        return rows.isEmpty() ? Optional.empty() : Optional.of(rows.get(0));
+    }
+
+    /**
+     * One page of books with their authors, or empty if the sort is not supported here.
+     * The total is counted only when the page does not already tell it.
+     */
+    public Optional<Page<BookDto>> findBooks(Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return Optional.empty();
+        }
+        String sql = pageStatements.get(pageable.getSort());
+        if (sql == null) {
+            sql = pageStatement(pageable.getSort());
+            if (sql == null) {
+                return Optional.empty();
+            }
+            pageStatements.put(pageable.getSort(), sql);
+        }
+        List<BookDto> content = jdbc.query(sql, ROW, pageable.getPageSize(), pageable.getOffset());
+        return Optional.of(PageableExecutionUtils.getPage(content, pageable,
+                () -> jdbc.queryForObject(COUNT, Long.class)));
+    }
+
+    /** The page statement for a sort (parameters: limit, offset), or null if it is not supported. */
+    public static String pageStatement(Sort sort) {
+        String orderBy = orderBy(sort);
+        return orderBy == null ? null : SELECT + " ORDER BY " + orderBy + " LIMIT ? OFFSET ?";
+    }
+
+    /**
+     * {@code ORDER BY} for a sort over {@link #SORT_COLUMNS} (unsorted: ISBN order), or null.
+     * Only whitelisted columns reach the SQL, and each property at most once, so the number of
+     * distinct statements stays small.
+     */
+    static String orderBy(Sort sort) {
+        StringBuilder orderBy = new StringBuilder();
+        Set<String> seen = new HashSet<>();
+        for (Sort.Order order : sort) {
+            String column = SORT_COLUMNS.get(order.getProperty());
+            if (column == null || order.isIgnoreCase() || order.getNullHandling() != Sort.NullHandling.NATIVE
+                    || !seen.add(column)) {
+                return null;
+            }
+            if (!orderBy.isEmpty()) {
+                orderBy.append(", ");
+            }
+            orderBy.append(column).append(' ').append(order.getDirection().name().toLowerCase(Locale.ROOT));
+        }
+        if (!seen.contains("b.isbn")) {
+            orderBy.append(orderBy.isEmpty() ? "b.isbn" : ", b.isbn");
+        }
+        return orderBy.toString();
+    }
+
+    private static BookDto mapRow(ResultSet rs, int rowNum) throws SQLException {
+        long authorId = rs.getLong(3);
+        AuthorDto author = rs.wasNull() ? null : AuthorDto.builder()
+                .id(authorId)
+                .name(rs.getString(4))
+                .age(rs.getObject(5, Integer.class))
+                .bookCount(rs.getObject(6, Long.class))
+                .build();
+        return BookDto.builder()
+                .isbn(Isbn.format(rs.getLong(1)))
+                .title(rs.getString(2))
+                .author(author)
+                .build();
+    }
+}
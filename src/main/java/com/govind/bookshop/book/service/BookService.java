@@ -4,18 +4,22 @@ import com.govind.bookshop.book.domain.entity.BookEntity;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
 /**
  * Application service contract for book operations.
+ *
+ * <p>ISBNs are canonical numeric keys ({@link com.govind.bookshop.book.domain.Isbn#parse});
+ * callers convert from the string form at the edge.</p>
  */
 public interface BookService {
 
     /**
      * Create or replace a book under the given ISBN.
      */
-    BookEntity createUpdateBook(String isbn, BookEntity book);
+    BookEntity createUpdateBook(Long isbn, BookEntity book);
 
     /**
      * List all books (non-paged).
@@ -30,20 +34,26 @@ public interface BookService {
     /**
      * Find a single book by ISBN.
      */
-    Optional<BookEntity> findOne(String isbn);
+    Optional<BookEntity> findOne(Long isbn);
+
+    /**
+     * Find all books with the given ISBNs (authors included) in one query.
+     * Unknown ISBNs are simply absent from the result; no order is implied.
+     */
+    List<BookEntity> findAllByIsbn(Collection<Long> isbns);
 
     /**
      * Check if a book exists by ISBN.
      */
-    boolean isExists(String isbn);
+    boolean isExists(Long isbn);
 
     /**
      * Apply a partial update to the book with the given ISBN.
      */
-    BookEntity partialUpdate(String isbn, BookEntity book);
+    BookEntity partialUpdate(Long isbn, BookEntity book);
 
     /**
      * Delete a book by ISBN.
      */
-    void delete(String isbn);
+    void delete(Long isbn);
 }
\ No newline at end of file
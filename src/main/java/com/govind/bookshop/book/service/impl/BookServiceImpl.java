@@ -1,33 +1,55 @@
 package com.govind.bookshop.book.service.impl;
 
+import com.govind.bookshop.author.repository.AuthorRepository;
+import com.govind.bookshop.book.domain.Isbn;
 import com.govind.bookshop.book.domain.entity.BookEntity;
 import com.govind.bookshop.book.repository.BookRepository;
 import com.govind.bookshop.book.service.BookService;
+import com.govind.bookshop.change.domain.entity.ChangeEntity;
+import com.govind.bookshop.change.service.ChangeService;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 import java.util.stream.StreamSupport;
 
 /**
  * Default {@link BookService} implementation using Spring Data.
+ *
+ * <p>Every mutation also appends to the change feed in the same transaction, and keeps
+ * {@code authors.book_count} in step: the book row is locked first, then the old and new
+ * authors' counts are adjusted atomically (lower id first, so opposite re-assignments
+ * can't deadlock).</p>
  */
 @Component
 public class BookServiceImpl implements BookService {
 
     private final BookRepository bookRepository;
+    private final AuthorRepository authorRepository;
+    private final ChangeService changeService;
 
-    public BookServiceImpl(BookRepository bookRepository) {
+    public BookServiceImpl(BookRepository bookRepository, AuthorRepository authorRepository,
+                           ChangeService changeService) {
         this.bookRepository = bookRepository;
+        this.authorRepository = authorRepository;
+        this.changeService = changeService;
     }
 
     @Override
-    public BookEntity createUpdateBook(String isbn, BookEntity book) {
+    @Transactional
+    public BookEntity createUpdateBook(Long isbn, BookEntity book) {
         // Ensure the path-variable ISBN is authoritative
         book.setIsbn(isbn);
-        return bookRepository.save(book);
+        Long previousAuthorId = bookRepository.findWithLockByIsbn(isbn).map(BookServiceImpl::authorIdOf).orElse(null);
+        BookEntity saved = bookRepository.save(book);
+        moveBookCount(previousAuthorId, authorIdOf(saved));
+        recordUpsert(saved);
+        return saved;
     }
 
     @Override
@@ -42,29 +64,89 @@ public class BookServiceImpl implements BookService {
     }
 
     @Override
-    public void delete(String isbn) {
-        bookRepository.deleteById(isbn); // idempotent
+    @Transactional
+    public void delete(Long isbn) {
+        // idempotent; only a real delete produces a tombstone
+        bookRepository.findWithLockByIsbn(isbn).ifPresent(book -> {
+            moveBookCount(authorIdOf(book), null);
+            bookRepository.delete(book);
+            changeService.record(ChangeEntity.Type.BOOK, Isbn.format(isbn), ChangeEntity.Op.DELETE);
+            // CascadeType.ALL removes the author along with the book.
+            if (book.getAuthorEntity() != null && book.getAuthorEntity().getId() != null) {
+                changeService.record(ChangeEntity.Type.AUTHOR, book.getAuthorEntity().getId().toString(), ChangeEntity.Op.DELETE);
+            }
+        });
     }
 
     @Override
-    public Optional<BookEntity> findOne(String isbn) {
+    public Optional<BookEntity> findOne(Long isbn) {
         return bookRepository.findById(isbn);
     }
 
     @Override
-    public boolean isExists(String isbn) {
+    public List<BookEntity> findAllByIsbn(Collection<Long> isbns) {
+        if (isbns.isEmpty()) {
+            return List.of();
+        }
+        return bookRepository.findAllWithAuthorByIsbnIn(isbns);
+    }
+
+    @Override
+    public boolean isExists(Long isbn) {
         return bookRepository.existsById(isbn);
     }
 
     @Override
-    public BookEntity partialUpdate(String isbn, BookEntity book) {
+    @Transactional
+    public BookEntity partialUpdate(Long isbn, BookEntity book) {
         // Ensure we patch the correct row
         book.setIsbn(isbn);
 
-        return bookRepository.findById(isbn).map(existing -> {
+        return bookRepository.findWithLockByIsbn(isbn).map(existing -> {
+            Long previousAuthorId = authorIdOf(existing);
             Optional.ofNullable(book.getTitle()).ifPresent(existing::setTitle);
             Optional.ofNullable(book.getAuthorEntity()).ifPresent(existing::setAuthorEntity);
-            return bookRepository.save(existing);
+            BookEntity saved = bookRepository.save(existing);
+            moveBookCount(previousAuthorId, authorIdOf(saved));
+            recordUpsert(saved);
+            return saved;
         }).orElseThrow(() -> new RuntimeException("Book not found for isbn=" + isbn)); // TODO: replace with domain-specific exception
     }
-}
\ No newline at end of file
+
+    /**
+     * Move one book from {@code from}'s count to {@code to}'s (either may be null).
+     * The previous author's new count is published to the change feed here; the new
+     * author's is covered by {@link #recordUpsert}.
+     */
+    private void moveBookCount(Long from, Long to) {
+        if (Objects.equals(from, to)) {
+            return;
+        }
+        if (from != null && to != null && to < from) {
+            authorRepository.adjustBookCount(to, 1);
+            authorRepository.adjustBookCount(from, -1);
+        } else {
+            if (from != null) {
+                authorRepository.adjustBookCount(from, -1);
+            }
+            if (to != null) {
+                authorRepository.adjustBookCount(to, 1);
+            }
+        }
+        if (from != null) {
+            changeService.record(ChangeEntity.Type.AUTHOR, from.toString(), ChangeEntity.Op.UPSERT);
+        }
+    }
+
+    private static Long authorIdOf(BookEntity book) {
+        return book.getAuthorEntity() == null ? null : book.getAuthorEntity().getId();
+    }
+
+    /** The author is saved through the book's cascade, so it may have changed too. */
+    private void recordUpsert(BookEntity saved) {
+        changeService.record(ChangeEntity.Type.BOOK, Isbn.format(saved.getIsbn()), ChangeEntity.Op.UPSERT);
+        if (saved.getAuthorEntity() != null && saved.getAuthorEntity().getId() != null) {
+            changeService.record(ChangeEntity.Type.AUTHOR, saved.getAuthorEntity().getId().toString(), ChangeEntity.Op.UPSERT);
+        }
+    }
+}
@@ -0,0 +1,210 @@
+package com.govind.bookshop.change.controller;
+
+import com.govind.bookshop.author.domain.dto.AuthorDto;
+import com.govind.bookshop.author.domain.entity.AuthorEntity;
+import com.govind.bookshop.book.domain.dto.BookDto;
+import com.govind.bookshop.book.domain.entity.BookEntity;
+import com.govind.bookshop.change.domain.dto.ChangeBatchDto;
+import com.govind.bookshop.change.domain.dto.ChangeDto;
+import com.govind.bookshop.change.service.ChangeBatch;
+import com.govind.bookshop.change.service.ChangeNotifier;
+import com.govind.bookshop.change.service.ChangeService;
+import com.govind.bookshop.change.service.SharedChangeReads;
+import com.govind.bookshop.mapper.Mapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * REST controller for the catalog change feed.
+ *
+ * <p>Endpoints:
+ * <ul>
+ *   <li>GET /changes?since=&amp;limit=        – next batch of changes after {@code since}</li>
+ *   <li>GET /changes?since=&amp;limit=&amp;wait= – same, but hold the request up to {@code wait} seconds until something changes</li>
+ *   <li>GET /changes/stream?since=         – Server-Sent Events, one {@code changes} event per batch</li>
+ * </ul>
+ *
+ * <p>Mirrors start with {@code since=0}, apply each batch (upsert or remove by key) and
+ * keep the returned {@code next} token. Reads cost O(changes), not O(catalog).</p>
+ */
+@RestController
+public class ChangeController {
+
+    private static final int DEFAULT_LIMIT = 100;
+
+    private final ChangeService changeService;
+    private final ChangeNotifier notifier;
+    private final SharedChangeReads sharedReads;
+    private final Mapper<BookEntity, BookDto> bookMapper;
+    private final Mapper<AuthorEntity, AuthorDto> authorMapper;
+
+    /** Upper bound on changes returned by one call; larger {@code limit}s are clamped. */
+    private final int maxBatchSize;
+
+    /** Upper bound on long-poll {@code wait}. */
+    private final Duration maxWait;
+
+    /** How long an SSE stream stays open before the client must reconnect with its last id. */
+    private final Duration streamTimeout;
+
+    public ChangeController(ChangeService changeService, ChangeNotifier notifier, SharedChangeReads sharedReads,
+                            Mapper<BookEntity, BookDto> bookMapper, Mapper<AuthorEntity, AuthorDto> authorMapper,
+                            @Value("${bookshop.changes.max-batch-size:500}") int maxBatchSize,
+                            @Value("${bookshop.changes.max-wait:30s}") Duration maxWait,
+                            @Value("${bookshop.changes.stream-timeout:30m}") Duration streamTimeout) {
+        this.changeService = changeService;
+        this.notifier = notifier;
+        this.sharedReads = sharedReads;
+        this.bookMapper = bookMapper;
+        this.authorMapper = authorMapper;
+        this.maxBatchSize = maxBatchSize;
+        this.maxWait = maxWait;
+        this.streamTimeout = streamTimeout;
+    }
+
+    /**
+     * Return the next batch of changes after {@code since}.
+     *
+     * @param since token from a previous response, or {@code 0} to start from the beginning
+     * @param limit maximum changes to read (clamped to the configured maximum)
+     * @return 200 with the batch, or 400 for a malformed token or non-positive limit
+     */
+    @GetMapping("/changes")
+    public ResponseEntity<ChangeBatchDto> changes(@RequestParam(value = "since", defaultValue = "0") String since,
+                                                  @RequestParam(value = "limit", required = false) Integer limit) {
+        Long from = parseToken(since);
+        Integer batchSize = batchSize(limit);
+        if (from == null || batchSize == null) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        return new ResponseEntity<>(toDto(changeService.readSince(from, batchSize)), HttpStatus.OK);
+    }
+
+    /**
+     * Long-poll variant: answers as soon as there is at least one change after {@code since},
+     * or with an empty batch once {@code wait} seconds have passed.
+     */
+    @GetMapping(value = "/changes", params = "wait")
+    public DeferredResult<ResponseEntity<ChangeBatchDto>> awaitChanges(
+            @RequestParam(value = "since", defaultValue = "0") String since,
+            @RequestParam(value = "limit", required = false) Integer limit,
+            @RequestParam("wait") long waitSeconds) {
+        Long from = parseToken(since);
+        Integer batchSize = batchSize(limit);
+        DeferredResult<ResponseEntity<ChangeBatchDto>> result;
+        if (from == null || batchSize == null || waitSeconds < 0) {
+            result = new DeferredResult<>();
+            result.setResult(new ResponseEntity<>(HttpStatus.BAD_REQUEST));
+            return result;
+        }
+
+        long waitMillis = Math.min(Duration.ofSeconds(waitSeconds).toMillis(), maxWait.toMillis());
+        ChangeBatchDto empty = new ChangeBatchDto(List.of(), Long.toString(from), false);
+        result = new DeferredResult<>(waitMillis, new ResponseEntity<>(empty, HttpStatus.OK));
+
+        DeferredResult<ResponseEntity<ChangeBatchDto>> pending = result;
+        Runnable check = () -> {
+            if (pending.isSetOrExpired()) {
+                return;
+            }
+            ChangeBatch batch = sharedReads.readSince(from, batchSize);
+            if (!batch.changes().isEmpty()) {
+                pending.setResult(new ResponseEntity<>(toDto(batch), HttpStatus.OK));
+            }
+        };
+        // Subscribe before the first read so a commit in between can't be missed.
+        Runnable unsubscribe = notifier.subscribe(check);
+        result.onCompletion(unsubscribe);
+        check.run();
+        return result;
+    }
+
+    /**
+     * Stream changes after {@code since} as Server-Sent Events. Each event is named
+     * {@code changes}, carries a {@link ChangeBatchDto} and uses {@code next} as its id, so
+     * a reconnecting client can resume from {@code Last-Event-ID}.
+     */
+    @GetMapping("/changes/stream")
+    public ResponseEntity<SseEmitter> streamChanges(
+            @RequestParam(value = "since", defaultValue = "0") String since,
+            @RequestParam(value = "limit", required = false) Integer limit,
+            @RequestHeader(value = "Last-Event-ID", required = false) String lastEventId) {
+        Long from = parseToken(lastEventId != null ? lastEventId : since);
+        Integer batchSize = batchSize(limit);
+        if (from == null || batchSize == null) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+
+        SseEmitter emitter = new SseEmitter(streamTimeout.toMillis());
+        long[] cursor = {from};
+        Runnable push = () -> {
+            synchronized (cursor) {
+                try {
+                    ChangeBatch batch;
+                    do {
+                        batch = sharedReads.readSince(cursor[0], batchSize);
+                        if (batch.changes().isEmpty()) {
+                            break;
+                        }
+                        emitter.send(SseEmitter.event()
+                                .name("changes")
+                                .id(Long.toString(batch.next()))
+                                .data(toDto(batch)));
+                        cursor[0] = batch.next();
+                    } while (batch.hasMore());
+                } catch (IOException | IllegalStateException e) {
+                    // Client went away or the emitter already completed.
+                    emitter.completeWithError(e);
+                }
+            }
+        };
+        Runnable unsubscribe = notifier.subscribe(push);
+        emitter.onCompletion(unsubscribe);
+        emitter.onTimeout(unsubscribe);
+        emitter.onError(e -> unsubscribe.run());
+        push.run();
+        return new ResponseEntity<>(emitter, HttpStatus.OK);
+    }
+
+    private static Long parseToken(String since) {
+        try {
+            long value = Long.parseLong(since.trim());
+            return value < 0 ? null : value;
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+
+    private Integer batchSize(Integer limit) {
+        if (limit == null) {
+            return Math.min(DEFAULT_LIMIT, maxBatchSize);
+        }
+        return limit < 1 ? null : Math.min(limit, maxBatchSize);
+    }
+
+    private ChangeBatchDto toDto(ChangeBatch batch) {
+        List<ChangeDto> changes = batch.changes().stream()
+                .map(change -> ChangeDto.builder()
+                        .seq(change.seq())
+                        .type(change.type().name().toLowerCase(Locale.ROOT))
+                        .key(change.key())
+                        .op(change.op().name().toLowerCase(Locale.ROOT))
+                        .book(change.book() == null ? null : bookMapper.toDto(change.book()))
+                        .author(change.author() == null ? null : authorMapper.toDto(change.author()))
+                        .build())
+                .toList();
+        return new ChangeBatchDto(changes, Long.toString(batch.next()), batch.hasMore());
+    }
+}
@@ -0,0 +1,30 @@
+package com.govind.bookshop.change.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+/**
+ * Response of {@code GET /changes}.
+ *
+ * <p>Pass {@code next} back as {@code since} to continue. When {@code hasMore} is true
+ * the client should ask again right away; otherwise it is caught up.</p>
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ChangeBatchDto {
+
+    /** Changed records, one entry per record, ordered by {@code seq}. */
+    private List<ChangeDto> changes;
+
+    /** Token to send as {@code since} on the next call. */
+    private String next;
+
+    /** True if more changes exist beyond this batch. */
+    private boolean hasMore;
+}
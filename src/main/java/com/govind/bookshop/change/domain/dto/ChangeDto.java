@@ -0,0 +1,38 @@
+package com.govind.bookshop.change.domain.dto;
+
+import com.govind.bookshop.author.domain.dto.AuthorDto;
+import com.govind.bookshop.book.domain.dto.BookDto;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * One entry of a change batch.
+ *
+ * <p>For {@code op = "upsert"} exactly one of {@code book} / {@code author} carries the
+ * record's current state. For {@code op = "delete"} (a tombstone) both are null and
+ * {@code key} identifies what to remove.</p>
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ChangeDto {
+
+    /** Position of the latest change to this record within the batch. */
+    private long seq;
+
+    /** {@code "book"} or {@code "author"}. */
+    private String type;
+
+    /** ISBN for books, id for authors. */
+    private String key;
+
+    /** {@code "upsert"} or {@code "delete"}. */
+    private String op;
+
+    private BookDto book;
+
+    private AuthorDto author;
+}
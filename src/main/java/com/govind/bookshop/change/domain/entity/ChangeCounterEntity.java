@@ -0,0 +1,32 @@
+package com.govind.bookshop.change.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Single-row high-water mark for the change feed ({@code change_counter}).
+ *
+ * <p>Writers lock this row to take the next sequence number and hold the lock until
+ * commit. That serializes catalog writes, which is what makes the feed gap-free.</p>
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Entity
+@Table(name = "change_counter")
+public class ChangeCounterEntity {
+
+    /** The only row has id 1. */
+    public static final int SINGLETON_ID = 1;
+
+    @Id
+    private Integer id;
+
+    /** Last sequence number handed out. */
+    @Column(name = "last_seq", nullable = false)
+    private Long lastSeq;
+}
@@ -0,0 +1,55 @@
+package com.govind.bookshop.change.domain.entity;
+
+import jakarta.persistence.*;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.hibernate.annotations.JdbcTypeCode;
+import org.hibernate.type.SqlTypes;
+
+import java.time.Instant;
+
+/**
+ * One row of the change feed, mapped to the {@code changes} table.
+ *
+ * <p>{@code seq} is assigned from {@link ChangeCounterEntity} inside the mutating
+ * transaction, so sequence order equals commit order and a reader that has seen
+ * {@code seq = n} will never later discover a committed change below {@code n}.</p>
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+@Entity
+@Table(name = "changes")
+public class ChangeEntity {
+
+    /** Kind of record that changed. */
+    public enum Type { BOOK, AUTHOR }
+
+    /** What happened to it. */
+    public enum Op { UPSERT, DELETE }
+
+    /** Monotonic, gap-free position in the feed. */
+    @Id
+    private Long seq;
+
+    /** Plain VARCHAR in the migrations; {@code @JdbcTypeCode} stops H2 expecting a native ENUM. */
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(name = "entity_type", nullable = false, length = 16)
+    private Type entityType;
+
+    /** ISBN for books, id for authors. */
+    @Column(name = "entity_key", nullable = false, length = 64)
+    private String entityKey;
+
+    @Enumerated(EnumType.STRING)
+    @JdbcTypeCode(SqlTypes.VARCHAR)
+    @Column(nullable = false, length = 16)
+    private Op op;
+
+    @Column(name = "changed_at", nullable = false)
+    private Instant changedAt;
+}
@@ -0,0 +1,18 @@
+package com.govind.bookshop.change.repository;
+
+import com.govind.bookshop.change.domain.entity.ChangeCounterEntity;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.repository.CrudRepository;
+
+import java.util.Optional;
+
+/**
+ * Spring Data repository for {@link ChangeCounterEntity}.
+ */
+public interface ChangeCounterRepository extends CrudRepository<ChangeCounterEntity, Integer> {
+
+    /** {@code SELECT ... FOR UPDATE}; the lock is held until the surrounding transaction ends. */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    Optional<ChangeCounterEntity> findWithLockById(Integer id);
+}
@@ -0,0 +1,16 @@
+package com.govind.bookshop.change.repository;
+
+import com.govind.bookshop.change.domain.entity.ChangeEntity;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.repository.CrudRepository;
+
+import java.util.List;
+
+/**
+ * Spring Data repository for {@link ChangeEntity}.
+ */
+public interface ChangeRepository extends CrudRepository<ChangeEntity, Long> {
+
+    /** Changes after {@code seq}, oldest first; the page bounds the batch. */
+    List<ChangeEntity> findBySeqGreaterThanOrderBySeqAsc(long seq, Pageable page);
+}
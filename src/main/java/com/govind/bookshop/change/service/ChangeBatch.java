@@ -0,0 +1,25 @@
+package com.govind.bookshop.change.service;
+
+import com.govind.bookshop.author.domain.entity.AuthorEntity;
+import com.govind.bookshop.book.domain.entity.BookEntity;
+import com.govind.bookshop.change.domain.entity.ChangeEntity;
+
+import java.util.List;
+
+/**
+ * One bounded read of the change feed.
+ *
+ * @param changes latest change per record, ordered by {@code seq}
+ * @param next    position to resume from ({@code since} if nothing was read)
+ * @param hasMore whether changes exist beyond {@code next}
+ */
+public record ChangeBatch(List<Change> changes, long next, boolean hasMore) {
+
+    /**
+     * A changed record. For upserts exactly one of {@code book} / {@code author} is set;
+     * tombstones carry neither.
+     */
+    public record Change(long seq, ChangeEntity.Type type, String key, ChangeEntity.Op op,
+                         BookEntity book, AuthorEntity author) {
+    }
+}
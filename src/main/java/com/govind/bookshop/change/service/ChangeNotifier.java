@@ -0,0 +1,130 @@
+package com.govind.bookshop.change.service;
+
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Wakes long-poll and SSE readers of the change feed after changes commit.
+ *
+ * <p>Wake-ups are dispatched from a single background thread, never the committing request's
+ * thread, and several commits in quick succession collapse into one. Listeners then run on a
+ * pool of {@code bookshop.changes.listener-threads} workers, so a listener that blocks (an SSE
+ * client that stopped reading) holds up one worker, not every other reader. Each listener runs
+ * at most once at a time; wake-ups that arrive while it runs fold into one more run after it.
+ * Listeners re-read the feed from their own position, so they don't need to know which changes
+ * arrived.</p>
+ *
+ * <p>Each wake-up starts a new {@link #generation()}; {@link SharedChangeReads} uses it to let
+ * readers at the same position share one query per wake-up.</p>
+ */
+@Slf4j
+@Component
+public class ChangeNotifier {
+
+    private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+    private final AtomicBoolean wakeScheduled = new AtomicBoolean();
+    private final AtomicLong generation = new AtomicLong();
+    private final ExecutorService dispatcher = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "change-notifier");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final ExecutorService workers;
+
+    public ChangeNotifier(@Value("${bookshop.changes.listener-threads:4}") int listenerThreads) {
+        AtomicInteger threads = new AtomicInteger();
+        this.workers = Executors.newFixedThreadPool(Math.max(1, listenerThreads), r -> {
+            Thread thread = new Thread(r, "change-listener-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Call {@code listener} after every commit that recorded changes, until the returned
+     * handle is run.
+     */
+    public Runnable subscribe(Runnable listener) {
+        Subscription subscription = new Subscription(listener);
+        subscriptions.add(subscription);
+        return () -> subscriptions.remove(subscription);
+    }
+
+    /** Wake-ups so far; changes committed before a wake-up are visible to reads made after it. */
+    public long generation() {
+        return generation.get();
+    }
+
+    @TransactionalEventListener
+    public void onCommitted(ChangeRecordedEvent event) {
+        wake();
+    }
+
+    /**
+     * Wake every listener soon, e.g. because another instance committed changes
+     * (see {@code InvalidationBus}).
+     */
+    public void wake() {
+        if (wakeScheduled.compareAndSet(false, true)) {
+            dispatcher.execute(this::wakeAll);
+        }
+    }
+
+    private void wakeAll() {
+        wakeScheduled.set(false);
+        generation.incrementAndGet();
+        for (Subscription subscription : subscriptions) {
+            subscription.wake();
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        dispatcher.shutdownNow();
+        workers.shutdownNow();
+    }
+
+    /** A listener that runs on the worker pool, at most once at a time. */
+    private final class Subscription implements Runnable {
+
+        private static final int IDLE = 0;
+        private static final int RUNNING = 1;
+        private static final int RERUN = 2;
+
+        private final Runnable listener;
+        private final AtomicInteger state = new AtomicInteger(IDLE);
+
+        private Subscription(Runnable listener) {
+            this.listener = listener;
+        }
+
+        void wake() {
+            if (state.getAndUpdate(s -> s == IDLE ? RUNNING : RERUN) == IDLE) {
+                workers.execute(this);
+            }
+        }
+
+        @Override
+        public void run() {
+            do {
+                try {
+                    listener.run();
+                } catch (RuntimeException e) {
+                    // One broken reader must not starve the others.
+                    log.warn("Change listener failed", e);
+                }
+            } while (state.getAndUpdate(s -> s == RERUN ? RUNNING : IDLE) == RERUN);
+        }
+    }
+}
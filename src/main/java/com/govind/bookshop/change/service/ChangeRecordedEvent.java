@@ -0,0 +1,13 @@
+package com.govind.bookshop.change.service;
+
+import com.govind.bookshop.change.domain.entity.ChangeEntity;
+
+/**
+ * Published when a change is recorded; delivered to listeners only after the commit.
+ *
+ * @param seq  sequence number of the recorded change
+ * @param type kind of record that changed
+ * @param key  ISBN for books, id for authors (as in the change feed)
+ */
+public record ChangeRecordedEvent(long seq, ChangeEntity.Type type, String key) {
+}
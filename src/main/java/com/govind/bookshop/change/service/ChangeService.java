@@ -0,0 +1,40 @@
+package com.govind.bookshop.change.service;
+
+import com.govind.bookshop.change.domain.entity.ChangeEntity;
+
+import java.util.List;
+import java.util.function.Supplier;
+
+/**
+ * Application service contract for the change feed.
+ */
+public interface ChangeService {
+
+    /**
+     * Append a change in the caller's transaction. Must be called from a transaction that
+     * also performs the mutation, so the record and the change commit (or roll back) together.
+     */
+    void record(ChangeEntity.Type type, String key, ChangeEntity.Op op);
+
+    /**
+     * {@link #record} for several records at once, in order; takes the counter lock once.
+     */
+    void recordAll(ChangeEntity.Type type, List<String> keys, ChangeEntity.Op op);
+
+    /**
+     * Run {@code work} in the caller's transaction with its {@link #record}s held back, then
+     * record them all, in order, under one counter lock when it returns.
+     *
+     * <p>The counter lock serializes every write until commit. Multi-step writers take it last,
+     * as single writes do, so they neither stall other writers while they work nor lock rows in
+     * the opposite order (counter before book or author rows). Nested calls join the outer one.
+     * If {@code work} throws, nothing is recorded.</p>
+     */
+    <T> T deferring(Supplier<T> work);
+
+    /**
+     * Read up to {@code limit} changes after {@code since}, collapsed to the latest change per
+     * record and joined with each record's current state.
+     */
+    ChangeBatch readSince(long since, int limit);
+}
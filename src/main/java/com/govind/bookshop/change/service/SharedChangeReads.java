@@ -0,0 +1,79 @@
+package com.govind.bookshop.change.service;
+
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link ChangeService#readSince} for change-feed subscribers, shared between readers at the
+ * same position within one {@link ChangeNotifier#generation() wake-up}.
+ *
+ * <p>After a commit every long-poll and SSE reader re-reads the feed; mirrors that keep up sit
+ * at the same position, so without sharing one commit costs one identical query per
+ * subscriber. The first reader of a {@code (since, limit)} in a generation runs the query and
+ * the others wait for its result. A result is never reused across wake-ups: a reader in a later
+ * generation may need changes committed since.</p>
+ */
+@Component
+public class SharedChangeReads {
+
+    private record Key(long since, int limit) {
+    }
+
+    private record Generation(long number, Map<Key, CompletableFuture<ChangeBatch>> reads) {
+    }
+
+    private final ChangeService changeService;
+    private final ChangeNotifier notifier;
+    private volatile Generation current = new Generation(-1, new ConcurrentHashMap<>());
+
+    public SharedChangeReads(ChangeService changeService, ChangeNotifier notifier) {
+        this.changeService = changeService;
+        this.notifier = notifier;
+    }
+
+    public ChangeBatch readSince(long since, int limit) {
+        Generation generation = generation(notifier.generation());
+        Key key = new Key(since, limit);
+        CompletableFuture<ChangeBatch> mine = new CompletableFuture<>();
+        CompletableFuture<ChangeBatch> shared = generation.reads().putIfAbsent(key, mine);
+        if (shared != null) {
+            try {
+                return shared.join();
+            } catch (CompletionException e) {
+                throw e.getCause() instanceof RuntimeException cause ? cause : e;
+            }
+        }
+        try {
+            ChangeBatch batch = changeService.readSince(since, limit);
+            mine.complete(batch);
+            return batch;
+        } catch (RuntimeException e) {
+            // Waiting readers fail with it; later ones try again.
+            generation.reads().remove(key, mine);
+            mine.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    /** The reads of wake-up {@code number}; older ones are dropped. */
+    private Generation generation(long number) {
+        Generation generation = current;
+        if (generation.number() != number) {
+            synchronized (this) {
+                generation = current;
+                if (generation.number() < number) {
+                    generation = new Generation(number, new ConcurrentHashMap<>());
+                    current = generation;
+                } else if (generation.number() > number) {
+                    // Read the generation before a wake-up landed; a fresh query is always safe.
+                    generation = new Generation(number, new ConcurrentHashMap<>());
+                }
+            }
+        }
+        return generation;
+    }
+}
@@ -0,0 +1,177 @@
+package com.govind.bookshop.change.service.impl;
+
+import com.govind.bookshop.author.domain.entity.AuthorEntity;
+import com.govind.bookshop.author.repository.AuthorRepository;
+import com.govind.bookshop.book.domain.Isbn;
+import com.govind.bookshop.book.domain.entity.BookEntity;
+import com.govind.bookshop.book.repository.BookRepository;
+import com.govind.bookshop.change.domain.entity.ChangeCounterEntity;
+import com.govind.bookshop.change.domain.entity.ChangeEntity;
+import com.govind.bookshop.change.repository.ChangeCounterRepository;
+import com.govind.bookshop.change.repository.ChangeRepository;
+import com.govind.bookshop.change.service.ChangeBatch;
+import com.govind.bookshop.change.service.ChangeRecordedEvent;
+import com.govind.bookshop.change.service.ChangeService;
+import jakarta.persistence.EntityManager;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Supplier;
+
+/**
+ * Default {@link ChangeService} implementation backed by the {@code changes} table.
+ */
+@Service
+public class ChangeServiceImpl implements ChangeService {
+
+    /** A change held back by {@link #deferring}. */
+    private record Pending(ChangeEntity.Type type, String key, ChangeEntity.Op op) {
+    }
+
+    /** Changes held back on this thread, or null when recording directly. */
+    private final ThreadLocal<List<Pending>> deferred = new ThreadLocal<>();
+
+    private final ChangeRepository changeRepository;
+    private final ChangeCounterRepository counterRepository;
+    private final BookRepository bookRepository;
+    private final AuthorRepository authorRepository;
+    private final ApplicationEventPublisher events;
+    private final EntityManager entityManager;
+
+    public ChangeServiceImpl(ChangeRepository changeRepository, ChangeCounterRepository counterRepository,
+                             BookRepository bookRepository, AuthorRepository authorRepository,
+                             ApplicationEventPublisher events, EntityManager entityManager) {
+        this.changeRepository = changeRepository;
+        this.counterRepository = counterRepository;
+        this.bookRepository = bookRepository;
+        this.authorRepository = authorRepository;
+        this.events = events;
+        this.entityManager = entityManager;
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(ChangeEntity.Type type, String key, ChangeEntity.Op op) {
+        recordAll(type, List.of(key), op);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void recordAll(ChangeEntity.Type type, List<String> keys, ChangeEntity.Op op) {
+        List<Pending> changes = keys.stream().map(key -> new Pending(type, key, op)).toList();
+        List<Pending> held = deferred.get();
+        if (held != null) {
+            held.addAll(changes);
+            return;
+        }
+        write(changes);
+    }
+
+    @Override
+    @Transactional(propagation = Propagation.MANDATORY)
+    public <T> T deferring(Supplier<T> work) {
+        if (deferred.get() != null) {
+            return work.get();
+        }
+        List<Pending> held = new ArrayList<>();
+        deferred.set(held);
+        T result;
+        try {
+            result = work.get();
+        } finally {
+            deferred.remove();
+        }
+        write(held);
+        return result;
+    }
+
+    private void write(List<Pending> changes) {
+        if (changes.isEmpty()) {
+            return;
+        }
+        ChangeCounterEntity counter = counterRepository.findWithLockById(ChangeCounterEntity.SINGLETON_ID)
+                // First write on an empty database; migrations normally seed this row.
+                .orElseGet(() -> counterRepository.save(new ChangeCounterEntity(ChangeCounterEntity.SINGLETON_ID, 0L)));
+        long seq = counter.getLastSeq();
+        Instant now = Instant.now();
+        for (Pending change : changes) {
+            seq++;
+            // persist, not save: seq is assigned, and save would first SELECT to tell new from existing
+            entityManager.persist(ChangeEntity.builder()
+                    .seq(seq)
+                    .entityType(change.type())
+                    .entityKey(change.key())
+                    .op(change.op())
+                    .changedAt(now)
+                    .build());
+            events.publishEvent(new ChangeRecordedEvent(seq, change.type(), change.key()));
+        }
+        counter.setLastSeq(seq);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ChangeBatch readSince(long since, int limit) {
+        List<ChangeEntity> rows = changeRepository.findBySeqGreaterThanOrderBySeqAsc(since, PageRequest.of(0, limit + 1));
+        boolean hasMore = rows.size() > limit;
+        if (hasMore) {
+            rows = rows.subList(0, limit);
+        }
+        if (rows.isEmpty()) {
+            return new ChangeBatch(List.of(), since, false);
+        }
+
+        // Keep only the latest change per record, positioned at that change's seq.
+        Map<String, ChangeEntity> latest = new LinkedHashMap<>();
+        for (ChangeEntity row : rows) {
+            String id = row.getEntityType() + ":" + row.getEntityKey();
+            latest.remove(id);
+            latest.put(id, row);
+        }
+
+        List<Long> isbns = new ArrayList<>();
+        List<Long> authorIds = new ArrayList<>();
+        for (ChangeEntity row : latest.values()) {
+            if (row.getOp() == ChangeEntity.Op.UPSERT) {
+                if (row.getEntityType() == ChangeEntity.Type.BOOK) {
+                    // keys are recorded in canonical form; anything unparseable reads as a tombstone below
+                    Isbn.tryParse(row.getEntityKey()).ifPresent(isbns::add);
+                } else {
+                    authorIds.add(Long.valueOf(row.getEntityKey()));
+                }
+            }
+        }
+        Map<String, BookEntity> books = new HashMap<>();
+        if (!isbns.isEmpty()) {
+            bookRepository.findAllWithAuthorByIsbnIn(isbns).forEach(b -> books.put(Isbn.format(b.getIsbn()), b));
+        }
+        Map<String, AuthorEntity> authors = new HashMap<>();
+        authorRepository.findAllById(authorIds).forEach(a -> authors.put(a.getId().toString(), a));
+
+        List<ChangeBatch.Change> changes = new ArrayList<>(latest.size());
+        for (ChangeEntity row : latest.values()) {
+            BookEntity book = null;
+            AuthorEntity author = null;
+            ChangeEntity.Op op = row.getOp();
+            if (op == ChangeEntity.Op.UPSERT) {
+                book = row.getEntityType() == ChangeEntity.Type.BOOK ? books.get(row.getEntityKey()) : null;
+                author = row.getEntityType() == ChangeEntity.Type.AUTHOR ? authors.get(row.getEntityKey()) : null;
+                if (book == null && author == null) {
+                    // Deleted after this batch's window; its tombstone follows, report the current truth now.
+                    op = ChangeEntity.Op.DELETE;
+                }
+            }
+            changes.add(new ChangeBatch.Change(row.getSeq(), row.getEntityType(), row.getEntityKey(), op, book, author));
+        }
+        return new ChangeBatch(changes, rows.get(rows.size() - 1).getSeq(), hasMore);
+    }
+}
@@ -0,0 +1,22 @@
+package com.govind.bookshop.config;
+
+import com.govind.bookshop.author.domain.dto.AuthorDto;
+import com.govind.bookshop.book.domain.dto.BookDto;
+import com.govind.bookshop.change.domain.dto.ChangeBatchDto;
+import org.springframework.aot.hint.annotation.RegisterReflectionForBinding;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.PageImpl;
+
+/**
+ * Reachability hints for the GraalVM native image.
+ *
+ * <p>Controllers already get binding hints for their declared parameter and return types
+ * during AOT processing; this adds the types Jackson reaches only through generics
+ * ({@code Page<BookDto>} → {@link PageImpl}) or as untyped SSE payloads
+ * ({@link ChangeBatchDto}) so they are registered explicitly.
+ * On the JVM the annotation has no effect.</p>
+ */
+@Configuration(proxyBeanMethods = false)
+@RegisterReflectionForBinding({BookDto.class, AuthorDto.class, PageImpl.class, ChangeBatchDto.class})
+public class NativeHintsConfig {
+}
@@ -0,0 +1,15 @@
+package com.govind.bookshop.config;
+
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables {@code @Scheduled} background jobs.
+ *
+ * <p>Each job takes its schedule from a property and is off when that property is
+ * {@code "-"} (Spring's disabled cron expression).</p>
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableScheduling
+public class SchedulingConfig {
+}
@@ -0,0 +1,56 @@
+package com.govind.bookshop.deadline;
+
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Carries a request's {@link RequestDeadline} onto the worker thread of an async request
+ * ({@code Callable}, {@code StreamingResponseBody}), and cancels it when the container reports
+ * the async request failed (an I/O error, which is how a disconnect may surface) or timed out.
+ *
+ * <p>Only async requests get such a report, which is why {@code GET /books} and
+ * {@code GET /authors} return a {@code Callable}. Synchronous handlers are not told when the
+ * client goes away, so their queries are bounded by the deadline alone.</p>
+ */
+public class DeadlineCallableInterceptor implements CallableProcessingInterceptor {
+
+    @Override
+    public <T> void preProcess(NativeWebRequest request, Callable<T> task) {
+        RequestDeadline deadline = deadline(request);
+        if (deadline != null) {
+            RequestDeadline.bind(deadline);
+        }
+    }
+
+    @Override
+    public <T> void postProcess(NativeWebRequest request, Callable<T> task, Object concurrentResult) {
+        RequestDeadline.unbind();
+    }
+
+    @Override
+    public <T> Object handleTimeout(NativeWebRequest request, Callable<T> task) {
+        cancel(request);
+        return RESULT_NONE;
+    }
+
+    @Override
+    public <T> Object handleError(NativeWebRequest request, Callable<T> task, Throwable t) {
+        cancel(request);
+        return RESULT_NONE;
+    }
+
+    private static void cancel(NativeWebRequest request) {
+        RequestDeadline deadline = deadline(request);
+        if (deadline != null) {
+            deadline.cancel();
+        }
+    }
+
+    private static RequestDeadline deadline(NativeWebRequest request) {
+        return request.getAttribute(DeadlineInterceptor.ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) instanceof RequestDeadline deadline
+                ? deadline : null;
+    }
+}
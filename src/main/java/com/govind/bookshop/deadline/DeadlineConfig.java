@@ -0,0 +1,96 @@
+package com.govind.bookshop.deadline;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.transaction.TransactionManagerCustomizers;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import javax.sql.DataSource;
+import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Per-endpoint request deadlines that become JDBC statement and transaction timeouts.
+ *
+ * <p>Registers {@link DeadlineInterceptor} (and {@link DeadlineCallableInterceptor} and
+ * {@link DeadlineDeferredResultInterceptor} for async requests), wraps the application's {@link DataSource} in a {@link DeadlineDataSource}, and
+ * replaces Boot's JPA transaction manager with a {@link DeadlineJpaTransactionManager}.
+ * Disable with {@code bookshop.deadline.enabled=false}.</p>
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "bookshop.deadline.enabled", havingValue = "true", matchIfMissing = true)
+@ImportRuntimeHints(DeadlineConfig.ProxyHints.class)
+public class DeadlineConfig implements WebMvcConfigurer {
+
+    private final DeadlineInterceptor interceptor;
+
+    public DeadlineConfig(@Value("${bookshop.deadline.default:10s}") Duration defaultBudget,
+                          @Value("${bookshop.deadline.endpoints:}") List<String> endpoints) {
+        this.interceptor = new DeadlineInterceptor(defaultBudget, DeadlineInterceptor.parseBudgets(endpoints));
+    }
+
+    @Override
+    public void addInterceptors(InterceptorRegistry registry) {
+        registry.addInterceptor(interceptor);
+    }
+
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.registerCallableInterceptors(new DeadlineCallableInterceptor());
+        configurer.registerDeferredResultInterceptors(new DeadlineDeferredResultInterceptor());
+    }
+
+    @Bean
+    public DeadlineMetrics deadlineMetrics(MeterRegistry registry) {
+        return new DeadlineMetrics(registry);
+    }
+
+    /** Static, so wrapping the pool does not pull this configuration in early. */
+    @Bean
+    public static BeanPostProcessor deadlineDataSourcePostProcessor(ObjectProvider<DeadlineMetrics> metrics) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof DataSource dataSource && !(bean instanceof DeadlineDataSource)) {
+                    return new DeadlineDataSource(dataSource, metrics::getObject);
+                }
+                return bean;
+            }
+        };
+    }
+
+    /** Takes the place of Boot's {@code JpaTransactionManager}, customized the same way. */
+    @Bean
+    public DeadlineJpaTransactionManager transactionManager(ObjectProvider<TransactionManagerCustomizers> customizers,
+                                                            ObjectProvider<DeadlineMetrics> metrics) {
+        DeadlineJpaTransactionManager transactionManager = new DeadlineJpaTransactionManager(metrics::getObject);
+        customizers.ifAvailable(c -> c.customize(transactionManager));
+        return transactionManager;
+    }
+
+    /** {@link DeadlineDataSource} proxies JDBC interfaces; the native image needs them declared. */
+    static class ProxyHints implements RuntimeHintsRegistrar {
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            hints.proxies().registerJdkProxy(Connection.class);
+            hints.proxies().registerJdkProxy(Statement.class);
+            hints.proxies().registerJdkProxy(PreparedStatement.class);
+            hints.proxies().registerJdkProxy(CallableStatement.class);
+        }
+    }
+}
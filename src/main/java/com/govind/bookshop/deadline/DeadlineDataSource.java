@@ -0,0 +1,174 @@
+package com.govind.bookshop.deadline;
+
+import org.springframework.jdbc.datasource.DelegatingDataSource;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.util.function.Supplier;
+
+/**
+ * Applies the current {@link RequestDeadline} to every statement run on its thread.
+ *
+ * <p>Before each {@code execute*} call the statement's query timeout is lowered to the time
+ * the request has left (rounded up to whole seconds, as JDBC wants), and the statement is
+ * registered with the deadline so {@link RequestDeadline#cancel()} can stop it mid-flight.
+ * Once the deadline has passed or the request was cancelled, creating or executing a
+ * statement fails at once with {@link SQLTimeoutException} (SQLState {@code 57014}, which
+ * Spring and Hibernate translate to a query timeout) instead of reaching the database.</p>
+ *
+ * <p>Connections handed out on threads without a deadline (schedulers, listeners, startup)
+ * are the pool's own, unwrapped. Extends {@link DelegatingDataSource}, so Boot's pool metrics
+ * and health checks still find the pool underneath.</p>
+ */
+public class DeadlineDataSource extends DelegatingDataSource {
+
+    /** SQLState for "query canceled": PostgreSQL and H2 report statement timeouts and cancels with it. */
+    static final String QUERY_CANCELED = "57014";
+
+    private final Supplier<DeadlineMetrics> metrics;
+
+    public DeadlineDataSource(DataSource target, Supplier<DeadlineMetrics> metrics) {
+        super(target);
+        this.metrics = metrics;
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        return wrap(obtainTargetDataSource().getConnection());
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        return wrap(obtainTargetDataSource().getConnection(username, password));
+    }
+
+    private Connection wrap(Connection connection) {
+        if (RequestDeadline.current() == null) {
+            return connection;
+        }
+        return (Connection) Proxy.newProxyInstance(Connection.class.getClassLoader(),
+                new Class<?>[] {Connection.class}, new ConnectionHandler(connection));
+    }
+
+    static boolean isTimeout(SQLException e) {
+        return e instanceof SQLTimeoutException || QUERY_CANCELED.equals(e.getSQLState());
+    }
+
+    private void checkDeadline(RequestDeadline deadline) throws SQLTimeoutException {
+        try {
+            deadline.check();
+        } catch (SQLTimeoutException e) {
+            metrics.get().stopped(deadline);
+            throw e;
+        }
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getTargetException();
+        }
+    }
+
+    private final class ConnectionHandler implements InvocationHandler {
+
+        private final Connection target;
+
+        private ConnectionHandler(Connection target) {
+            this.target = target;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            switch (method.getName()) {
+                case "equals":
+                    return proxy == args[0];
+                case "hashCode":
+                    return System.identityHashCode(proxy);
+                case "toString":
+                    return "DeadlineDataSource connection [" + target + "]";
+                case "createStatement":
+                case "prepareStatement":
+                case "prepareCall":
+                    RequestDeadline deadline = RequestDeadline.current();
+                    if (deadline != null) {
+                        checkDeadline(deadline);
+                    }
+                    Statement statement = (Statement) DeadlineDataSource.invoke(target, method, args);
+                    return Proxy.newProxyInstance(Statement.class.getClassLoader(),
+                            new Class<?>[] {method.getReturnType()}, new StatementHandler(statement, (Connection) proxy));
+                default:
+                    return DeadlineDataSource.invoke(target, method, args);
+            }
+        }
+    }
+
+    private final class StatementHandler implements InvocationHandler {
+
+        private final Statement target;
+        private final Connection connection;
+
+        private StatementHandler(Statement target, Connection connection) {
+            this.target = target;
+            this.connection = connection;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+            String name = method.getName();
+            if (name.equals("equals")) {
+                return proxy == args[0];
+            }
+            if (name.equals("hashCode")) {
+                return System.identityHashCode(proxy);
+            }
+            if (name.equals("getConnection")) {
+                return connection;
+            }
+            RequestDeadline deadline = RequestDeadline.current();
+            if (deadline == null || !name.startsWith("execute")) {
+                return DeadlineDataSource.invoke(target, method, args);
+            }
+            // Register before checking: a cancel either sees the statement or is seen here.
+            deadline.started(target);
+            int previous = -1;
+            try {
+                deadline.check();
+                int remaining = Math.max(1, deadline.remainingSeconds());
+                int timeout = target.getQueryTimeout();
+                if (timeout == 0 || timeout > remaining) {
+                    target.setQueryTimeout(remaining);
+                    previous = timeout;
+                }
+                return DeadlineDataSource.invoke(target, method, args);
+            } catch (SQLException e) {
+                if (isTimeout(e)) {
+                    metrics.get().stopped(deadline);
+                }
+                throw e;
+            } finally {
+                deadline.finished(target);
+                if (previous >= 0) {
+                    restoreTimeout(previous);
+                }
+            }
+        }
+
+        /** H2 keeps the timeout on the session, which outlives this request in the pool. */
+        private void restoreTimeout(int timeout) {
+            try {
+                target.setQueryTimeout(timeout);
+            } catch (SQLException e) {
+                // Closed or broken: the pool discards or resets it anyway.
+            }
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package com.govind.bookshop.deadline;
+
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.context.request.async.DeferredResultProcessingInterceptor;
+
+/**
+ * Cancels a request's {@link RequestDeadline} when the container reports that a
+ * {@code DeferredResult} request (long-poll {@code GET /changes}, SSE) failed or timed out.
+ *
+ * <p>Unlike a {@code Callable}, the result is produced on a thread the application owns, so no
+ * deadline is bound there; this only stops statements still registered with the request.</p>
+ */
+public class DeadlineDeferredResultInterceptor implements DeferredResultProcessingInterceptor {
+
+    @Override
+    public <T> boolean handleTimeout(NativeWebRequest request, DeferredResult<T> deferredResult) {
+        cancel(request);
+        return true;
+    }
+
+    @Override
+    public <T> boolean handleError(NativeWebRequest request, DeferredResult<T> deferredResult, Throwable t) {
+        cancel(request);
+        return true;
+    }
+
+    private static void cancel(NativeWebRequest request) {
+        if (request.getAttribute(DeadlineInterceptor.ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) instanceof RequestDeadline deadline) {
+            deadline.cancel();
+        }
+    }
+}
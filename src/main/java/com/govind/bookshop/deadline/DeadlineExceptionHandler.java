@@ -0,0 +1,31 @@
+package com.govind.bookshop.deadline;
+
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.transaction.TransactionTimedOutException;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+
+import java.io.IOException;
+
+/**
+ * Answers requests whose queries ran out of time with {@code 503} and {@code Retry-After},
+ * like a shed request, rather than a 500. Clients that have gone away never see it.
+ */
+@ControllerAdvice
+@ConditionalOnProperty(name = "bookshop.deadline.enabled", havingValue = "true", matchIfMissing = true)
+public class DeadlineExceptionHandler {
+
+    @ExceptionHandler({QueryTimeoutException.class, TransactionTimedOutException.class,
+            jakarta.persistence.QueryTimeoutException.class})
+    public void timedOut(Exception e, HttpServletResponse response) throws IOException {
+        RequestDeadline deadline = RequestDeadline.current();
+        response.setHeader(HttpHeaders.RETRY_AFTER, "1");
+        response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(), deadline != null
+                ? "Request for " + deadline.route() + " ran out of time; retry later"
+                : "Query ran out of time; retry later");
+    }
+}
@@ -0,0 +1,91 @@
+package com.govind.bookshop.deadline;
+
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.web.servlet.AsyncHandlerInterceptor;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Starts a {@link RequestDeadline} for each handled request and binds it to the thread.
+ *
+ * <p>The budget is looked up by route ({@code "GET /books/{isbn}"}, the matched pattern), with
+ * a default for routes not listed; a zero budget means no deadline. The deadline is also kept
+ * as a request attribute, so the async dispatch of the same request and
+ * {@link DeadlineCallableInterceptor} pick up the same one instead of starting over.</p>
+ */
+public class DeadlineInterceptor implements AsyncHandlerInterceptor {
+
+    static final String ATTRIBUTE = RequestDeadline.class.getName();
+
+    private final Duration defaultBudget;
+    private final Map<String, Duration> budgets;
+
+    public DeadlineInterceptor(Duration defaultBudget, Map<String, Duration> budgets) {
+        this.defaultBudget = defaultBudget;
+        this.budgets = Map.copyOf(budgets);
+    }
+
+    /**
+     * Parses {@code "GET /books=3s"} entries (route, then the budget after the last {@code =}).
+     *
+     * @throws IllegalArgumentException for an entry without a budget or with a malformed one
+     */
+    public static Map<String, Duration> parseBudgets(List<String> entries) {
+        Map<String, Duration> budgets = new HashMap<>();
+        for (String entry : entries) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            int split = entry.lastIndexOf('=');
+            if (split <= 0) {
+                throw new IllegalArgumentException("Expected '<METHOD> <pattern>=<duration>', got: " + entry);
+            }
+            budgets.put(entry.substring(0, split).trim(), DurationStyle.detectAndParse(entry.substring(split + 1).trim()));
+        }
+        return budgets;
+    }
+
+    /** The budget for a route: its own, else the default. */
+    public Duration budgetFor(String route) {
+        return budgets.getOrDefault(route, defaultBudget);
+    }
+
+    @Override
+    public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        Object existing = request.getAttribute(ATTRIBUTE);
+        if (existing instanceof RequestDeadline deadline) {
+            RequestDeadline.bind(deadline);
+            return true;
+        }
+        String route = route(request);
+        Duration budget = budgetFor(route);
+        if (budget.isZero() || budget.isNegative()) {
+            return true;
+        }
+        RequestDeadline deadline = new RequestDeadline(route, budget);
+        request.setAttribute(ATTRIBUTE, deadline);
+        RequestDeadline.bind(deadline);
+        return true;
+    }
+
+    @Override
+    public void afterConcurrentHandlingStarted(HttpServletRequest request, HttpServletResponse response, Object handler) {
+        RequestDeadline.unbind();
+    }
+
+    @Override
+    public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+        RequestDeadline.unbind();
+    }
+
+    private static String route(HttpServletRequest request) {
+        Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return request.getMethod() + " " + (pattern != null ? pattern : "unmatched");
+    }
+}
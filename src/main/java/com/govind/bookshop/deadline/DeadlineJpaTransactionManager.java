@@ -0,0 +1,42 @@
+package com.govind.bookshop.deadline;
+
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionTimedOutException;
+
+import java.util.function.Supplier;
+
+/**
+ * {@link JpaTransactionManager} whose transactions end no later than the current
+ * {@link RequestDeadline}.
+ *
+ * <p>A transaction begun during a request gets the smaller of its own timeout and the time the
+ * request has left. Hibernate then gives each statement the transaction's remaining time, and
+ * Spring fails the transaction once it runs out. Beginning one after the deadline fails with
+ * {@link TransactionTimedOutException}.</p>
+ */
+public class DeadlineJpaTransactionManager extends JpaTransactionManager {
+
+    private final transient Supplier<DeadlineMetrics> metrics;
+
+    public DeadlineJpaTransactionManager(Supplier<DeadlineMetrics> metrics) {
+        this.metrics = metrics;
+    }
+
+    @Override
+    protected int determineTimeout(TransactionDefinition definition) {
+        int timeout = super.determineTimeout(definition);
+        RequestDeadline deadline = RequestDeadline.current();
+        if (deadline == null) {
+            return timeout;
+        }
+        if (deadline.isOver()) {
+            metrics.get().stopped(deadline);
+            throw new TransactionTimedOutException(deadline.isCancelled()
+                    ? "Request for " + deadline.route() + " was cancelled"
+                    : "Deadline for " + deadline.route() + " exceeded");
+        }
+        int remaining = Math.max(1, deadline.remainingSeconds());
+        return timeout == TransactionDefinition.TIMEOUT_DEFAULT ? remaining : Math.min(timeout, remaining);
+    }
+}
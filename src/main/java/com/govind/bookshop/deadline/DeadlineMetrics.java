@@ -0,0 +1,29 @@
+package com.govind.bookshop.deadline;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+
+/**
+ * Counter {@code bookshop.deadline.queries{route, outcome=timeout|cancelled}}: statements and
+ * transactions stopped by a request deadline ({@code timeout}) or because an async request
+ * failed or timed out in the container ({@code cancelled}), including ones refused before reaching the database.
+ */
+public class DeadlineMetrics {
+
+    private final MeterRegistry registry;
+
+    public DeadlineMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    /** Counts one stopped query against the deadline's route ({@code none} outside requests). */
+    public void stopped(RequestDeadline deadline) {
+        boolean cancelled = deadline != null && deadline.isCancelled();
+        Counter.builder("bookshop.deadline.queries")
+                .tag("route", deadline != null ? deadline.route() : "none")
+                .tag("outcome", cancelled ? "cancelled" : "timeout")
+                .description("Queries stopped by a request deadline or a failed async request")
+                .register(registry)
+                .increment();
+    }
+}
@@ -0,0 +1,108 @@
+package com.govind.bookshop.deadline;
+
+import java.sql.SQLException;
+import java.sql.SQLTimeoutException;
+import java.sql.Statement;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The time budget of one request, and the statements it has running.
+ *
+ * <p>Bound to the handling thread by {@link DeadlineInterceptor} (and to the worker thread of
+ * an async request while it runs). {@link DeadlineDataSource} turns the remaining time into
+ * each statement's query timeout and registers the statement here while it executes;
+ * {@link DeadlineJpaTransactionManager} caps transaction timeouts the same way.
+ * {@link #cancel()} cancels whatever is still running and fails anything the request tries
+ * next.</p>
+ */
+public final class RequestDeadline {
+
+    private static final ThreadLocal<RequestDeadline> CURRENT = new ThreadLocal<>();
+
+    private final String route;
+    private final long expiresAt;
+    private final Set<Statement> running = ConcurrentHashMap.newKeySet();
+    private volatile boolean cancelled;
+
+    RequestDeadline(String route, Duration budget) {
+        this.route = route;
+        this.expiresAt = System.nanoTime() + budget.toNanos();
+    }
+
+    /** The deadline of the request running on this thread, or null. */
+    public static RequestDeadline current() {
+        return CURRENT.get();
+    }
+
+    static void bind(RequestDeadline deadline) {
+        CURRENT.set(deadline);
+    }
+
+    static void unbind() {
+        CURRENT.remove();
+    }
+
+    public String route() {
+        return route;
+    }
+
+    public long remainingNanos() {
+        return expiresAt - System.nanoTime();
+    }
+
+    public boolean isCancelled() {
+        return cancelled;
+    }
+
+    /** Past the deadline, or cancelled: no further statement may run. */
+    public boolean isOver() {
+        return cancelled || remainingNanos() <= 0;
+    }
+
+    /** Remaining time in whole seconds, rounded up (JDBC and transaction timeouts are in seconds). */
+    public int remainingSeconds() {
+        long remaining = remainingNanos();
+        return remaining <= 0 ? 0 : (int) Math.min(Integer.MAX_VALUE, (remaining + TimeUnit.SECONDS.toNanos(1) - 1)
+                / TimeUnit.SECONDS.toNanos(1));
+    }
+
+    /** Throws if no further statement may run. */
+    void check() throws SQLTimeoutException {
+        if (cancelled) {
+            throw new SQLTimeoutException("Request for " + route + " was cancelled", "57014");
+        }
+        if (remainingNanos() <= 0) {
+            throw new SQLTimeoutException("Deadline for " + route + " exceeded", "57014");
+        }
+    }
+
+    void started(Statement statement) {
+        running.add(statement);
+    }
+
+    void finished(Statement statement) {
+        running.remove(statement);
+    }
+
+    /**
+     * Marks the request cancelled and cancels its running statements.
+     *
+     * @return the number of statements cancelled
+     */
+    public int cancel() {
+        cancelled = true;
+        int count = 0;
+        for (Statement statement : running) {
+            try {
+                statement.cancel();
+                count++;
+            } catch (SQLException e) {
+                // Finished or closed in the meantime; nothing left to stop.
+            }
+        }
+        return count;
+    }
+}
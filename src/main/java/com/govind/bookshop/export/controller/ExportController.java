@@ -0,0 +1,131 @@
+package com.govind.bookshop.export.controller;
+
+import com.govind.bookshop.export.domain.ExportJob;
+import com.govind.bookshop.export.domain.dto.ExportDto;
+import com.govind.bookshop.export.service.ExportService;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.net.URI;
+import java.nio.file.NoSuchFileException;
+import java.util.Optional;
+
+/**
+ * REST controller for full-catalog exports.
+ *
+ * <p>Endpoints:
+ * <ul>
+ *   <li>POST /exports?format=ndjson – start an export (202), or return the current one (200)</li>
+ *   <li>GET  /exports/{id}          – status of an export</li>
+ *   <li>GET  /exports/{id}/file     – download a ready export; supports {@code Range}</li>
+ * </ul>
+ *
+ * <p>An export is built once per catalog version (change-feed position): asking again before
+ * anything is written returns the same job and file.</p>
+ */
+@RestController
+public class ExportController {
+
+    private final ExportService exportService;
+
+    public ExportController(ExportService exportService) {
+        this.exportService = exportService;
+    }
+
+    /**
+     * Start a catalog export.
+     *
+     * @param format file format; only {@code ndjson} (gzip-compressed) is supported
+     * @return 202 with {@code Location} for a new export, 200 with an existing export of the
+     *         same catalog version, or 400 for an unknown format
+     */
+    @PostMapping("/exports")
+    public ResponseEntity<ExportDto> startExport(@RequestParam(value = "format", defaultValue = "ndjson") String format) {
+        ExportJob.Format parsed = ExportJob.Format.fromApiName(format);
+        if (parsed == null) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        ExportService.Started started = exportService.start(parsed);
+        ExportDto dto = toDto(started.job());
+        return ResponseEntity.status(started.created() ? HttpStatus.ACCEPTED : HttpStatus.OK)
+                .location(URI.create("/exports/" + dto.getId()))
+                .body(dto);
+    }
+
+    /**
+     * Status of an export.
+     *
+     * @return 200 with the export, or 404 if unknown or already pruned
+     */
+    @GetMapping("/exports/{id}")
+    public ResponseEntity<ExportDto> getExport(@PathVariable("id") String id) {
+        return exportService.find(id)
+                .map(job -> new ResponseEntity<>(toDto(job), HttpStatus.OK))
+                .orElse(new ResponseEntity<>(HttpStatus.NOT_FOUND));
+    }
+
+    /**
+     * Download a finished export.
+     *
+     * <p>The {@code ETag} is the export id, so a client resuming with {@code Range} and
+     * {@code If-Range} never splices two different files together.</p>
+     *
+     * @return 200 or 206 with the file, 416 for a range past its end, 404 if unknown,
+     *         409 if the export is not ready
+     */
+    @GetMapping("/exports/{id}/file")
+    public void downloadExport(@PathVariable("id") String id, HttpServletRequest request,
+                               HttpServletResponse response) throws IOException {
+        Optional<ExportJob> found = exportService.find(id);
+        if (found.isEmpty()) {
+            response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        ExportJob job = found.get();
+        if (job.getStatus() != ExportJob.Status.READY) {
+            response.setStatus(HttpServletResponse.SC_CONFLICT);
+            return;
+        }
+        response.setContentType(job.getFormat().contentType());
+        response.setHeader(HttpHeaders.ETAG, etag(job));
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"catalog-"
+                + job.getCatalogVersion() + job.getFormat().fileSuffix() + "\"");
+        try {
+            FileDownload.send(job.getFile(), job.getSizeBytes(), etag(job), request, response);
+        } catch (NoSuchFileException e) {
+            // Pruned between lookup and open.
+            response.reset();
+            response.setStatus(HttpServletResponse.SC_NOT_FOUND);
+        }
+    }
+
+    private static String etag(ExportJob job) {
+        return "\"" + job.getId() + "\"";
+    }
+
+    private static ExportDto toDto(ExportJob job) {
+        boolean ready = job.getStatus() == ExportJob.Status.READY;
+        return ExportDto.builder()
+                .id(job.getId())
+                .status(job.getStatus().apiName())
+                .format(job.getFormat().apiName())
+                .catalogVersion(job.getCatalogVersion() == null ? null : job.getCatalogVersion().toString())
+                .createdAt(job.getCreatedAt())
+                .completedAt(job.getCompletedAt())
+                .authors(ready ? job.getAuthors() : null)
+                .books(ready ? job.getBooks() : null)
+                .sizeBytes(ready ? job.getSizeBytes() : null)
+                .download(ready ? "/exports/" + job.getId() + "/file" : null)
+                .error(job.getError())
+                .build();
+    }
+}
@@ -0,0 +1,110 @@
+package com.govind.bookshop.export.domain;
+
+import lombok.Getter;
+
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Locale;
+
+/**
+ * One catalog export: its progress and, once {@link Status#READY}, the file it produced.
+ *
+ * <p>Held in memory by {@code ExportServiceImpl}; the export thread moves it through
+ * {@code PENDING → RUNNING → READY | FAILED}, request threads only read it.</p>
+ */
+@Getter
+public class ExportJob {
+
+    public enum Status {
+        PENDING, RUNNING, READY, FAILED;
+
+        /** Lower-case name as used in the API. */
+        public String apiName() {
+            return name().toLowerCase(Locale.ROOT);
+        }
+    }
+
+    /** File layouts an export can be written in. */
+    public enum Format {
+        /** One JSON object per line ({@code {"author":{..}}} then {@code {"book":{..}}}), gzip-compressed. */
+        NDJSON("ndjson", ".ndjson.gz", "application/gzip");
+
+        private final String apiName;
+        private final String fileSuffix;
+        private final String contentType;
+
+        Format(String apiName, String fileSuffix, String contentType) {
+            this.apiName = apiName;
+            this.fileSuffix = fileSuffix;
+            this.contentType = contentType;
+        }
+
+        public String apiName() {
+            return apiName;
+        }
+
+        public String fileSuffix() {
+            return fileSuffix;
+        }
+
+        public String contentType() {
+            return contentType;
+        }
+
+        /** Format for an API name, or null if unknown. */
+        public static Format fromApiName(String name) {
+            for (Format format : values()) {
+                if (format.apiName.equalsIgnoreCase(name)) {
+                    return format;
+                }
+            }
+            return null;
+        }
+    }
+
+    private final String id;
+    private final Format format;
+    private final Instant createdAt;
+
+    private volatile Status status = Status.PENDING;
+
+    /** Change-feed position the export reflects; set when the export starts reading. */
+    private volatile Long catalogVersion;
+
+    private volatile Instant completedAt;
+    private volatile Path file;
+    private volatile long sizeBytes;
+    private volatile long authors;
+    private volatile long books;
+    private volatile String error;
+
+    public ExportJob(String id, Format format, Instant createdAt) {
+        this.id = id;
+        this.format = format;
+        this.createdAt = createdAt;
+    }
+
+    public void markRunning(long catalogVersion) {
+        this.catalogVersion = catalogVersion;
+        this.status = Status.RUNNING;
+    }
+
+    public void markReady(Path file, long sizeBytes, long authors, long books) {
+        this.file = file;
+        this.sizeBytes = sizeBytes;
+        this.authors = authors;
+        this.books = books;
+        this.completedAt = Instant.now();
+        this.status = Status.READY;
+    }
+
+    public void markFailed(String error) {
+        this.error = error;
+        this.completedAt = Instant.now();
+        this.status = Status.FAILED;
+    }
+
+    public boolean isFinished() {
+        return status == Status.READY || status == Status.FAILED;
+    }
+}
@@ -0,0 +1,48 @@
+package com.govind.bookshop.export.domain.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.Instant;
+
+/**
+ * Response of {@code POST /exports} and {@code GET /exports/{id}}.
+ *
+ * <p>{@code download} is set once {@code status} is {@code "ready"}; {@code error} only when
+ * it is {@code "failed"}.</p>
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@Builder
+public class ExportDto {
+
+    private String id;
+
+    /** {@code "pending"}, {@code "running"}, {@code "ready"} or {@code "failed"}. */
+    private String status;
+
+    /** {@code "ndjson"} (gzip-compressed). */
+    private String format;
+
+    /** Change-feed token the export is consistent with; null until it starts. */
+    private String catalogVersion;
+
+    private Instant createdAt;
+
+    private Instant completedAt;
+
+    private Long authors;
+
+    private Long books;
+
+    /** Compressed file size. */
+    private Long sizeBytes;
+
+    /** Path to fetch the file from. */
+    private String download;
+
+    private String error;
+}
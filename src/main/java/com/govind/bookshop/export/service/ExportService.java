@@ -0,0 +1,23 @@
+package com.govind.bookshop.export.service;
+
+import com.govind.bookshop.export.domain.ExportJob;
+
+import java.util.Optional;
+
+/**
+ * Background catalog exports.
+ */
+public interface ExportService {
+
+    /**
+     * Start an export, or return an existing one that already covers the current catalog.
+     *
+     * @return the job, and whether it was newly started
+     */
+    Started start(ExportJob.Format format);
+
+    Optional<ExportJob> find(String id);
+
+    record Started(ExportJob job, boolean created) {
+    }
+}
@@ -0,0 +1,259 @@
+package com.govind.bookshop.export.service.impl;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.govind.bookshop.author.domain.entity.AuthorEntity;
+import com.govind.bookshop.author.repository.AuthorRepository;
+import com.govind.bookshop.book.domain.entity.BookEntity;
+import com.govind.bookshop.book.repository.BookRepository;
+import com.govind.bookshop.change.domain.entity.ChangeCounterEntity;
+import com.govind.bookshop.change.repository.ChangeCounterRepository;
+import com.govind.bookshop.export.domain.ExportJob;
+import com.govind.bookshop.export.service.ExportService;
+import com.govind.bookshop.json.CatalogJson;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Default {@link ExportService}: writes exports on one background thread into
+ * {@code bookshop.exports.dir}.
+ *
+ * <p>Each export runs in a single read-only {@code REPEATABLE READ} transaction, so the file
+ * is one consistent view of the catalog, and records the change-feed position it saw. A new
+ * request is answered with an existing export while that position is still current (nothing
+ * was written since), so repeated exports of an unchanged catalog cost nothing. Only the
+ * newest {@code bookshop.exports.retain} finished exports are kept; older files are deleted.</p>
+ */
+@Slf4j
+@Service
+public class ExportServiceImpl implements ExportService {
+
+    private static final String FILE_PREFIX = "export-";
+    private static final int GZIP_BUFFER_SIZE = 64 * 1024;
+
+    private final BookRepository bookRepository;
+    private final AuthorRepository authorRepository;
+    private final ChangeCounterRepository counterRepository;
+    private final EntityManager entityManager;
+    private final TransactionTemplate snapshotTransaction;
+    private final JsonFactory jsonFactory;
+    private final Path directory;
+    private final int batchSize;
+    private final int retain;
+
+    /** Jobs in start order; guarded by itself. */
+    private final Map<String, ExportJob> jobs = new LinkedHashMap<>();
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "catalog-export");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public ExportServiceImpl(BookRepository bookRepository, AuthorRepository authorRepository,
+                             ChangeCounterRepository counterRepository, EntityManager entityManager,
+                             TransactionTemplate transactionTemplate, ObjectMapper objectMapper,
+                             @Value("${bookshop.exports.dir:${java.io.tmpdir}/bookshop-exports}") Path directory,
+                             @Value("${bookshop.exports.batch-size:1000}") int batchSize,
+                             @Value("${bookshop.exports.retain:3}") int retain) {
+        this.bookRepository = bookRepository;
+        this.authorRepository = authorRepository;
+        this.counterRepository = counterRepository;
+        this.entityManager = entityManager;
+        this.snapshotTransaction = new TransactionTemplate(transactionTemplate.getTransactionManager());
+        this.snapshotTransaction.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        this.snapshotTransaction.setReadOnly(true);
+        this.jsonFactory = objectMapper.getFactory();
+        this.directory = directory;
+        this.batchSize = batchSize;
+        this.retain = Math.max(1, retain);
+        prepareDirectory();
+    }
+
+    @Override
+    public Started start(ExportJob.Format format) {
+        long current = lastCommittedSeq();
+        synchronized (jobs) {
+            List<ExportJob> started = new ArrayList<>(jobs.values());
+            for (int i = started.size() - 1; i >= 0; i--) {
+                ExportJob job = started.get(i);
+                if (job.getFormat() == format && covers(job, current)) {
+                    return new Started(job, false);
+                }
+            }
+            ExportJob job = new ExportJob(UUID.randomUUID().toString(), format, Instant.now());
+            jobs.put(job.getId(), job);
+            executor.execute(() -> run(job));
+            return new Started(job, true);
+        }
+    }
+
+    @Override
+    public Optional<ExportJob> find(String id) {
+        synchronized (jobs) {
+            return Optional.ofNullable(jobs.get(id));
+        }
+    }
+
+    /** A pending job will read at least {@code current}; a started one must have read exactly it. */
+    private static boolean covers(ExportJob job, long current) {
+        return switch (job.getStatus()) {
+            case PENDING -> true;
+            case RUNNING, READY -> job.getCatalogVersion() == current;
+            case FAILED -> false;
+        };
+    }
+
+    private void run(ExportJob job) {
+        long started = System.nanoTime();
+        Path target = directory.resolve(FILE_PREFIX + job.getId() + job.getFormat().fileSuffix());
+        Path temp = directory.resolve(target.getFileName() + ".tmp");
+        try {
+            long[] counts = snapshotTransaction.execute(status -> {
+                // First read of the transaction: fixes the snapshot the rows below come from.
+                job.markRunning(currentSeq());
+                return writeNdjson(temp);
+            });
+            Files.move(temp, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+            job.markReady(target, Files.size(target), counts[0], counts[1]);
+            log.info("Catalog export {} ready: {} authors, {} books, {} KiB at version {} in {} ms",
+                    job.getId(), counts[0], counts[1], job.getSizeBytes() / 1024, job.getCatalogVersion(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        } catch (RuntimeException | IOException e) {
+            log.error("Catalog export {} failed", job.getId(), e);
+            deleteQuietly(temp);
+            job.markFailed(e.getMessage() == null ? e.getClass().getSimpleName() : e.getMessage());
+        }
+        prune();
+    }
+
+    /** Authors, then books with their author, one JSON object per line. Returns both counts. */
+    private long[] writeNdjson(Path file) {
+        long authors = 0;
+        long books = 0;
+        try (OutputStream out = new GZIPOutputStream(Files.newOutputStream(file), GZIP_BUFFER_SIZE);
+             JsonGenerator generator = jsonFactory.createGenerator(out, JsonEncoding.UTF8)) {
+            generator.setRootValueSeparator(null);
+
+            long afterId = 0;
+            List<AuthorEntity> authorPage;
+            do {
+                authorPage = authorRepository.findByIdGreaterThanOrderByIdAsc(afterId, PageRequest.of(0, batchSize));
+                for (AuthorEntity author : authorPage) {
+                    generator.writeStartObject();
+                    generator.writeFieldName("author");
+                    CatalogJson.writeAuthor(generator, author);
+                    generator.writeEndObject();
+                    generator.writeRaw('\n');
+                    afterId = author.getId();
+                    authors++;
+                }
+                // Written rows are not needed again; keep the persistence context small.
+                entityManager.clear();
+            } while (authorPage.size() == batchSize);
+
+            long afterIsbn = 0;
+            List<BookEntity> bookPage;
+            do {
+                bookPage = bookRepository.findPageAfter(afterIsbn, PageRequest.of(0, batchSize));
+                for (BookEntity book : bookPage) {
+                    generator.writeStartObject();
+                    generator.writeFieldName("book");
+                    CatalogJson.writeBook(generator, book);
+                    generator.writeEndObject();
+                    generator.writeRaw('\n');
+                    afterIsbn = book.getIsbn();
+                    books++;
+                }
+                entityManager.clear();
+            } while (bookPage.size() == batchSize);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return new long[]{authors, books};
+    }
+
+    /** Drop finished jobs beyond the newest {@code retain}, with their files. */
+    private void prune() {
+        List<ExportJob> expired = new ArrayList<>();
+        synchronized (jobs) {
+            List<ExportJob> finished = jobs.values().stream().filter(ExportJob::isFinished).toList();
+            for (int i = 0; i < finished.size() - retain; i++) {
+                ExportJob job = finished.get(i);
+                jobs.remove(job.getId());
+                expired.add(job);
+            }
+        }
+        for (ExportJob job : expired) {
+            if (job.getFile() != null) {
+                // Downloads already streaming keep their open handle on POSIX file systems.
+                deleteQuietly(job.getFile());
+            }
+        }
+    }
+
+    private long currentSeq() {
+        return counterRepository.findById(ChangeCounterEntity.SINGLETON_ID)
+                .map(ChangeCounterEntity::getLastSeq)
+                .orElse(0L);
+    }
+
+    private long lastCommittedSeq() {
+        Long seq = snapshotTransaction.execute(status -> currentSeq());
+        return seq == null ? 0 : seq;
+    }
+
+    /** Create the directory and remove files left by a previous run (jobs are not persisted). */
+    private void prepareDirectory() {
+        try {
+            Files.createDirectories(directory);
+            try (DirectoryStream<Path> leftovers = Files.newDirectoryStream(directory, FILE_PREFIX + "*")) {
+                for (Path file : leftovers) {
+                    deleteQuietly(file);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Cannot prepare export directory " + directory, e);
+        }
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Could not delete {}", file, e);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+}
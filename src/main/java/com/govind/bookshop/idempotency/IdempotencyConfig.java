@@ -0,0 +1,65 @@
+package com.govind.bookshop.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.govind.bookshop.author.domain.dto.AuthorDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.ResponseEntity;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+
+/**
+ * One {@link IdempotencyStore} per non-idempotent endpoint, injected by generic type.
+ *
+ * <p>Responses are stored as status and body, so a replay is indistinguishable from the
+ * original apart from the {@code Idempotent-Replayed} header.</p>
+ */
+@Configuration(proxyBeanMethods = false)
+public class IdempotencyConfig {
+
+    /** Request header carrying the client's key. */
+    public static final String HEADER = "Idempotency-Key";
+
+    /** Response header set on replays. */
+    public static final String REPLAYED_HEADER = "Idempotent-Replayed";
+
+    /** What is stored for a {@code POST /authors} response. */
+    record StoredAuthor(int status, AuthorDto body) {
+    }
+
+    /** {@code POST /authors}, fingerprinted by payload. */
+    @Bean
+    public IdempotencyStore<ResponseEntity<AuthorDto>> authorCreates(
+            @Value("${bookshop.idempotency.ttl:24h}") Duration ttl,
+            @Value("${bookshop.idempotency.wait-timeout:5s}") Duration waitTimeout,
+            ObjectMapper objectMapper, JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+            MeterRegistry registry) {
+        IdempotencyStore.Codec<ResponseEntity<AuthorDto>> codec = new IdempotencyStore.Codec<>() {
+            @Override
+            public String encode(ResponseEntity<AuthorDto> response) {
+                try {
+                    return objectMapper.writeValueAsString(new StoredAuthor(response.getStatusCode().value(), response.getBody()));
+                } catch (JsonProcessingException e) {
+                    throw new IllegalStateException("Cannot store response", e);
+                }
+            }
+
+            @Override
+            public ResponseEntity<AuthorDto> decode(String stored) {
+                try {
+                    StoredAuthor response = objectMapper.readValue(stored, StoredAuthor.class);
+                    return ResponseEntity.status(response.status()).body(response.body());
+                } catch (JsonProcessingException e) {
+                    throw new IllegalStateException("Cannot read stored response", e);
+                }
+            }
+        };
+        return new IdempotencyStore<>("author-create", ttl, waitTimeout, codec, objectMapper, jdbcTemplate,
+                transactionTemplate, registry);
+    }
+}
@@ -0,0 +1,18 @@
+package com.govind.bookshop.idempotency;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.time.Duration;
+
+/**
+ * The first request with this {@code Idempotency-Key} is still running. Surfaces as 409 so the
+ * client retries later with the same key.
+ */
+@ResponseStatus(HttpStatus.CONFLICT)
+public class IdempotencyKeyInUseException extends RuntimeException {
+
+    public IdempotencyKeyInUseException(String key, Duration waited) {
+        super("Request with Idempotency-Key " + key + " still in progress after " + waited.toMillis() + " ms");
+    }
+}
@@ -0,0 +1,189 @@
+package com.govind.bookshop.idempotency;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.sql.Timestamp;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Runs a non-idempotent action at most once per client-supplied {@code Idempotency-Key},
+ * across every instance that shares the database.
+ *
+ * <p>Keys live in {@code idempotency_keys}, whose primary key is the claim. The first request
+ * with a key inserts its row, runs the action and stores the encoded result, all in one
+ * transaction: either the action's writes and the stored result commit together, or neither
+ * does and the key stays free. A later request with the key (on any instance) fails the
+ * insert and replays the stored result without running the action. One that arrives while
+ * the first is still running waits on the row lock for up to {@code waitTimeout}, then replays
+ * its result, runs afresh if it rolled back, or gives up with
+ * {@link IdempotencyKeyInUseException}.</p>
+ *
+ * <p>Each key is bound to a fingerprint of its request (a hash of the payload's JSON); reusing
+ * a key for a different request is rejected with {@link IdempotencyKeyMismatchException}.
+ * Keys are kept for {@code ttl}; expired ones are purged at most once a minute.</p>
+ *
+ * <p>Metrics: {@code bookshop.idempotency.requests{name, outcome=first|replayed|mismatch|timeout}}.</p>
+ *
+ * @param <V> result type, stored through a {@link Codec}
+ */
+public class IdempotencyStore<V> {
+
+    /** Outcome of {@link #execute}: the result, and whether it is a replay of an earlier run. */
+    public record Result<V>(V value, boolean replayed) {
+    }
+
+    /** Turns results into the text stored for replays, and back. */
+    public interface Codec<V> {
+
+        String encode(V value);
+
+        V decode(String stored);
+    }
+
+    private static final Duration PURGE_INTERVAL = Duration.ofMinutes(1);
+
+    /** The key is already claimed; replay instead of running. */
+    private static final class Claimed extends RuntimeException {
+        Claimed() {
+            super(null, null, false, false);
+        }
+    }
+
+    private final String name;
+    private final Duration ttl;
+    private final Duration waitTimeout;
+    private final Codec<V> codec;
+    private final ObjectMapper objectMapper;
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate transactionTemplate;
+    private final Clock clock;
+    private final AtomicLong nextPurge = new AtomicLong();
+
+    private final Counter first;
+    private final Counter replayed;
+    private final Counter mismatched;
+    private final Counter timeouts;
+
+    public IdempotencyStore(String name, Duration ttl, Duration waitTimeout, Codec<V> codec, ObjectMapper objectMapper,
+                            JdbcTemplate jdbc, TransactionTemplate transactionTemplate, MeterRegistry registry) {
+        this(name, ttl, waitTimeout, codec, objectMapper, jdbc, transactionTemplate, registry, Clock.systemUTC());
+    }
+
+    IdempotencyStore(String name, Duration ttl, Duration waitTimeout, Codec<V> codec, ObjectMapper objectMapper,
+                     JdbcTemplate jdbc, TransactionTemplate transactionTemplate, MeterRegistry registry, Clock clock) {
+        this.name = name;
+        this.ttl = ttl;
+        this.waitTimeout = waitTimeout;
+        this.codec = codec;
+        this.objectMapper = objectMapper;
+        // Bounds the wait on a running duplicate's row lock.
+        this.jdbc = new JdbcTemplate(jdbc.getDataSource());
+        this.jdbc.setQueryTimeout((int) Math.max(1, waitTimeout.toSeconds()));
+        this.transactionTemplate = transactionTemplate;
+        this.clock = clock;
+        this.first = requests(registry, name, "first");
+        this.replayed = requests(registry, name, "replayed");
+        this.mismatched = requests(registry, name, "mismatch");
+        this.timeouts = requests(registry, name, "timeout");
+    }
+
+    /**
+     * Run {@code action} for {@code key}, or return the stored result of the run that already
+     * has it.
+     *
+     * @param fingerprint identifies the request; serialized to JSON and hashed
+     * @throws IdempotencyKeyMismatchException if {@code key} was used for a different request
+     * @throws IdempotencyKeyInUseException    if the first request with {@code key} is still
+     *                                         running after {@code waitTimeout}
+     */
+    public Result<V> execute(String key, Object fingerprint, Supplier<V> action) {
+        String print = fingerprint(fingerprint);
+        purgeExpired();
+        while (true) {
+            try {
+                V value = transactionTemplate.execute(status -> {
+                    claim(key, print);
+                    V result = action.get();
+                    jdbc.update("UPDATE idempotency_keys SET response = ? WHERE scope = ? AND idem_key = ?",
+                            codec.encode(result), name, key);
+                    return result;
+                });
+                first.increment();
+                return new Result<>(value, false);
+            } catch (Claimed e) {
+                List<String[]> rows = jdbc.query(
+                        "SELECT fingerprint, response FROM idempotency_keys WHERE scope = ? AND idem_key = ?",
+                        (rs, rowNum) -> new String[]{rs.getString(1), rs.getString(2)}, name, key);
+                if (rows.isEmpty()) {
+                    // Purged between the failed insert and this read; claim it again.
+                    continue;
+                }
+                if (!rows.get(0)[0].equals(print)) {
+                    mismatched.increment();
+                    throw new IdempotencyKeyMismatchException(key);
+                }
+                replayed.increment();
+                return new Result<>(codec.decode(rows.get(0)[1]), true);
+            }
+        }
+    }
+
+    /** Insert the key's row, replacing an expired one; waits for a running duplicate. */
+    private void claim(String key, String print) {
+        Instant now = clock.instant();
+        try {
+            jdbc.update("DELETE FROM idempotency_keys WHERE scope = ? AND idem_key = ? AND created_at < ?",
+                    name, key, Timestamp.from(now.minus(ttl)));
+            jdbc.update("INSERT INTO idempotency_keys (scope, idem_key, fingerprint, created_at) VALUES (?, ?, ?, ?)",
+                    name, key, print, Timestamp.from(now));
+        } catch (DuplicateKeyException e) {
+            throw new Claimed();
+        } catch (QueryTimeoutException | PessimisticLockingFailureException e) {
+            timeouts.increment();
+            throw new IdempotencyKeyInUseException(key, waitTimeout);
+        }
+    }
+
+    private void purgeExpired() {
+        long now = clock.millis();
+        long due = nextPurge.get();
+        if (now >= due && nextPurge.compareAndSet(due, now + PURGE_INTERVAL.toMillis())) {
+            jdbc.update("DELETE FROM idempotency_keys WHERE scope = ? AND created_at < ?",
+                    name, Timestamp.from(clock.instant().minus(ttl)));
+        }
+    }
+
+    private String fingerprint(Object request) {
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(request);
+            return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(json));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Cannot fingerprint request", e);
+        }
+    }
+
+    private static Counter requests(MeterRegistry registry, String name, String outcome) {
+        return Counter.builder("bookshop.idempotency.requests")
+                .tag("name", name)
+                .tag("outcome", outcome)
+                .description("Requests carrying an Idempotency-Key, by outcome; 'replayed' did not run the action")
+                .register(registry);
+    }
+}
@@ -0,0 +1,35 @@
+package com.govind.bookshop.invalidation;
+
+import com.govind.bookshop.change.service.ChangeNotifier;
+import org.springframework.stereotype.Component;
+
+import java.util.Set;
+
+/**
+ * Wakes this instance's change-feed readers when any instance commits.
+ *
+ * <p>{@link ChangeNotifier} only sees local commits, so without this the catalog snapshot and
+ * long-poll/SSE readers here would not notice a write handled by another instance until a
+ * local write happened. They re-read the feed from their own position, so a wake-up (rather
+ * than the keys) is all they need, and an "invalidate all" is handled the same way.</p>
+ */
+@Component
+public class ChangeFeedWakeup implements InvalidationListener {
+
+    private final ChangeNotifier notifier;
+
+    public ChangeFeedWakeup(InvalidationBus bus, ChangeNotifier notifier) {
+        this.notifier = notifier;
+        bus.subscribe(this);
+    }
+
+    @Override
+    public void invalidate(Set<EntityKey> keys) {
+        notifier.wake();
+    }
+
+    @Override
+    public void invalidateAll() {
+        notifier.wake();
+    }
+}
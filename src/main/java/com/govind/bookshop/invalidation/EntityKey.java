@@ -0,0 +1,26 @@
+package com.govind.bookshop.invalidation;
+
+import com.govind.bookshop.change.domain.entity.ChangeEntity;
+
+import java.util.Locale;
+
+/**
+ * Identifies one catalog record, as the change feed does: type plus ISBN (books) or id
+ * (authors). Written as {@code "book:9780306406157"} / {@code "author:12"} on the wire.
+ */
+public record EntityKey(ChangeEntity.Type type, String key) {
+
+    public static EntityKey parse(String text) {
+        int colon = text.indexOf(':');
+        if (colon < 0) {
+            throw new IllegalArgumentException("Not an entity key: " + text);
+        }
+        return new EntityKey(ChangeEntity.Type.valueOf(text.substring(0, colon).toUpperCase(Locale.ROOT)),
+                text.substring(colon + 1));
+    }
+
+    @Override
+    public String toString() {
+        return type.name().toLowerCase(Locale.ROOT) + ":" + key;
+    }
+}
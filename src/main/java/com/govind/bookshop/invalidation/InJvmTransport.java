@@ -0,0 +1,59 @@
+package com.govind.bookshop.invalidation;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * In-memory stand-in for {@link PostgresNotifyTransport}: application contexts in the same
+ * JVM that name the same {@link Hub} ({@code bookshop.invalidation.in-jvm-hub}) see each
+ * other's messages. Used by tests that run several instances side by side.
+ */
+public class InJvmTransport implements InvalidationTransport {
+
+    /** A shared channel. Delivery is synchronous, on the publishing thread. */
+    public static final class Hub {
+
+        private static final Map<String, Hub> HUBS = new ConcurrentHashMap<>();
+
+        private final List<InJvmTransport> members = new CopyOnWriteArrayList<>();
+
+        /** The hub called {@code name}, created on first use. */
+        public static Hub named(String name) {
+            return HUBS.computeIfAbsent(name, n -> new Hub());
+        }
+
+        /** Simulate every member losing and regaining its connection. */
+        public void reconnectAll() {
+            members.forEach(member -> member.receiver.onReconnect());
+        }
+
+        private void broadcast(String message) {
+            members.forEach(member -> member.receiver.onMessage(message));
+        }
+    }
+
+    private final Hub hub;
+    private volatile Receiver receiver;
+
+    public InJvmTransport(Hub hub) {
+        this.hub = hub;
+    }
+
+    @Override
+    public void start(Receiver receiver) {
+        this.receiver = receiver;
+        hub.members.add(this);
+    }
+
+    @Override
+    public void publish(String message) {
+        hub.broadcast(message);
+    }
+
+    @Override
+    public void close() {
+        hub.members.remove(this);
+    }
+}
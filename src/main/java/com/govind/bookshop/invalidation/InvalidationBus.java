@@ -0,0 +1,247 @@
+package com.govind.bookshop.invalidation;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.govind.bookshop.change.service.ChangeRecordedEvent;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Tells every instance which catalog records changed, once the writing transaction commits.
+ *
+ * <p>Every change recorded by {@code BookServiceImpl} / {@code AuthorServiceImpl} raises a
+ * {@link ChangeRecordedEvent}; after the commit its key joins a pending set. The set is sent
+ * {@code bookshop.invalidation.linger} after its first key, so a burst of writes becomes one
+ * message per few hundred keys instead of one per write. More than
+ * {@code bookshop.invalidation.max-keys} pending keys are sent as a single "invalidate all".</p>
+ *
+ * <p>Listeners ({@link #subscribe}) hear about local and remote changes alike, on one bus
+ * thread. When the transport reconnects, or after a send failed, everyone is told to
+ * invalidate everything, since messages may have been lost.</p>
+ *
+ * <p>Metrics: counters {@code bookshop.invalidation.messages} (tag {@code direction} =
+ * {@code sent}/{@code received}) and {@code bookshop.invalidation.full}.</p>
+ */
+@Slf4j
+@Component
+public class InvalidationBus implements InvalidationTransport.Receiver {
+
+    /** Keeps a message well under PostgreSQL's 8000-byte NOTIFY payload limit. */
+    private static final int KEYS_PER_MESSAGE = 200;
+
+    private final InvalidationTransport transport;
+    private final ObjectMapper objectMapper;
+    private final Duration linger;
+    private final int maxKeys;
+    private final String nodeId = UUID.randomUUID().toString();
+
+    private final Set<InvalidationListener> listeners = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "invalidation-bus");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /** Keys committed but not yet sent; guarded by itself, like the two flags below. */
+    private final Set<EntityKey> pending = new LinkedHashSet<>();
+    private boolean overflowed;
+    private boolean flushScheduled;
+
+    /** A send failed; the next one starts with "invalidate all". Bus thread only. */
+    private boolean sendFailed;
+
+    private final Counter sent;
+    private final Counter received;
+    private final Counter fullInvalidations;
+
+    public InvalidationBus(InvalidationTransport transport, ObjectMapper objectMapper, MeterRegistry registry,
+                           @Value("${bookshop.invalidation.linger:10ms}") Duration linger,
+                           @Value("${bookshop.invalidation.max-keys:1000}") int maxKeys) {
+        this.transport = transport;
+        this.objectMapper = objectMapper;
+        this.linger = linger;
+        this.maxKeys = maxKeys;
+        this.sent = Counter.builder("bookshop.invalidation.messages")
+                .description("Invalidation messages exchanged with other instances")
+                .tag("direction", "sent")
+                .register(registry);
+        this.received = Counter.builder("bookshop.invalidation.messages")
+                .description("Invalidation messages exchanged with other instances")
+                .tag("direction", "received")
+                .register(registry);
+        this.fullInvalidations = Counter.builder("bookshop.invalidation.full")
+                .description("Invalidate-all signals delivered to local listeners")
+                .register(registry);
+    }
+
+    @PostConstruct
+    void start() {
+        transport.start(this);
+    }
+
+    /**
+     * Deliver invalidations to {@code listener} until the returned handle is run.
+     */
+    public Runnable subscribe(InvalidationListener listener) {
+        listeners.add(listener);
+        return () -> listeners.remove(listener);
+    }
+
+    /** {@code true} if writes on other instances reach this one (any transport but {@code none}). */
+    public boolean isConnected() {
+        return transport != InvalidationTransport.NONE;
+    }
+
+    /** This instance's id on the wire; its own messages are ignored when they come back. */
+    public String nodeId() {
+        return nodeId;
+    }
+
+    @TransactionalEventListener
+    public void onCommitted(ChangeRecordedEvent event) {
+        synchronized (pending) {
+            if (pending.size() < maxKeys) {
+                pending.add(new EntityKey(event.type(), event.key()));
+            } else {
+                overflowed = true;
+            }
+            if (!flushScheduled) {
+                flushScheduled = true;
+                executor.schedule(this::flush, linger.toNanos(), TimeUnit.NANOSECONDS);
+            }
+        }
+    }
+
+    private void flush() {
+        Set<EntityKey> keys;
+        boolean all;
+        synchronized (pending) {
+            keys = new LinkedHashSet<>(pending);
+            all = overflowed;
+            pending.clear();
+            overflowed = false;
+            flushScheduled = false;
+        }
+        if (all) {
+            deliverAll();
+        } else {
+            deliver(keys);
+        }
+
+        List<Message> messages = new ArrayList<>();
+        if (all || sendFailed) {
+            messages.add(new Message(nodeId, true, List.of()));
+        }
+        if (!all) {
+            List<String> chunk = new ArrayList<>();
+            for (EntityKey key : keys) {
+                chunk.add(key.toString());
+                if (chunk.size() == KEYS_PER_MESSAGE) {
+                    messages.add(new Message(nodeId, false, chunk));
+                    chunk = new ArrayList<>();
+                }
+            }
+            if (!chunk.isEmpty()) {
+                messages.add(new Message(nodeId, false, chunk));
+            }
+        }
+        send(messages);
+    }
+
+    private void send(List<Message> messages) {
+        try {
+            for (Message message : messages) {
+                transport.publish(objectMapper.writeValueAsString(message));
+                sent.increment();
+            }
+            sendFailed = false;
+        } catch (JsonProcessingException | RuntimeException e) {
+            // Other instances may now be stale; the next send starts with "invalidate all".
+            sendFailed = true;
+            log.warn("Could not publish invalidations", e);
+        }
+    }
+
+    @Override
+    public void onMessage(String payload) {
+        executor.execute(() -> {
+            Message message;
+            try {
+                message = objectMapper.readValue(payload, Message.class);
+            } catch (JsonProcessingException | RuntimeException e) {
+                log.warn("Ignoring malformed invalidation message: {}", payload, e);
+                return;
+            }
+            if (nodeId.equals(message.node())) {
+                return;
+            }
+            received.increment();
+            if (message.all()) {
+                deliverAll();
+                return;
+            }
+            Set<EntityKey> keys = new LinkedHashSet<>();
+            for (String key : message.keys()) {
+                keys.add(EntityKey.parse(key));
+            }
+            deliver(keys);
+        });
+    }
+
+    @Override
+    public void onReconnect() {
+        executor.execute(this::deliverAll);
+    }
+
+    private void deliver(Set<EntityKey> keys) {
+        if (keys.isEmpty()) {
+            return;
+        }
+        Set<EntityKey> view = Set.copyOf(keys);
+        for (InvalidationListener listener : listeners) {
+            try {
+                listener.invalidate(view);
+            } catch (RuntimeException e) {
+                log.warn("Invalidation listener failed", e);
+            }
+        }
+    }
+
+    private void deliverAll() {
+        fullInvalidations.increment();
+        for (InvalidationListener listener : listeners) {
+            try {
+                listener.invalidateAll();
+            } catch (RuntimeException e) {
+                log.warn("Invalidation listener failed", e);
+            }
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        transport.close();
+        executor.shutdownNow();
+    }
+
+    /** Wire format (JSON). */
+    record Message(String node, boolean all, List<String> keys) {
+    }
+}
@@ -0,0 +1,32 @@
+package com.govind.bookshop.invalidation;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+import java.time.Duration;
+import java.util.Locale;
+
+/**
+ * Picks the {@link InvalidationTransport} from {@code bookshop.invalidation.transport}:
+ * {@code none} (default, single instance), {@code postgres} or {@code in-jvm}.
+ */
+@Configuration(proxyBeanMethods = false)
+public class InvalidationConfig {
+
+    @Bean
+    public InvalidationTransport invalidationTransport(
+            DataSource dataSource,
+            @Value("${bookshop.invalidation.transport:none}") String transport,
+            @Value("${bookshop.invalidation.channel:bookshop_invalidation}") String channel,
+            @Value("${bookshop.invalidation.reconnect-delay:1s}") Duration reconnectDelay,
+            @Value("${bookshop.invalidation.in-jvm-hub:default}") String hub) {
+        return switch (transport.toLowerCase(Locale.ROOT)) {
+            case "none" -> InvalidationTransport.NONE;
+            case "postgres" -> new PostgresNotifyTransport(dataSource, channel, reconnectDelay);
+            case "in-jvm" -> new InJvmTransport(InJvmTransport.Hub.named(hub));
+            default -> throw new IllegalStateException("Unknown bookshop.invalidation.transport: " + transport);
+        };
+    }
+}
@@ -0,0 +1,18 @@
+package com.govind.bookshop.invalidation;
+
+import java.util.Set;
+
+/**
+ * Receives invalidations from the {@link InvalidationBus}, on the bus thread, in order.
+ */
+public interface InvalidationListener {
+
+    /** These records changed, in a transaction committed on this instance or another one. */
+    void invalidate(Set<EntityKey> keys);
+
+    /**
+     * Anything may have changed: drop everything. Sent after the transport reconnects (messages
+     * may have been lost meanwhile) and instead of oversized bursts.
+     */
+    void invalidateAll();
+}
@@ -0,0 +1,47 @@
+package com.govind.bookshop.invalidation;
+
+/**
+ * Carries invalidation messages between instances. Every instance receives every message,
+ * its own included.
+ *
+ * <p>Implementations: {@link PostgresNotifyTransport} ({@code LISTEN/NOTIFY}),
+ * {@link InJvmTransport} (several application contexts in one JVM, for tests) and
+ * {@link #NONE} (single instance).</p>
+ */
+public interface InvalidationTransport {
+
+    /** Single instance: nothing is sent or received. */
+    InvalidationTransport NONE = new InvalidationTransport() {
+        @Override
+        public void start(Receiver receiver) {
+        }
+
+        @Override
+        public void publish(String message) {
+        }
+
+        @Override
+        public void close() {
+        }
+    };
+
+    /** Called by the transport, on its own thread. */
+    interface Receiver {
+
+        void onMessage(String message);
+
+        /** The connection was lost and is back; messages sent in between may be gone. */
+        void onReconnect();
+    }
+
+    void start(Receiver receiver);
+
+    /**
+     * Send one message to every instance.
+     *
+     * @throws RuntimeException if it could not be sent
+     */
+    void publish(String message);
+
+    void close();
+}
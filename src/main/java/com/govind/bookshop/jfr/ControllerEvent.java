@@ -0,0 +1,26 @@
+package com.govind.bookshop.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/** A controller handler method, excluding response serialization. */
+@Name("bookshop.Controller")
+@Label("Controller Call")
+@Category({"Bookshop", "HTTP"})
+@Threshold("5 ms")
+@StackTrace(false)
+class ControllerEvent extends Event {
+
+    @Label("Controller")
+    String component;
+
+    @Label("Method")
+    String operation;
+
+    @Label("Key")
+    String key;
+}
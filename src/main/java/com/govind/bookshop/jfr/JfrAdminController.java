@@ -0,0 +1,106 @@
+package com.govind.bookshop.jfr;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.convert.DurationStyle;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.Optional;
+
+/**
+ * On-demand Java Flight Recordings.
+ *
+ * <p>Endpoints:
+ * <ul>
+ *   <li>POST   /admin/jfr?settings=default|profile&amp;threshold=0ms – start a recording (201)</li>
+ *   <li>GET    /admin/jfr                         – current recording</li>
+ *   <li>GET    /admin/jfr/dump                    – download what it holds so far, keep recording</li>
+ *   <li>DELETE /admin/jfr                         – stop it and download the result</li>
+ * </ul>
+ *
+ * <p>Downloads are {@code .jfr} files for JDK Mission Control or {@code jfr print}. The
+ * endpoints are unauthenticated, so they exist only with {@code bookshop.jfr.admin.enabled=true}
+ * (off by default); keep {@code /admin} off public networks when it is on.</p>
+ */
+@RestController
+@ConditionalOnProperty(name = "bookshop.jfr.admin.enabled", havingValue = "true")
+public class JfrAdminController {
+
+    private static final MediaType JFR = MediaType.APPLICATION_OCTET_STREAM;
+
+    private final JfrRecorder recorder;
+
+    public JfrAdminController(JfrRecorder recorder) {
+        this.recorder = recorder;
+    }
+
+    /**
+     * @param settings  JDK settings: {@code default} or {@code profile}
+     * @param threshold optional minimum duration for the application's events (e.g. {@code 0ms})
+     * @return 201 with the recording, 409 if one is already running, 400 for unknown settings
+     *         or an unreadable threshold
+     */
+    @PostMapping("/admin/jfr")
+    public ResponseEntity<JfrRecorder.Status> start(@RequestParam(value = "settings", defaultValue = "default") String settings,
+                                                    @RequestParam(value = "threshold", required = false) String threshold) {
+        Optional<JfrRecorder.Status> started;
+        try {
+            started = recorder.start(settings, threshold == null ? null : DurationStyle.detectAndParse(threshold));
+        } catch (IllegalArgumentException e) {
+            return new ResponseEntity<>(HttpStatus.BAD_REQUEST);
+        }
+        return started.map(status -> new ResponseEntity<>(status, HttpStatus.CREATED))
+                .orElseGet(() -> ResponseEntity.status(HttpStatus.CONFLICT).body(recorder.status().orElse(null)));
+    }
+
+    /** @return 200 with the running recording, 404 if none */
+    @GetMapping("/admin/jfr")
+    public ResponseEntity<JfrRecorder.Status> status() {
+        return ResponseEntity.of(recorder.status());
+    }
+
+    /** @return 200 with a snapshot of the running recording, 404 if none */
+    @GetMapping("/admin/jfr/dump")
+    public ResponseEntity<StreamingResponseBody> dump() throws IOException {
+        return download(recorder.dump());
+    }
+
+    /** @return 200 with the stopped recording, 404 if none was running */
+    @DeleteMapping("/admin/jfr")
+    public ResponseEntity<StreamingResponseBody> stop() throws IOException {
+        return download(recorder.stop());
+    }
+
+    private static ResponseEntity<StreamingResponseBody> download(Optional<Path> dumped) throws IOException {
+        if (dumped.isEmpty()) {
+            return ResponseEntity.notFound().build();
+        }
+        Path file = dumped.get();
+        long size = Files.size(file);
+        StreamingResponseBody body = out -> {
+            try {
+                Files.copy(file, out);
+            } finally {
+                Files.deleteIfExists(file);
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(JFR)
+                .contentLength(size)
+                .header(HttpHeaders.CONTENT_DISPOSITION,
+                        "attachment; filename=\"bookshop-" + Instant.now().getEpochSecond() + ".jfr\"")
+                .body(body);
+    }
+}
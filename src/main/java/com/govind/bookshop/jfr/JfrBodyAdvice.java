@@ -0,0 +1,39 @@
+package com.govind.bookshop.jfr;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.http.server.ServletServerHttpRequest;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+
+/**
+ * Starts a {@link SerializationEvent} right before MVC hands a body to a message converter;
+ * {@link JfrRequestFilter} commits it once the response is written.
+ */
+@ControllerAdvice
+@ConditionalOnProperty(name = "bookshop.jfr.enabled", havingValue = "true", matchIfMissing = true)
+public class JfrBodyAdvice implements ResponseBodyAdvice<Object> {
+
+    @Override
+    public boolean supports(MethodParameter returnType, Class<? extends HttpMessageConverter<?>> converterType) {
+        return true;
+    }
+
+    @Override
+    public Object beforeBodyWrite(Object body, MethodParameter returnType, MediaType selectedContentType,
+                                  Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  ServerHttpRequest request, ServerHttpResponse response) {
+        SerializationEvent event = new SerializationEvent();
+        if (event.isEnabled() && request instanceof ServletServerHttpRequest servlet) {
+            event.mediaType = String.valueOf(selectedContentType);
+            event.bodyType = body != null ? body.getClass().getSimpleName() : null;
+            event.begin();
+            servlet.getServletRequest().setAttribute(JfrRequestFilter.SERIALIZATION_ATTRIBUTE, event);
+        }
+        return body;
+    }
+}
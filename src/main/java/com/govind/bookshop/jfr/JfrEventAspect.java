@@ -0,0 +1,175 @@
+package com.govind.bookshop.jfr;
+
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Component;
+import org.springframework.util.ClassUtils;
+
+import java.lang.reflect.Proxy;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Emits {@link ControllerEvent}, {@link ServiceEvent}, {@link RepositoryEvent} and
+ * {@link MappingEvent} around the application's controllers, {@code @Service}s, repositories
+ * (Spring Data and {@code @Repository} classes) and mappers.
+ *
+ * <p>Each advice first asks JFR whether its event type is enabled; when no recording is
+ * running it only costs that check. Names, keys and row counts are worked out only for
+ * events that pass their threshold.</p>
+ */
+@Aspect
+@Component
+@ConditionalOnProperty(name = "bookshop.jfr.enabled", havingValue = "true", matchIfMissing = true)
+public class JfrEventAspect {
+
+    private static final ClassValue<String> COMPONENT_NAMES = new ClassValue<>() {
+        @Override
+        protected String computeValue(Class<?> type) {
+            if (Proxy.isProxyClass(type)) {
+                // Spring Data repositories are JDK proxies; name them after the application interface.
+                for (Class<?> candidate : type.getInterfaces()) {
+                    if (candidate.getName().startsWith("com.govind.bookshop.")) {
+                        return candidate.getSimpleName();
+                    }
+                }
+            }
+            return ClassUtils.getUserClass(type).getSimpleName();
+        }
+    };
+
+    @Around("within(@org.springframework.web.bind.annotation.RestController com.govind.bookshop..*)")
+    public Object controller(ProceedingJoinPoint call) throws Throwable {
+        ControllerEvent event = new ControllerEvent();
+        if (!event.isEnabled()) {
+            return call.proceed();
+        }
+        event.begin();
+        try {
+            return call.proceed();
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.component = componentName(call);
+                event.operation = call.getSignature().getName();
+                event.key = key(call.getArgs());
+                event.commit();
+            }
+        }
+    }
+
+    @Around("within(@org.springframework.stereotype.Service com.govind.bookshop..*)")
+    public Object service(ProceedingJoinPoint call) throws Throwable {
+        ServiceEvent event = new ServiceEvent();
+        if (!event.isEnabled()) {
+            return call.proceed();
+        }
+        event.begin();
+        Object result = null;
+        try {
+            result = call.proceed();
+            return result;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.component = componentName(call);
+                event.operation = call.getSignature().getName();
+                event.key = key(call.getArgs());
+                event.rows = rows(result);
+                event.commit();
+            }
+        }
+    }
+
+    @Around("execution(* org.springframework.data.repository.Repository+.*(..))"
+            + " || within(@org.springframework.stereotype.Repository com.govind.bookshop..*)")
+    public Object repository(ProceedingJoinPoint call) throws Throwable {
+        RepositoryEvent event = new RepositoryEvent();
+        if (!event.isEnabled()) {
+            return call.proceed();
+        }
+        event.begin();
+        Object result = null;
+        try {
+            result = call.proceed();
+            return result;
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.component = componentName(call);
+                event.operation = call.getSignature().getName();
+                event.key = key(call.getArgs());
+                event.rows = rows(result);
+                event.commit();
+            }
+        }
+    }
+
+    @Around("execution(* com.govind.bookshop.mapper.Mapper+.*(..))")
+    public Object mapping(ProceedingJoinPoint call) throws Throwable {
+        MappingEvent event = new MappingEvent();
+        if (!event.isEnabled()) {
+            return call.proceed();
+        }
+        event.begin();
+        try {
+            return call.proceed();
+        } finally {
+            event.end();
+            if (event.shouldCommit()) {
+                event.component = componentName(call);
+                event.operation = call.getSignature().getName();
+                event.commit();
+            }
+        }
+    }
+
+    private static String componentName(ProceedingJoinPoint call) {
+        Object target = call.getTarget();
+        return target != null ? COMPONENT_NAMES.get(target.getClass()) : call.getSignature().getDeclaringTypeName();
+    }
+
+    /** First ISBN/id-like argument: a number, or a short string (path variables arrive as either). */
+    static String key(Object[] args) {
+        for (Object arg : args) {
+            if (arg instanceof Long || arg instanceof Integer) {
+                return arg.toString();
+            }
+            if (arg instanceof String text && !text.isBlank() && text.length() <= 64) {
+                return text;
+            }
+        }
+        return null;
+    }
+
+    /** Items in a result: collection/page size, 0 or 1 for optionals and entities, -1 if unknown. */
+    static long rows(Object result) {
+        if (result == null) {
+            return 0;
+        }
+        if (result instanceof Collection<?> collection) {
+            return collection.size();
+        }
+        if (result instanceof Slice<?> slice) {
+            return slice.getNumberOfElements();
+        }
+        if (result instanceof Optional<?> optional) {
+            return optional.isPresent() ? 1 : 0;
+        }
+        if (result instanceof Map<?, ?> map) {
+            return map.size();
+        }
+        if (result instanceof Number number) {
+            // e.g. rows updated by a @Modifying query
+            return number.longValue();
+        }
+        if (result instanceof Boolean || result instanceof Iterable<?>) {
+            return -1;
+        }
+        return 1;
+    }
+}
@@ -0,0 +1,16 @@
+package com.govind.bookshop.jfr;
+
+import jdk.jfr.Event;
+
+import java.util.List;
+
+/** The application's JFR event types, for enabling them on a recording. */
+final class JfrEvents {
+
+    static final List<Class<? extends Event>> ALL = List.of(RequestEvent.class, ControllerEvent.class,
+            ServiceEvent.class, RepositoryEvent.class, MappingEvent.class, SerializationEvent.class);
+
+    private JfrEvents() {
+        // Utility class – no instances
+    }
+}
@@ -0,0 +1,159 @@
+package com.govind.bookshop.jfr;
+
+import jakarta.annotation.PreDestroy;
+import jdk.jfr.Configuration;
+import jdk.jfr.Event;
+import jdk.jfr.Recording;
+import jdk.jfr.RecordingState;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.util.unit.DataSize;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Locale;
+import java.util.Optional;
+
+/**
+ * One on-demand Flight Recording at a time, for {@code /admin/jfr}.
+ *
+ * <p>A recording uses one of the JDK's settings files ({@code default}: ~1% overhead,
+ * {@code profile}: more detail, ~2%) plus this application's events, at their own thresholds
+ * unless one is given. It is kept on disk, bounded by {@code bookshop.jfr.max-age} and
+ * {@code bookshop.jfr.max-size}, so a long-running recording holds the latest window.</p>
+ *
+ * <p>JDK events that copy the process environment, system properties or command lines
+ * ({@link #SECRET_EVENTS}) are always disabled: they would put datasource passwords and other
+ * secrets into the downloaded file.</p>
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "bookshop.jfr.admin.enabled", havingValue = "true")
+public class JfrRecorder {
+
+    /** State of the current recording. */
+    public record Status(long id, String state, String settings, Instant startedAt, Duration threshold,
+                         Duration maxAge, long maxSizeBytes, long sizeBytes) {
+    }
+
+    /** JDK events whose payload can carry credentials. */
+    static final List<String> SECRET_EVENTS = List.of(
+            "jdk.InitialEnvironmentVariable", "jdk.InitialSystemProperty", "jdk.JVMInformation", "jdk.SystemProcess");
+
+    private final Duration maxAge;
+    private final DataSize maxSize;
+
+    private Recording recording;
+    private String settings;
+    private Duration threshold;
+
+    public JfrRecorder(@Value("${bookshop.jfr.max-age:15m}") Duration maxAge,
+                       @Value("${bookshop.jfr.max-size:256MB}") DataSize maxSize) {
+        this.maxAge = maxAge;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Start a recording.
+     *
+     * @param settings  JDK settings name ({@code default} or {@code profile})
+     * @param threshold minimum duration for this application's events; {@code null} keeps
+     *                  each event's own threshold
+     * @return the new recording, or empty if one is already running
+     * @throws IllegalArgumentException for unknown settings
+     */
+    public synchronized Optional<Status> start(String settings, Duration threshold) {
+        if (recording != null) {
+            return Optional.empty();
+        }
+        Configuration configuration;
+        try {
+            configuration = Configuration.getConfiguration(settings);
+        } catch (IOException | ParseException e) {
+            throw new IllegalArgumentException("Unknown JFR settings: " + settings, e);
+        }
+        Recording started = new Recording(configuration);
+        started.setName("bookshop-on-demand");
+        started.setToDisk(true);
+        started.setMaxAge(maxAge);
+        started.setMaxSize(maxSize.toBytes());
+        SECRET_EVENTS.forEach(started::disable);
+        for (Class<? extends Event> type : JfrEvents.ALL) {
+            if (threshold != null) {
+                started.enable(type).withThreshold(threshold);
+            } else {
+                started.enable(type);
+            }
+        }
+        started.start();
+        this.recording = started;
+        this.settings = settings;
+        this.threshold = threshold;
+        log.info("Started JFR recording {} ({} settings)", started.getId(), settings);
+        return Optional.of(status(started));
+    }
+
+    public synchronized Optional<Status> status() {
+        return Optional.ofNullable(recording).map(this::status);
+    }
+
+    /**
+     * Copy what the running recording holds so far to a new temporary file; the caller
+     * deletes it.
+     */
+    public synchronized Optional<Path> dump() throws IOException {
+        if (recording == null) {
+            return Optional.empty();
+        }
+        return Optional.of(dumpTo(recording));
+    }
+
+    /** Stop the recording and return its final contents in a temporary file; the caller deletes it. */
+    public synchronized Optional<Path> stop() throws IOException {
+        if (recording == null) {
+            return Optional.empty();
+        }
+        Recording stopping = recording;
+        recording = null;
+        try {
+            stopping.stop();
+            Path file = dumpTo(stopping);
+            log.info("Stopped JFR recording {}", stopping.getId());
+            return Optional.of(file);
+        } finally {
+            stopping.close();
+        }
+    }
+
+    private static Path dumpTo(Recording source) throws IOException {
+        Path file = Files.createTempFile("bookshop-", ".jfr");
+        try {
+            source.dump(file);
+            return file;
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(file);
+            throw e;
+        }
+    }
+
+    private Status status(Recording current) {
+        RecordingState state = current.getState();
+        return new Status(current.getId(), state.name().toLowerCase(Locale.ROOT), settings, current.getStartTime(), threshold,
+                current.getMaxAge(), current.getMaxSize(), current.getSize());
+    }
+
+    @PreDestroy
+    synchronized void close() {
+        if (recording != null) {
+            recording.close();
+            recording = null;
+        }
+    }
+}
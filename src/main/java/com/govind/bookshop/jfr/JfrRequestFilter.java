@@ -0,0 +1,48 @@
+package com.govind.bookshop.jfr;
+
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Emits a {@link RequestEvent} per request, and ends the {@link SerializationEvent} that
+ * {@link JfrBodyAdvice} may have started for it.
+ */
+public class JfrRequestFilter extends OncePerRequestFilter {
+
+    /** Request attribute holding the in-progress {@link SerializationEvent}. */
+    static final String SERIALIZATION_ATTRIBUTE = JfrRequestFilter.class.getName() + ".serialization";
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        RequestEvent event = new RequestEvent();
+        if (!event.isEnabled()) {
+            chain.doFilter(request, response);
+            return;
+        }
+        event.begin();
+        try {
+            chain.doFilter(request, response);
+        } finally {
+            if (request.getAttribute(SERIALIZATION_ATTRIBUTE) instanceof SerializationEvent serialization) {
+                request.removeAttribute(SERIALIZATION_ATTRIBUTE);
+                serialization.commit();
+            }
+            event.end();
+            if (event.shouldCommit()) {
+                Object pattern = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+                event.method = request.getMethod();
+                event.route = pattern != null ? pattern.toString() : request.getRequestURI();
+                event.status = response.getStatus();
+                event.async = request.isAsyncStarted();
+                event.commit();
+            }
+        }
+    }
+}
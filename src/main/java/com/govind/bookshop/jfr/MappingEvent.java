@@ -0,0 +1,23 @@
+package com.govind.bookshop.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/** One {@code Mapper.toDto} / {@code fromDto} call. */
+@Name("bookshop.Mapping")
+@Label("Mapping")
+@Category({"Bookshop", "Application"})
+@Threshold("1 ms")
+@StackTrace(false)
+class MappingEvent extends Event {
+
+    @Label("Mapper")
+    String component;
+
+    @Label("Method")
+    String operation;
+}
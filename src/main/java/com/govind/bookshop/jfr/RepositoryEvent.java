@@ -0,0 +1,32 @@
+package com.govind.bookshop.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/** A Spring Data repository call. */
+@Name("bookshop.Repository")
+@Label("Repository Call")
+@Category({"Bookshop", "Persistence"})
+@Threshold("1 ms")
+@StackTrace(false)
+class RepositoryEvent extends Event {
+
+    @Label("Repository")
+    String component;
+
+    @Label("Method")
+    String operation;
+
+    @Label("Key")
+    @Description("ISBN or author id, when the call has one")
+    String key;
+
+    @Label("Rows")
+    @Description("Rows returned or updated, or -1 when unknown")
+    long rows;
+}
@@ -0,0 +1,32 @@
+package com.govind.bookshop.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/** One HTTP request, from the outermost filter in. */
+@Name("bookshop.Request")
+@Label("HTTP Request")
+@Category({"Bookshop", "HTTP"})
+@Description("An API request on its handling thread (async requests end when the thread is released)")
+@Threshold("5 ms")
+@StackTrace(false)
+class RequestEvent extends Event {
+
+    @Label("Method")
+    String method;
+
+    @Label("Route")
+    @Description("Matched pattern, e.g. /books/{isbn}")
+    String route;
+
+    @Label("Status")
+    int status;
+
+    @Label("Async")
+    boolean async;
+}
@@ -0,0 +1,25 @@
+package com.govind.bookshop.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/** Writing a response body with a message converter. */
+@Name("bookshop.Serialization")
+@Label("Response Serialization")
+@Category({"Bookshop", "HTTP"})
+@Description("From handing the body to a message converter to the end of the request")
+@Threshold("1 ms")
+@StackTrace(false)
+class SerializationEvent extends Event {
+
+    @Label("Media Type")
+    String mediaType;
+
+    @Label("Body Type")
+    String bodyType;
+}
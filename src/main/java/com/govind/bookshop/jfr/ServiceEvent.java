@@ -0,0 +1,32 @@
+package com.govind.bookshop.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/** A call into an application service, including its transaction. */
+@Name("bookshop.Service")
+@Label("Service Call")
+@Category({"Bookshop", "Application"})
+@Threshold("1 ms")
+@StackTrace(false)
+class ServiceEvent extends Event {
+
+    @Label("Service")
+    String component;
+
+    @Label("Method")
+    String operation;
+
+    @Label("Key")
+    @Description("ISBN or author id, when the call has one")
+    String key;
+
+    @Label("Rows")
+    @Description("Items returned, or -1 when not a collection or entity")
+    long rows;
+}
@@ -0,0 +1,88 @@
+package com.govind.bookshop.json;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.govind.bookshop.author.domain.dto.AuthorDto;
+import com.govind.bookshop.author.domain.entity.AuthorEntity;
+import com.govind.bookshop.book.domain.Isbn;
+import com.govind.bookshop.book.domain.dto.BookDto;
+import com.govind.bookshop.book.domain.entity.BookEntity;
+
+import java.io.IOException;
+
+/**
+ * Hand-written JSON for catalog entities and DTOs, for {@link PageJsonWriter}.
+ *
+ * <p>Produces exactly what Jackson writes for {@code BookDto} / {@code AuthorDto} (same field
+ * names, order and null handling), without building DTOs from entities or introspecting
+ * beans. Keep the two in step when a DTO gains a field.</p>
+ */
+public final class CatalogJson {
+
+    private CatalogJson() {
+        // Utility class – no instances
+    }
+
+    /** Same shape as {@code BookDto}. */
+    public static void writeBook(JsonGenerator generator, BookEntity book) throws IOException {
+        generator.writeStartObject();
+        if (book.getIsbn() == null) {
+            generator.writeNullField("isbn");
+        } else {
+            generator.writeStringField("isbn", Isbn.format(book.getIsbn()));
+        }
+        generator.writeStringField("title", book.getTitle());
+        if (book.getAuthorEntity() == null) {
+            generator.writeNullField("author");
+        } else {
+            generator.writeFieldName("author");
+            writeAuthor(generator, book.getAuthorEntity());
+        }
+        generator.writeEndObject();
+    }
+
+    /** Same shape as {@code AuthorDto}: {@code bookCount} only when known. */
+    public static void writeAuthor(JsonGenerator generator, AuthorEntity author) throws IOException {
+        generator.writeStartObject();
+        writeNullableNumber(generator, "id", author.getId());
+        generator.writeStringField("name", author.getName());
+        writeNullableNumber(generator, "age", author.getAge());
+        if (author.getBookCount() != null) {
+            generator.writeNumberField("bookCount", author.getBookCount());
+        }
+        generator.writeEndObject();
+    }
+
+    /** Same shape as Jackson's {@code BookDto}, for rows already read as DTOs. */
+    public static void writeBook(JsonGenerator generator, BookDto book) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("isbn", book.getIsbn());
+        generator.writeStringField("title", book.getTitle());
+        if (book.getAuthor() == null) {
+            generator.writeNullField("author");
+        } else {
+            generator.writeFieldName("author");
+            writeAuthor(generator, book.getAuthor());
+        }
+        generator.writeEndObject();
+    }
+
+    /** Same shape as Jackson's {@code AuthorDto}. */
+    public static void writeAuthor(JsonGenerator generator, AuthorDto author) throws IOException {
+        generator.writeStartObject();
+        writeNullableNumber(generator, "id", author.getId());
+        generator.writeStringField("name", author.getName());
+        writeNullableNumber(generator, "age", author.getAge());
+        if (author.getBookCount() != null) {
+            generator.writeNumberField("bookCount", author.getBookCount());
+        }
+        generator.writeEndObject();
+    }
+
+    private static void writeNullableNumber(JsonGenerator generator, String field, Number value) throws IOException {
+        if (value == null) {
+            generator.writeNullField(field);
+        } else {
+            generator.writeNumberField(field, value.longValue());
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.govind.bookshop.json;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.data.domain.Page;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Writes a page as the lean list envelope, straight to the response stream.
+ *
+ * <pre>
+ * { "content": [ ... ], "page": 0, "size": 20, "totalElements": 41, "totalPages": 3 }
+ * </pre>
+ *
+ * <p>Served for {@value #MEDIA_TYPE}. Unlike Spring's {@code PageImpl} JSON it carries no
+ * {@code pageable}/{@code sort} blocks, and its field set is fixed. Items are written by an
+ * {@link ItemWriter} with explicit generator calls as the page is walked, so no DTO list is
+ * built and no bean introspection runs per item.</p>
+ */
+@Component
+public class PageJsonWriter {
+
+    /** Media type that selects the lean envelope on list endpoints. */
+    public static final String MEDIA_TYPE = "application/vnd.bookshop.page+json";
+
+    /** Writes one item as a JSON object. */
+    @FunctionalInterface
+    public interface ItemWriter<T> {
+        void write(JsonGenerator generator, T item) throws IOException;
+    }
+
+    private final JsonFactory factory;
+
+    public PageJsonWriter(ObjectMapper objectMapper) {
+        this.factory = objectMapper.getFactory();
+    }
+
+    public <T> void write(Page<T> page, ItemWriter<? super T> itemWriter, OutputStream out) throws IOException {
+        try (JsonGenerator generator = factory.createGenerator(out, JsonEncoding.UTF8)) {
+            generator.writeStartObject();
+            generator.writeArrayFieldStart("content");
+            for (T item : page) {
+                itemWriter.write(generator, item);
+            }
+            generator.writeEndArray();
+            generator.writeNumberField("page", page.getNumber());
+            generator.writeNumberField("size", page.getSize());
+            generator.writeNumberField("totalElements", page.getTotalElements());
+            generator.writeNumberField("totalPages", page.getTotalPages());
+            generator.writeEndObject();
+        }
+    }
+}
@@ -0,0 +1,188 @@
+package com.govind.bookshop.limiter;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.LongSupplier;
+
+/**
+ * Concurrency limit that adapts to measured latency (gradient style).
+ *
+ * <p>Each completed request contributes its round-trip time. A slow-moving average of RTT
+ * stands in for "no queueing" latency; when recent RTT rises above it (requests are waiting
+ * for the JDBC pool or the CPU) the limit shrinks proportionally, and while RTT stays flat
+ * the limit grows by roughly {@code sqrt(limit)} per sample. Requests that fail count as
+ * drops and cut the limit multiplicatively.</p>
+ *
+ * <p>{@link #tryAcquire()} never blocks: when in-flight requests have reached the limit the
+ * caller is told immediately and is expected to shed the request.</p>
+ *
+ * <p>Metrics: gauges {@code bookshop.limiter.limit{name}} and {@code bookshop.limiter.inflight{name}},
+ * counter {@code bookshop.limiter.calls{name, outcome=accepted|rejected|dropped}}.</p>
+ */
+public class AdaptiveConcurrencyLimiter {
+
+    /** RTT may rise this far above the long-term average before the limit starts shrinking. */
+    private static final double RTT_TOLERANCE = 1.5;
+    /** Weight of each new sample in the long-term RTT average (~600-sample window). */
+    private static final double LONG_RTT_ALPHA = 2.0 / 601;
+    /** Weight of each new estimate in the published limit. */
+    private static final double SMOOTHING = 0.2;
+    private static final double DROP_BACKOFF = 0.9;
+
+    private final String name;
+    private final int minLimit;
+    private final int maxLimit;
+    private final LongSupplier nanoClock;
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    private volatile int limit;
+    private double estimatedLimit;
+    private double longRttNanos;
+
+    private final Counter accepted;
+    private final Counter rejected;
+    private final Counter dropped;
+
+    public AdaptiveConcurrencyLimiter(String name, int initialLimit, int minLimit, int maxLimit,
+                                      MeterRegistry registry) {
+        this(name, initialLimit, minLimit, maxLimit, registry, System::nanoTime);
+    }
+
+    AdaptiveConcurrencyLimiter(String name, int initialLimit, int minLimit, int maxLimit,
+                               MeterRegistry registry, LongSupplier nanoClock) {
+        if (minLimit < 1 || minLimit > initialLimit || initialLimit > maxLimit) {
+            throw new IllegalArgumentException(
+                    "Limits must satisfy 1 <= min <= initial <= max, got " + minLimit + "/" + initialLimit + "/" + maxLimit);
+        }
+        this.name = name;
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.nanoClock = nanoClock;
+        this.limit = initialLimit;
+        this.estimatedLimit = initialLimit;
+
+        this.accepted = calls(registry, name, "accepted");
+        this.rejected = calls(registry, name, "rejected");
+        this.dropped = calls(registry, name, "dropped");
+        Gauge.builder("bookshop.limiter.limit", this, AdaptiveConcurrencyLimiter::getLimit)
+                .tag("name", name)
+                .description("Current adaptive concurrency limit")
+                .register(registry);
+        Gauge.builder("bookshop.limiter.inflight", inFlight, AtomicInteger::get)
+                .tag("name", name)
+                .description("Requests currently holding a permit")
+                .register(registry);
+    }
+
+    /**
+     * Take a permit if in-flight requests are below the limit; empty means "shed this request".
+     */
+    public Optional<Permit> tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                rejected.increment();
+                return Optional.empty();
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                accepted.increment();
+                return Optional.of(new Permit(nanoClock.getAsLong()));
+            }
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private synchronized void onSample(long rttNanos, int inFlightAtCompletion) {
+        if (rttNanos <= 0) {
+            return;
+        }
+        if (longRttNanos == 0) {
+            longRttNanos = rttNanos;
+        } else {
+            longRttNanos += (rttNanos - longRttNanos) * LONG_RTT_ALPHA;
+            // After a long slow period the average lags behind a recovered backend; pull it down.
+            if (longRttNanos / rttNanos > 2) {
+                longRttNanos *= 0.95;
+            }
+        }
+
+        double gradient = Math.max(0.5, Math.min(1.0, RTT_TOLERANCE * longRttNanos / rttNanos));
+        double queueAllowance = Math.sqrt(estimatedLimit);
+        double next = estimatedLimit * gradient + queueAllowance;
+
+        // Don't grow while most of the limit is unused; there is no evidence we could sustain more.
+        if (next > estimatedLimit && inFlightAtCompletion < estimatedLimit / 2) {
+            return;
+        }
+        publish(estimatedLimit * (1 - SMOOTHING) + next * SMOOTHING);
+    }
+
+    private synchronized void onDrop() {
+        publish(estimatedLimit * DROP_BACKOFF);
+    }
+
+    private void publish(double next) {
+        estimatedLimit = Math.max(minLimit, Math.min(maxLimit, next));
+        limit = (int) estimatedLimit;
+    }
+
+    private static Counter calls(MeterRegistry registry, String name, String outcome) {
+        return Counter.builder("bookshop.limiter.calls")
+                .tag("name", name)
+                .tag("outcome", outcome)
+                .description("Requests by limiter outcome; 'rejected' were shed with 503")
+                .register(registry);
+    }
+
+    /**
+     * A granted slot. Exactly one of {@link #success()} or {@link #dropped()} must be called.
+     */
+    public final class Permit {
+
+        private final long startNanos;
+        private boolean released;
+
+        private Permit(long startNanos) {
+            this.startNanos = startNanos;
+        }
+
+        /** The request completed normally; its latency feeds the limit. */
+        public void success() {
+            if (release()) {
+                onSample(nanoClock.getAsLong() - startNanos, inFlight.get() + 1);
+            }
+        }
+
+        /** The request failed (error or timeout); back the limit off. */
+        public void dropped() {
+            if (release()) {
+                dropped.increment();
+                onDrop();
+            }
+        }
+
+        private synchronized boolean release() {
+            if (released) {
+                return false;
+            }
+            released = true;
+            inFlight.decrementAndGet();
+            return true;
+        }
+    }
+}
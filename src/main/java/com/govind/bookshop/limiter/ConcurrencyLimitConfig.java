@@ -0,0 +1,52 @@
+package com.govind.bookshop.limiter;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.Ordered;
+
+import java.time.Duration;
+
+/**
+ * Registers {@link ConcurrencyLimitFilter} in front of {@code /books}, {@code /authors} and
+ * {@code /batch}.
+ *
+ * <p>Actuator endpoints are not limited, so health checks and metrics keep answering while
+ * the API sheds load. Disable with {@code bookshop.limiter.enabled=false}.</p>
+ */
+@Configuration(proxyBeanMethods = false)
+@ConditionalOnProperty(name = "bookshop.limiter.enabled", havingValue = "true", matchIfMissing = true)
+public class ConcurrencyLimitConfig {
+
+    @Bean
+    public AdaptiveConcurrencyLimiter readLimiter(@Value("${bookshop.limiter.reads.initial-limit:20}") int initial,
+                                                  @Value("${bookshop.limiter.reads.min-limit:4}") int min,
+                                                  @Value("${bookshop.limiter.reads.max-limit:200}") int max,
+                                                  MeterRegistry registry) {
+        return new AdaptiveConcurrencyLimiter("reads", initial, min, max, registry);
+    }
+
+    @Bean
+    public AdaptiveConcurrencyLimiter writeLimiter(@Value("${bookshop.limiter.writes.initial-limit:10}") int initial,
+                                                   @Value("${bookshop.limiter.writes.min-limit:2}") int min,
+                                                   @Value("${bookshop.limiter.writes.max-limit:50}") int max,
+                                                   MeterRegistry registry) {
+        return new AdaptiveConcurrencyLimiter("writes", initial, min, max, registry);
+    }
+
+    @Bean
+    public FilterRegistrationBean<ConcurrencyLimitFilter> concurrencyLimitFilter(
+            AdaptiveConcurrencyLimiter readLimiter,
+            AdaptiveConcurrencyLimiter writeLimiter,
+            @Value("${bookshop.limiter.retry-after:1s}") Duration retryAfter) {
+        FilterRegistrationBean<ConcurrencyLimitFilter> registration =
+                new FilterRegistrationBean<>(new ConcurrencyLimitFilter(readLimiter, writeLimiter, retryAfter));
+        registration.addUrlPatterns("/books", "/books/*", "/authors", "/authors/*", "/authors:batch", "/batch");
+        // Shed before anything else spends work on the request.
+        registration.setOrder(Ordered.HIGHEST_PRECEDENCE + 10);
+        return registration;
+    }
+}
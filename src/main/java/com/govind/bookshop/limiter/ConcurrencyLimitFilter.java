@@ -0,0 +1,107 @@
+package com.govind.bookshop.limiter;
+
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Sheds API requests above the adaptive concurrency limit instead of letting them queue.
+ *
+ * <p>Safe methods ({@code GET}, {@code HEAD}) go through the read limiter, everything else
+ * through the write limiter, so a burst of writes can't starve reads (or vice versa).
+ * Rejected requests get {@code 503} with {@code Retry-After} before any controller or
+ * database work happens.</p>
+ *
+ * <p>A request counts as dropped (and shrinks the limit) when it throws or ends in a 5xx;
+ * otherwise its latency is fed back as a sample.</p>
+ */
+public class ConcurrencyLimitFilter extends OncePerRequestFilter {
+
+    private final AdaptiveConcurrencyLimiter reads;
+    private final AdaptiveConcurrencyLimiter writes;
+    private final String retryAfterSeconds;
+
+    public ConcurrencyLimitFilter(AdaptiveConcurrencyLimiter reads, AdaptiveConcurrencyLimiter writes,
+                                  Duration retryAfter) {
+        this.reads = reads;
+        this.writes = writes;
+        this.retryAfterSeconds = Long.toString(Math.max(1, retryAfter.toSeconds()));
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain chain)
+            throws ServletException, IOException {
+        AdaptiveConcurrencyLimiter limiter = isRead(request) ? reads : writes;
+        Optional<AdaptiveConcurrencyLimiter.Permit> acquired = limiter.tryAcquire();
+        if (acquired.isEmpty()) {
+            response.setHeader(HttpHeaders.RETRY_AFTER, retryAfterSeconds);
+            response.sendError(HttpStatus.SERVICE_UNAVAILABLE.value(),
+                    "Server is at its " + limiter.getName() + " concurrency limit; retry later");
+            return;
+        }
+
+        AdaptiveConcurrencyLimiter.Permit permit = acquired.get();
+        boolean async = false;
+        try {
+            chain.doFilter(request, response);
+            if (request.isAsyncStarted()) {
+                // Long-lived async responses release when they complete, not when this thread returns.
+                request.getAsyncContext().addListener(new ReleaseOnComplete(permit));
+                async = true;
+            }
+        } catch (IOException | ServletException | RuntimeException e) {
+            permit.dropped();
+            throw e;
+        } finally {
+            if (!async) {
+                release(permit, response);
+            }
+        }
+    }
+
+    private static boolean isRead(HttpServletRequest request) {
+        String method = request.getMethod();
+        return "GET".equals(method) || "HEAD".equals(method);
+    }
+
+    private static void release(AdaptiveConcurrencyLimiter.Permit permit, HttpServletResponse response) {
+        if (response.getStatus() >= 500) {
+            permit.dropped();
+        } else {
+            permit.success();
+        }
+    }
+
+    private record ReleaseOnComplete(AdaptiveConcurrencyLimiter.Permit permit) implements AsyncListener {
+
+        @Override
+        public void onComplete(AsyncEvent event) {
+            release(permit, (HttpServletResponse) event.getSuppliedResponse());
+        }
+
+        @Override
+        public void onTimeout(AsyncEvent event) {
+            permit.dropped();
+        }
+
+        @Override
+        public void onError(AsyncEvent event) {
+            permit.dropped();
+        }
+
+        @Override
+        public void onStartAsync(AsyncEvent event) {
+            event.getAsyncContext().addListener(this);
+        }
+    }
+}
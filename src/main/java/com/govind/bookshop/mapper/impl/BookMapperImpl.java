@@ -1,36 +1,61 @@
 package com.govind.bookshop.mapper.impl;
 
+import com.govind.bookshop.author.domain.dto.AuthorDto;
+import com.govind.bookshop.author.domain.entity.AuthorEntity;
+import com.govind.bookshop.book.domain.Isbn;
 import com.govind.bookshop.book.domain.dto.BookDto;
 import com.govind.bookshop.book.domain.entity.BookEntity;
 import com.govind.bookshop.mapper.Mapper;
-import org.modelmapper.ModelMapper;
 import org.springframework.stereotype.Component;
 
+import java.util.OptionalLong;
+
 /**
  * Maps between {@link BookEntity} and {@link BookDto}.
  *
- * <p>With {@code MatchingStrategies.LOOSE}, ModelMapper will map
- * {@code BookEntity.authorEntity} ↔ {@code BookDto.author} by type affinity and
- * similar naming. If you move to {@code STRICT}, add an explicit property map.</p>
+ * <p>{@code BookEntity.authorEntity} ↔ {@code BookDto.author} is delegated to the author
+ * mapper, so both directions stay reflection-free.</p>
  */
 @Component
 public class BookMapperImpl implements Mapper<BookEntity, BookDto> {
 
-    private final ModelMapper modelMapper;
+    private final Mapper<AuthorEntity, AuthorDto> authorMapper;
 
-    public BookMapperImpl(ModelMapper modelMapper) {
-        this.modelMapper = modelMapper;
+    public BookMapperImpl(Mapper<AuthorEntity, AuthorDto> authorMapper) {
+        this.authorMapper = authorMapper;
     }
 
     /** Convert JPA entity → API DTO (nested author included). */
     @Override
     public BookDto toDto(BookEntity bookEntity) {
-        return modelMapper.map(bookEntity, BookDto.class);
+        if (bookEntity == null) {
+            return null;
+        }
+        return BookDto.builder()
+                .isbn(bookEntity.getIsbn() == null ? null : Isbn.format(bookEntity.getIsbn()))
+                .title(bookEntity.getTitle())
+                .author(authorMapper.toDto(bookEntity.getAuthorEntity()))
+                .build();
     }
 
-    /** Convert API DTO → JPA entity (nested author included). */
+    /**
+     * Convert API DTO → JPA entity (nested author included). An absent or invalid body ISBN
+     * maps to {@code null}; writes always take the key from the path.
+     */
     @Override
     public BookEntity fromDto(BookDto bookDto) {
-        return modelMapper.map(bookDto, BookEntity.class);
+        if (bookDto == null) {
+            return null;
+        }
+        return BookEntity.builder()
+                .isbn(parseIsbn(bookDto.getIsbn()))
+                .title(bookDto.getTitle())
+                .authorEntity(authorMapper.fromDto(bookDto.getAuthor()))
+                .build();
+    }
+
+    private static Long parseIsbn(String isbn) {
+        OptionalLong key = Isbn.tryParse(isbn);
+        return key.isPresent() ? key.getAsLong() : null;
     }
-}
\ No newline at end of file
+}
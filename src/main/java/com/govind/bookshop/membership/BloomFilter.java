@@ -0,0 +1,121 @@
+package com.govind.bookshop.membership;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bloom filter over {@code long} keys: {@link #mightContain} is never wrong about a key that
+ * was {@link #put}, and wrongly says "maybe" for other keys with about the configured
+ * probability while at most {@code expectedKeys} have been put.
+ *
+ * <p>Bits live in an {@link AtomicLongArray}, so puts and lookups may run concurrently
+ * without locks; a lookup racing with the put of the same key may miss it, which callers
+ * rule out by putting keys before they become visible. Keys cannot be removed: a deleted
+ * key stays a false positive until the filter is rebuilt.</p>
+ *
+ * <p>Probes use double hashing ({@code h1 + i·h2}) over a 64-bit mix of the key, the usual
+ * way to get {@code k} independent-enough positions from one hash.</p>
+ */
+public final class BloomFilter {
+
+    private final AtomicLongArray words;
+    private final long bits;
+    private final int hashes;
+    private final long expectedKeys;
+    private final double targetFpp;
+    private final AtomicLong bitsSet = new AtomicLong();
+    private final AtomicLong puts = new AtomicLong();
+
+    /**
+     * @param expectedKeys keys the filter is sized for
+     * @param targetFpp    false-positive probability at {@code expectedKeys}, e.g. 0.01
+     */
+    public BloomFilter(long expectedKeys, double targetFpp) {
+        if (expectedKeys < 1 || targetFpp <= 0 || targetFpp >= 1) {
+            throw new IllegalArgumentException("expectedKeys must be positive and targetFpp in (0, 1)");
+        }
+        // m = -n·ln p / (ln 2)², k = m/n · ln 2
+        long words = (long) Math.ceil(-expectedKeys * Math.log(targetFpp) / (Math.log(2) * Math.log(2)) / Long.SIZE);
+        if (words > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Bloom filter too large for " + expectedKeys + " keys");
+        }
+        this.words = new AtomicLongArray((int) Math.max(1, words));
+        this.bits = (long) this.words.length() * Long.SIZE;
+        this.hashes = Math.max(1, (int) Math.round((double) bits / expectedKeys * Math.log(2)));
+        this.expectedKeys = expectedKeys;
+        this.targetFpp = targetFpp;
+    }
+
+    public void put(long key) {
+        long h1 = mix(key);
+        long h2 = mix(h1) | 1;
+        boolean changed = false;
+        for (int i = 0; i < hashes; i++) {
+            long bit = ((h1 + i * h2) & Long.MAX_VALUE) % bits;
+            int word = (int) (bit >>> 6);
+            long mask = 1L << bit;
+            long current = words.get(word);
+            while ((current & mask) == 0) {
+                if (words.compareAndSet(word, current, current | mask)) {
+                    bitsSet.incrementAndGet();
+                    changed = true;
+                    break;
+                }
+                current = words.get(word);
+            }
+        }
+        if (changed) {
+            puts.incrementAndGet();
+        }
+    }
+
+    public boolean mightContain(long key) {
+        long h1 = mix(key);
+        long h2 = mix(h1) | 1;
+        for (int i = 0; i < hashes; i++) {
+            long bit = ((h1 + i * h2) & Long.MAX_VALUE) % bits;
+            if ((words.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /** Distinct keys put so far (puts that set at least one new bit; a close estimate). */
+    public long keys() {
+        return puts.get();
+    }
+
+    public long expectedKeys() {
+        return expectedKeys;
+    }
+
+    public double targetFpp() {
+        return targetFpp;
+    }
+
+    public long bits() {
+        return bits;
+    }
+
+    public int hashes() {
+        return hashes;
+    }
+
+    /** Heap used by the bit array. */
+    public long bytes() {
+        return bits / Byte.SIZE;
+    }
+
+    /** False-positive probability at the current fill: (bits set / bits)^k. */
+    public double estimatedFpp() {
+        return Math.pow((double) bitsSet.get() / bits, hashes);
+    }
+
+    /** SplitMix64 finalizer: spreads sequential ids and ISBNs over all 64 bits. */
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+}
@@ -0,0 +1,346 @@
+package com.govind.bookshop.membership;
+
+import com.govind.bookshop.author.domain.entity.AuthorEntity;
+import com.govind.bookshop.author.repository.AuthorRepository;
+import com.govind.bookshop.book.domain.Isbn;
+import com.govind.bookshop.book.domain.entity.BookEntity;
+import com.govind.bookshop.book.repository.BookRepository;
+import com.govind.bookshop.change.domain.entity.ChangeEntity;
+import com.govind.bookshop.change.service.ChangeRecordedEvent;
+import com.govind.bookshop.invalidation.EntityKey;
+import com.govind.bookshop.invalidation.InvalidationBus;
+import com.govind.bookshop.invalidation.InvalidationListener;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayDeque;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.LongFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Which ISBNs and author ids exist, as {@link BloomFilter}s, so lookups of keys that
+ * definitely do not exist can answer 404 without a query.
+ *
+ * <p>Built at startup from a keyset scan of both tables. Every write records a change (see
+ * {@code ChangeService}), and each recorded key is put into the filter right then, inside the
+ * writing transaction, so a row is in the filter before any reader can see it. Writes on
+ * other instances arrive through the {@link InvalidationBus}, a few milliseconds after they
+ * commit.</p>
+ *
+ * <p>A filter that misses another instance's inserts would answer 404 for rows that exist,
+ * so it is only used when the bus has a cross-instance transport; with
+ * {@code bookshop.invalidation.transport=none} every key "might exist". Even with a transport,
+ * a key read on another instance within the bus delay (linger plus delivery) after its insert
+ * commits can still be answered 404, so only reads use the filter: existence checks before a
+ * write always ask the database.</p>
+ *
+ * <p>Deleted keys stay in the filter as false positives (the database then answers
+ * 404) until the next rebuild, which also picks up rows written outside the application.</p>
+ *
+ * <p>A rebuild runs every {@code rebuild-interval}, when inserts exceed what the filter was
+ * sized for, and after an "invalidate all" from the bus. Keys recorded while it scans are put
+ * into both filters, and keys recorded shortly before it started are replayed into the new
+ * one, so a transaction that was still open at that point is not lost. Until the first build
+ * completes every key "might exist".</p>
+ *
+ * <p>Metrics: {@code bookshop.membership.lookups{keys, result=absent|maybe|false-positive}},
+ * gauges {@code bookshop.membership.bytes{keys}} and {@code bookshop.membership.fpp{keys}}
+ * (estimated from the fill).</p>
+ */
+@Slf4j
+@Component
+public class KeyMembership implements InvalidationListener {
+
+    /** How far back keys recorded before a rebuild started are replayed into the new filter. */
+    static final Duration REPLAY_WINDOW = Duration.ofMinutes(5);
+
+    /** Rows per keyset page while building. */
+    private static final int BATCH_SIZE = 1000;
+
+    /** Filter size and observed lookups for one key space. */
+    public record Stats(String keys, boolean ready, long entries, long capacity, long bits, int hashes,
+                        long bytes, double targetFpp, double estimatedFpp, long absent, long maybe,
+                        long falsePositives, double observedFpp, Instant builtAt) {
+    }
+
+    private final BookRepository bookRepository;
+    private final AuthorRepository authorRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final double targetFpp;
+    private final long minCapacity;
+    private final Duration rebuildInterval;
+
+    private final Keys books;
+    private final Keys authors;
+    private final AtomicBoolean rebuildScheduled = new AtomicBoolean();
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "key-membership");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public KeyMembership(BookRepository bookRepository, AuthorRepository authorRepository,
+                         TransactionTemplate transactionTemplate, InvalidationBus bus, MeterRegistry registry,
+                         @Value("${bookshop.membership.enabled:true}") boolean enabled,
+                         @Value("${bookshop.membership.fpp:0.01}") double targetFpp,
+                         @Value("${bookshop.membership.min-capacity:100000}") long minCapacity,
+                         @Value("${bookshop.membership.rebuild-interval:1h}") Duration rebuildInterval) {
+        this.bookRepository = bookRepository;
+        this.authorRepository = authorRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled && bus.isConnected();
+        if (enabled && !bus.isConnected()) {
+            log.info("Key membership filters off: bookshop.invalidation.transport is none, so other instances' "
+                    + "inserts would not reach them");
+        }
+        this.targetFpp = targetFpp;
+        this.minCapacity = minCapacity;
+        this.rebuildInterval = rebuildInterval;
+        this.books = new Keys("books", registry);
+        this.authors = new Keys("authors", registry);
+        if (enabled) {
+            bus.subscribe(this);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        scheduleRebuild();
+        if (!rebuildInterval.isZero()) {
+            executor.scheduleWithFixedDelay(this::scheduleRebuild,
+                    rebuildInterval.toMillis(), rebuildInterval.toMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /** {@code false} only if no book with this ISBN exists. */
+    public boolean mightContainBook(long isbn) {
+        return books.mightContain(isbn);
+    }
+
+    /** {@code false} only if no author with this id exists. */
+    public boolean mightContainAuthor(long id) {
+        return authors.mightContain(id);
+    }
+
+    /** The database found no book after {@link #mightContainBook} said maybe. */
+    public void bookNotFound() {
+        books.notFound();
+    }
+
+    /** The database found no author after {@link #mightContainAuthor} said maybe. */
+    public void authorNotFound() {
+        authors.notFound();
+    }
+
+    public List<Stats> stats() {
+        return List.of(books.stats(), authors.stats());
+    }
+
+    /** Runs inside the writing transaction, before its rows become visible. */
+    @EventListener
+    public void onRecorded(ChangeRecordedEvent event) {
+        if (enabled) {
+            put(event.type(), event.key());
+        }
+    }
+
+    @Override
+    public void invalidate(Set<EntityKey> keys) {
+        for (EntityKey key : keys) {
+            put(key.type(), key.key());
+        }
+    }
+
+    @Override
+    public void invalidateAll() {
+        scheduleRebuild();
+    }
+
+    private void put(ChangeEntity.Type type, String key) {
+        if (type == ChangeEntity.Type.BOOK) {
+            Isbn.tryParse(key).ifPresent(books::put);
+        } else {
+            try {
+                authors.put(Long.parseLong(key));
+            } catch (NumberFormatException e) {
+                log.warn("Ignoring malformed author key {}", key);
+            }
+        }
+    }
+
+    private void scheduleRebuild() {
+        if (rebuildScheduled.compareAndSet(false, true)) {
+            executor.execute(this::rebuild);
+        }
+    }
+
+    private void rebuild() {
+        rebuildScheduled.set(false);
+        long started = System.nanoTime();
+        try {
+            books.rebuild(bookRepository.count(), after -> transactionTemplate.execute(status ->
+                    bookRepository.findPageAfter(after, PageRequest.of(0, BATCH_SIZE))), BookEntity::getIsbn);
+            authors.rebuild(authorRepository.count(), after -> transactionTemplate.execute(status ->
+                    authorRepository.findByIdGreaterThanOrderByIdAsc(after, PageRequest.of(0, BATCH_SIZE))), AuthorEntity::getId);
+            log.info("Key membership filters built in {} ms: {} books ({} KiB), {} authors ({} KiB)",
+                    (System.nanoTime() - started) / 1_000_000,
+                    books.filter.keys(), books.filter.bytes() / 1024, authors.filter.keys(), authors.filter.bytes() / 1024);
+        } catch (RuntimeException e) {
+            // Keep answering from the previous filters (or "maybe" before the first build).
+            log.warn("Key membership rebuild failed", e);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    /** One key space: the live filter, the one being built, and recently recorded keys. */
+    private final class Keys {
+
+        private final String name;
+        private final Counter absent;
+        private final Counter maybe;
+        private final Counter falsePositives;
+
+        private volatile BloomFilter filter;
+        private BloomFilter building;
+        private volatile Instant builtAt;
+        /** Keys put in the last {@link #REPLAY_WINDOW}, oldest first: {nanoTime, key} pairs. */
+        private final ArrayDeque<long[]> recent = new ArrayDeque<>();
+
+        Keys(String name, MeterRegistry registry) {
+            this.name = name;
+            this.absent = lookups(registry, "absent");
+            this.maybe = lookups(registry, "maybe");
+            this.falsePositives = lookups(registry, "false-positive");
+            Gauge.builder("bookshop.membership.bytes", this, keys -> keys.filter == null ? 0 : keys.filter.bytes())
+                    .description("Heap used by the key membership filter")
+                    .baseUnit("bytes")
+                    .tag("keys", name)
+                    .register(registry);
+            Gauge.builder("bookshop.membership.fpp", this, keys -> keys.filter == null ? 0 : keys.filter.estimatedFpp())
+                    .description("Estimated false-positive probability of the key membership filter")
+                    .tag("keys", name)
+                    .register(registry);
+        }
+
+        private Counter lookups(MeterRegistry registry, String result) {
+            return Counter.builder("bookshop.membership.lookups")
+                    .description("Existence checks answered by the key membership filter")
+                    .tag("keys", name)
+                    .tag("result", result)
+                    .register(registry);
+        }
+
+        boolean mightContain(long key) {
+            BloomFilter current = filter;
+            if (current == null) {
+                return true;
+            }
+            if (current.mightContain(key)) {
+                maybe.increment();
+                return true;
+            }
+            absent.increment();
+            return false;
+        }
+
+        void notFound() {
+            if (filter != null) {
+                falsePositives.increment();
+            }
+        }
+
+        synchronized void put(long key) {
+            long now = System.nanoTime();
+            if (filter != null) {
+                filter.put(key);
+            }
+            if (building != null) {
+                building.put(key);
+            }
+            recent.addLast(new long[]{now, key});
+            while (now - recent.peekFirst()[0] > REPLAY_WINDOW.toNanos()) {
+                recent.removeFirst();
+            }
+            if (filter != null && filter.keys() > filter.expectedKeys()) {
+                scheduleRebuild();
+            }
+        }
+
+        <T> void rebuild(long rows, LongFunction<List<T>> pageAfter, ToLongFunction<T> keyOf) {
+            BloomFilter next = new BloomFilter(Math.max(minCapacity, rows * 2), targetFpp);
+            long replayFrom;
+            synchronized (this) {
+                building = next;
+                replayFrom = System.nanoTime() - REPLAY_WINDOW.toNanos();
+            }
+            try {
+                long after = 0;
+                List<T> page;
+                do {
+                    page = pageAfter.apply(after);
+                    for (T row : page) {
+                        after = keyOf.applyAsLong(row);
+                        next.put(after);
+                    }
+                } while (page.size() == BATCH_SIZE);
+                synchronized (this) {
+                    for (long[] entry : recent) {
+                        if (entry[0] - replayFrom >= 0) {
+                            next.put(entry[1]);
+                        }
+                    }
+                    filter = next;
+                    builtAt = Instant.now();
+                }
+            } finally {
+                synchronized (this) {
+                    building = null;
+                }
+            }
+        }
+
+        Stats stats() {
+            BloomFilter current = filter;
+            long absentCount = (long) absent.count();
+            long falsePositiveCount = (long) falsePositives.count();
+            long negatives = absentCount + falsePositiveCount;
+            double observed = negatives == 0 ? 0 : (double) falsePositiveCount / negatives;
+            if (current == null) {
+                return new Stats(name, false, 0, 0, 0, 0, 0, targetFpp, 0, absentCount,
+                        (long) maybe.count(), falsePositiveCount, observed, null);
+            }
+            return new Stats(name, true, current.keys(), current.expectedKeys(), current.bits(), current.hashes(),
+                    current.bytes(), targetFpp, current.estimatedFpp(), absentCount, (long) maybe.count(),
+                    falsePositiveCount, observed, builtAt);
+        }
+    }
+}
@@ -0,0 +1,41 @@
+package com.govind.bookshop.membership;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+
+/**
+ * Size and accuracy of the key membership filters.
+ *
+ * <p>Endpoints:
+ * <ul>
+ *   <li>GET /debug/membership – per key space: memory, fill, estimated and observed false-positive rate</li>
+ * </ul>
+ *
+ * <p>Unauthenticated, so it exists only with {@code bookshop.membership.debug.enabled=true}
+ * (off by default); the metrics are published either way.</p>
+ */
+@RestController
+@ConditionalOnProperty(name = "bookshop.membership.debug.enabled", havingValue = "true")
+public class MembershipController {
+
+    private final KeyMembership membership;
+
+    public MembershipController(KeyMembership membership) {
+        this.membership = membership;
+    }
+
+    /**
+     * @return stats for books and authors (200), or 404 when the filters are off
+     */
+    @GetMapping("/debug/membership")
+    public ResponseEntity<List<KeyMembership.Stats>> membership() {
+        if (!membership.isEnabled()) {
+            return ResponseEntity.notFound().build();
+        }
+        return ResponseEntity.ok(membership.stats());
+    }
+}
@@ -0,0 +1,43 @@
+package com.govind.bookshop.reactive;
+
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.autoconfigure.EnableAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceAutoConfiguration;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceTransactionManagerAutoConfiguration;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernateJpaAutoConfiguration;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.TimeZone;
+
+/**
+ * Bootstrap for the non-blocking variant of the API (WebFlux on Netty + R2DBC).
+ *
+ * <p>Serves the same HTTP contract as the servlet application with the same DTOs, but
+ * every request is handled on a small fixed set of event-loop threads and database
+ * access never blocks a thread. It only scans this package; JDBC/JPA auto-configuration
+ * is switched off, and {@link com.govind.bookshop.BookShopApplication} in turn excludes
+ * this package and R2DBC from the servlet application.</p>
+ *
+ * <p>Deliberately not a {@code @SpringBootConfiguration}: the servlet tests locate their
+ * configuration by searching for one, and there must only be one.</p>
+ */
+@Configuration(proxyBeanMethods = false)
+@EnableAutoConfiguration(exclude = {
+        DataSourceAutoConfiguration.class,
+        DataSourceTransactionManagerAutoConfiguration.class,
+        HibernateJpaAutoConfiguration.class
+})
+@ComponentScan
+public class ReactiveBookShopApplication {
+
+    public static void main(String[] args) {
+        // Same time behavior as the servlet application.
+        TimeZone.setDefault(TimeZone.getTimeZone("Asia/Kolkata"));
+
+        new SpringApplicationBuilder(ReactiveBookShopApplication.class)
+                .web(WebApplicationType.REACTIVE)
+                .run(args);
+    }
+}
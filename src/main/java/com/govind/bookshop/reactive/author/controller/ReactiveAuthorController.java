@@ -0,0 +1,76 @@
+package com.govind.bookshop.reactive.author.controller;
+
+import com.govind.bookshop.author.domain.dto.AuthorDto;
+import com.govind.bookshop.mapper.Mapper;
+import com.govind.bookshop.reactive.author.domain.AuthorRow;
+import com.govind.bookshop.reactive.author.service.ReactiveAuthorService;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Non-blocking twin of {@link com.govind.bookshop.author.controller.AuthorController}.
+ *
+ * <p>Same paths, payloads and status codes; {@code GET /authors} is written as a JSON
+ * array element by element as rows arrive instead of being collected first.</p>
+ */
+@RestController
+public class ReactiveAuthorController {
+
+    private final ReactiveAuthorService authorService;
+
+    private final Mapper<AuthorRow, AuthorDto> mapper;
+
+    public ReactiveAuthorController(ReactiveAuthorService authorService, Mapper<AuthorRow, AuthorDto> mapper) {
+        this.authorService = authorService;
+        this.mapper = mapper;
+    }
+
+    @PostMapping("/authors")
+    public Mono<ResponseEntity<AuthorDto>> createAuthor(@RequestBody AuthorDto author) {
+        author.setId(null); // id is ignored if present, as in the servlet API
+        return authorService.save(mapper.fromDto(author))
+                .map(saved -> new ResponseEntity<>(mapper.toDto(saved), HttpStatus.CREATED));
+    }
+
+    @GetMapping("/authors")
+    public Flux<AuthorDto> listAuthors() {
+        return authorService.findAll().map(mapper::toDto);
+    }
+
+    @GetMapping("/authors/{id}")
+    public Mono<ResponseEntity<AuthorDto>> displayOneAuthor(@PathVariable("id") Long id) {
+        return authorService.findOne(id)
+                .map(row -> new ResponseEntity<>(mapper.toDto(row), HttpStatus.OK))
+                .defaultIfEmpty(new ResponseEntity<>(HttpStatus.NOT_FOUND));
+    }
+
+    @PutMapping("/authors/{id}")
+    public Mono<ResponseEntity<AuthorDto>> updateAuthor(@PathVariable("id") Long id,
+                                                        @RequestBody AuthorDto authorDto) {
+        return authorService.isExists(id).flatMap(exists -> {
+            if (!exists) {
+                return Mono.just(new ResponseEntity<AuthorDto>(HttpStatus.NOT_FOUND));
+            }
+            authorDto.setId(id);
+            return authorService.save(mapper.fromDto(authorDto))
+                    .map(saved -> new ResponseEntity<>(mapper.toDto(saved), HttpStatus.OK));
+        });
+    }
+
+    @PatchMapping("/authors/{id}")
+    public Mono<ResponseEntity<AuthorDto>> partialUpdate(@PathVariable("id") Long id,
+                                                         @RequestBody AuthorDto authorDto) {
+        return authorService.partialUpdate(id, mapper.fromDto(authorDto))
+                .map(patched -> new ResponseEntity<>(mapper.toDto(patched), HttpStatus.OK))
+                .defaultIfEmpty(new ResponseEntity<>(HttpStatus.NOT_FOUND));
+    }
+
+    @DeleteMapping("/authors/{id}")
+    public Mono<ResponseEntity<AuthorDto>> deleteAuthor(@PathVariable("id") Long id) {
+        return authorService.delete(id)
+                .then(Mono.just(new ResponseEntity<>(HttpStatus.NO_CONTENT)));
+    }
+}
@@ -0,0 +1,32 @@
+package com.govind.bookshop.reactive.author.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Table;
+
+/**
+ * R2DBC mapping of the {@code authors} table.
+ *
+ * <p>Same columns as {@link com.govind.bookshop.author.domain.entity.AuthorEntity}; the
+ * reactive variant shares the schema with the servlet application.</p>
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table("authors")
+public class AuthorRow {
+
+    /** Primary key generated by the database. */
+    @Id
+    private Long id;
+
+    /** Author name. */
+    private String name;
+
+    /** Author age. */
+    private Integer age;
+}
@@ -0,0 +1,10 @@
+package com.govind.bookshop.reactive.author.repository;
+
+import com.govind.bookshop.reactive.author.domain.AuthorRow;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+
+/**
+ * Spring Data R2DBC repository for {@link AuthorRow}.
+ */
+public interface ReactiveAuthorRepository extends ReactiveCrudRepository<AuthorRow, Long> {
+}
@@ -0,0 +1,56 @@
+package com.govind.bookshop.reactive.author.service;
+
+import com.govind.bookshop.reactive.author.domain.AuthorRow;
+import com.govind.bookshop.reactive.author.repository.ReactiveAuthorRepository;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Optional;
+
+/**
+ * Non-blocking author operations with the same semantics as
+ * {@link com.govind.bookshop.author.service.impl.AuthorServiceImpl}.
+ */
+@Service
+public class ReactiveAuthorService {
+
+    private final ReactiveAuthorRepository authorRepository;
+
+    public ReactiveAuthorService(ReactiveAuthorRepository authorRepository) {
+        this.authorRepository = authorRepository;
+    }
+
+    public Mono<AuthorRow> save(AuthorRow author) {
+        return authorRepository.save(author);
+    }
+
+    public Flux<AuthorRow> findAll() {
+        return authorRepository.findAll();
+    }
+
+    public Mono<AuthorRow> findOne(Long id) {
+        return authorRepository.findById(id);
+    }
+
+    public Mono<Boolean> isExists(Long id) {
+        return authorRepository.existsById(id);
+    }
+
+    /**
+     * Apply non-null fields to the existing author; completes empty when the id is unknown.
+     */
+    @Transactional
+    public Mono<AuthorRow> partialUpdate(Long id, AuthorRow author) {
+        return authorRepository.findById(id).flatMap(existing -> {
+            Optional.ofNullable(author.getAge()).ifPresent(existing::setAge);
+            Optional.ofNullable(author.getName()).ifPresent(existing::setName);
+            return authorRepository.save(existing);
+        });
+    }
+
+    public Mono<Void> delete(Long id) {
+        return authorRepository.deleteById(id); // idempotent
+    }
+}
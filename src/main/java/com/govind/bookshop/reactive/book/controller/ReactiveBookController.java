@@ -0,0 +1,97 @@
+package com.govind.bookshop.reactive.book.controller;
+
+import com.govind.bookshop.book.domain.Isbn;
+import com.govind.bookshop.book.domain.dto.BookDto;
+import com.govind.bookshop.mapper.Mapper;
+import com.govind.bookshop.reactive.book.domain.BookRow;
+import com.govind.bookshop.reactive.book.service.ReactiveBookService;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.OptionalLong;
+
+/**
+ * Non-blocking twin of {@link com.govind.bookshop.book.controller.BookController}.
+ *
+ * <p>Endpoints and status codes match the servlet API. In addition, {@code GET /books} with
+ * {@code Accept: application/x-ndjson} streams the whole (sorted) catalog one JSON document
+ * per line; the database cursor only advances as fast as the client reads.</p>
+ *
+ * <p>Path ISBNs are canonicalized with {@link Isbn} exactly as in the servlet API.</p>
+ */
+@RestController
+public class ReactiveBookController {
+
+    private final ReactiveBookService bookService;
+
+    private final Mapper<BookRow, BookDto> mapper;
+
+    public ReactiveBookController(ReactiveBookService bookService, Mapper<BookRow, BookDto> mapper) {
+        this.bookService = bookService;
+        this.mapper = mapper;
+    }
+
+    @PutMapping("/books/{isbn}")
+    public Mono<ResponseEntity<BookDto>> createUpdateBook(@PathVariable("isbn") String isbn,
+                                                          @RequestBody BookDto book) {
+        OptionalLong key = Isbn.tryParse(isbn);
+        if (key.isEmpty()) {
+            return Mono.just(new ResponseEntity<>(HttpStatus.BAD_REQUEST));
+        }
+        return bookService.createUpdateBook(key.getAsLong(), mapper.fromDto(book))
+                .map(result -> new ResponseEntity<>(mapper.toDto(result.book()),
+                        result.created() ? HttpStatus.CREATED : HttpStatus.OK));
+    }
+
+    /** Same JSON page shape as the servlet API. */
+    @GetMapping("/books")
+    public Mono<Page<BookDto>> listBooks(Pageable pageable) {
+        return bookService.findAll(pageable).map(page -> page.map(mapper::toDto));
+    }
+
+    /** Backpressured stream of every book, honoring {@code sort}. */
+    @GetMapping(value = "/books", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<BookDto> streamBooks(Sort sort) {
+        return bookService.streamAll(sort).map(mapper::toDto);
+    }
+
+    @GetMapping("/books/{isbn}")
+    public Mono<ResponseEntity<BookDto>> displayOneBook(@PathVariable("isbn") String isbn) {
+        OptionalLong key = Isbn.tryParse(isbn);
+        if (key.isEmpty()) {
+            return Mono.just(new ResponseEntity<>(HttpStatus.BAD_REQUEST));
+        }
+        return bookService.findOne(key.getAsLong())
+                .map(row -> new ResponseEntity<>(mapper.toDto(row), HttpStatus.OK))
+                .defaultIfEmpty(new ResponseEntity<>(HttpStatus.NOT_FOUND));
+    }
+
+    @PatchMapping("/books/{isbn}")
+    public Mono<ResponseEntity<BookDto>> partialUpdateOneBook(@PathVariable("isbn") String isbn,
+                                                              @RequestBody BookDto bookDto) {
+        OptionalLong key = Isbn.tryParse(isbn);
+        if (key.isEmpty()) {
+            return Mono.just(new ResponseEntity<>(HttpStatus.BAD_REQUEST));
+        }
+        return bookService.partialUpdate(key.getAsLong(), mapper.fromDto(bookDto))
+                .map(patched -> new ResponseEntity<>(mapper.toDto(patched), HttpStatus.OK))
+                .defaultIfEmpty(new ResponseEntity<>(HttpStatus.NOT_FOUND));
+    }
+
+    @DeleteMapping("/books/{isbn}")
+    public Mono<ResponseEntity<BookDto>> deleteBook(@PathVariable("isbn") String isbn) {
+        OptionalLong key = Isbn.tryParse(isbn);
+        if (key.isEmpty()) {
+            return Mono.just(new ResponseEntity<>(HttpStatus.BAD_REQUEST));
+        }
+        return bookService.delete(key.getAsLong())
+                .then(Mono.just(new ResponseEntity<>(HttpStatus.NO_CONTENT)));
+    }
+}
@@ -0,0 +1,27 @@
+package com.govind.bookshop.reactive.book.domain;
+
+import com.govind.bookshop.reactive.author.domain.AuthorRow;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * A {@code books} row joined with its author, as read by
+ * {@link com.govind.bookshop.reactive.book.repository.ReactiveBookRepository}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+public class BookRow {
+
+    /** Primary key: canonical ISBN-13 as a number (see {@link com.govind.bookshop.book.domain.Isbn}). */
+    private Long isbn;
+
+    /** Book title. */
+    private String title;
+
+    /** Owning author, or {@code null} when the book has none. */
+    private AuthorRow author;
+}
@@ -0,0 +1,137 @@
+package com.govind.bookshop.reactive.book.repository;
+
+import com.govind.bookshop.reactive.author.domain.AuthorRow;
+import com.govind.bookshop.reactive.book.domain.BookRow;
+import io.r2dbc.spi.Readable;
+import org.springframework.data.domain.Sort;
+import org.springframework.http.HttpStatus;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import org.springframework.web.server.ResponseStatusException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * R2DBC access to {@code books}, always joined with {@code authors} in the same statement.
+ *
+ * <p>Spring Data R2DBC has no relationship mapping, so this is plain SQL over
+ * {@link DatabaseClient}. List queries set a fetch size so rows are pulled from the
+ * server in chunks as downstream demand arrives, rather than materialized up front.</p>
+ */
+@Repository
+public class ReactiveBookRepository {
+
+    /** Rows requested from the server per round trip while streaming. */
+    private static final int FETCH_SIZE = 256;
+
+    private static final String SELECT_JOINED = """
+            SELECT b.isbn, b.title, a.id AS author_id, a.name AS author_name, a.age AS author_age
+            FROM books b LEFT JOIN authors a ON a.id = b.author_id
+            """;
+
+    /** API sort properties → columns; anything else is rejected instead of reaching SQL. */
+    private static final Map<String, String> SORT_COLUMNS = Map.of(
+            "isbn", "b.isbn",
+            "title", "b.title");
+
+    private final DatabaseClient client;
+
+    public ReactiveBookRepository(DatabaseClient client) {
+        this.client = client;
+    }
+
+    public Mono<BookRow> findById(Long isbn) {
+        return client.sql(SELECT_JOINED + "WHERE b.isbn = :isbn")
+                .bind("isbn", isbn)
+                .map(ReactiveBookRepository::toRow)
+                .one();
+    }
+
+    public Mono<Boolean> existsById(Long isbn) {
+        return client.sql("SELECT 1 FROM books WHERE isbn = :isbn")
+                .bind("isbn", isbn)
+                .map(row -> Boolean.TRUE)
+                .first()
+                .defaultIfEmpty(Boolean.FALSE);
+    }
+
+    /** One window of rows in the requested order (a page). */
+    public Flux<BookRow> findAll(Sort sort, long offset, int limit) {
+        return client.sql(SELECT_JOINED + orderBy(sort) + " LIMIT :limit OFFSET :offset")
+                .bind("limit", limit)
+                .bind("offset", offset)
+                .map(ReactiveBookRepository::toRow)
+                .all();
+    }
+
+    /** Every row in the requested order, fetched incrementally under backpressure. */
+    public Flux<BookRow> streamAll(Sort sort) {
+        return client.sql(SELECT_JOINED + orderBy(sort))
+                .filter(statement -> statement.fetchSize(FETCH_SIZE))
+                .map(ReactiveBookRepository::toRow)
+                .all();
+    }
+
+    public Mono<Long> count() {
+        return client.sql("SELECT COUNT(*) FROM books")
+                .map(row -> row.get(0, Long.class))
+                .one();
+    }
+
+    public Mono<Void> insert(Long isbn, String title, Long authorId) {
+        return bindNullable(client.sql("INSERT INTO books (isbn, title, author_id) VALUES (:isbn, :title, :authorId)")
+                .bind("isbn", isbn), title, authorId)
+                .then();
+    }
+
+    public Mono<Void> update(Long isbn, String title, Long authorId) {
+        return bindNullable(client.sql("UPDATE books SET title = :title, author_id = :authorId WHERE isbn = :isbn")
+                .bind("isbn", isbn), title, authorId)
+                .then();
+    }
+
+    public Mono<Void> deleteById(Long isbn) {
+        return client.sql("DELETE FROM books WHERE isbn = :isbn")
+                .bind("isbn", isbn)
+                .then();
+    }
+
+    private static DatabaseClient.GenericExecuteSpec bindNullable(DatabaseClient.GenericExecuteSpec spec,
+                                                                  String title, Long authorId) {
+        spec = title == null ? spec.bindNull("title", String.class) : spec.bind("title", title);
+        return authorId == null ? spec.bindNull("authorId", Long.class) : spec.bind("authorId", authorId);
+    }
+
+    private static String orderBy(Sort sort) {
+        if (sort == null || sort.isUnsorted()) {
+            return "ORDER BY b.isbn";
+        }
+        return sort.stream()
+                .map(order -> {
+                    String column = SORT_COLUMNS.get(order.getProperty());
+                    if (column == null) {
+                        throw new ResponseStatusException(HttpStatus.BAD_REQUEST,
+                                "Unsupported sort property: " + order.getProperty());
+                    }
+                    return column + (order.isAscending() ? " ASC" : " DESC");
+                })
+                .collect(Collectors.joining(", ", "ORDER BY ", ", b.isbn")); // ISBN tie-break keeps pages stable
+    }
+
+    private static BookRow toRow(Readable row) {
+        Long authorId = row.get("author_id", Long.class);
+        AuthorRow author = authorId == null ? null : AuthorRow.builder()
+                .id(authorId)
+                .name(row.get("author_name", String.class))
+                .age(row.get("author_age", Integer.class))
+                .build();
+        return BookRow.builder()
+                .isbn(row.get("isbn", Long.class))
+                .title(row.get("title", String.class))
+                .author(author)
+                .build();
+    }
+}
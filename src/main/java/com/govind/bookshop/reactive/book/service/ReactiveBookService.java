@@ -0,0 +1,126 @@
+package com.govind.bookshop.reactive.book.service;
+
+import com.govind.bookshop.reactive.author.domain.AuthorRow;
+import com.govind.bookshop.reactive.author.repository.ReactiveAuthorRepository;
+import com.govind.bookshop.reactive.book.domain.BookRow;
+import com.govind.bookshop.reactive.book.repository.ReactiveBookRepository;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Optional;
+
+/**
+ * Non-blocking book operations with the same semantics as
+ * {@link com.govind.bookshop.book.service.impl.BookServiceImpl}.
+ *
+ * <p>The servlet variant cascades the nested author on save; here the equivalent is explicit:
+ * an author without id is inserted, an author with id and fields is updated, and an author
+ * with only an id is just linked.</p>
+ */
+@Service
+public class ReactiveBookService {
+
+    /** Result of an upsert: the stored row and whether it was newly created. */
+    public record Upsert(BookRow book, boolean created) {
+    }
+
+    private final ReactiveBookRepository bookRepository;
+    private final ReactiveAuthorRepository authorRepository;
+
+    public ReactiveBookService(ReactiveBookRepository bookRepository, ReactiveAuthorRepository authorRepository) {
+        this.bookRepository = bookRepository;
+        this.authorRepository = authorRepository;
+    }
+
+    @Transactional
+    public Mono<Upsert> createUpdateBook(Long isbn, BookRow book) {
+        return resolveAuthorId(book.getAuthor())
+                .flatMap(authorId -> bookRepository.existsById(isbn).flatMap(exists -> {
+                    Mono<Void> write = exists
+                            ? bookRepository.update(isbn, book.getTitle(), authorId.orElse(null))
+                            : bookRepository.insert(isbn, book.getTitle(), authorId.orElse(null));
+                    return write.then(bookRepository.findById(isbn))
+                            .map(saved -> new Upsert(saved, !exists));
+                }));
+    }
+
+    /**
+     * One page: only {@code pageable.getPageSize()} rows are read, plus a count for the
+     * page metadata.
+     */
+    public Mono<Page<BookRow>> findAll(Pageable pageable) {
+        return bookRepository.findAll(pageable.getSort(), pageable.getOffset(), pageable.getPageSize())
+                .collectList()
+                .zipWith(bookRepository.count())
+                .map(pageAndTotal -> new PageImpl<>(pageAndTotal.getT1(), pageable, pageAndTotal.getT2()));
+    }
+
+    /** Every book in the given order, emitted as rows arrive. */
+    public Flux<BookRow> streamAll(Sort sort) {
+        return bookRepository.streamAll(sort);
+    }
+
+    public Mono<BookRow> findOne(Long isbn) {
+        return bookRepository.findById(isbn);
+    }
+
+    public Mono<Boolean> isExists(Long isbn) {
+        return bookRepository.existsById(isbn);
+    }
+
+    /**
+     * Merge non-null fields into the existing book; completes empty when the ISBN is unknown.
+     */
+    @Transactional
+    public Mono<BookRow> partialUpdate(Long isbn, BookRow book) {
+        return bookRepository.findById(isbn).flatMap(existing -> {
+            Mono<Optional<Long>> authorId = book.getAuthor() == null
+                    ? Mono.just(Optional.ofNullable(existing.getAuthor()).map(AuthorRow::getId))
+                    : resolveAuthorId(book.getAuthor());
+            String title = Optional.ofNullable(book.getTitle()).orElse(existing.getTitle());
+            return authorId.flatMap(id -> bookRepository.update(isbn, title, id.orElse(null)))
+                    .then(bookRepository.findById(isbn));
+        });
+    }
+
+    /**
+     * Delete the book and its author, as the servlet variant's {@code CascadeType.ALL} does.
+     * Idempotent. No tombstones are recorded: this variant does not write the change feed.
+     */
+    @Transactional
+    public Mono<Void> delete(Long isbn) {
+        return bookRepository.findById(isbn)
+                .flatMap(book -> {
+                    Mono<Void> deleted = bookRepository.deleteById(isbn);
+                    AuthorRow author = book.getAuthor();
+                    return author == null || author.getId() == null
+                            ? deleted
+                            : deleted.then(authorRepository.deleteById(author.getId()));
+                });
+    }
+
+    private Mono<Optional<Long>> resolveAuthorId(AuthorRow author) {
+        if (author == null) {
+            return Mono.just(Optional.empty());
+        }
+        if (author.getId() != null && author.getName() == null && author.getAge() == null) {
+            return Mono.just(Optional.of(author.getId()));
+        }
+        Mono<AuthorRow> saved = author.getId() == null
+                ? authorRepository.save(author)
+                : authorRepository.existsById(author.getId())
+                        .flatMap(exists -> {
+                            if (!exists) {
+                                author.setId(null); // unknown id: create, as a cascaded merge would
+                            }
+                            return authorRepository.save(author);
+                        });
+        return saved.map(row -> Optional.of(row.getId()));
+    }
+}
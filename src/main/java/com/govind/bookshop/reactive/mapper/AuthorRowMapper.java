@@ -0,0 +1,37 @@
+package com.govind.bookshop.reactive.mapper;
+
+import com.govind.bookshop.author.domain.dto.AuthorDto;
+import com.govind.bookshop.mapper.Mapper;
+import com.govind.bookshop.reactive.author.domain.AuthorRow;
+import org.springframework.stereotype.Component;
+
+/**
+ * Maps between {@link AuthorRow} (R2DBC model) and the shared {@link AuthorDto}.
+ */
+@Component
+public class AuthorRowMapper implements Mapper<AuthorRow, AuthorDto> {
+
+    @Override
+    public AuthorDto toDto(AuthorRow row) {
+        if (row == null) {
+            return null;
+        }
+        return AuthorDto.builder()
+                .id(row.getId())
+                .name(row.getName())
+                .age(row.getAge())
+                .build();
+    }
+
+    @Override
+    public AuthorRow fromDto(AuthorDto dto) {
+        if (dto == null) {
+            return null;
+        }
+        return AuthorRow.builder()
+                .id(dto.getId())
+                .name(dto.getName())
+                .age(dto.getAge())
+                .build();
+    }
+}
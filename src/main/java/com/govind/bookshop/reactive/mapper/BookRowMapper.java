@@ -0,0 +1,53 @@
+package com.govind.bookshop.reactive.mapper;
+
+import com.govind.bookshop.author.domain.dto.AuthorDto;
+import com.govind.bookshop.book.domain.Isbn;
+import com.govind.bookshop.book.domain.dto.BookDto;
+import com.govind.bookshop.mapper.Mapper;
+import com.govind.bookshop.reactive.author.domain.AuthorRow;
+import com.govind.bookshop.reactive.book.domain.BookRow;
+import org.springframework.stereotype.Component;
+
+import java.util.OptionalLong;
+
+/**
+ * Maps between {@link BookRow} and the shared {@link BookDto}.
+ */
+@Component
+public class BookRowMapper implements Mapper<BookRow, BookDto> {
+
+    private final Mapper<AuthorRow, AuthorDto> authorMapper;
+
+    public BookRowMapper(Mapper<AuthorRow, AuthorDto> authorMapper) {
+        this.authorMapper = authorMapper;
+    }
+
+    @Override
+    public BookDto toDto(BookRow row) {
+        if (row == null) {
+            return null;
+        }
+        return BookDto.builder()
+                .isbn(row.getIsbn() == null ? null : Isbn.format(row.getIsbn()))
+                .title(row.getTitle())
+                .author(authorMapper.toDto(row.getAuthor()))
+                .build();
+    }
+
+    @Override
+    public BookRow fromDto(BookDto dto) {
+        if (dto == null) {
+            return null;
+        }
+        return BookRow.builder()
+                .isbn(parseIsbn(dto.getIsbn()))
+                .title(dto.getTitle())
+                .author(authorMapper.fromDto(dto.getAuthor()))
+                .build();
+    }
+
+    private static Long parseIsbn(String isbn) {
+        OptionalLong key = Isbn.tryParse(isbn);
+        return key.isPresent() ? key.getAsLong() : null;
+    }
+}
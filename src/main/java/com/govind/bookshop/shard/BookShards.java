@@ -0,0 +1,316 @@
+package com.govind.bookshop.shard;
+
+import com.zaxxer.hikari.HikariDataSource;
+import jakarta.annotation.PreDestroy;
+import jakarta.persistence.EntityManager;
+import lombok.extern.slf4j.Slf4j;
+import org.flywaydb.core.Flyway;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.jdbc.DataSourceBuilder;
+import org.springframework.boot.jdbc.DatabaseDriver;
+import org.springframework.jdbc.CannotGetJdbcConnectionException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.ConnectionHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.TransactionSystemException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+
+/**
+ * The shard databases that hold book rows when {@code bookshop.sharding.enabled=true}.
+ *
+ * <p>{@code bookshop.sharding.urls} lists the active shards; an ISBN belongs to shard
+ * {@link JumpHash#shardOf}{@code (isbn, urls.size())}, so the order of the list matters.
+ * {@code bookshop.sharding.draining-urls} lists databases being emptied by
+ * {@link ShardRebalancer}; nothing is routed to them. Each shard gets its own connection pool
+ * and is migrated from {@code db/shard/{vendor}} at startup.</p>
+ *
+ * <p>Transactions: inside a read-write Spring transaction, every shard touched gets one
+ * connection bound to that transaction. At commit the main database's pending writes are
+ * flushed first (so constraint errors roll everything back), then the shard connections
+ * commit, then the main database. A failure of that last step after the shards committed is
+ * the one case that leaves them apart (best-effort one-phase commit, no XA). Read-only and
+ * non-transactional access uses auto-commit connections, fanned out in parallel.</p>
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "bookshop.sharding.enabled", havingValue = "true")
+public class BookShards {
+
+    /** One shard database. {@code index} is its jump-hash bucket, or -1 while draining. */
+    public record Shard(int index, String url, JdbcTemplate jdbc) {
+
+        DataSource dataSource() {
+            return jdbc.getDataSource();
+        }
+
+        @Override
+        public String toString() {
+            return index < 0 ? "draining shard " + url : "shard " + index;
+        }
+    }
+
+    private final EntityManager entityManager;
+    private final List<Shard> active = new ArrayList<>();
+    private final List<Shard> draining = new ArrayList<>();
+    private final List<HikariDataSource> pools = new ArrayList<>();
+    private final boolean codePointTitles;
+    private final ExecutorService executor;
+
+    public BookShards(EntityManager entityManager,
+                      @Value("${bookshop.sharding.urls}") List<String> urls,
+                      @Value("${bookshop.sharding.draining-urls:}") List<String> drainingUrls,
+                      @Value("${bookshop.sharding.username:${spring.datasource.username:}}") String username,
+                      @Value("${bookshop.sharding.password:${spring.datasource.password:}}") String password,
+                      @Value("${bookshop.sharding.pool-size:10}") int poolSize) {
+        this.entityManager = entityManager;
+        for (String url : nonBlank(urls)) {
+            active.add(new Shard(active.size(), url, new JdbcTemplate(open(url, username, password, poolSize))));
+        }
+        for (String url : nonBlank(drainingUrls)) {
+            draining.add(new Shard(-1, url, new JdbcTemplate(open(url, username, password, poolSize))));
+        }
+        if (active.isEmpty()) {
+            throw new IllegalStateException("bookshop.sharding.urls must list at least one shard");
+        }
+        this.codePointTitles = isPostgres(active.get(0));
+
+        AtomicInteger threads = new AtomicInteger();
+        this.executor = Executors.newFixedThreadPool(active.size() * poolSize, r -> {
+            Thread thread = new Thread(r, "book-shard-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        log.info("Book sharding enabled: {} active shard(s), {} draining", active.size(), draining.size());
+    }
+
+    /** The shard that owns {@code isbn}. */
+    public Shard owner(long isbn) {
+        return active.get(JumpHash.shardOf(isbn, active.size()));
+    }
+
+    public List<Shard> active() {
+        return List.copyOf(active);
+    }
+
+    public List<Shard> draining() {
+        return List.copyOf(draining);
+    }
+
+    /** Active then draining shards: everywhere a book row may still be. */
+    public List<Shard> all() {
+        List<Shard> all = new ArrayList<>(active);
+        all.addAll(draining);
+        return all;
+    }
+
+    /**
+     * Template for {@code shard} on the current thread; inside a read-write transaction its
+     * connection is bound to that transaction (see class doc).
+     */
+    public JdbcTemplate jdbc(Shard shard) {
+        if (inWriteTransaction()) {
+            join(shard.dataSource());
+        }
+        return shard.jdbc();
+    }
+
+    /**
+     * Run {@code query} against every shard in {@code shards} and collect the results in shard
+     * order: in parallel, or one after another on this thread inside a read-write transaction
+     * (bound connections are thread-local, and the caller must see its own uncommitted rows).
+     */
+    public <T> List<T> scatter(List<Shard> shards, BiFunction<Shard, JdbcTemplate, T> query) {
+        List<T> results = new ArrayList<>(shards.size());
+        if (shards.size() == 1 || inWriteTransaction()) {
+            for (Shard shard : shards) {
+                results.add(query.apply(shard, jdbc(shard)));
+            }
+            return results;
+        }
+        List<CompletableFuture<T>> futures = new ArrayList<>(shards.size());
+        for (Shard shard : shards) {
+            futures.add(CompletableFuture.supplyAsync(() -> query.apply(shard, shard.jdbc()), executor));
+        }
+        try {
+            for (CompletableFuture<T> future : futures) {
+                results.add(future.join());
+            }
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+        return results;
+    }
+
+    /**
+     * Order in which the shards sort titles: code points on PostgreSQL ({@code COLLATE "C"}),
+     * UTF-16 units on H2. Merging must compare exactly like this.
+     */
+    public Comparator<String> titleOrder() {
+        return codePointTitles ? BookShards::compareCodePoints : Comparator.naturalOrder();
+    }
+
+    private static int compareCodePoints(String a, String b) {
+        int i = 0;
+        int j = 0;
+        while (i < a.length() && j < b.length()) {
+            int ca = a.codePointAt(i);
+            int cb = b.codePointAt(j);
+            if (ca != cb) {
+                return Integer.compare(ca, cb);
+            }
+            i += Character.charCount(ca);
+            j += Character.charCount(cb);
+        }
+        return Integer.compare(a.length() - i, b.length() - j);
+    }
+
+    private static boolean inWriteTransaction() {
+        return TransactionSynchronizationManager.isSynchronizationActive()
+                && TransactionSynchronizationManager.isActualTransactionActive()
+                && !TransactionSynchronizationManager.isCurrentTransactionReadOnly();
+    }
+
+    private void join(DataSource dataSource) {
+        if (TransactionSynchronizationManager.hasResource(dataSource)) {
+            return;
+        }
+        ShardWork work = (ShardWork) TransactionSynchronizationManager.getResource(this);
+        if (work == null) {
+            work = new ShardWork();
+            TransactionSynchronizationManager.bindResource(this, work);
+            TransactionSynchronizationManager.registerSynchronization(work);
+        }
+        try {
+            Connection connection = dataSource.getConnection();
+            connection.setAutoCommit(false);
+            ConnectionHolder holder = new ConnectionHolder(connection);
+            holder.setSynchronizedWithTransaction(true);
+            TransactionSynchronizationManager.bindResource(dataSource, holder);
+            work.holders.put(dataSource, holder);
+        } catch (SQLException e) {
+            throw new CannotGetJdbcConnectionException("Could not open shard connection", e);
+        }
+    }
+
+    /** Shard connections bound to one transaction; commits them just before the main database. */
+    private final class ShardWork implements TransactionSynchronization {
+
+        private final Map<DataSource, ConnectionHolder> holders = new LinkedHashMap<>();
+        private boolean committed;
+
+        @Override
+        public void suspend() {
+            holders.keySet().forEach(TransactionSynchronizationManager::unbindResource);
+            TransactionSynchronizationManager.unbindResource(BookShards.this);
+        }
+
+        @Override
+        public void resume() {
+            TransactionSynchronizationManager.bindResource(BookShards.this, this);
+            holders.forEach(TransactionSynchronizationManager::bindResource);
+        }
+
+        @Override
+        public void beforeCommit(boolean readOnly) {
+            entityManager.flush();
+            try {
+                for (ConnectionHolder holder : holders.values()) {
+                    holder.getConnection().commit();
+                }
+                committed = true;
+            } catch (SQLException e) {
+                throw new TransactionSystemException("Could not commit shard transaction", e);
+            }
+        }
+
+        @Override
+        public void afterCompletion(int status) {
+            TransactionSynchronizationManager.unbindResourceIfPossible(BookShards.this);
+            holders.forEach((dataSource, holder) -> {
+                TransactionSynchronizationManager.unbindResourceIfPossible(dataSource);
+                Connection connection = holder.getConnection();
+                try {
+                    if (!committed) {
+                        connection.rollback();
+                    }
+                    connection.setAutoCommit(true);
+                } catch (SQLException e) {
+                    log.warn("Could not reset shard connection", e);
+                } finally {
+                    try {
+                        connection.close();
+                    } catch (SQLException e) {
+                        log.warn("Could not close shard connection", e);
+                    }
+                }
+            });
+            if (committed && status != STATUS_COMMITTED) {
+                log.error("Shard writes committed but the main transaction did not (status {}); "
+                        + "book rows and counts/change feed may disagree", status);
+            }
+        }
+    }
+
+    private HikariDataSource open(String url, String username, String password, int poolSize) {
+        HikariDataSource pool = DataSourceBuilder.create()
+                .type(HikariDataSource.class)
+                .url(url)
+                .username(username)
+                .password(password)
+                .build();
+        pool.setPoolName("book-shard-" + pools.size());
+        pool.setMaximumPoolSize(poolSize);
+        pools.add(pool);
+        // "{vendor}" is only expanded by Boot's Flyway auto-configuration; name the directory here.
+        Flyway.configure()
+                .dataSource(pool)
+                .locations("classpath:db/shard/" + vendor(new JdbcTemplate(pool)).getId())
+                .load()
+                .migrate();
+        return pool;
+    }
+
+    private static boolean isPostgres(Shard shard) {
+        return vendor(shard.jdbc()) == DatabaseDriver.POSTGRESQL;
+    }
+
+    /** The shard's database, as Boot names it in migration paths ({@code h2}, {@code postgresql}). */
+    private static DatabaseDriver vendor(JdbcTemplate jdbc) {
+        String product = jdbc.execute((Connection connection) -> connection.getMetaData().getDatabaseProductName());
+        DatabaseDriver driver = DatabaseDriver.fromProductName(product);
+        if (driver != DatabaseDriver.H2 && driver != DatabaseDriver.POSTGRESQL) {
+            throw new IllegalStateException("Book shards support H2 and PostgreSQL, not " + product);
+        }
+        return driver;
+    }
+
+    private static List<String> nonBlank(List<String> values) {
+        return values.stream().map(String::trim).filter(value -> !value.isEmpty()).toList();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+        pools.forEach(HikariDataSource::close);
+    }
+}
@@ -0,0 +1,42 @@
+package com.govind.bookshop.shard;
+
+/**
+ * Jump consistent hash (Lamping &amp; Veach, 2014): maps a key to one of {@code n} buckets.
+ *
+ * <p>Needs no ring or table, spreads keys evenly, and when {@code n} grows to {@code n + 1}
+ * only about {@code 1/(n + 1)} of the keys move — all of them to the new bucket. That is
+ * what makes adding a shard a bounded copy (see {@link ShardRebalancer}). Removing a shard
+ * is only that cheap for the last one.</p>
+ */
+public final class JumpHash {
+
+    private JumpHash() {
+        // Utility class – no instances
+    }
+
+    /** Shard for an ISBN among {@code shards}, in {@code [0, shards)}. */
+    public static int shardOf(long isbn, int shards) {
+        return bucket(mix(isbn), shards);
+    }
+
+    static int bucket(long key, int buckets) {
+        if (buckets <= 0) {
+            throw new IllegalArgumentException("buckets must be positive: " + buckets);
+        }
+        long b = -1;
+        long j = 0;
+        while (j < buckets) {
+            b = j;
+            key = key * 2862933555777941757L + 1;
+            j = (long) ((b + 1) * ((double) (1L << 31) / (double) ((key >>> 33) + 1)));
+        }
+        return (int) b;
+    }
+
+    /** SplitMix64 finalizer: ISBNs are dense and share prefixes, so spread their bits first. */
+    static long mix(long key) {
+        key = (key ^ (key >>> 30)) * 0xbf58476d1ce4e5b9L;
+        key = (key ^ (key >>> 27)) * 0x94d049bb133111ebL;
+        return key ^ (key >>> 31);
+    }
+}
@@ -0,0 +1,70 @@
+package com.govind.bookshop.shard;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+
+/**
+ * Merges lists that are each already sorted into one sorted slice.
+ *
+ * <p>Used for scatter-gather pages: every shard returns its first {@code offset + size} rows in
+ * the requested order, and the merge walks them with a heap of one cursor per shard, so a page
+ * costs {@code O((offset + size) log k)} for {@code k} shards instead of a full sort.</p>
+ */
+final class KWayMerge {
+
+    private KWayMerge() {
+        // Utility class – no instances
+    }
+
+    /**
+     * Skip the first {@code skip} elements of the merged order and return up to {@code take}.
+     * Ties keep the order of {@code sorted} (earlier list first).
+     */
+    static <T> List<T> merge(List<? extends List<? extends T>> sorted, Comparator<? super T> order, long skip, int take) {
+        PriorityQueue<Cursor<T>> heap = new PriorityQueue<>(Math.max(1, sorted.size()), (a, b) -> {
+            int c = order.compare(a.head(), b.head());
+            return c != 0 ? c : Integer.compare(a.source, b.source);
+        });
+        for (int i = 0; i < sorted.size(); i++) {
+            if (!sorted.get(i).isEmpty()) {
+                heap.add(new Cursor<>(sorted.get(i), i));
+            }
+        }
+        long available = 0;
+        for (List<? extends T> list : sorted) {
+            available += list.size();
+        }
+        List<T> out = new ArrayList<>((int) Math.max(0, Math.min(take, available - skip)));
+        long skipped = 0;
+        while (!heap.isEmpty() && out.size() < take) {
+            Cursor<T> cursor = heap.poll();
+            T next = cursor.head();
+            if (skipped < skip) {
+                skipped++;
+            } else {
+                out.add(next);
+            }
+            if (++cursor.position < cursor.list.size()) {
+                heap.add(cursor);
+            }
+        }
+        return out;
+    }
+
+    private static final class Cursor<T> {
+        private final List<? extends T> list;
+        private final int source;
+        private int position;
+
+        private Cursor(List<? extends T> list, int source) {
+            this.list = list;
+            this.source = source;
+        }
+
+        private T head() {
+            return list.get(position);
+        }
+    }
+}
@@ -0,0 +1,126 @@
+package com.govind.bookshop.shard;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Moves book rows to their owning shard after the shard list changes.
+ *
+ * <p>To add a shard, append its URL to {@code bookshop.sharding.urls}; jump hashing then
+ * reassigns about {@code 1/n} of the books, all to the new shard. To remove the last shard,
+ * move its URL to {@code bookshop.sharding.draining-urls}. Either way, start with
+ * {@code bookshop.sharding.rebalance-on-startup=true}: the move runs as an
+ * {@link ApplicationRunner}, and Spring Boot reports readiness ({@code ACCEPTING_TRAFFIC})
+ * only after the runners return, so {@code /actuator/health/readiness} stays 503 until the
+ * move is done. The HTTP port is already open by then, though: requests that reach it
+ * directly, not through a readiness-gated load balancer, are served mid-move and may miss a
+ * book that is being moved. Rows written meanwhile go to their owner and are left alone.</p>
+ *
+ * <p>Each shard is walked in ISBN order in batches; misplaced rows are copied to their owner,
+ * then deleted at the source. A copy never overwrites a row the owner already has, so an
+ * interrupted run can simply be repeated.</p>
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(name = "bookshop.sharding.enabled", havingValue = "true")
+public class ShardRebalancer implements ApplicationRunner {
+
+    private final BookShards shards;
+    private final boolean onStartup;
+    private final int batchSize;
+
+    public ShardRebalancer(BookShards shards,
+                           @Value("${bookshop.sharding.rebalance-on-startup:false}") boolean onStartup,
+                           @Value("${bookshop.sharding.rebalance-batch-size:1000}") int batchSize) {
+        this.shards = shards;
+        this.onStartup = onStartup;
+        this.batchSize = batchSize;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (onStartup) {
+            rebalance();
+        }
+    }
+
+    /**
+     * Move every book that is not on its owning shard.
+     *
+     * @return rows moved
+     */
+    public long rebalance() {
+        long started = System.nanoTime();
+        long moved = 0;
+        for (BookShards.Shard source : shards.all()) {
+            moved += moveMisplaced(source);
+        }
+        log.info("Shard rebalance moved {} book(s) in {} ms", moved,
+                TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        return moved;
+    }
+
+    private long moveMisplaced(BookShards.Shard source) {
+        long moved = 0;
+        long afterIsbn = Long.MIN_VALUE;
+        List<ShardedBookRepository.BookRow> page;
+        do {
+            page = source.jdbc().query(ShardedBookRepository.SELECT + " WHERE isbn > ? ORDER BY isbn LIMIT ?",
+                    ShardedBookRepository.ROWS, afterIsbn, batchSize);
+            Map<BookShards.Shard, List<ShardedBookRepository.BookRow>> misplaced = new LinkedHashMap<>();
+            for (ShardedBookRepository.BookRow row : page) {
+                BookShards.Shard owner = shards.owner(row.isbn());
+                if (!owner.equals(source)) {
+                    misplaced.computeIfAbsent(owner, shard -> new ArrayList<>()).add(row);
+                }
+                afterIsbn = row.isbn();
+            }
+            for (Map.Entry<BookShards.Shard, List<ShardedBookRepository.BookRow>> entry : misplaced.entrySet()) {
+                copy(entry.getValue(), entry.getKey());
+                remove(entry.getValue(), source);
+                moved += entry.getValue().size();
+            }
+            if (!misplaced.isEmpty()) {
+                log.debug("Moved {} misplaced book(s) off {} up to ISBN {}", misplaced.values().stream()
+                        .mapToInt(List::size).sum(), source, afterIsbn);
+            }
+        } while (page.size() == batchSize);
+        return moved;
+    }
+
+    /** Insert rows the target does not have yet; one transaction per batch. */
+    private static void copy(List<ShardedBookRepository.BookRow> rows, BookShards.Shard target) {
+        List<Object[]> args = new ArrayList<>(rows.size());
+        for (ShardedBookRepository.BookRow row : rows) {
+            args.add(new Object[]{row.isbn(), row.title(), row.authorId(), row.isbn()});
+        }
+        inTransaction(target, () -> target.jdbc().batchUpdate(
+                "INSERT INTO books (isbn, title, author_id) "
+                        + "SELECT CAST(? AS BIGINT), CAST(? AS VARCHAR(255)), CAST(? AS BIGINT) "
+                        + "WHERE NOT EXISTS (SELECT 1 FROM books WHERE isbn = ?)", args));
+    }
+
+    private static void remove(List<ShardedBookRepository.BookRow> rows, BookShards.Shard source) {
+        List<Object[]> args = new ArrayList<>(rows.size());
+        for (ShardedBookRepository.BookRow row : rows) {
+            args.add(new Object[]{row.isbn()});
+        }
+        inTransaction(source, () -> source.jdbc().batchUpdate("DELETE FROM books WHERE isbn = ?", args));
+    }
+
+    private static void inTransaction(BookShards.Shard shard, Runnable work) {
+        new TransactionTemplate(new DataSourceTransactionManager(shard.dataSource())).executeWithoutResult(status -> work.run());
+    }
+}
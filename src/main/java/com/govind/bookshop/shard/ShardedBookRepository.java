@@ -0,0 +1,313 @@
+package com.govind.bookshop.shard;
+
+import com.govind.bookshop.author.domain.entity.AuthorEntity;
+import com.govind.bookshop.author.repository.AuthorRepository;
+import com.govind.bookshop.book.domain.entity.BookEntity;
+import com.govind.bookshop.book.repository.BookRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Primary;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.InvalidDataAccessApiUsageException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapper;
+import org.springframework.jdbc.core.namedparam.NamedParameterJdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.StringJoiner;
+
+/**
+ * {@link BookRepository} over the {@link BookShards} instead of the main database's
+ * {@code books} table; replaces the JPA repository when {@code bookshop.sharding.enabled=true}.
+ *
+ * <p>Single-ISBN operations go to the owning shard only. Multi-get groups ISBNs by shard and
+ * sends one {@code IN} query to each. Listings scatter to every shard and merge: each shard
+ * returns its first {@code offset + size} rows in the requested order and {@link KWayMerge}
+ * cuts the page, so deep offset pages cost more per shard; {@link #findPageAfter} (keyset)
+ * does not. Books can be sorted by {@code isbn} and {@code title}.</p>
+ *
+ * <p>Authors stay in the main database and are attached after the rows are read, with one
+ * query per call. The JPA cascade is kept: saving a book saves its author, and deleting a
+ * book deletes its author — refused, like the foreign key would, while any shard still has a
+ * book by that author.</p>
+ */
+@Repository
+@Primary
+@ConditionalOnProperty(name = "bookshop.sharding.enabled", havingValue = "true")
+@Transactional(readOnly = true)
+public class ShardedBookRepository implements BookRepository {
+
+    static final String SELECT = "SELECT isbn, title, author_id FROM books";
+
+    static final RowMapper<BookRow> ROWS = (rs, rowNum) ->
+            new BookRow(rs.getLong("isbn"), rs.getString("title"), rs.getObject("author_id", Long.class));
+
+    private final BookShards shards;
+    private final AuthorRepository authorRepository;
+
+    public ShardedBookRepository(BookShards shards, AuthorRepository authorRepository) {
+        this.shards = shards;
+        this.authorRepository = authorRepository;
+    }
+
+    // -------------------- single key --------------------
+
+    @Override
+    public Optional<BookEntity> findById(Long isbn) {
+        return findRow(isbn, "").map(this::toEntity);
+    }
+
+    @Override
+    @Transactional
+    public Optional<BookEntity> findWithLockByIsbn(Long isbn) {
+        return findRow(isbn, " FOR UPDATE").map(this::toEntity);
+    }
+
+    @Override
+    public boolean existsById(Long isbn) {
+        return findRow(isbn, "").isPresent();
+    }
+
+    @Override
+    @Transactional
+    public <S extends BookEntity> S save(S book) {
+        if (book.getIsbn() == null) {
+            throw new InvalidDataAccessApiUsageException("A book needs an ISBN to be routed to a shard");
+        }
+        if (book.getAuthorEntity() != null) {
+            // CascadeType.ALL on the JPA mapping: the author is saved with the book.
+            book.setAuthorEntity(authorRepository.save(book.getAuthorEntity()));
+        }
+        Long authorId = book.getAuthorEntity() == null ? null : book.getAuthorEntity().getId();
+        JdbcTemplate jdbc = shards.jdbc(shards.owner(book.getIsbn()));
+        int updated = jdbc.update("UPDATE books SET title = ?, author_id = ? WHERE isbn = ?",
+                book.getTitle(), authorId, book.getIsbn());
+        if (updated == 0) {
+            jdbc.update("INSERT INTO books (isbn, title, author_id) VALUES (?, ?, ?)",
+                    book.getIsbn(), book.getTitle(), authorId);
+        }
+        return book;
+    }
+
+    @Override
+    @Transactional
+    public <S extends BookEntity> Iterable<S> saveAll(Iterable<S> books) {
+        List<S> saved = new ArrayList<>();
+        books.forEach(book -> saved.add(save(book)));
+        return saved;
+    }
+
+    @Override
+    @Transactional
+    public void delete(BookEntity book) {
+        int removed = shards.jdbc(shards.owner(book.getIsbn())).update("DELETE FROM books WHERE isbn = ?", book.getIsbn());
+        AuthorEntity author = book.getAuthorEntity();
+        if (removed == 0 || author == null || author.getId() == null) {
+            return;
+        }
+        // CascadeType.ALL removes the author too; the foreign key would stop that while
+        // other books still point at it, so check every shard the same way.
+        boolean referenced = shards.scatter(shards.all(), (shard, jdbc) -> !jdbc.queryForList(
+                "SELECT isbn FROM books WHERE author_id = ? LIMIT 1", Long.class, author.getId()).isEmpty())
+                .contains(true);
+        if (referenced) {
+            throw new DataIntegrityViolationException("Author " + author.getId() + " is still referenced by other books");
+        }
+        authorRepository.deleteById(author.getId());
+    }
+
+    @Override
+    @Transactional
+    public void deleteById(Long isbn) {
+        findById(isbn).ifPresent(this::delete);
+    }
+
+    @Override
+    @Transactional
+    public void deleteAllById(Iterable<? extends Long> isbns) {
+        isbns.forEach(this::deleteById);
+    }
+
+    @Override
+    @Transactional
+    public void deleteAll(Iterable<? extends BookEntity> books) {
+        books.forEach(this::delete);
+    }
+
+    @Override
+    @Transactional
+    public void deleteAll() {
+        findAll().forEach(this::delete);
+    }
+
+    // -------------------- many keys --------------------
+
+    @Override
+    public List<BookEntity> findAllWithAuthorByIsbnIn(Collection<Long> isbns) {
+        Map<BookShards.Shard, List<Long>> byShard = new LinkedHashMap<>();
+        for (Long isbn : new HashSet<>(isbns)) {
+            byShard.computeIfAbsent(shards.owner(isbn), shard -> new ArrayList<>()).add(isbn);
+        }
+        List<BookRow> rows = new ArrayList<>();
+        shards.scatter(new ArrayList<>(byShard.keySet()), (shard, jdbc) -> new NamedParameterJdbcTemplate(jdbc)
+                        .query(SELECT + " WHERE isbn IN (:isbns)", Map.of("isbns", byShard.get(shard)), ROWS))
+                .forEach(rows::addAll);
+        return toEntities(rows);
+    }
+
+    @Override
+    public Iterable<BookEntity> findAllById(Iterable<Long> isbns) {
+        List<Long> keys = new ArrayList<>();
+        isbns.forEach(keys::add);
+        return findAllWithAuthorByIsbnIn(keys);
+    }
+
+    // -------------------- scatter-gather --------------------
+
+    @Override
+    public List<BookEntity> findPageAfter(long afterIsbn, Pageable pageable) {
+        List<List<BookRow>> perShard = shards.scatter(shards.active(), (shard, jdbc) ->
+                jdbc.query(SELECT + " WHERE isbn > ? ORDER BY isbn LIMIT ?", ROWS, afterIsbn, pageable.getPageSize()));
+        return toEntities(KWayMerge.merge(perShard, Comparator.comparingLong(BookRow::isbn), 0, pageable.getPageSize()));
+    }
+
+    @Override
+    public Page<BookEntity> findAll(Pageable pageable) {
+        if (pageable.isUnpaged()) {
+            return new PageImpl<>(findAll(pageable.getSort()));
+        }
+        Ordering ordering = ordering(pageable.getSort());
+        long limit = pageable.getOffset() + pageable.getPageSize();
+        List<ShardPage> pages = shards.scatter(shards.active(), (shard, jdbc) -> new ShardPage(
+                jdbc.query(SELECT + ordering.sql() + " LIMIT ?", ROWS, limit),
+                count(jdbc)));
+        List<BookRow> rows = KWayMerge.merge(pages.stream().map(ShardPage::rows).toList(),
+                ordering.comparator(), pageable.getOffset(), pageable.getPageSize());
+        long total = pages.stream().mapToLong(ShardPage::total).sum();
+        return new PageImpl<>(toEntities(rows), pageable, total);
+    }
+
+    @Override
+    public List<BookEntity> findAll(Sort sort) {
+        Ordering ordering = ordering(sort);
+        List<List<BookRow>> perShard = shards.scatter(shards.active(), (shard, jdbc) ->
+                jdbc.query(SELECT + ordering.sql(), ROWS));
+        return toEntities(KWayMerge.merge(perShard, ordering.comparator(), 0, Integer.MAX_VALUE));
+    }
+
+    @Override
+    public List<BookEntity> findAll() {
+        return findAll(Sort.by("isbn"));
+    }
+
+    @Override
+    public long count() {
+        return shards.scatter(shards.active(), (shard, jdbc) -> count(jdbc)).stream().mapToLong(Long::longValue).sum();
+    }
+
+    // -------------------- helpers --------------------
+
+    private Optional<BookRow> findRow(Long isbn, String suffix) {
+        List<BookRow> rows = shards.jdbc(shards.owner(isbn)).query(SELECT + " WHERE isbn = ?" + suffix, ROWS, isbn);
+        return rows.stream().findFirst();
+    }
+
+    private static long count(JdbcTemplate jdbc) {
+        Long count = jdbc.queryForObject("SELECT COUNT(*) FROM books", Long.class);
+        return count == null ? 0 : count;
+    }
+
+    /**
+     * SQL {@code ORDER BY} plus the comparator that orders rows exactly the same way, with
+     * {@code isbn} appended so the order is total. Nulls sort last ascending, first descending.
+     */
+    private Ordering ordering(Sort sort) {
+        StringJoiner sql = new StringJoiner(", ", " ORDER BY ", "");
+        Comparator<BookRow> comparator = null;
+        boolean byIsbn = false;
+        for (Sort.Order order : sort) {
+            Comparator<BookRow> next;
+            String column;
+            switch (order.getProperty()) {
+                case "isbn" -> {
+                    column = "isbn";
+                    next = Comparator.comparingLong(BookRow::isbn);
+                    byIsbn = true;
+                }
+                case "title" -> {
+                    column = "title";
+                    next = Comparator.comparing(BookRow::title, Comparator.nullsLast(shards.titleOrder()));
+                }
+                default -> throw new InvalidDataAccessApiUsageException(
+                        "Sharded books cannot be sorted by '" + order.getProperty() + "'");
+            }
+            if (order.isIgnoreCase()) {
+                throw new InvalidDataAccessApiUsageException("Sharded books cannot be sorted ignoring case");
+            }
+            if (order.isDescending()) {
+                sql.add(column + " DESC NULLS FIRST");
+                next = next.reversed();
+            } else {
+                sql.add(column + " ASC NULLS LAST");
+            }
+            comparator = comparator == null ? next : comparator.thenComparing(next);
+        }
+        if (!byIsbn) {
+            sql.add("isbn ASC");
+            Comparator<BookRow> tieBreak = Comparator.comparingLong(BookRow::isbn);
+            comparator = comparator == null ? tieBreak : comparator.thenComparing(tieBreak);
+        }
+        return new Ordering(sql.toString(), comparator);
+    }
+
+    private BookEntity toEntity(BookRow row) {
+        return toEntities(List.of(row)).get(0);
+    }
+
+    /** Attach authors from the main database, one query for all rows. */
+    private List<BookEntity> toEntities(List<BookRow> rows) {
+        Set<Long> authorIds = new HashSet<>();
+        for (BookRow row : rows) {
+            if (row.authorId() != null) {
+                authorIds.add(row.authorId());
+            }
+        }
+        Map<Long, AuthorEntity> authors = new HashMap<>();
+        if (!authorIds.isEmpty()) {
+            authorRepository.findAllById(authorIds).forEach(author -> authors.put(author.getId(), author));
+        }
+        List<BookEntity> books = new ArrayList<>(rows.size());
+        for (BookRow row : rows) {
+            books.add(BookEntity.builder()
+                    .isbn(row.isbn())
+                    .title(row.title())
+                    .authorEntity(row.authorId() == null ? null : authors.get(row.authorId()))
+                    .build());
+        }
+        return books;
+    }
+
+    /** A book as stored on a shard. */
+    record BookRow(long isbn, String title, Long authorId) {
+    }
+
+    private record ShardPage(List<BookRow> rows, long total) {
+    }
+
+    private record Ordering(String sql, Comparator<BookRow> comparator) {
+    }
+}
@@ -0,0 +1,113 @@
+package com.govind.bookshop.singleflight;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Collapses concurrent identical reads into one load.
+ *
+ * <p>The first caller for a key (the leader) runs the loader on its own thread; callers that
+ * arrive with the same key while it is running wait for, and receive, the leader's result —
+ * the same object or the same exception. Nothing is cached: once the load finishes the key is
+ * released and the next caller starts a fresh load.</p>
+ *
+ * <p>Waiters give up after {@code waitTimeout} with {@link SingleFlightTimeoutException}; the
+ * leader itself is never timed out here (statement/transaction timeouts bound it).</p>
+ *
+ * <p>Metrics: {@code bookshop.singleflight.calls{name, outcome=leader|collapsed|timeout}} and
+ * gauge {@code bookshop.singleflight.inflight{name}}.</p>
+ *
+ * @param <K> key type; must have value semantics ({@code equals}/{@code hashCode})
+ * @param <V> result type; shared between threads, so treat it as read-only
+ */
+public class SingleFlight<K, V> {
+
+    private final String name;
+    private final boolean enabled;
+    private final Duration waitTimeout;
+    private final ConcurrentHashMap<K, CompletableFuture<V>> inFlight = new ConcurrentHashMap<>();
+
+    private final Counter leaders;
+    private final Counter collapsed;
+    private final Counter timeouts;
+
+    public SingleFlight(String name, boolean enabled, Duration waitTimeout, MeterRegistry registry) {
+        this.name = name;
+        this.enabled = enabled;
+        this.waitTimeout = waitTimeout;
+        this.leaders = calls(registry, name, "leader");
+        this.collapsed = calls(registry, name, "collapsed");
+        this.timeouts = calls(registry, name, "timeout");
+        Gauge.builder("bookshop.singleflight.inflight", inFlight, ConcurrentHashMap::size)
+                .tag("name", name)
+                .description("Keys currently being loaded")
+                .register(registry);
+    }
+
+    /**
+     * Return the result of {@code loader} for {@code key}, sharing an in-flight load if one exists.
+     */
+    public V execute(K key, Supplier<V> loader) {
+        if (!enabled) {
+            return loader.get();
+        }
+
+        CompletableFuture<V> mine = new CompletableFuture<>();
+        CompletableFuture<V> existing = inFlight.putIfAbsent(key, mine);
+        if (existing == null) {
+            leaders.increment();
+            try {
+                V value = loader.get();
+                mine.complete(value);
+                return value;
+            } catch (Throwable t) {
+                mine.completeExceptionally(t);
+                throw t;
+            } finally {
+                inFlight.remove(key, mine);
+            }
+        }
+
+        collapsed.increment();
+        return await(key, existing);
+    }
+
+    private V await(K key, CompletableFuture<V> leader) {
+        try {
+            return leader.get(waitTimeout.toNanos(), TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            timeouts.increment();
+            throw new SingleFlightTimeoutException(name, key, waitTimeout);
+        } catch (ExecutionException e) {
+            // Propagate exactly what the leader saw.
+            Throwable cause = e.getCause();
+            if (cause instanceof RuntimeException runtime) {
+                throw runtime;
+            }
+            if (cause instanceof Error error) {
+                throw error;
+            }
+            throw new IllegalStateException(cause);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new SingleFlightTimeoutException(name, key, waitTimeout);
+        }
+    }
+
+    private static Counter calls(MeterRegistry registry, String name, String outcome) {
+        return Counter.builder("bookshop.singleflight.calls")
+                .tag("name", name)
+                .tag("outcome", outcome)
+                .description("Reads by single-flight outcome; 'collapsed' reads did not touch the database")
+                .register(registry);
+    }
+}
@@ -0,0 +1,53 @@
+package com.govind.bookshop.singleflight;
+
+import com.govind.bookshop.author.domain.dto.AuthorDto;
+import com.govind.bookshop.book.domain.dto.BookDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * One {@link SingleFlight} per read shape, injected by generic type.
+ *
+ * <p>Results are DTOs, so collapsed requests share both the database load and the mapping.
+ * Disable with {@code bookshop.singleflight.enabled=false}.</p>
+ */
+@Configuration(proxyBeanMethods = false)
+public class SingleFlightConfig {
+
+    private final boolean enabled;
+    private final Duration waitTimeout;
+    private final MeterRegistry registry;
+
+    public SingleFlightConfig(@Value("${bookshop.singleflight.enabled:true}") boolean enabled,
+                              @Value("${bookshop.singleflight.wait-timeout:2s}") Duration waitTimeout,
+                              MeterRegistry registry) {
+        this.enabled = enabled;
+        this.waitTimeout = waitTimeout;
+        this.registry = registry;
+    }
+
+    /** {@code GET /books/{isbn}} keyed by canonical numeric ISBN, so every spelling collapses together. */
+    @Bean
+    public SingleFlight<Long, Optional<BookDto>> bookReads() {
+        return new SingleFlight<>("book", enabled, waitTimeout, registry);
+    }
+
+    /** {@code GET /books} keyed by page request (page, size, sort). */
+    @Bean
+    public SingleFlight<Pageable, Page<BookDto>> bookPageReads() {
+        return new SingleFlight<>("book-page", enabled, waitTimeout, registry);
+    }
+
+    /** {@code GET /authors/{id}} keyed by id. */
+    @Bean
+    public SingleFlight<Long, Optional<AuthorDto>> authorReads() {
+        return new SingleFlight<>("author", enabled, waitTimeout, registry);
+    }
+}
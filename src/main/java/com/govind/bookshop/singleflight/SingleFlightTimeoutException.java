@@ -0,0 +1,17 @@
+package com.govind.bookshop.singleflight;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+import java.time.Duration;
+
+/**
+ * A waiter gave up on a shared in-flight load. Surfaces as 503 so clients retry.
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class SingleFlightTimeoutException extends RuntimeException {
+
+    public SingleFlightTimeoutException(String name, Object key, Duration waited) {
+        super("Timed out after " + waited.toMillis() + " ms waiting for in-flight " + name + " load of " + key);
+    }
+}
@@ -0,0 +1,57 @@
+package com.govind.bookshop.snapshot;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+/**
+ * Append-only UTF-8 storage for the snapshot's strings: one growable {@code byte[]} instead of
+ * a {@code String} (and its backing array) per title or name.
+ *
+ * <p>Callers keep {@code (offset, length)} pairs. Replaced strings are not reclaimed here;
+ * {@link CatalogSnapshot} copies the live ones into a fresh arena when garbage dominates.
+ * Not thread-safe.</p>
+ */
+final class ByteArena {
+
+    private byte[] data;
+    private int size;
+
+    ByteArena(int initialCapacity) {
+        this.data = new byte[Math.max(initialCapacity, 16)];
+    }
+
+    /** Append {@code bytes} and return their offset. */
+    int append(byte[] bytes) {
+        return append(bytes, 0, bytes.length);
+    }
+
+    /** Append a slice of {@code bytes} and return its offset. */
+    int append(byte[] bytes, int from, int length) {
+        if (size + length > data.length) {
+            data = Arrays.copyOf(data, Math.max(data.length + (data.length >> 1), size + length));
+        }
+        System.arraycopy(bytes, from, data, size, length);
+        int offset = size;
+        size += length;
+        return offset;
+    }
+
+    /** Copy a stored string into {@code target} and return its new offset there. */
+    int copyTo(ByteArena target, int offset, int length) {
+        return target.append(data, offset, length);
+    }
+
+    String read(int offset, int length) {
+        return new String(data, offset, length, StandardCharsets.UTF_8);
+    }
+
+    /** Bytes written so far, live or not. */
+    int size() {
+        return size;
+    }
+
+    /** Bytes allocated. */
+    int capacity() {
+        return data.length;
+    }
+}
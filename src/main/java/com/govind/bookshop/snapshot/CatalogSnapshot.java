@@ -0,0 +1,350 @@
+package com.govind.bookshop.snapshot;
+
+import com.govind.bookshop.author.domain.dto.AuthorDto;
+import com.govind.bookshop.book.domain.Isbn;
+import com.govind.bookshop.book.domain.dto.BookDto;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * In-process, read-optimized copy of the catalog in columnar form.
+ *
+ * <p>Books and authors are held as parallel primitive arrays sorted by key (ISBN, author id),
+ * with titles and names as UTF-8 slices of one shared {@link ByteArena}. Lookups are binary
+ * searches; an ISBN-ordered page is a contiguous slice. DTOs are built only for the rows a
+ * response actually returns.</p>
+ *
+ * <p>Resident cost per book: 24 bytes of columns (ISBN, author id, title offset and length)
+ * plus the title's UTF-8 bytes; per author: 28 bytes plus the name. Arrays grow by 1.5x, and
+ * the arena is compacted when replaced strings make up more than half of it, so worst-case
+ * overhead is about 2x.</p>
+ *
+ * <p>Filled and kept current by {@link CatalogSnapshotSync}; until it has loaded,
+ * {@link #isReady()} is false and callers read from JPA. Writes take an exclusive lock,
+ * reads a shared one.</p>
+ */
+@Component
+public class CatalogSnapshot {
+
+    /** Length marker for a {@code null} string. */
+    private static final int NULL_STRING = -1;
+    /** Marker for a {@code null} age. */
+    private static final int NULL_AGE = Integer.MIN_VALUE;
+    /** Marker for "no author" (author ids start at 1). */
+    private static final long NO_AUTHOR = 0;
+    /** Never compact arenas smaller than this. */
+    private static final int MIN_COMPACT_BYTES = 1 << 16;
+
+    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private volatile boolean ready;
+
+    // Books, sorted by ISBN.
+    private long[] isbns = new long[16];
+    private long[] bookAuthorIds = new long[16];
+    private int[] titleOffsets = new int[16];
+    private int[] titleLengths = new int[16];
+    private int books;
+
+    // Authors, sorted by id.
+    private long[] authorIds = new long[16];
+    private int[] nameOffsets = new int[16];
+    private int[] nameLengths = new int[16];
+    private int[] ages = new int[16];
+    private long[] bookCounts = new long[16];
+    private int authors;
+
+    private ByteArena arena = new ByteArena(1024);
+    /** Arena bytes still referenced by some row. */
+    private long liveBytes;
+
+    /** Whether the initial load has completed. */
+    public boolean isReady() {
+        return ready;
+    }
+
+    void markReady() {
+        ready = true;
+    }
+
+    // ---------------------------------------------------------------------
+    // Reads
+    // ---------------------------------------------------------------------
+
+    public Optional<BookDto> findBook(long isbn) {
+        lock.readLock().lock();
+        try {
+            int row = Arrays.binarySearch(isbns, 0, books, isbn);
+            return row < 0 ? Optional.empty() : Optional.of(book(row));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * A page of books, or empty if the requested sort cannot be served from the snapshot.
+     * Supported: unsorted (served in ISBN order) and {@code isbn} ascending or descending.
+     */
+    public Optional<Page<BookDto>> findBooks(Pageable pageable) {
+        Boolean descending = isbnOrder(pageable.getSort());
+        if (descending == null) {
+            return Optional.empty();
+        }
+        lock.readLock().lock();
+        try {
+            long offset = pageable.isPaged() ? pageable.getOffset() : 0;
+            int count = pageable.isPaged() ? pageable.getPageSize() : books;
+            List<BookDto> content = new ArrayList<>((int) Math.max(0, Math.min(count, books - offset)));
+            for (long i = offset; i < books && i < offset + count; i++) {
+                content.add(book(descending ? books - 1 - (int) i : (int) i));
+            }
+            return Optional.of(new PageImpl<>(content, pageable, books));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public Optional<AuthorDto> findAuthor(long id) {
+        lock.readLock().lock();
+        try {
+            int row = Arrays.binarySearch(authorIds, 0, authors, id);
+            return row < 0 ? Optional.empty() : Optional.of(author(row));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Every author, in id order. */
+    public List<AuthorDto> findAllAuthors() {
+        lock.readLock().lock();
+        try {
+            List<AuthorDto> result = new ArrayList<>(authors);
+            for (int row = 0; row < authors; row++) {
+                result.add(author(row));
+            }
+            return result;
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int bookCount() {
+        return books;
+    }
+
+    public int authorCount() {
+        return authors;
+    }
+
+    /** Bytes allocated by the columns and the arena (excluding object headers). */
+    public long footprintBytes() {
+        lock.readLock().lock();
+        try {
+            return (long) isbns.length * (8 + 8 + 4 + 4)
+                    + (long) authorIds.length * (8 + 4 + 4 + 4 + 8)
+                    + arena.capacity();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // ---------------------------------------------------------------------
+    // Writes (CatalogSnapshotSync only)
+    // ---------------------------------------------------------------------
+
+    void putBook(long isbn, String title, Long authorId) {
+        lock.writeLock().lock();
+        try {
+            int row = Arrays.binarySearch(isbns, 0, books, isbn);
+            if (row >= 0) {
+                release(titleLengths[row]);
+            } else {
+                row = -row - 1;
+                if (books == isbns.length) {
+                    int capacity = grow(books);
+                    isbns = Arrays.copyOf(isbns, capacity);
+                    bookAuthorIds = Arrays.copyOf(bookAuthorIds, capacity);
+                    titleOffsets = Arrays.copyOf(titleOffsets, capacity);
+                    titleLengths = Arrays.copyOf(titleLengths, capacity);
+                }
+                int tail = books - row;
+                System.arraycopy(isbns, row, isbns, row + 1, tail);
+                System.arraycopy(bookAuthorIds, row, bookAuthorIds, row + 1, tail);
+                System.arraycopy(titleOffsets, row, titleOffsets, row + 1, tail);
+                System.arraycopy(titleLengths, row, titleLengths, row + 1, tail);
+                books++;
+                isbns[row] = isbn;
+            }
+            bookAuthorIds[row] = authorId == null ? NO_AUTHOR : authorId;
+            titleLengths[row] = store(title, titleOffsets, row);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void removeBook(long isbn) {
+        lock.writeLock().lock();
+        try {
+            int row = Arrays.binarySearch(isbns, 0, books, isbn);
+            if (row < 0) {
+                return;
+            }
+            release(titleLengths[row]);
+            int tail = books - row - 1;
+            System.arraycopy(isbns, row + 1, isbns, row, tail);
+            System.arraycopy(bookAuthorIds, row + 1, bookAuthorIds, row, tail);
+            System.arraycopy(titleOffsets, row + 1, titleOffsets, row, tail);
+            System.arraycopy(titleLengths, row + 1, titleLengths, row, tail);
+            books--;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void putAuthor(long id, String name, Integer age, Long bookCount) {
+        lock.writeLock().lock();
+        try {
+            int row = Arrays.binarySearch(authorIds, 0, authors, id);
+            if (row >= 0) {
+                release(nameLengths[row]);
+            } else {
+                row = -row - 1;
+                if (authors == authorIds.length) {
+                    int capacity = grow(authors);
+                    authorIds = Arrays.copyOf(authorIds, capacity);
+                    nameOffsets = Arrays.copyOf(nameOffsets, capacity);
+                    nameLengths = Arrays.copyOf(nameLengths, capacity);
+                    ages = Arrays.copyOf(ages, capacity);
+                    bookCounts = Arrays.copyOf(bookCounts, capacity);
+                }
+                int tail = authors - row;
+                System.arraycopy(authorIds, row, authorIds, row + 1, tail);
+                System.arraycopy(nameOffsets, row, nameOffsets, row + 1, tail);
+                System.arraycopy(nameLengths, row, nameLengths, row + 1, tail);
+                System.arraycopy(ages, row, ages, row + 1, tail);
+                System.arraycopy(bookCounts, row, bookCounts, row + 1, tail);
+                authors++;
+                authorIds[row] = id;
+            }
+            ages[row] = age == null ? NULL_AGE : age;
+            bookCounts[row] = bookCount == null ? 0 : bookCount;
+            nameLengths[row] = store(name, nameOffsets, row);
+            compactIfNeeded();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    void removeAuthor(long id) {
+        lock.writeLock().lock();
+        try {
+            int row = Arrays.binarySearch(authorIds, 0, authors, id);
+            if (row < 0) {
+                return;
+            }
+            release(nameLengths[row]);
+            int tail = authors - row - 1;
+            System.arraycopy(authorIds, row + 1, authorIds, row, tail);
+            System.arraycopy(nameOffsets, row + 1, nameOffsets, row, tail);
+            System.arraycopy(nameLengths, row + 1, nameLengths, row, tail);
+            System.arraycopy(ages, row + 1, ages, row, tail);
+            System.arraycopy(bookCounts, row + 1, bookCounts, row, tail);
+            authors--;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // ---------------------------------------------------------------------
+    // Internals (callers hold the lock)
+    // ---------------------------------------------------------------------
+
+    private BookDto book(int row) {
+        AuthorDto author = null;
+        if (bookAuthorIds[row] != NO_AUTHOR) {
+            int authorRow = Arrays.binarySearch(authorIds, 0, authors, bookAuthorIds[row]);
+            // The author's own change may not have been applied yet; return its id alone.
+            author = authorRow >= 0 ? author(authorRow) : AuthorDto.builder().id(bookAuthorIds[row]).build();
+        }
+        return BookDto.builder()
+                .isbn(Isbn.format(isbns[row]))
+                .title(string(titleOffsets[row], titleLengths[row]))
+                .author(author)
+                .build();
+    }
+
+    private AuthorDto author(int row) {
+        return AuthorDto.builder()
+                .id(authorIds[row])
+                .name(string(nameOffsets[row], nameLengths[row]))
+                .age(ages[row] == NULL_AGE ? null : ages[row])
+                .bookCount(bookCounts[row])
+                .build();
+    }
+
+    private String string(int offset, int length) {
+        return length == NULL_STRING ? null : arena.read(offset, length);
+    }
+
+    /** Append {@code value} to the arena, record its offset in {@code offsets[row]}, return its length. */
+    private int store(String value, int[] offsets, int row) {
+        if (value == null) {
+            offsets[row] = 0;
+            return NULL_STRING;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        offsets[row] = arena.append(bytes);
+        liveBytes += bytes.length;
+        return bytes.length;
+    }
+
+    private void release(int length) {
+        if (length != NULL_STRING) {
+            liveBytes -= length;
+        }
+    }
+
+    private void compactIfNeeded() {
+        if (arena.size() < MIN_COMPACT_BYTES || arena.size() < 2 * liveBytes) {
+            return;
+        }
+        ByteArena compacted = new ByteArena((int) (liveBytes + (liveBytes >> 2)));
+        for (int row = 0; row < books; row++) {
+            if (titleLengths[row] != NULL_STRING) {
+                titleOffsets[row] = arena.copyTo(compacted, titleOffsets[row], titleLengths[row]);
+            }
+        }
+        for (int row = 0; row < authors; row++) {
+            if (nameLengths[row] != NULL_STRING) {
+                nameOffsets[row] = arena.copyTo(compacted, nameOffsets[row], nameLengths[row]);
+            }
+        }
+        arena = compacted;
+    }
+
+    private static int grow(int size) {
+        return size + Math.max(16, size >> 1);
+    }
+
+    /** {@code false}/{@code true} for ascending/descending ISBN order, {@code null} if unsupported. */
+    private static Boolean isbnOrder(Sort sort) {
+        if (sort.isUnsorted()) {
+            return false;
+        }
+        List<Sort.Order> orders = sort.toList();
+        if (orders.size() != 1 || !"isbn".equals(orders.get(0).getProperty())) {
+            return null;
+        }
+        return orders.get(0).isDescending();
+    }
+}
@@ -0,0 +1,219 @@
+package com.govind.bookshop.snapshot;
+
+import com.govind.bookshop.author.domain.entity.AuthorEntity;
+import com.govind.bookshop.author.repository.AuthorRepository;
+import com.govind.bookshop.book.domain.Isbn;
+import com.govind.bookshop.book.domain.entity.BookEntity;
+import com.govind.bookshop.book.repository.BookRepository;
+import com.govind.bookshop.change.domain.entity.ChangeCounterEntity;
+import com.govind.bookshop.change.domain.entity.ChangeEntity;
+import com.govind.bookshop.change.repository.ChangeCounterRepository;
+import com.govind.bookshop.change.service.ChangeBatch;
+import com.govind.bookshop.change.service.ChangeNotifier;
+import com.govind.bookshop.change.service.ChangeService;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.OptionalLong;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Loads the {@link CatalogSnapshot} at startup and keeps it current from the change feed.
+ *
+ * <p>Every catalog write already records a change in the same transaction (see
+ * {@code BookServiceImpl}); after each commit, on this or any other instance (see
+ * {@code InvalidationBus}), {@link ChangeNotifier} wakes this class, which reads the feed
+ * from its last position and applies each record's current state. One
+ * background thread does all of this, so changes are applied in order and readers never wait
+ * on the database. The snapshot lags commits by the time that takes (typically
+ * milliseconds).</p>
+ *
+ * <p>Off unless {@code bookshop.snapshot.enabled=true}. Metrics: gauges
+ * {@code bookshop.snapshot.books}, {@code bookshop.snapshot.authors} and
+ * {@code bookshop.snapshot.bytes}.</p>
+ */
+@Slf4j
+@Component
+public class CatalogSnapshotSync {
+
+    private final CatalogSnapshot snapshot;
+    private final ChangeService changeService;
+    private final ChangeNotifier notifier;
+    private final ChangeCounterRepository counterRepository;
+    private final BookRepository bookRepository;
+    private final AuthorRepository authorRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final boolean enabled;
+    private final int batchSize;
+
+    private final AtomicBoolean catchUpScheduled = new AtomicBoolean();
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "catalog-snapshot");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    /** Last change applied; only touched by the snapshot thread. */
+    private volatile long position;
+    private Runnable unsubscribe = () -> { };
+
+    public CatalogSnapshotSync(CatalogSnapshot snapshot, ChangeService changeService, ChangeNotifier notifier,
+                               ChangeCounterRepository counterRepository, BookRepository bookRepository,
+                               AuthorRepository authorRepository, TransactionTemplate transactionTemplate,
+                               MeterRegistry registry,
+                               @Value("${bookshop.snapshot.enabled:false}") boolean enabled,
+                               @Value("${bookshop.snapshot.batch-size:1000}") int batchSize) {
+        this.snapshot = snapshot;
+        this.changeService = changeService;
+        this.notifier = notifier;
+        this.counterRepository = counterRepository;
+        this.bookRepository = bookRepository;
+        this.authorRepository = authorRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.enabled = enabled;
+        this.batchSize = batchSize;
+        if (enabled) {
+            Gauge.builder("bookshop.snapshot.books", snapshot, CatalogSnapshot::bookCount)
+                    .description("Books held by the catalog snapshot")
+                    .register(registry);
+            Gauge.builder("bookshop.snapshot.authors", snapshot, CatalogSnapshot::authorCount)
+                    .description("Authors held by the catalog snapshot")
+                    .register(registry);
+            Gauge.builder("bookshop.snapshot.bytes", snapshot, CatalogSnapshot::footprintBytes)
+                    .description("Bytes allocated by the catalog snapshot's columns and string arena")
+                    .baseUnit("bytes")
+                    .register(registry);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (enabled) {
+            executor.execute(this::load);
+        }
+    }
+
+    /** Position in the change feed up to which the snapshot is current. */
+    public long position() {
+        return position;
+    }
+
+    private void load() {
+        long started = System.nanoTime();
+        try {
+            // Read the position first: anything committed during the load is replayed below.
+            position = lastCommittedSeq();
+
+            long afterId = 0;
+            List<AuthorEntity> authors;
+            do {
+                long from = afterId;
+                authors = transactionTemplate.execute(status ->
+                        authorRepository.findByIdGreaterThanOrderByIdAsc(from, PageRequest.of(0, batchSize)));
+                for (AuthorEntity author : authors) {
+                    snapshot.putAuthor(author.getId(), author.getName(), author.getAge(), author.getBookCount());
+                    afterId = author.getId();
+                }
+            } while (authors.size() == batchSize);
+
+            long afterIsbn = 0;
+            List<BookEntity> books;
+            do {
+                long from = afterIsbn;
+                books = transactionTemplate.execute(status ->
+                        bookRepository.findPageAfter(from, PageRequest.of(0, batchSize)));
+                for (BookEntity book : books) {
+                    putBook(book);
+                    afterIsbn = book.getIsbn();
+                }
+            } while (books.size() == batchSize);
+
+            unsubscribe = notifier.subscribe(this::scheduleCatchUp);
+            catchUp();
+            snapshot.markReady();
+            log.info("Catalog snapshot loaded: {} books, {} authors, {} KiB in {} ms",
+                    snapshot.bookCount(), snapshot.authorCount(), snapshot.footprintBytes() / 1024,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - started));
+        } catch (RuntimeException e) {
+            // Stay not-ready: every read keeps going to the database.
+            log.error("Catalog snapshot load failed; serving reads from the database", e);
+        }
+    }
+
+    private void scheduleCatchUp() {
+        if (catchUpScheduled.compareAndSet(false, true)) {
+            executor.execute(() -> {
+                catchUpScheduled.set(false);
+                try {
+                    catchUp();
+                } catch (RuntimeException e) {
+                    // Position is unchanged; the next commit retries from the same place.
+                    log.warn("Catalog snapshot catch-up failed at seq {}", position, e);
+                }
+            });
+        }
+    }
+
+    private void catchUp() {
+        ChangeBatch batch;
+        do {
+            batch = changeService.readSince(position, batchSize);
+            for (ChangeBatch.Change change : batch.changes()) {
+                apply(change);
+            }
+            position = batch.next();
+        } while (batch.hasMore());
+    }
+
+    private void apply(ChangeBatch.Change change) {
+        boolean upsert = change.op() == ChangeEntity.Op.UPSERT;
+        if (change.type() == ChangeEntity.Type.BOOK) {
+            OptionalLong isbn = Isbn.tryParse(change.key());
+            if (isbn.isEmpty()) {
+                return;
+            }
+            if (upsert && change.book() != null) {
+                putBook(change.book());
+            } else {
+                snapshot.removeBook(isbn.getAsLong());
+            }
+        } else {
+            AuthorEntity author = change.author();
+            if (upsert && author != null) {
+                snapshot.putAuthor(author.getId(), author.getName(), author.getAge(), author.getBookCount());
+            } else {
+                snapshot.removeAuthor(Long.parseLong(change.key()));
+            }
+        }
+    }
+
+    private void putBook(BookEntity book) {
+        AuthorEntity author = book.getAuthorEntity();
+        snapshot.putBook(book.getIsbn(), book.getTitle(), author == null ? null : author.getId());
+    }
+
+    private long lastCommittedSeq() {
+        Long seq = transactionTemplate.execute(status -> counterRepository.findById(ChangeCounterEntity.SINGLETON_ID)
+                .map(ChangeCounterEntity::getLastSeq)
+                .orElse(0L));
+        return seq == null ? 0 : seq;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        unsubscribe.run();
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,24 @@
+package com.govind.bookshop.views;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * The {@link PopularityRanking} behind {@code GET /books/popular}, fed by {@link BookViewFlusher}.
+ */
+@Configuration(proxyBeanMethods = false)
+public class BookViewConfig {
+
+    /**
+     * Publishes the top {@code bookshop.views.popular.size} books and tracks ten times as many,
+     * so a book climbing into the top already has its recent views counted.
+     */
+    @Bean
+    public PopularityRanking popularBooks(@Value("${bookshop.views.popular.size:100}") int size,
+                                          @Value("${bookshop.views.popular.half-life:1h}") Duration halfLife) {
+        return new PopularityRanking(size, size * 10, halfLife, System.nanoTime());
+    }
+}
@@ -0,0 +1,89 @@
+package com.govind.bookshop.views;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Views of each book since the last flush, one {@link LongAdder} per ISBN.
+ *
+ * <p>{@link #record(long)} is a map lookup plus an adder increment: no lock, and concurrent
+ * readers of the same hot book touch different adder cells instead of contending on one
+ * counter. {@link BookViewFlusher} drains the counts periodically.</p>
+ *
+ * <p>Counting can be {@linkplain #pause() paused}: warm-up requests its own endpoints before
+ * the instance reports ready, and those views must not reach {@code book_views} through a
+ * flush that runs while it is still going.</p>
+ */
+@Component
+public class BookViewCounter {
+
+    private final ConcurrentHashMap<Long, LongAdder> pending = new ConcurrentHashMap<>();
+    private final boolean enabled;
+    private volatile boolean paused;
+
+    public BookViewCounter(@Value("${bookshop.views.enabled:true}") boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /** Count one view of {@code isbn}. */
+    public void record(long isbn) {
+        if (!enabled || paused) {
+            return;
+        }
+        LongAdder views = pending.get(isbn);
+        if (views == null) {
+            views = pending.computeIfAbsent(isbn, key -> new LongAdder());
+        }
+        views.increment();
+    }
+
+    /** Stop counting views until {@link #resume()}; views recorded meanwhile are dropped. */
+    public void pause() {
+        paused = true;
+    }
+
+    public void resume() {
+        paused = false;
+    }
+
+    public boolean isPaused() {
+        return paused;
+    }
+
+    /** Books with views waiting to be flushed. */
+    public int pendingBooks() {
+        return pending.size();
+    }
+
+    /**
+     * Take the counts gathered so far and start afresh.
+     *
+     * <p>Each entry is removed before it is summed; a view racing with its removal (a
+     * reader that fetched the adder just before) can be missed, which is a few views per
+     * flush at worst.</p>
+     */
+    public Map<Long, Long> drain() {
+        Map<Long, Long> drained = new HashMap<>();
+        for (Long isbn : pending.keySet()) {
+            LongAdder views = pending.remove(isbn);
+            if (views != null) {
+                drained.merge(isbn, views.sum(), Long::sum);
+            }
+        }
+        return drained;
+    }
+
+    /** Put back counts that could not be flushed, so the next flush retries them. */
+    public void restore(Map<Long, Long> counts) {
+        counts.forEach((isbn, views) -> pending.computeIfAbsent(isbn, key -> new LongAdder()).add(views));
+    }
+}
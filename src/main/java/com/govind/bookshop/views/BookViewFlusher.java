@@ -0,0 +1,162 @@
+package com.govind.bookshop.views;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes the {@link BookViewCounter} counts to {@code book_views} and feeds the
+ * {@link PopularityRanking}, every {@code bookshop.views.flush-interval}.
+ *
+ * <p>One flush is one transaction: a JDBC batch of {@code UPDATE ... SET views = views + ?},
+ * then a batch of {@code INSERT}s for books seen for the first time. If it fails (including
+ * two instances inserting the same new book at once) the counts go back into the counter
+ * and the next flush retries them. Counts are also flushed on shutdown, so a restart loses
+ * nothing and a crash loses at most one interval.</p>
+ *
+ * <p>At startup the ranking is seeded from the most-viewed books on record. Each instance
+ * ranks the views it served; the totals in {@code book_views} are cluster-wide.</p>
+ *
+ * <p>Metrics: counter {@code bookshop.views.flushed} (views written) and gauge
+ * {@code bookshop.views.pending} (books with unflushed views).</p>
+ */
+@Slf4j
+@Component
+public class BookViewFlusher {
+
+    private static final String UPDATE = "UPDATE book_views SET views = views + ? WHERE isbn = ?";
+    private static final String INSERT = "INSERT INTO book_views (isbn, views) VALUES (?, ?)";
+    private static final String TOP = "SELECT isbn, views FROM book_views ORDER BY views DESC LIMIT ?";
+    private static final int BATCH_SIZE = 500;
+
+    private final BookViewCounter counter;
+    private final PopularityRanking ranking;
+    private final JdbcTemplate jdbc;
+    private final TransactionTemplate transactionTemplate;
+    private final Duration interval;
+    private final Counter flushed;
+
+    private final ScheduledExecutorService executor = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread thread = new Thread(r, "book-views");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    public BookViewFlusher(BookViewCounter counter, PopularityRanking ranking, JdbcTemplate jdbc,
+                           TransactionTemplate transactionTemplate, MeterRegistry registry,
+                           @Value("${bookshop.views.flush-interval:5s}") Duration interval) {
+        this.counter = counter;
+        this.ranking = ranking;
+        this.jdbc = jdbc;
+        this.transactionTemplate = transactionTemplate;
+        this.interval = interval;
+        this.flushed = Counter.builder("bookshop.views.flushed")
+                .description("Book views written to book_views")
+                .register(registry);
+        Gauge.builder("bookshop.views.pending", counter, BookViewCounter::pendingBooks)
+                .description("Books with views not yet written to book_views")
+                .register(registry);
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!counter.isEnabled()) {
+            return;
+        }
+        executor.execute(this::seed);
+        executor.scheduleWithFixedDelay(this::flushQuietly, interval.toMillis(), interval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * Write pending counts now and merge them into the ranking.
+     *
+     * @return views written
+     */
+    public synchronized long flush() {
+        Map<Long, Long> counts = counter.drain();
+        if (counts.isEmpty()) {
+            return 0;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> write(counts));
+        } catch (RuntimeException e) {
+            counter.restore(counts);
+            throw e;
+        }
+        ranking.add(counts, System.nanoTime());
+        long views = counts.values().stream().mapToLong(Long::longValue).sum();
+        flushed.increment(views);
+        return views;
+    }
+
+    private void write(Map<Long, Long> counts) {
+        List<Map.Entry<Long, Long>> entries = new ArrayList<>(counts.entrySet());
+        int[][] updated = jdbc.batchUpdate(UPDATE, entries, BATCH_SIZE, (statement, entry) -> {
+            statement.setLong(1, entry.getValue());
+            statement.setLong(2, entry.getKey());
+        });
+        List<Map.Entry<Long, Long>> missing = new ArrayList<>();
+        int i = 0;
+        for (int[] batch : updated) {
+            for (int rows : batch) {
+                if (rows == 0) {
+                    missing.add(entries.get(i));
+                }
+                i++;
+            }
+        }
+        if (!missing.isEmpty()) {
+            jdbc.batchUpdate(INSERT, missing, BATCH_SIZE, (statement, entry) -> {
+                statement.setLong(1, entry.getKey());
+                statement.setLong(2, entry.getValue());
+            });
+        }
+    }
+
+    private void flushQuietly() {
+        try {
+            flush();
+        } catch (RuntimeException e) {
+            // Also transaction failures; an exception would end the schedule.
+            log.warn("Book view flush failed; {} books kept for the next one", counter.pendingBooks(), e);
+        }
+    }
+
+    private void seed() {
+        try {
+            Map<Long, Long> top = new HashMap<>();
+            jdbc.query(TOP, row -> {
+                top.put(row.getLong("isbn"), row.getLong("views"));
+            }, ranking.size());
+            ranking.add(top, System.nanoTime());
+        } catch (DataAccessException e) {
+            log.warn("Could not seed the popular books ranking; it starts empty", e);
+        }
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+        if (counter.isEnabled()) {
+            flushQuietly();
+        }
+    }
+}
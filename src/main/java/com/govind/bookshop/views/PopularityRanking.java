@@ -0,0 +1,85 @@
+package com.govind.bookshop.views;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Top books by recent views, with exponential decay.
+ *
+ * <p>Each book's score is its views weighted by age: a view counts 1 now, ½ one half-life
+ * later, ¼ after two. Scores are decayed and merged only when a flush adds new counts
+ * ({@link #add}), so reads ({@link #top}) just return the last published list.</p>
+ *
+ * <p>Only {@code capacity} books are tracked (several times the published top); after each
+ * merge the lowest scores are dropped. A book that falls out and comes back starts again
+ * from its new views, which is fine for a ranking of what is popular now.</p>
+ */
+public class PopularityRanking {
+
+    /** A ranked book and its decayed view score. */
+    public record Entry(long isbn, double score) {
+    }
+
+    /** Scores below this are dropped rather than kept decaying forever. */
+    private static final double MIN_SCORE = 0.01;
+
+    private static final Comparator<Entry> BY_SCORE_DESC =
+            Comparator.comparingDouble(Entry::score).reversed().thenComparingLong(Entry::isbn);
+
+    private final int size;
+    private final int capacity;
+    private final double halfLifeNanos;
+
+    private final Map<Long, Double> scores = new HashMap<>();
+    private long decayedAt;
+    private volatile List<Entry> top = List.of();
+
+    /**
+     * @param size      entries published by {@link #top}
+     * @param capacity  books tracked (at least {@code size})
+     * @param halfLife  time for a view's weight to halve
+     * @param now       current {@link System#nanoTime()}
+     */
+    public PopularityRanking(int size, int capacity, Duration halfLife, long now) {
+        this.size = size;
+        this.capacity = Math.max(size, capacity);
+        this.halfLifeNanos = halfLife.toNanos();
+        this.decayedAt = now;
+    }
+
+    /** Decay existing scores to {@code now}, add {@code views} per ISBN, and republish the top. */
+    public synchronized void add(Map<Long, Long> views, long now) {
+        double factor = Math.pow(0.5, (now - decayedAt) / halfLifeNanos);
+        decayedAt = now;
+        if (factor < 1.0) {
+            scores.replaceAll((isbn, score) -> score * factor);
+            scores.values().removeIf(score -> score < MIN_SCORE);
+        }
+        views.forEach((isbn, count) -> scores.merge(isbn, (double) count, Double::sum));
+
+        List<Entry> ranked = new ArrayList<>(scores.size());
+        scores.forEach((isbn, score) -> ranked.add(new Entry(isbn, score)));
+        ranked.sort(BY_SCORE_DESC);
+        if (ranked.size() > capacity) {
+            for (Entry dropped : ranked.subList(capacity, ranked.size())) {
+                scores.remove(dropped.isbn());
+            }
+        }
+        top = List.copyOf(ranked.subList(0, Math.min(size, ranked.size())));
+    }
+
+    /** Up to {@code limit} books, highest score first, as of the last {@link #add}. */
+    public List<Entry> top(int limit) {
+        List<Entry> current = top;
+        return current.subList(0, Math.min(limit, current.size()));
+    }
+
+    /** Entries published by {@link #top}. */
+    public int size() {
+        return size;
+    }
+}
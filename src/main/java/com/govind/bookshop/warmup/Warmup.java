@@ -0,0 +1,380 @@
+package com.govind.bookshop.warmup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.govind.bookshop.allocation.AllocationTracker;
+import com.govind.bookshop.author.domain.dto.AuthorDto;
+import com.govind.bookshop.author.domain.entity.AuthorEntity;
+import com.govind.bookshop.author.repository.AuthorRepository;
+import com.govind.bookshop.author.repository.JdbcAuthorReader;
+import com.govind.bookshop.author.service.AuthorService;
+import com.govind.bookshop.book.domain.Isbn;
+import com.govind.bookshop.book.domain.dto.BookDto;
+import com.govind.bookshop.book.domain.entity.BookEntity;
+import com.govind.bookshop.book.repository.BookRepository;
+import com.govind.bookshop.book.repository.JdbcBookReader;
+import com.govind.bookshop.book.service.BookService;
+import com.govind.bookshop.change.service.ChangeService;
+import com.govind.bookshop.json.CatalogJson;
+import com.govind.bookshop.json.PageJsonWriter;
+import com.govind.bookshop.mapper.Mapper;
+import com.govind.bookshop.snapshot.CatalogSnapshot;
+import com.govind.bookshop.views.BookViewCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.env.Environment;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.OptionalLong;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Runs the application's hot paths once the context is up and before the instance reports
+ * ready (see {@link WarmupHealthIndicator}).
+ *
+ * <p>Stages, in order:</p>
+ * <ol>
+ *   <li><b>mapping</b> – mappers, Jackson (de)serializers for the DTOs and page JSON, and the
+ *       lean envelope writer, {@code iterations} times on synthetic rows. Jackson builds its
+ *       serializers on first use; the mappers are hand-written, so for them this is JIT only.</li>
+ *   <li><b>queries</b> – every read query shape the endpoints and the snapshot loader issue,
+ *       so Hibernate has parsed and cached each plan and the pool's connections have the
+ *       statements. Writes and {@code FOR UPDATE} statements are left alone.</li>
+ *   <li><b>hot keys</b> – loads {@code hot-books} / {@code hot-authors}, and waits for the
+ *       catalog snapshot to finish loading when it is enabled.</li>
+ *   <li><b>endpoints</b> – {@code requests} rounds of read-only requests over loopback HTTP
+ *       through the full filter chain. Skipped when no server port is known (mock web
+ *       environment).</li>
+ * </ol>
+ *
+ * <p>The whole run is bounded by {@code timeout}; a stage that fails or overruns is logged and
+ * readiness opens anyway, since a cold instance beats a missing one. Allocation figures
+ * gathered during the run are discarded, and book views are not counted while it runs.
+ * Timer {@code bookshop.warmup.duration{stage}}.</p>
+ */
+@Slf4j
+@Component
+public class Warmup {
+
+    /** Lifecycle of the warm-up run. */
+    public enum State { PENDING, RUNNING, DONE, FAILED, TIMED_OUT, DISABLED }
+
+    /** Read-only endpoints exercised by the endpoint stage; {isbn} and {id} are probe keys. */
+    static final List<String> ENDPOINTS = List.of(
+            "/books?page=0&size=20",
+            "/books?page=0&size=20&sort=title",
+            "/books/{isbn}",
+            "/books?isbn={isbn}",
+            "/books/popular",
+            "/authors",
+            "/authors/{id}",
+            "/authors/prolific?size=20",
+            "/changes?since=0&limit=1");
+
+    private static final long SYNTHETIC_ISBN = Isbn.withCheckDigit(978_000_000_000L);
+    private static final int PROBE_KEYS = 20;
+
+    private final Mapper<BookEntity, BookDto> bookMapper;
+    private final Mapper<AuthorEntity, AuthorDto> authorMapper;
+    private final ObjectMapper objectMapper;
+    private final PageJsonWriter pageWriter;
+    private final BookService bookService;
+    private final AuthorService authorService;
+    private final ChangeService changeService;
+    private final BookRepository bookRepository;
+    private final AuthorRepository authorRepository;
+    private final JdbcBookReader bookReader;
+    private final JdbcAuthorReader authorReader;
+    private final TransactionTemplate transactionTemplate;
+    private final CatalogSnapshot snapshot;
+    private final AllocationTracker allocationTracker;
+    private final BookViewCounter viewCounter;
+    private final Environment environment;
+    private final MeterRegistry registry;
+    private final boolean enabled;
+    private final boolean snapshotEnabled;
+    private final Duration timeout;
+    private final int iterations;
+    private final int requests;
+    private final List<Long> hotBooks;
+    private final List<Long> hotAuthors;
+
+    private final ExecutorService executor = Executors.newSingleThreadExecutor(r -> {
+        Thread thread = new Thread(r, "warmup");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Map<String, Duration> stages = new LinkedHashMap<>();
+    private volatile State state;
+    private volatile Duration took;
+
+    public Warmup(Mapper<BookEntity, BookDto> bookMapper, Mapper<AuthorEntity, AuthorDto> authorMapper,
+                  ObjectMapper objectMapper, PageJsonWriter pageWriter, BookService bookService,
+                  AuthorService authorService, ChangeService changeService, BookRepository bookRepository,
+                  AuthorRepository authorRepository, JdbcBookReader bookReader,
+                  JdbcAuthorReader authorReader,
+                  TransactionTemplate transactionTemplate,
+                  CatalogSnapshot snapshot, AllocationTracker allocationTracker, BookViewCounter viewCounter,
+                  Environment environment, MeterRegistry registry,
+                  @Value("${bookshop.warmup.enabled:true}") boolean enabled,
+                  @Value("${bookshop.snapshot.enabled:false}") boolean snapshotEnabled,
+                  @Value("${bookshop.warmup.timeout:60s}") Duration timeout,
+                  @Value("${bookshop.warmup.iterations:10000}") int iterations,
+                  @Value("${bookshop.warmup.requests:200}") int requests,
+                  @Value("${bookshop.warmup.hot-books:}") List<String> hotBooks,
+                  @Value("${bookshop.warmup.hot-authors:}") List<Long> hotAuthors) {
+        this.bookMapper = bookMapper;
+        this.authorMapper = authorMapper;
+        this.objectMapper = objectMapper;
+        this.pageWriter = pageWriter;
+        this.bookService = bookService;
+        this.authorService = authorService;
+        this.changeService = changeService;
+        this.bookRepository = bookRepository;
+        this.authorRepository = authorRepository;
+        this.bookReader = bookReader;
+        this.authorReader = authorReader;
+        this.transactionTemplate = transactionTemplate;
+        this.snapshot = snapshot;
+        this.allocationTracker = allocationTracker;
+        this.viewCounter = viewCounter;
+        this.environment = environment;
+        this.registry = registry;
+        this.enabled = enabled;
+        this.snapshotEnabled = snapshotEnabled;
+        this.timeout = timeout;
+        this.iterations = iterations;
+        this.requests = requests;
+        this.hotBooks = hotBooks.stream()
+                .map(Isbn::tryParse)
+                .filter(OptionalLong::isPresent)
+                .map(OptionalLong::getAsLong)
+                .toList();
+        this.hotAuthors = List.copyOf(hotAuthors);
+        this.state = enabled ? State.PENDING : State.DISABLED;
+        if (hotBooks.size() != this.hotBooks.size()) {
+            log.warn("Ignoring invalid ISBNs in bookshop.warmup.hot-books: {}", hotBooks);
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void start() {
+        if (!enabled) {
+            return;
+        }
+        state = State.RUNNING;
+        // Not counted at all rather than dropped at the end: the flusher runs meanwhile.
+        viewCounter.pause();
+        long started = System.nanoTime();
+        CompletableFuture.runAsync(this::run, executor)
+                .orTimeout(timeout.toMillis(), TimeUnit.MILLISECONDS)
+                .whenComplete((ignored, failure) -> {
+                    took = Duration.ofNanos(System.nanoTime() - started);
+                    allocationTracker.reset();
+                    viewCounter.resume();
+                    if (failure instanceof TimeoutException) {
+                        state = State.TIMED_OUT;
+                        executor.shutdownNow();
+                        log.warn("Warm-up did not finish within {}; reporting ready anyway (stages done: {})",
+                                timeout, stages());
+                    } else if (failure != null) {
+                        state = State.FAILED;
+                        log.warn("Warm-up failed after {}; reporting ready anyway", took, failure);
+                    } else {
+                        state = State.DONE;
+                        log.info("Warm-up finished in {} ms {}", took.toMillis(), stages());
+                    }
+                });
+    }
+
+    public State state() {
+        return state;
+    }
+
+    /** Whether the instance may report ready: warm-up is over, one way or another. */
+    public boolean isComplete() {
+        return state != State.PENDING && state != State.RUNNING;
+    }
+
+    /** Wall time of the whole run, once complete. */
+    public Duration took() {
+        return took;
+    }
+
+    /** Completed stages and their wall time, in run order. */
+    public Map<String, Duration> stages() {
+        synchronized (stages) {
+            return new LinkedHashMap<>(stages);
+        }
+    }
+
+    private void run() {
+        stage("mapping", this::warmMapping);
+        List<Long> probeBooks = new ArrayList<>();
+        List<Long> probeAuthors = new ArrayList<>();
+        stage("queries", () -> warmQueries(probeBooks, probeAuthors));
+        stage("hot-keys", this::preloadHotKeys);
+        probeBooks.addAll(0, hotBooks);
+        probeAuthors.addAll(0, hotAuthors);
+        stage("endpoints", () -> warmEndpoints(probeBooks, probeAuthors));
+    }
+
+    private void stage(String name, CheckedRunnable work) {
+        if (Thread.currentThread().isInterrupted()) {
+            return;
+        }
+        long started = System.nanoTime();
+        try {
+            work.run();
+            if (Thread.currentThread().isInterrupted()) {
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        } catch (Exception e) {
+            // A broken stage must not keep the instance out of rotation; the next one may still help.
+            log.warn("Warm-up stage {} failed", name, e);
+            return;
+        }
+        Duration elapsed = Duration.ofNanos(System.nanoTime() - started);
+        synchronized (stages) {
+            stages.put(name, elapsed);
+        }
+        Timer.builder("bookshop.warmup.duration")
+                .description("Wall time of each warm-up stage")
+                .tag("stage", name)
+                .register(registry)
+                .record(elapsed);
+    }
+
+    private void warmMapping() throws IOException {
+        AuthorEntity author = AuthorEntity.builder().id(1L).name("warm-up").age(40).bookCount(1L).build();
+        BookEntity book = BookEntity.builder().isbn(SYNTHETIC_ISBN).title("warm-up").authorEntity(author).build();
+        Page<BookEntity> page = new PageImpl<>(List.of(book, book, book), PageRequest.of(0, 20), 3);
+        for (int i = 0; i < iterations && !Thread.currentThread().isInterrupted(); i++) {
+            BookDto bookDto = bookMapper.toDto(book);
+            AuthorDto authorDto = authorMapper.toDto(author);
+            bookMapper.fromDto(bookDto);
+            authorMapper.fromDto(authorDto);
+            byte[] bookJson = objectMapper.writeValueAsBytes(bookDto);
+            byte[] authorJson = objectMapper.writeValueAsBytes(authorDto);
+            objectMapper.readValue(bookJson, BookDto.class);
+            objectMapper.readValue(authorJson, AuthorDto.class);
+            objectMapper.writeValueAsBytes(page.map(bookMapper::toDto));
+            pageWriter.write(page, CatalogJson::writeBook, OutputStream.nullOutputStream());
+            pageWriter.write(page.map(bookMapper::toDto), CatalogJson::writeBook, OutputStream.nullOutputStream());
+        }
+    }
+
+    /** One round of each read query shape; remembers a few existing keys to probe with later. */
+    private void warmQueries(List<Long> probeBooks, List<Long> probeAuthors) {
+        PageRequest firstPage = PageRequest.of(0, PROBE_KEYS);
+        bookService.findAll(firstPage).forEach(book -> probeBooks.add(book.getIsbn()));
+        bookService.findAll(firstPage.withSort(Sort.by("title")));
+        authorService.findAll(firstPage.withSort(Sort.by(Sort.Direction.DESC, "bookCount").and(Sort.by("id"))))
+                .forEach(author -> probeAuthors.add(author.getId()));
+        authorService.findAll();
+
+        long isbn = probeBooks.isEmpty() ? SYNTHETIC_ISBN : probeBooks.get(0);
+        long id = probeAuthors.isEmpty() ? 0L : probeAuthors.get(0);
+        bookService.findOne(isbn);
+        bookService.isExists(isbn);
+        bookService.findAllByIsbn(probeBooks.isEmpty() ? List.of(isbn) : probeBooks);
+        authorService.findOne(id);
+        authorService.isExists(id);
+        changeService.readSince(0, 1);
+        if (bookReader.isEnabled()) {
+            bookReader.findBook(isbn);
+            bookReader.findBooks(firstPage);
+            bookReader.findBooks(firstPage.withSort(Sort.by("title")));
+        }
+        if (authorReader.isEnabled()) {
+            authorReader.findAuthors(firstPage.withSort(Sort.by(Sort.Direction.DESC, "bookCount").and(Sort.by("id"))));
+        }
+
+        // Snapshot loader and sharded scans (keyset pages)
+        transactionTemplate.executeWithoutResult(status -> {
+            bookRepository.findPageAfter(0, PageRequest.of(0, 1));
+            authorRepository.findByIdGreaterThanOrderByIdAsc(0, PageRequest.of(0, 1));
+        });
+    }
+
+    private void preloadHotKeys() throws InterruptedException {
+        if (!hotBooks.isEmpty()) {
+            bookService.findAllByIsbn(hotBooks);
+        }
+        for (Long id : hotAuthors) {
+            authorService.findOne(id);
+        }
+        if (snapshotEnabled) {
+            while (!snapshot.isReady()) {
+                Thread.sleep(20);
+            }
+        }
+    }
+
+    private void warmEndpoints(List<Long> probeBooks, List<Long> probeAuthors) throws IOException, InterruptedException {
+        Integer port = environment.getProperty("local.server.port", Integer.class);
+        if (port == null || requests <= 0) {
+            log.debug("No local server port; skipping endpoint warm-up");
+            return;
+        }
+        List<String> isbns = probeBooks.isEmpty() ? List.of(Isbn.format(SYNTHETIC_ISBN))
+                : probeBooks.stream().map(Isbn::format).toList();
+        List<String> ids = probeAuthors.isEmpty() ? List.of("0")
+                : probeAuthors.stream().map(String::valueOf).toList();
+        HttpClient client = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(2)).build();
+        URI base = URI.create("http://localhost:" + port);
+        for (int round = 0; round < requests; round++) {
+            String isbn = isbns.get(round % isbns.size());
+            String id = ids.get(round % ids.size());
+            for (String endpoint : ENDPOINTS) {
+                URI uri = base.resolve(endpoint.replace("{isbn}", isbn).replace("{id}", id));
+                send(client, HttpRequest.newBuilder(uri).GET().build());
+                if (endpoint.startsWith("/books?page")) {
+                    send(client, HttpRequest.newBuilder(uri).header("Accept", PageJsonWriter.MEDIA_TYPE).GET().build());
+                }
+            }
+        }
+    }
+
+    private static void send(HttpClient client, HttpRequest request) throws IOException, InterruptedException {
+        // The body is read and dropped: status does not matter (404s and 503s exercise their paths too).
+        client.send(request, HttpResponse.BodyHandlers.discarding());
+    }
+
+    @PreDestroy
+    void shutdown() {
+        executor.shutdownNow();
+    }
+
+    @FunctionalInterface
+    private interface CheckedRunnable {
+        void run() throws Exception;
+    }
+}
@@ -0,0 +1,33 @@
+package com.govind.bookshop.warmup;
+
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@code warmup} health: {@code OUT_OF_SERVICE} while {@link Warmup} runs, {@code UP} after.
+ *
+ * <p>Part of the readiness group (set in {@code servlet.properties}, which the reactive variant
+ * does not load), so {@code /actuator/health/readiness} answers 503 until warm-up has finished
+ * or timed out. Liveness is unaffected.</p>
+ */
+@Component
+public class WarmupHealthIndicator implements HealthIndicator {
+
+    private final Warmup warmup;
+
+    public WarmupHealthIndicator(Warmup warmup) {
+        this.warmup = warmup;
+    }
+
+    @Override
+    public Health health() {
+        Health.Builder health = warmup.isComplete() ? Health.up() : Health.outOfService();
+        health.withDetail("state", warmup.state().name().toLowerCase());
+        warmup.stages().forEach((stage, took) -> health.withDetail(stage, took.toMillis() + "ms"));
+        if (warmup.took() != null) {
+            health.withDetail("took", warmup.took().toMillis() + "ms");
+        }
+        return health.build();
+    }
+}
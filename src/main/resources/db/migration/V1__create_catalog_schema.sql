@@ -0,0 +1,33 @@
+-- Catalog and change-feed tables as previously generated by Hibernate ddl-auto.
+-- IF NOT EXISTS lets Flyway adopt databases that ddl-auto already created (baseline-version=0).
+-- Runs on PostgreSQL and on H2 in PostgreSQL mode (tests, training profile).
+
+CREATE TABLE IF NOT EXISTS authors (
+    id   BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name VARCHAR(255),
+    age  INTEGER
+);
+
+CREATE TABLE IF NOT EXISTS books (
+    isbn      VARCHAR(255) PRIMARY KEY,
+    title     VARCHAR(255),
+    author_id BIGINT,
+    CONSTRAINT fk_books_author FOREIGN KEY (author_id) REFERENCES authors (id)
+);
+
+CREATE TABLE IF NOT EXISTS changes (
+    seq         BIGINT PRIMARY KEY,
+    entity_type VARCHAR(16) NOT NULL,
+    entity_key  VARCHAR(64) NOT NULL,
+    op          VARCHAR(16) NOT NULL,
+    changed_at  TIMESTAMP(6) WITH TIME ZONE NOT NULL
+);
+
+CREATE TABLE IF NOT EXISTS change_counter (
+    id       INTEGER PRIMARY KEY,
+    last_seq BIGINT NOT NULL
+);
+
+INSERT INTO change_counter (id, last_seq)
+SELECT 1, 0
+WHERE NOT EXISTS (SELECT 1 FROM change_counter WHERE id = 1);
@@ -0,0 +1,9 @@
+-- Indexes for the servlet API's query paths. Primary keys already cover:
+--   GET /books/{isbn}, GET /books?isbn=..., GET /authors/{id}, GET /changes (seq range + order).
+
+-- Foreign key: book -> author joins, and the FK check PostgreSQL runs on every author delete.
+CREATE INDEX IF NOT EXISTS idx_books_author_id ON books (author_id);
+
+-- GET /books?sort=title: walk the index instead of sorting the table; isbn makes the order
+-- total so offset pages are stable. Also serves title equality/prefix lookups.
+CREATE INDEX IF NOT EXISTS idx_books_title ON books (title, isbn);
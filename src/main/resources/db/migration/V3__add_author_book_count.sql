@@ -0,0 +1,10 @@
+-- Per-author book count, maintained incrementally by BookServiceImpl and repaired by
+-- AuthorBookCountReconciler. Backfilled once here from the existing rows.
+
+ALTER TABLE authors ADD COLUMN IF NOT EXISTS book_count BIGINT NOT NULL DEFAULT 0;
+
+UPDATE authors a
+SET book_count = (SELECT COUNT(*) FROM books b WHERE b.author_id = a.id);
+
+-- GET /authors/prolific: most books first, id as tie-break for stable pages.
+CREATE INDEX IF NOT EXISTS idx_authors_book_count ON authors (book_count DESC, id);
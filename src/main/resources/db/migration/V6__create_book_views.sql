@@ -0,0 +1,11 @@
+-- Per-book view counts, written in batches by BookViewFlusher (never per request).
+-- Keyed by ISBN with no foreign key: books may live in shard databases, and counts of a
+-- deleted book are simply never ranked again.
+
+CREATE TABLE IF NOT EXISTS book_views (
+    isbn  BIGINT PRIMARY KEY,
+    views BIGINT NOT NULL DEFAULT 0
+);
+
+-- Startup seeding of the popularity ranking: most-viewed first.
+CREATE INDEX IF NOT EXISTS idx_book_views_views ON book_views (views DESC);
@@ -0,0 +1,15 @@
+-- Idempotency-Key claims and their stored responses (IdempotencyStore), shared by every
+-- instance. The primary key is the claim: a duplicate insert waits for the first request's
+-- transaction and then fails, and the duplicate replays the response it committed.
+
+CREATE TABLE IF NOT EXISTS idempotency_keys (
+    scope       VARCHAR(64)  NOT NULL,
+    idem_key    VARCHAR(255) NOT NULL,
+    fingerprint VARCHAR(64)  NOT NULL,
+    response    VARCHAR,
+    created_at  TIMESTAMP    NOT NULL,
+    PRIMARY KEY (scope, idem_key)
+);
+
+-- Purge of expired keys.
+CREATE INDEX IF NOT EXISTS idx_idempotency_keys_created_at ON idempotency_keys (created_at);
@@ -0,0 +1,11 @@
+-- Book rows of one shard (bookshop.sharding.*); see db/shard/postgresql for the notes.
+-- H2 compares VARCHAR in Java String order already, so no collation is declared.
+
+CREATE TABLE IF NOT EXISTS books (
+    isbn      BIGINT PRIMARY KEY,
+    title     VARCHAR(255),
+    author_id BIGINT
+);
+
+CREATE INDEX IF NOT EXISTS idx_books_author_id ON books (author_id);
+CREATE INDEX IF NOT EXISTS idx_books_title ON books (title, isbn);
@@ -0,0 +1,13 @@
+-- Book rows of one shard (bookshop.sharding.*). Authors, counts and the change feed stay in
+-- the main database, so there is no foreign key here.
+-- Titles use code-point ("C") collation: scatter-gather merges the shards' title orders in
+-- Java, which must compare exactly as the shards sort.
+
+CREATE TABLE IF NOT EXISTS books (
+    isbn      BIGINT PRIMARY KEY,
+    title     VARCHAR(255) COLLATE "C",
+    author_id BIGINT
+);
+
+CREATE INDEX IF NOT EXISTS idx_books_author_id ON books (author_id);
+CREATE INDEX IF NOT EXISTS idx_books_title ON books (title, isbn);
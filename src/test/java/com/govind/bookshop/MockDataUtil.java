@@ -54,48 +54,48 @@ public final class MockDataUtil {
     }
 
     /**
-     * Sample BookEntity #1: isbn=123-123-145-675, title="The one".
+     * Sample BookEntity #1: isbn=9780306406157, title="The one".
      * @param authorEntity optional linked author (nullable)
      */
     public static BookEntity sampleBookEntity1(final AuthorEntity authorEntity) {
         return BookEntity.builder()
-                .isbn("123-123-145-675")
+                .isbn(9780306406157L)
                 .title("The one")
                 .authorEntity(authorEntity)
                 .build();
     }
 
     /**
-     * Sample BookDto #1: isbn=123-123-145-675, title="The one".
+     * Sample BookDto #1: isbn=9780306406157, title="The one".
      * @param authorDto optional linked author (nullable)
      */
     public static BookDto sampleBookDto1(final AuthorDto authorDto) {
         return BookDto.builder()
-                .isbn("123-123-145-675")
+                .isbn("9780306406157")
                 .title("The one")
                 .author(authorDto)
                 .build();
     }
 
     /**
-     * Sample BookEntity #2: isbn=124-124-144-674, title="The second".
+     * Sample BookEntity #2: isbn=9780140449136, title="The second".
      * @param authorEntity optional linked author (nullable)
      */
     public static BookEntity sampleBookEntity2(final AuthorEntity authorEntity) {
         return BookEntity.builder()
-                .isbn("124-124-144-674")
+                .isbn(9780140449136L)
                 .title("The second")
                 .authorEntity(authorEntity)
                 .build();
     }
 
     /**
-     * Sample BookEntity #3: isbn=123-123-143-673, title="The third".
+     * Sample BookEntity #3: isbn=9780262033848, title="The third".
      * @param authorEntity optional linked author (nullable)
      */
     public static BookEntity sampleBookEntity3(final AuthorEntity authorEntity) {
         return BookEntity.builder()
-                .isbn("123-123-143-673")
+                .isbn(9780262033848L)
                 .title("The third")
                 .authorEntity(authorEntity)
                 .build();
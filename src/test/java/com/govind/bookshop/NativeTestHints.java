@@ -0,0 +1,22 @@
+package com.govind.bookshop;
+
+import com.govind.bookshop.author.domain.entity.AuthorEntity;
+import com.govind.bookshop.book.domain.entity.BookEntity;
+import org.springframework.aot.hint.BindingReflectionHintsRegistrar;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+/**
+ * Test-only reachability hints for {@code mvn -PnativeTest test}.
+ *
+ * <p>Some integration tests serialize entities straight from {@link MockDataUtil} with
+ * Jackson; production code never does, so these hints stay out of the main image.</p>
+ */
+public class NativeTestHints implements RuntimeHintsRegistrar {
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        new BindingReflectionHintsRegistrar()
+                .registerReflectionHints(hints.reflection(), AuthorEntity.class, BookEntity.class);
+    }
+}
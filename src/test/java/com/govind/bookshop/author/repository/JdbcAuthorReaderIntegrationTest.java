@@ -0,0 +1,93 @@
+package com.govind.bookshop.author.repository;
+
+import com.govind.bookshop.author.domain.dto.AuthorDto;
+import com.govind.bookshop.author.domain.entity.AuthorEntity;
+import com.govind.bookshop.author.service.impl.AuthorServiceImpl;
+import com.govind.bookshop.mapper.Mapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@link JdbcAuthorReader} against the migrated H2 schema: every page must equal what the JPA
+ * path and the mapper produce for the same rows.
+ */
+@ActiveProfiles("test")
+@SpringBootTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class JdbcAuthorReaderIntegrationTest {
+
+    private static final int AUTHORS = 7;
+
+    private final JdbcAuthorReader reader;
+    private final AuthorServiceImpl authorService;
+    private final Mapper<AuthorEntity, AuthorDto> mapper;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    JdbcAuthorReaderIntegrationTest(JdbcAuthorReader reader, AuthorServiceImpl authorService,
+                                    Mapper<AuthorEntity, AuthorDto> mapper, JdbcTemplate jdbcTemplate) {
+        this.reader = reader;
+        this.authorService = authorService;
+        this.mapper = mapper;
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Test
+    @DisplayName("pages match the JPA pages in content and totals for every supported sort")
+    void findAuthors_shouldMatchJpa_whenSortSupported() {
+        seed();
+
+        assertThat(reader.isEnabled()).isTrue();
+        for (Sort sort : new Sort[] {Sort.unsorted(), Sort.by(Sort.Direction.DESC, "id"), Sort.by("name"),
+                Sort.by("age"), Sort.by(Sort.Direction.DESC, "bookCount").and(Sort.by("id"))}) {
+            for (int page = 0; page < 3; page++) {
+                Pageable pageable = PageRequest.of(page, 3, sort);
+                Page<AuthorDto> jdbc = reader.findAuthors(pageable).orElseThrow();
+                Page<AuthorDto> jpa = authorService.findAll(jpaPageable(pageable)).map(mapper::toDto);
+
+                assertThat(jdbc.getContent()).as("%s", pageable).isEqualTo(jpa.getContent());
+                assertThat(jdbc.getTotalElements()).isEqualTo(AUTHORS);
+                assertThat(jdbc.getTotalPages()).isEqualTo(jpa.getTotalPages());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("sorts outside id/name/age/bookCount are left to JPA")
+    void findAuthors_shouldReturnEmpty_whenSortUnsupported() {
+        assertThat(reader.findAuthors(PageRequest.of(0, 3, Sort.by("books")))).isEmpty();
+        assertThat(reader.findAuthors(PageRequest.of(0, 3, Sort.by(Sort.Order.by("name").ignoreCase())))).isEmpty();
+        assertThat(reader.findAuthors(Pageable.unpaged())).isEmpty();
+    }
+
+    /** The same order JPA must produce; the reader breaks ties by id. */
+    private static Pageable jpaPageable(Pageable pageable) {
+        Sort sort = pageable.getSort();
+        if (sort.getOrderFor("id") == null) {
+            sort = sort.and(Sort.by("id"));
+        }
+        return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), sort);
+    }
+
+    /** Authors sharing names, ages and book counts, one without an age. */
+    private void seed() {
+        for (int i = 0; i < AUTHORS; i++) {
+            AuthorEntity author = authorService.save(AuthorEntity.builder()
+                    .name("name-" + i % 3)
+                    .age(i == AUTHORS - 1 ? null : 30 + i % 2)
+                    .build());
+            jdbcTemplate.update("update authors set book_count = ? where id = ?", i % 4, author.getId());
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.govind.bookshop.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.govind.bookshop.author.domain.dto.AuthorDto;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+
+/**
+ * Author creation throughput: one {@code POST /authors} per author versus
+ * {@code POST /authors:batch} with {@value #BATCH_SIZE} authors per request.
+ *
+ * <p>Both paths run through the full MVC stack against the test database and include the
+ * change-feed rows each author produces. Reports authors created per second. Run with
+ * {@code mvn -Pbenchmark test}.</p>
+ */
+@Tag("benchmark")
+@ActiveProfiles("test")
+@SpringBootTest
+@AutoConfigureMockMvc
+class AuthorBatchCreateBenchmark {
+
+    private static final int AUTHORS = 20_000;
+    private static final int BATCH_SIZE = 1_000;
+    private static final int WARMUP_AUTHORS = 2_000;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Test
+    void singleVersusBatchCreate() throws Exception {
+        createOneByOne(WARMUP_AUTHORS);
+        createInBatches(WARMUP_AUTHORS);
+
+        long start = System.nanoTime();
+        createOneByOne(AUTHORS);
+        double single = AUTHORS / ((System.nanoTime() - start) / 1e9);
+
+        start = System.nanoTime();
+        createInBatches(AUTHORS);
+        double batched = AUTHORS / ((System.nanoTime() - start) / 1e9);
+
+        System.out.printf("%n[AuthorBatchCreateBenchmark] %d authors%n", AUTHORS);
+        System.out.printf("  POST /authors (one each)            %10.0f authors/s%n", single);
+        System.out.printf("  POST /authors:batch (%d per call) %10.0f authors/s  (x%.1f)%n%n",
+                BATCH_SIZE, batched, batched / single);
+    }
+
+    private void createOneByOne(int count) throws Exception {
+        for (int i = 0; i < count; i++) {
+            mockMvc.perform(post("/authors")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(author(i))));
+        }
+    }
+
+    private void createInBatches(int count) throws Exception {
+        for (int from = 0; from < count; from += BATCH_SIZE) {
+            List<AuthorDto> batch = new ArrayList<>(BATCH_SIZE);
+            for (int i = from; i < Math.min(count, from + BATCH_SIZE); i++) {
+                batch.add(author(i));
+            }
+            mockMvc.perform(post("/authors:batch")
+                    .contentType(MediaType.APPLICATION_JSON)
+                    .content(objectMapper.writeValueAsString(batch)));
+        }
+    }
+
+    private static AuthorDto author(int i) {
+        return AuthorDto.builder().name("author-" + i).age(20 + i % 60).build();
+    }
+}
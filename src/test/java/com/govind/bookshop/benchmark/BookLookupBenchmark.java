@@ -0,0 +1,114 @@
+package com.govind.bookshop.benchmark;
+
+import com.govind.bookshop.author.domain.entity.AuthorEntity;
+import com.govind.bookshop.author.service.impl.AuthorServiceImpl;
+import com.govind.bookshop.book.domain.Isbn;
+import com.govind.bookshop.book.domain.entity.BookEntity;
+import com.govind.bookshop.book.service.impl.BookServiceImpl;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Multi-get ({@code GET /books?isbn=...}) versus one {@code GET /books/{isbn}} per ISBN.
+ *
+ * <p>Resolves the same {@value #BATCH} ISBNs both ways through the full MVC stack and reports
+ * mean wall time per resolved batch and JDBC statements per batch. Run with
+ * {@code mvn -Pbenchmark test}.</p>
+ */
+@Tag("benchmark")
+@ActiveProfiles("test")
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@AutoConfigureMockMvc
+class BookLookupBenchmark {
+
+    private static final int AUTHORS = 40;
+    private static final int BATCH = 200;
+    private static final int WARMUP_ROUNDS = 20;
+    private static final int ROUNDS = 100;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BookServiceImpl bookService;
+
+    @Autowired
+    private AuthorServiceImpl authorService;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Test
+    void perItemVersusBatchLookup() throws Exception {
+        List<String> isbns = seed();
+        String joined = String.join(",", isbns);
+        Statistics stats = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            perItem(isbns);
+            batch(joined);
+        }
+
+        stats.clear();
+        long start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            perItem(isbns);
+        }
+        double perItemMs = (System.nanoTime() - start) / 1e6 / ROUNDS;
+        double perItemStatements = stats.getPrepareStatementCount() / (double) ROUNDS;
+
+        stats.clear();
+        start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            batch(joined);
+        }
+        double batchMs = (System.nanoTime() - start) / 1e6 / ROUNDS;
+        double batchStatements = stats.getPrepareStatementCount() / (double) ROUNDS;
+
+        System.out.printf("%n[BookLookupBenchmark] %d ISBNs, %d rounds%n", BATCH, ROUNDS);
+        System.out.printf("  per-item GET /books/{isbn}  %8.2f ms/batch  %6.1f statements/batch%n", perItemMs, perItemStatements);
+        System.out.printf("  GET /books?isbn=...         %8.2f ms/batch  %6.1f statements/batch%n", batchMs, batchStatements);
+        System.out.printf("  speed-up                    %8.1fx%n%n", perItemMs / batchMs);
+    }
+
+    private void perItem(List<String> isbns) throws Exception {
+        for (String isbn : isbns) {
+            mockMvc.perform(get("/books/" + isbn)).andExpect(status().isOk());
+        }
+    }
+
+    private void batch(String joined) throws Exception {
+        mockMvc.perform(get("/books").param("isbn", joined)).andExpect(status().isOk());
+    }
+
+    private List<String> seed() {
+        List<AuthorEntity> authors = new ArrayList<>();
+        for (int i = 0; i < AUTHORS; i++) {
+            authors.add(authorService.save(AuthorEntity.builder().name("author-" + i).age(30 + i).build()));
+        }
+        List<String> isbns = new ArrayList<>();
+        for (int i = 0; i < BATCH; i++) {
+            long isbn = Isbn.withCheckDigit(978_000_000_000L + i);
+            bookService.createUpdateBook(isbn, BookEntity.builder()
+                    .title("title-" + i)
+                    .authorEntity(authors.get(i % AUTHORS))
+                    .build());
+            isbns.add(Isbn.format(isbn));
+        }
+        return isbns;
+    }
+}
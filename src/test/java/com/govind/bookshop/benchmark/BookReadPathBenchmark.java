@@ -0,0 +1,115 @@
+package com.govind.bookshop.benchmark;
+
+import com.govind.bookshop.author.domain.entity.AuthorEntity;
+import com.govind.bookshop.author.service.impl.AuthorServiceImpl;
+import com.govind.bookshop.book.domain.Isbn;
+import com.govind.bookshop.book.domain.dto.BookDto;
+import com.govind.bookshop.book.domain.entity.BookEntity;
+import com.govind.bookshop.book.repository.JdbcBookReader;
+import com.govind.bookshop.book.service.impl.BookServiceImpl;
+import com.govind.bookshop.mapper.Mapper;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.IntConsumer;
+
+/**
+ * Book reads through {@link JdbcBookReader} versus JPA plus the mapper.
+ *
+ * <p>Seeds {@value #BOOKS} books, then times the calls behind {@code GET /books?page=..&size=20}
+ * (ISBN and title order) and {@code GET /books/{isbn}} both ways (DTOs included, HTTP excluded)
+ * and reports mean time and bytes allocated per call. Run with {@code mvn -Pbenchmark test}.</p>
+ */
+@Tag("benchmark")
+@ActiveProfiles("test")
+@SpringBootTest
+class BookReadPathBenchmark {
+
+    private static final int AUTHORS = 200;
+    private static final int BOOKS = 5_000;
+    private static final int PAGE_SIZE = 20;
+    private static final int WARMUP_CALLS = 5_000;
+    private static final int CALLS = 20_000;
+
+    @Autowired
+    private BookServiceImpl bookService;
+
+    @Autowired
+    private AuthorServiceImpl authorService;
+
+    @Autowired
+    private Mapper<BookEntity, BookDto> mapper;
+
+    @Autowired
+    private JdbcBookReader reader;
+
+    @Test
+    void jdbcVersusJpa() {
+        long[] isbns = seed();
+        int pages = BOOKS / PAGE_SIZE;
+        Random random = new Random(42);
+        int[] probes = random.ints(CALLS, 0, BOOKS).toArray();
+        Sort byTitle = Sort.by("title");
+
+        Result jpaPage = measure(i -> bookService.findAll(PageRequest.of(probes[i] % pages, PAGE_SIZE)).map(mapper::toDto));
+        Result jdbcPage = measure(i -> reader.findBooks(PageRequest.of(probes[i] % pages, PAGE_SIZE)).orElseThrow());
+        Result jpaTitle = measure(i -> bookService.findAll(PageRequest.of(probes[i] % pages, PAGE_SIZE, byTitle)).map(mapper::toDto));
+        Result jdbcTitle = measure(i -> reader.findBooks(PageRequest.of(probes[i] % pages, PAGE_SIZE, byTitle)).orElseThrow());
+        Result jpaOne = measure(i -> bookService.findOne(isbns[probes[i]]).map(mapper::toDto).orElseThrow());
+        Result jdbcOne = measure(i -> reader.findBook(isbns[probes[i]]).orElseThrow());
+
+        System.out.printf("%n[BookReadPathBenchmark] %d books, %d authors, %d calls each%n", BOOKS, AUTHORS, CALLS);
+        System.out.printf("  page of %d          JPA   %9.1f µs/call  %9d B/call%n", PAGE_SIZE, jpaPage.micros, jpaPage.bytes);
+        System.out.printf("  page of %d          JDBC  %9.1f µs/call  %9d B/call%n", PAGE_SIZE, jdbcPage.micros, jdbcPage.bytes);
+        System.out.printf("  page of %d by title JPA   %9.1f µs/call  %9d B/call%n", PAGE_SIZE, jpaTitle.micros, jpaTitle.bytes);
+        System.out.printf("  page of %d by title JDBC  %9.1f µs/call  %9d B/call%n", PAGE_SIZE, jdbcTitle.micros, jdbcTitle.bytes);
+        System.out.printf("  one book            JPA   %9.1f µs/call  %9d B/call%n", jpaOne.micros, jpaOne.bytes);
+        System.out.printf("  one book            JDBC  %9.1f µs/call  %9d B/call%n%n", jdbcOne.micros, jdbcOne.bytes);
+    }
+
+    private static Result measure(IntConsumer call) {
+        for (int i = 0; i < WARMUP_CALLS; i++) {
+            call.accept(i % CALLS);
+        }
+        long allocatedBefore = allocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < CALLS; i++) {
+            call.accept(i);
+        }
+        long elapsed = System.nanoTime() - start;
+        return new Result(elapsed / 1e3 / CALLS, (allocatedBytes() - allocatedBefore) / CALLS);
+    }
+
+    /** Bytes allocated so far by the current thread (HotSpot). */
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean()).getCurrentThreadAllocatedBytes();
+    }
+
+    private long[] seed() {
+        List<AuthorEntity> authors = new ArrayList<>();
+        for (int i = 0; i < AUTHORS; i++) {
+            authors.add(authorService.save(AuthorEntity.builder().name("author-" + i).age(30 + i % 50).build()));
+        }
+        long[] isbns = new long[BOOKS];
+        for (int i = 0; i < BOOKS; i++) {
+            isbns[i] = Isbn.withCheckDigit(978_000_000_000L + i);
+            bookService.createUpdateBook(isbns[i], BookEntity.builder()
+                    .title("A reasonably ordinary book title, volume " + i)
+                    .authorEntity(authors.get(i % AUTHORS))
+                    .build());
+        }
+        return isbns;
+    }
+
+    private record Result(double micros, long bytes) {
+    }
+}
@@ -0,0 +1,123 @@
+package com.govind.bookshop.benchmark;
+
+import com.govind.bookshop.author.domain.entity.AuthorEntity;
+import com.govind.bookshop.author.service.impl.AuthorServiceImpl;
+import com.govind.bookshop.book.domain.Isbn;
+import com.govind.bookshop.book.domain.dto.BookDto;
+import com.govind.bookshop.book.domain.entity.BookEntity;
+import com.govind.bookshop.book.service.impl.BookServiceImpl;
+import com.govind.bookshop.mapper.Mapper;
+import com.govind.bookshop.snapshot.CatalogSnapshot;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.function.IntConsumer;
+
+/**
+ * Catalog reads from the {@link CatalogSnapshot} versus the JPA path they replace.
+ *
+ * <p>Seeds {@value #BOOKS} books, waits for the snapshot to catch up, then times the service
+ * calls behind {@code GET /books?page=..&size=20} and {@code GET /books/{isbn}} both ways
+ * (mapping to DTOs included, HTTP excluded) and reports mean time and bytes allocated per call,
+ * plus the snapshot's resident bytes per book. Run with {@code mvn -Pbenchmark test}.</p>
+ */
+@Tag("benchmark")
+@ActiveProfiles("test")
+@SpringBootTest(properties = "bookshop.snapshot.enabled=true")
+class CatalogSnapshotBenchmark {
+
+    private static final int AUTHORS = 200;
+    private static final int BOOKS = 5_000;
+    private static final int PAGE_SIZE = 20;
+    private static final int WARMUP_CALLS = 5_000;
+    private static final int CALLS = 20_000;
+
+    @Autowired
+    private BookServiceImpl bookService;
+
+    @Autowired
+    private AuthorServiceImpl authorService;
+
+    @Autowired
+    private Mapper<BookEntity, BookDto> mapper;
+
+    @Autowired
+    private CatalogSnapshot snapshot;
+
+    @Test
+    void snapshotVersusJpa() throws Exception {
+        long[] isbns = seed();
+        awaitSnapshot();
+        int pages = BOOKS / PAGE_SIZE;
+        Random random = new Random(42);
+        int[] probes = random.ints(CALLS, 0, BOOKS).toArray();
+
+        Result jpaPage = measure(i -> bookService.findAll(PageRequest.of(probes[i] % pages, PAGE_SIZE)).map(mapper::toDto));
+        Result snapshotPage = measure(i -> snapshot.findBooks(PageRequest.of(probes[i] % pages, PAGE_SIZE)).orElseThrow());
+        Result jpaOne = measure(i -> bookService.findOne(isbns[probes[i]]).map(mapper::toDto).orElseThrow());
+        Result snapshotOne = measure(i -> snapshot.findBook(isbns[probes[i]]).orElseThrow());
+
+        System.out.printf("%n[CatalogSnapshotBenchmark] %d books, %d authors, %d calls each%n", BOOKS, AUTHORS, CALLS);
+        System.out.printf("  page of %d   JPA       %9.1f µs/call  %9d B/call%n", PAGE_SIZE, jpaPage.micros, jpaPage.bytes);
+        System.out.printf("  page of %d   snapshot  %9.1f µs/call  %9d B/call%n", PAGE_SIZE, snapshotPage.micros, snapshotPage.bytes);
+        System.out.printf("  one book     JPA       %9.1f µs/call  %9d B/call%n", jpaOne.micros, jpaOne.bytes);
+        System.out.printf("  one book     snapshot  %9.1f µs/call  %9d B/call%n", snapshotOne.micros, snapshotOne.bytes);
+        System.out.printf("  snapshot resident      %9d B total  %9.1f B/book (incl. authors, arena, growth slack)%n%n",
+                snapshot.footprintBytes(), snapshot.footprintBytes() / (double) BOOKS);
+    }
+
+    private static Result measure(IntConsumer call) {
+        for (int i = 0; i < WARMUP_CALLS; i++) {
+            call.accept(i % CALLS);
+        }
+        long allocatedBefore = allocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < CALLS; i++) {
+            call.accept(i);
+        }
+        long elapsed = System.nanoTime() - start;
+        return new Result(elapsed / 1e3 / CALLS, (allocatedBytes() - allocatedBefore) / CALLS);
+    }
+
+    /** Bytes allocated so far by the current thread (HotSpot). */
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean()).getCurrentThreadAllocatedBytes();
+    }
+
+    private void awaitSnapshot() throws InterruptedException {
+        long deadline = System.nanoTime() + 60_000_000_000L;
+        while (!snapshot.isReady() || snapshot.bookCount() < BOOKS) {
+            if (System.nanoTime() > deadline) {
+                throw new IllegalStateException("snapshot did not catch up: " + snapshot.bookCount() + " books");
+            }
+            Thread.sleep(50);
+        }
+    }
+
+    private long[] seed() {
+        List<AuthorEntity> authors = new ArrayList<>();
+        for (int i = 0; i < AUTHORS; i++) {
+            authors.add(authorService.save(AuthorEntity.builder().name("author-" + i).age(30 + i % 50).build()));
+        }
+        long[] isbns = new long[BOOKS];
+        for (int i = 0; i < BOOKS; i++) {
+            isbns[i] = Isbn.withCheckDigit(978_000_000_000L + i);
+            bookService.createUpdateBook(isbns[i], BookEntity.builder()
+                    .title("A reasonably ordinary book title, volume " + i)
+                    .authorEntity(authors.get(i % AUTHORS))
+                    .build());
+        }
+        return isbns;
+    }
+
+    private record Result(double micros, long bytes) {
+    }
+}
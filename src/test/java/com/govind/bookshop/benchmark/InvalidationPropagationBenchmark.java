@@ -0,0 +1,74 @@
+package com.govind.bookshop.benchmark;
+
+import com.govind.bookshop.author.domain.entity.AuthorEntity;
+import com.govind.bookshop.author.service.impl.AuthorServiceImpl;
+import com.govind.bookshop.book.domain.Isbn;
+import com.govind.bookshop.book.domain.dto.BookDto;
+import com.govind.bookshop.book.domain.entity.BookEntity;
+import com.govind.bookshop.book.service.impl.BookServiceImpl;
+import com.govind.bookshop.invalidation.ClusterHarness;
+import com.govind.bookshop.snapshot.CatalogSnapshot;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+/**
+ * Write-to-visibility latency across instances: a book updated on node 0 until every other
+ * node's catalog snapshot serves the new title.
+ *
+ * <p>Starts {@value #NODES} instances with {@link ClusterHarness} (in-JVM transport, shared
+ * in-memory database), performs {@value #WRITES} sequential updates and reports p50, p99 and
+ * max. The transport adds no network hop here, so the figures are the bus's batching linger
+ * plus change-feed catch-up; add the database round trip of {@code NOTIFY} for PostgreSQL.
+ * Run with {@code mvn -Pbenchmark test}.</p>
+ */
+@Tag("benchmark")
+class InvalidationPropagationBenchmark {
+
+    private static final int NODES = 3;
+    private static final int WARMUP_WRITES = 200;
+    private static final int WRITES = 1_000;
+    private static final long ISBN = Isbn.withCheckDigit(978_000_000_000L);
+
+    @Test
+    void writeToVisibilityAcrossNodes() {
+        try (ClusterHarness cluster = new ClusterHarness(NODES)) {
+            BookServiceImpl books = cluster.bean(0, BookServiceImpl.class);
+            AuthorEntity author = cluster.bean(0, AuthorServiceImpl.class)
+                    .save(AuthorEntity.builder().name("author").age(40).build());
+            CatalogSnapshot[] replicas = new CatalogSnapshot[NODES - 1];
+            for (int node = 1; node < NODES; node++) {
+                replicas[node - 1] = cluster.bean(node, CatalogSnapshot.class);
+            }
+
+            for (int i = 0; i < WARMUP_WRITES; i++) {
+                writeAndAwait(books, author, replicas, "warmup-" + i);
+            }
+            long[] nanos = new long[WRITES];
+            for (int i = 0; i < WRITES; i++) {
+                nanos[i] = writeAndAwait(books, author, replicas, "title-" + i);
+            }
+            Arrays.sort(nanos);
+
+            System.out.printf("%n[InvalidationPropagationBenchmark] %d nodes, %d writes on node 0%n", NODES, WRITES);
+            System.out.printf("  visible on all nodes  p50 %8.2f ms  p99 %8.2f ms  max %8.2f ms%n%n",
+                    nanos[WRITES / 2] / 1e6, nanos[WRITES * 99 / 100] / 1e6, nanos[WRITES - 1] / 1e6);
+        }
+    }
+
+    /** Nanoseconds from the start of the write until every replica serves {@code title}. */
+    private static long writeAndAwait(BookServiceImpl books, AuthorEntity author, CatalogSnapshot[] replicas, String title) {
+        long start = System.nanoTime();
+        books.createUpdateBook(ISBN, BookEntity.builder().title(title).authorEntity(author).build());
+        for (CatalogSnapshot replica : replicas) {
+            while (!title.equals(replica.findBook(ISBN).map(BookDto::getTitle).orElse(null))) {
+                if (System.nanoTime() - start > 10_000_000_000L) {
+                    throw new IllegalStateException("write not visible after 10s: " + title);
+                }
+                Thread.onSpinWait();
+            }
+        }
+        return System.nanoTime() - start;
+    }
+}
@@ -0,0 +1,143 @@
+package com.govind.bookshop.benchmark;
+
+import com.govind.bookshop.book.domain.Isbn;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * {@code VARCHAR} ISBN primary key (as stored before V4, hyphenated) versus the numeric
+ * {@code BIGINT} key.
+ *
+ * <p>Loads the same {@value #ROWS} books into two otherwise identical file-backed H2 tables
+ * and reports on-disk size per table and mean primary-key lookup time. The numeric lookup
+ * includes canonicalizing the request string with {@link Isbn#parse(String)}, as the API does.
+ * Run with {@code mvn -Pbenchmark test}; for PostgreSQL index sizes see
+ * {@code scripts/bench/isbn_key_size.sql}.</p>
+ */
+@Tag("benchmark")
+class IsbnKeyBenchmark {
+
+    private static final int ROWS = 200_000;
+    private static final int LOOKUPS = 200_000;
+    private static final int WARMUP_ROUNDS = 3;
+
+    @TempDir
+    Path dir;
+
+    @Test
+    void stringVersusNumericKey() throws Exception {
+        try (Connection connection = DriverManager.getConnection("jdbc:h2:file:" + dir.resolve("isbn") + ";MODE=PostgreSQL")) {
+            List<String> isbns = new ArrayList<>(ROWS);
+            for (int i = 0; i < ROWS; i++) {
+                isbns.add(hyphenated(Isbn.withCheckDigit(978_000_000_000L + i * 7L)));
+            }
+            try (Statement ddl = connection.createStatement()) {
+                ddl.execute("CREATE TABLE books_string (isbn VARCHAR(255) PRIMARY KEY, title VARCHAR(255), author_id BIGINT)");
+                ddl.execute("CREATE TABLE books_numeric (isbn BIGINT PRIMARY KEY, title VARCHAR(255), author_id BIGINT)");
+            }
+            load(connection, isbns);
+
+            List<String> probes = new ArrayList<>(LOOKUPS);
+            Random random = new Random(42);
+            for (int i = 0; i < LOOKUPS; i++) {
+                probes.add(isbns.get(random.nextInt(ROWS)));
+            }
+            for (int i = 0; i < WARMUP_ROUNDS; i++) {
+                lookupString(connection, probes);
+                lookupNumeric(connection, probes);
+            }
+            double stringNs = lookupString(connection, probes);
+            double numericNs = lookupNumeric(connection, probes);
+
+            try (Statement stmt = connection.createStatement()) {
+                stmt.execute("CHECKPOINT SYNC");
+            }
+            System.out.printf("ISBN key benchmark (H2, %d rows, %d lookups)%n", ROWS, LOOKUPS);
+            System.out.printf("  VARCHAR key  %10d bytes  %8.0f ns/lookup%n", diskSpace(connection, "BOOKS_STRING"), stringNs);
+            System.out.printf("  BIGINT key   %10d bytes  %8.0f ns/lookup%n", diskSpace(connection, "BOOKS_NUMERIC"), numericNs);
+        }
+    }
+
+    private static void load(Connection connection, List<String> isbns) throws SQLException {
+        connection.setAutoCommit(false);
+        try (PreparedStatement string = connection.prepareStatement("INSERT INTO books_string VALUES (?, ?, ?)");
+             PreparedStatement numeric = connection.prepareStatement("INSERT INTO books_numeric VALUES (?, ?, ?)")) {
+            for (int i = 0; i < isbns.size(); i++) {
+                String title = "title-" + i;
+                string.setString(1, isbns.get(i));
+                string.setString(2, title);
+                string.setLong(3, i % 1000);
+                string.addBatch();
+                numeric.setLong(1, Isbn.parse(isbns.get(i)));
+                numeric.setString(2, title);
+                numeric.setLong(3, i % 1000);
+                numeric.addBatch();
+                if (i % 1000 == 999) {
+                    string.executeBatch();
+                    numeric.executeBatch();
+                }
+            }
+            string.executeBatch();
+            numeric.executeBatch();
+        }
+        connection.commit();
+        connection.setAutoCommit(true);
+    }
+
+    private static double lookupString(Connection connection, List<String> probes) throws SQLException {
+        try (PreparedStatement select = connection.prepareStatement("SELECT title FROM books_string WHERE isbn = ?")) {
+            long start = System.nanoTime();
+            for (String isbn : probes) {
+                select.setString(1, isbn);
+                consume(select);
+            }
+            return (System.nanoTime() - start) / (double) probes.size();
+        }
+    }
+
+    private static double lookupNumeric(Connection connection, List<String> probes) throws SQLException {
+        try (PreparedStatement select = connection.prepareStatement("SELECT title FROM books_numeric WHERE isbn = ?")) {
+            long start = System.nanoTime();
+            for (String isbn : probes) {
+                select.setLong(1, Isbn.parse(isbn));
+                consume(select);
+            }
+            return (System.nanoTime() - start) / (double) probes.size();
+        }
+    }
+
+    private static void consume(PreparedStatement select) throws SQLException {
+        try (ResultSet rs = select.executeQuery()) {
+            if (!rs.next()) {
+                throw new IllegalStateException("seeded ISBN not found");
+            }
+        }
+    }
+
+    private static long diskSpace(Connection connection, String table) throws SQLException {
+        try (Statement stmt = connection.createStatement();
+             ResultSet rs = stmt.executeQuery("SELECT DISK_SPACE_USED('" + table + "')")) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    /** {@code 9780000000002} → {@code 978-0-00-000000-2}, the kind of spelling the old key stored. */
+    private static String hyphenated(long isbn) {
+        String digits = Isbn.format(isbn);
+        return digits.substring(0, 3) + "-" + digits.charAt(3) + "-" + digits.substring(4, 6) + "-"
+                + digits.substring(6, 12) + "-" + digits.charAt(12);
+    }
+}
@@ -0,0 +1,130 @@
+package com.govind.bookshop.benchmark;
+
+import com.govind.bookshop.author.domain.entity.AuthorEntity;
+import com.govind.bookshop.author.service.impl.AuthorServiceImpl;
+import com.govind.bookshop.book.domain.Isbn;
+import com.govind.bookshop.book.domain.entity.BookEntity;
+import com.govind.bookshop.book.service.impl.BookServiceImpl;
+import com.govind.bookshop.json.PageJsonWriter;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * {@code GET /books} as Spring's {@code Page} JSON versus the lean streamed envelope
+ * ({@value PageJsonWriter#MEDIA_TYPE}).
+ *
+ * <p>Requests the same pages both ways through the full MVC stack and reports mean time,
+ * bytes allocated on the request thread, and payload bytes per page. Run with
+ * {@code mvn -Pbenchmark test}.</p>
+ */
+@Tag("benchmark")
+@ActiveProfiles("test")
+@SpringBootTest
+@AutoConfigureMockMvc
+class PageEnvelopeBenchmark {
+
+    private static final int AUTHORS = 50;
+    private static final int BOOKS = 2_000;
+    private static final int PAGE_SIZE = 50;
+    private static final int WARMUP_ROUNDS = 500;
+    private static final int ROUNDS = 2_000;
+
+    /** Runs {@code Callable} handlers on the request thread, so their allocations are measured. */
+    @TestConfiguration
+    static class InlineAsync implements WebMvcConfigurer {
+
+        @Override
+        public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+            configurer.setTaskExecutor(new TaskExecutorAdapter(Runnable::run));
+        }
+    }
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private BookServiceImpl bookService;
+
+    @Autowired
+    private AuthorServiceImpl authorService;
+
+    @Test
+    void pageJsonVersusLeanEnvelope() throws Exception {
+        seed();
+        Result page = measure(MediaType.APPLICATION_JSON_VALUE);
+        Result lean = measure(PageJsonWriter.MEDIA_TYPE);
+
+        System.out.printf("%n[PageEnvelopeBenchmark] page size %d, %d rounds%n", PAGE_SIZE, ROUNDS);
+        System.out.printf("  Page<BookDto> JSON  %8.1f µs/page  %9d B allocated/page  %7d B payload%n",
+                page.micros, page.allocated, page.payload);
+        System.out.printf("  lean envelope       %8.1f µs/page  %9d B allocated/page  %7d B payload%n%n",
+                lean.micros, lean.allocated, lean.payload);
+    }
+
+    private Result measure(String accept) throws Exception {
+        int pages = BOOKS / PAGE_SIZE;
+        for (int i = 0; i < WARMUP_ROUNDS; i++) {
+            request(accept, i % pages);
+        }
+        long payload = 0;
+        long allocatedBefore = allocatedBytes();
+        long start = System.nanoTime();
+        for (int i = 0; i < ROUNDS; i++) {
+            payload += request(accept, i % pages);
+        }
+        long elapsed = System.nanoTime() - start;
+        return new Result(elapsed / 1e3 / ROUNDS, (allocatedBytes() - allocatedBefore) / ROUNDS, payload / ROUNDS);
+    }
+
+    private int request(String accept, int page) throws Exception {
+        MvcResult result = mockMvc.perform(get("/books")
+                        .param("page", Integer.toString(page))
+                        .param("size", Integer.toString(PAGE_SIZE))
+                        .param("sort", "title")
+                        .accept(accept))
+                .andReturn();
+        if (result.getRequest().isAsyncStarted()) {
+            result = mockMvc.perform(asyncDispatch(result)).andReturn();
+        }
+        return result.getResponse().getContentAsByteArray().length;
+    }
+
+    /** Bytes allocated so far by the current thread (HotSpot); MockMvc runs requests on it. */
+    private static long allocatedBytes() {
+        return ((com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean()).getCurrentThreadAllocatedBytes();
+    }
+
+    private void seed() {
+        List<AuthorEntity> authors = new ArrayList<>();
+        for (int i = 0; i < AUTHORS; i++) {
+            authors.add(authorService.save(AuthorEntity.builder().name("author-" + i).age(30 + i).build()));
+        }
+        for (int i = 0; i < BOOKS; i++) {
+            bookService.createUpdateBook(Isbn.withCheckDigit(978_000_000_000L + i), BookEntity.builder()
+                    .title("title-" + i)
+                    .authorEntity(authors.get(i % AUTHORS))
+                    .build());
+        }
+    }
+
+    private record Result(double micros, long allocated, long payload) {
+    }
+}
@@ -0,0 +1,53 @@
+package com.govind.bookshop.book.domain;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for {@link Isbn}.
+ */
+class IsbnTest {
+
+    @Test
+    @DisplayName("ISBN-13 with or without separators parses to the same key")
+    void parse_shouldIgnoreSeparators_whenIsbn13() {
+        assertThat(Isbn.parse("9780306406157")).isEqualTo(9780306406157L);
+        assertThat(Isbn.parse("978-0-306-40615-7")).isEqualTo(9780306406157L);
+        assertThat(Isbn.parse("978 0 306 40615 7")).isEqualTo(9780306406157L);
+    }
+
+    @Test
+    @DisplayName("ISBN-10 is converted to its 978-prefixed ISBN-13")
+    void parse_shouldConvertToIsbn13_whenIsbn10() {
+        assertThat(Isbn.parse("0-306-40615-2")).isEqualTo(9780306406157L);
+        assertThat(Isbn.parse("080442957X")).isEqualTo(9780804429573L);
+        assertThat(Isbn.parse("080442957x")).isEqualTo(9780804429573L);
+    }
+
+    @Test
+    @DisplayName("wrong check digits, prefixes, lengths and characters are rejected")
+    void tryParse_shouldBeEmpty_whenInvalid() {
+        assertThat(Isbn.tryParse("9780306406158")).isEmpty();
+        assertThat(Isbn.tryParse("0-306-40615-3")).isEmpty();
+        assertThat(Isbn.tryParse("9770306406150")).isEmpty();
+        assertThat(Isbn.tryParse("978030640615")).isEmpty();
+        assertThat(Isbn.tryParse("97803064061570")).isEmpty();
+        assertThat(Isbn.tryParse("978030640615X")).isEmpty();
+        assertThat(Isbn.tryParse("")).isEmpty();
+        assertThat(Isbn.tryParse(null)).isEmpty();
+        assertThatThrownBy(() -> Isbn.parse("123-123-145-675")).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    @DisplayName("format and parse round-trip; withCheckDigit completes a 12-digit prefix")
+    void format_shouldRoundTrip_whenKeyIsCanonical() {
+        long key = Isbn.withCheckDigit(979_10_90636_07L);
+
+        assertThat(key).isEqualTo(9791090636071L);
+        assertThat(Isbn.format(key)).isEqualTo("9791090636071");
+        assertThat(Isbn.parse(Isbn.format(key))).isEqualTo(key);
+    }
+}
@@ -0,0 +1,111 @@
+package com.govind.bookshop.book.repository;
+
+import com.govind.bookshop.author.domain.entity.AuthorEntity;
+import com.govind.bookshop.author.service.impl.AuthorServiceImpl;
+import com.govind.bookshop.book.domain.Isbn;
+import com.govind.bookshop.book.domain.dto.BookDto;
+import com.govind.bookshop.book.domain.entity.BookEntity;
+import com.govind.bookshop.book.service.impl.BookServiceImpl;
+import com.govind.bookshop.mapper.Mapper;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@link JdbcBookReader} against the migrated H2 schema: every read must equal what the JPA
+ * path and the mapper produce for the same rows.
+ */
+@ActiveProfiles("test")
+@SpringBootTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class JdbcBookReaderIntegrationTest {
+
+    private static final int BOOKS = 7;
+
+    private final JdbcBookReader reader;
+    private final BookServiceImpl bookService;
+    private final AuthorServiceImpl authorService;
+    private final Mapper<BookEntity, BookDto> mapper;
+
+    @Autowired
+    JdbcBookReaderIntegrationTest(JdbcBookReader reader, BookServiceImpl bookService,
+                                  AuthorServiceImpl authorService, Mapper<BookEntity, BookDto> mapper) {
+        this.reader = reader;
+        this.bookService = bookService;
+        this.authorService = authorService;
+        this.mapper = mapper;
+    }
+
+    @Test
+    @DisplayName("single books match the JPA mapping, with and without an author")
+    void findBook_shouldMatchJpa_whenBookExists() {
+        long[] isbns = seed();
+
+        assertThat(reader.isEnabled()).isTrue();
+        for (long isbn : isbns) {
+            assertThat(reader.findBook(isbn)).isEqualTo(bookService.findOne(isbn).map(mapper::toDto));
+        }
+        assertThat(reader.findBook(isbns[BOOKS - 1]).orElseThrow().getAuthor()).isNull();
+        assertThat(reader.findBook(Isbn.withCheckDigit(979_000_000_000L))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("pages match the JPA pages in content and totals for every supported sort")
+    void findBooks_shouldMatchJpa_whenSortSupported() {
+        seed();
+
+        for (Sort sort : new Sort[] {Sort.unsorted(), Sort.by("isbn"), Sort.by(Sort.Direction.DESC, "isbn"),
+                Sort.by("title"), Sort.by(Sort.Direction.DESC, "title").and(Sort.by("isbn"))}) {
+            for (int page = 0; page < 3; page++) {
+                Pageable pageable = PageRequest.of(page, 3, sort);
+                Page<BookDto> jdbc = reader.findBooks(pageable).orElseThrow();
+                Page<BookDto> jpa = bookService.findAll(jpaPageable(pageable)).map(mapper::toDto);
+
+                assertThat(jdbc.getContent()).as("%s", pageable).isEqualTo(jpa.getContent());
+                assertThat(jdbc.getTotalElements()).isEqualTo(BOOKS);
+                assertThat(jdbc.getTotalPages()).isEqualTo(jpa.getTotalPages());
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("sorts outside isbn/title are left to JPA")
+    void findBooks_shouldReturnEmpty_whenSortUnsupported() {
+        assertThat(reader.findBooks(PageRequest.of(0, 3, Sort.by("authorEntity.name")))).isEmpty();
+        assertThat(reader.findBooks(PageRequest.of(0, 3, Sort.by(Sort.Order.by("title").ignoreCase())))).isEmpty();
+        assertThat(reader.findBooks(Pageable.unpaged())).isEmpty();
+    }
+
+    /** The same order JPA must produce; the reader breaks ties by ISBN. */
+    private static Pageable jpaPageable(Pageable pageable) {
+        Sort sort = pageable.getSort();
+        if (sort.getOrderFor("isbn") == null) {
+            sort = sort.and(Sort.by("isbn"));
+        }
+        return PageRequest.of(pageable.getPageNumber(), pageable.getPageSize(), sort);
+    }
+
+    /** Books sharing titles across two authors, plus one without an author. */
+    private long[] seed() {
+        AuthorEntity first = authorService.save(AuthorEntity.builder().name("Ursula").age(88).build());
+        AuthorEntity second = authorService.save(AuthorEntity.builder().name("Italo").age(null).build());
+        long[] isbns = new long[BOOKS];
+        for (int i = 0; i < BOOKS; i++) {
+            isbns[i] = Isbn.withCheckDigit(978_000_000_000L + (BOOKS - i) * 10L);
+            bookService.createUpdateBook(isbns[i], BookEntity.builder()
+                    .title("title-" + i % 3)
+                    .authorEntity(i == BOOKS - 1 ? null : (i % 2 == 0 ? first : second))
+                    .build());
+        }
+        return isbns;
+    }
+}
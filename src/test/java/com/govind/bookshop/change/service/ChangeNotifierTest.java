@@ -0,0 +1,154 @@
+package com.govind.bookshop.change.service;
+
+import com.govind.bookshop.change.domain.entity.ChangeEntity;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link ChangeNotifier} and {@link SharedChangeReads}.
+ */
+class ChangeNotifierTest {
+
+    private final ChangeNotifier notifier = new ChangeNotifier(2);
+
+    @AfterEach
+    void shutdown() {
+        notifier.shutdown();
+    }
+
+    @Test
+    @DisplayName("a listener that blocks does not hold up the others")
+    void wake_shouldRunOtherListeners_whenOneBlocks() throws InterruptedException {
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch others = new CountDownLatch(3);
+        notifier.subscribe(() -> {
+            blocked.countDown();
+            await(release);
+        });
+        notifier.subscribe(others::countDown);
+
+        wakeAndWait();
+        assertThat(blocked.await(5, TimeUnit.SECONDS)).isTrue();
+        wakeAndWait();
+        wakeAndWait();
+
+        assertThat(others.await(5, TimeUnit.SECONDS)).isTrue();
+        release.countDown();
+    }
+
+    @Test
+    @DisplayName("wake-ups during a run fold into one more run, never a concurrent one")
+    void wake_shouldRerunOnce_whenWokenWhileRunning() throws InterruptedException {
+        CountDownLatch running = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger runs = new AtomicInteger();
+        AtomicInteger concurrent = new AtomicInteger();
+        AtomicInteger maxConcurrent = new AtomicInteger();
+        notifier.subscribe(() -> {
+            maxConcurrent.accumulateAndGet(concurrent.incrementAndGet(), Math::max);
+            runs.incrementAndGet();
+            running.countDown();
+            await(release);
+            concurrent.decrementAndGet();
+        });
+
+        wakeAndWait();
+        assertThat(running.await(5, TimeUnit.SECONDS)).isTrue();
+        for (int i = 0; i < 5; i++) {
+            wakeAndWait();
+        }
+        release.countDown();
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (runs.get() < 2 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        Thread.sleep(100);
+        assertThat(runs).hasValue(2);
+        assertThat(maxConcurrent).hasValue(1);
+    }
+
+    @Test
+    @DisplayName("readers at the same position share one query per wake-up")
+    void readSince_shouldShareOneQuery_whenSamePositionAndWakeUp() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicInteger queries = new AtomicInteger();
+        SharedChangeReads reads = new SharedChangeReads(new CountingChangeService(() -> {
+            queries.incrementAndGet();
+            await(release);
+            return new ChangeBatch(List.of(), 42, false);
+        }), notifier);
+
+        CompletableFuture<ChangeBatch> first = CompletableFuture.supplyAsync(() -> reads.readSince(42, 100));
+        CompletableFuture<ChangeBatch> second = CompletableFuture.supplyAsync(() -> reads.readSince(42, 100));
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (queries.get() == 0 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        Thread.sleep(100);
+        release.countDown();
+
+        assertThat(first.get(5, TimeUnit.SECONDS)).isSameAs(second.get(5, TimeUnit.SECONDS));
+        assertThat(queries).hasValue(1);
+
+        reads.readSince(7, 100);
+        assertThat(queries).hasValue(2);
+
+        wakeAndWait();
+        reads.readSince(42, 100);
+        assertThat(queries).hasValue(3);
+    }
+
+    /** Wakes listeners and waits until the wake-up has been dispatched. */
+    private void wakeAndWait() throws InterruptedException {
+        long before = notifier.generation();
+        notifier.wake();
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (notifier.generation() == before && System.nanoTime() < deadline) {
+            Thread.sleep(5);
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(10, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /** Answers {@code readSince} from {@code reads}; nothing else is used. */
+    private record CountingChangeService(Supplier<ChangeBatch> reads) implements ChangeService {
+
+        @Override
+        public void record(ChangeEntity.Type type, String key, ChangeEntity.Op op) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public void recordAll(ChangeEntity.Type type, List<String> keys, ChangeEntity.Op op) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public <T> T deferring(Supplier<T> work) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public ChangeBatch readSince(long since, int limit) {
+            return reads.get();
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package com.govind.bookshop.controller;
+
+import com.govind.bookshop.allocation.AllocationController;
+import com.govind.bookshop.jfr.JfrAdminController;
+import com.govind.bookshop.membership.MembershipController;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * The unauthenticated diagnostic endpoints on the API port are off unless configured.
+ *
+ * <p>Naming convention: <b>&lt;operation&gt;_should&lt;Expected&gt;_when&lt;Condition&gt;</b>.</p>
+ */
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+@SpringBootTest
+public class AdminEndpointsDisabledIntegrationTest {
+
+    private final MockMvc mockMvc;
+    private final ApplicationContext context;
+
+    @Autowired
+    public AdminEndpointsDisabledIntegrationTest(MockMvc mockMvc, ApplicationContext context) {
+        this.mockMvc = mockMvc;
+        this.context = context;
+    }
+
+    @Test
+    @DisplayName("GET /admin/jfr → 404 unless bookshop.jfr.admin.enabled")
+    public void jfrAdmin_shouldNotBeMapped_whenNotEnabled() throws Exception {
+        assertThat(context.getBeanNamesForType(JfrAdminController.class)).isEmpty();
+        mockMvc.perform(get("/admin/jfr")).andExpect(MockMvcResultMatchers.status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("GET/DELETE /debug/allocations → 404 unless bookshop.allocations.debug.enabled")
+    public void allocations_shouldNotBeMapped_whenNotEnabled() throws Exception {
+        assertThat(context.getBeanNamesForType(AllocationController.class)).isEmpty();
+        mockMvc.perform(get("/debug/allocations")).andExpect(MockMvcResultMatchers.status().isNotFound());
+        mockMvc.perform(delete("/debug/allocations")).andExpect(MockMvcResultMatchers.status().isNotFound());
+    }
+
+    @Test
+    @DisplayName("GET /debug/membership → 404 unless bookshop.membership.debug.enabled")
+    public void membership_shouldNotBeMapped_whenNotEnabled() throws Exception {
+        assertThat(context.getBeanNamesForType(MembershipController.class)).isEmpty();
+        mockMvc.perform(get("/debug/membership")).andExpect(MockMvcResultMatchers.status().isNotFound());
+    }
+}
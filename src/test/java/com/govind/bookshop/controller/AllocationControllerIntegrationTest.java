@@ -0,0 +1,110 @@
+package com.govind.bookshop.controller;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.govind.bookshop.MockDataUtil;
+import com.govind.bookshop.author.domain.entity.AuthorEntity;
+import com.govind.bookshop.author.service.impl.AuthorServiceImpl;
+import com.govind.bookshop.book.domain.Isbn;
+import com.govind.bookshop.book.domain.entity.BookEntity;
+import com.govind.bookshop.book.service.impl.BookServiceImpl;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.delete;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * Integration tests for {@code /debug/allocations}.
+ *
+ * <p>Naming convention: <b>&lt;operation&gt;_should&lt;Expected&gt;_when&lt;Condition&gt;</b>
+ * (underscores improve readability in Java identifiers).</p>
+ */
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+// The JPA read path, so GET /books has a mapping phase to attribute.
+@SpringBootTest(properties = {"bookshop.books.read-path=jpa", "bookshop.allocations.debug.enabled=true"})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class AllocationControllerIntegrationTest {
+
+    private final MockMvc mockMvc;
+    private final AuthorServiceImpl authorService;
+    private final BookServiceImpl bookService;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+
+    @Autowired
+    public AllocationControllerIntegrationTest(MockMvc mockMvc, AuthorServiceImpl authorService,
+                                               BookServiceImpl bookService) {
+        this.mockMvc = mockMvc;
+        this.authorService = authorService;
+        this.bookService = bookService;
+    }
+
+    @Test
+    @DisplayName("GET /debug/allocations → per route and page size, with repository, mapping and serialization bytes")
+    public void allocations_shouldBreakDownByRouteAndPhase_whenRequestsWereServed() throws Exception {
+        seed(30);
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(asyncDispatch(mockMvc.perform(get("/books").param("size", "20").param("sort", "title")).andReturn()))
+                    .andExpect(MockMvcResultMatchers.status().isOk());
+        }
+        mockMvc.perform(asyncDispatch(mockMvc.perform(get("/books").param("size", "5").param("sort", "title")).andReturn()))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+
+        String body = mockMvc.perform(get("/debug/allocations"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        List<Map<String, Object>> routes = objectMapper.readValue(body, new TypeReference<>() {
+        });
+
+        Map<String, Object> pagesOf20 = find(routes, "GET /books", "32");
+        assertThat(pagesOf20.get("requests")).isEqualTo(3);
+        assertThat(((Number) pagesOf20.get("meanRepositoryBytes")).longValue()).isPositive();
+        assertThat(((Number) pagesOf20.get("meanMappingBytes")).longValue()).isPositive();
+        assertThat(((Number) pagesOf20.get("meanSerializationBytes")).longValue()).isPositive();
+        assertThat(((Number) pagesOf20.get("meanBytes")).longValue())
+                .isGreaterThanOrEqualTo(((Number) pagesOf20.get("meanRepositoryBytes")).longValue());
+        assertThat(find(routes, "GET /books", "8").get("requests")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("DELETE /debug/allocations → 204, figures start afresh")
+    public void resetAllocations_shouldClearMeans_whenCalled() throws Exception {
+        mockMvc.perform(asyncDispatch(mockMvc.perform(get("/authors")).andReturn()))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+
+        mockMvc.perform(delete("/debug/allocations")).andExpect(MockMvcResultMatchers.status().isNoContent());
+
+        mockMvc.perform(get("/debug/allocations"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[?(@.route == 'GET /authors')].requests").value(0));
+    }
+
+    private static Map<String, Object> find(List<Map<String, Object>> routes, String route, String pageSize) {
+        return routes.stream()
+                .filter(r -> route.equals(r.get("route")) && pageSize.equals(r.get("pageSize")))
+                .findFirst()
+                .orElseThrow(() -> new AssertionError("no figures for " + route + " size " + pageSize + " in " + routes));
+    }
+
+    private void seed(int books) {
+        AuthorEntity author = authorService.save(MockDataUtil.sampleAuthorEntityA());
+        for (int i = 0; i < books; i++) {
+            bookService.createUpdateBook(Isbn.withCheckDigit(978_000_000_000L + i), BookEntity.builder()
+                    .title("title-" + i)
+                    .authorEntity(author)
+                    .build());
+        }
+    }
+}
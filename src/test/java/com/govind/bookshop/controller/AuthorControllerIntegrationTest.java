@@ -4,18 +4,32 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.govind.bookshop.MockDataUtil;
 import com.govind.bookshop.author.domain.dto.AuthorDto;
 import com.govind.bookshop.author.domain.entity.AuthorEntity;
+import com.govind.bookshop.author.service.impl.AuthorBookCountReconciler;
 import com.govind.bookshop.author.service.impl.AuthorServiceImpl;
+import com.govind.bookshop.book.domain.Isbn;
+import com.govind.bookshop.book.domain.entity.BookEntity;
+import com.govind.bookshop.book.service.impl.BookServiceImpl;
+import com.govind.bookshop.json.PageJsonWriter;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.http.MediaType;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 
 /**
@@ -33,11 +47,18 @@ public class AuthorControllerIntegrationTest {
     private final MockMvc mockMvc;
     private final ObjectMapper objectMapper;
     private final AuthorServiceImpl authorService;
+    private final BookServiceImpl bookService;
+    private final AuthorBookCountReconciler reconciler;
+    private final JdbcTemplate jdbcTemplate;
 
     @Autowired
-    public AuthorControllerIntegrationTest(MockMvc mockMvc, AuthorServiceImpl authorService) {
+    public AuthorControllerIntegrationTest(MockMvc mockMvc, AuthorServiceImpl authorService, BookServiceImpl bookService,
+                                           AuthorBookCountReconciler reconciler, JdbcTemplate jdbcTemplate) {
         this.mockMvc = mockMvc;
         this.authorService = authorService;
+        this.bookService = bookService;
+        this.reconciler = reconciler;
+        this.jdbcTemplate = jdbcTemplate;
         this.objectMapper = new ObjectMapper();
     }
 
@@ -71,15 +92,136 @@ public class AuthorControllerIntegrationTest {
         ).andExpect(MockMvcResultMatchers.status().isCreated());
     }
 
+    @Test
+    @DisplayName("POST /authors with Idempotency-Key → a retry replays the first response, one author created")
+    public void createAuthor_shouldReplayFirstResponse_whenIdempotencyKeyIsRetried() throws Exception {
+        String authorJson = objectMapper.writeValueAsString(MockDataUtil.sampleAuthorDtoA());
+
+        String first = mockMvc.perform(post("/authors")
+                        .header("Idempotency-Key", "create-govind-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(authorJson))
+                .andExpect(MockMvcResultMatchers.status().isCreated())
+                .andExpect(MockMvcResultMatchers.header().doesNotExist("Idempotent-Replayed"))
+                .andReturn().getResponse().getContentAsString();
+        String retry = mockMvc.perform(post("/authors")
+                        .header("Idempotency-Key", "create-govind-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(authorJson))
+                .andExpect(MockMvcResultMatchers.status().isCreated())
+                .andExpect(MockMvcResultMatchers.header().string("Idempotent-Replayed", "true"))
+                .andReturn().getResponse().getContentAsString();
+
+        assertThat(retry).isEqualTo(first);
+        assertThat(jdbcTemplate.queryForObject("select count(*) from authors", Long.class)).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("POST /authors with Idempotency-Key → concurrent duplicates create one author")
+    public void createAuthor_shouldCreateOnce_whenDuplicatesAreConcurrent() throws Exception {
+        String authorJson = objectMapper.writeValueAsString(MockDataUtil.sampleAuthorDtoA());
+        ExecutorService pool = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<String>> responses = new ArrayList<>();
+            for (int i = 0; i < 8; i++) {
+                responses.add(pool.submit(() -> mockMvc.perform(post("/authors")
+                                .header("Idempotency-Key", "create-govind-2")
+                                .contentType(MediaType.APPLICATION_JSON)
+                                .content(authorJson))
+                        .andExpect(MockMvcResultMatchers.status().isCreated())
+                        .andReturn().getResponse().getContentAsString()));
+            }
+            for (Future<String> response : responses) {
+                assertThat(response.get()).isEqualTo(responses.get(0).get());
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+        assertThat(jdbcTemplate.queryForObject("select count(*) from authors", Long.class)).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("POST /authors with a reused Idempotency-Key and a different payload → 422")
+    public void createAuthor_shouldReturn422_whenIdempotencyKeyIsReusedForOtherPayload() throws Exception {
+        mockMvc.perform(post("/authors")
+                        .header("Idempotency-Key", "create-3")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(MockDataUtil.sampleAuthorDtoA())))
+                .andExpect(MockMvcResultMatchers.status().isCreated());
+
+        mockMvc.perform(post("/authors")
+                        .header("Idempotency-Key", "create-3")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(MockDataUtil.sampleAuthorEntityB())))
+                .andExpect(MockMvcResultMatchers.status().isUnprocessableEntity());
+        assertThat(jdbcTemplate.queryForObject("select count(*) from authors", Long.class)).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("POST /authors:batch → 201, every author created, ids returned in request order")
+    public void createAuthors_shouldReturnIdsInRequestOrder_whenBatchIsValid() throws Exception {
+        List<AuthorDto> authors = new ArrayList<>();
+        for (int i = 0; i < 120; i++) {
+            authors.add(AuthorDto.builder().name("author-" + i).age(20 + i % 60).build());
+        }
+
+        String body = mockMvc.perform(post("/authors:batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(authors)))
+                .andExpect(MockMvcResultMatchers.status().isCreated())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.length()").value(120))
+                .andReturn().getResponse().getContentAsString();
+
+        List<AuthorDto> created = List.of(objectMapper.readValue(body, AuthorDto[].class));
+        for (int i = 0; i < created.size(); i++) {
+            assertThat(created.get(i).getName()).isEqualTo("author-" + i);
+            mockMvc.perform(get("/authors/" + created.get(i).getId()))
+                    .andExpect(MockMvcResultMatchers.jsonPath("$.name").value("author-" + i));
+        }
+        assertThat(created.stream().map(AuthorDto::getId).distinct().count()).isEqualTo(120);
+        assertThat(jdbcTemplate.queryForObject("select count(*) from changes where entity_type = 'AUTHOR'", Long.class))
+                .isEqualTo(120L);
+    }
+
+    @Test
+    @DisplayName("POST /authors:batch → 400 Bad Request when empty or over the size limit")
+    public void createAuthors_shouldReturn400BadRequest_whenBatchIsEmptyOrTooLarge() throws Exception {
+        List<AuthorDto> tooMany = new ArrayList<>();
+        for (int i = 0; i < 5001; i++) {
+            tooMany.add(AuthorDto.builder().name("author-" + i).build());
+        }
+
+        mockMvc.perform(post("/authors:batch").contentType(MediaType.APPLICATION_JSON).content("[]"))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+        mockMvc.perform(post("/authors:batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(tooMany)))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+        assertThat(jdbcTemplate.queryForObject("select count(*) from authors", Long.class)).isZero();
+    }
+
+    @Test
+    @DisplayName("insert without an id (raw SQL) → takes a fresh sequence value, never one Hibernate reserved")
+    public void authorIds_shouldNotCollide_whenRowsAreInsertedWithoutId() throws Exception {
+        AuthorEntity first = authorService.save(MockDataUtil.sampleAuthorEntityA());
+        jdbcTemplate.update("insert into authors (name, age) values ('raw', 40)");
+        AuthorEntity second = authorService.save(MockDataUtil.sampleAuthorEntityB());
+
+        Long raw = jdbcTemplate.queryForObject("select id from authors where name = 'raw'", Long.class);
+        assertThat(List.of(first.getId(), raw, second.getId())).doesNotHaveDuplicates();
+    }
+
     // -------------------- READ (LIST) --------------------
 
     @Test
     @DisplayName("GET /authors → 200 OK")
     public void listAuthors_shouldReturn200OK_whenCalled() throws Exception {
-        mockMvc.perform(
+        MvcResult started = mockMvc.perform(
                 get("/authors")
                         .contentType(MediaType.APPLICATION_JSON)
-        ).andExpect(MockMvcResultMatchers.status().isOk());
+        ).andExpect(MockMvcResultMatchers.request().asyncStarted()).andReturn();
+
+        mockMvc.perform(asyncDispatch(started)).andExpect(MockMvcResultMatchers.status().isOk());
     }
 
     @Test
@@ -89,10 +231,13 @@ public class AuthorControllerIntegrationTest {
         AuthorEntity author = MockDataUtil.createMockAuthorDataA();
         authorService.save(author);
 
-        mockMvc.perform(
-                        get("/authors")
-                                .contentType(MediaType.APPLICATION_JSON)
-                ).andExpect(MockMvcResultMatchers.jsonPath("$[0].id").isNumber())
+        MvcResult started = mockMvc.perform(
+                get("/authors")
+                        .contentType(MediaType.APPLICATION_JSON)
+        ).andReturn();
+
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].id").isNumber())
                 .andExpect(MockMvcResultMatchers.jsonPath("$[0].name").value("govind"))
                 .andExpect(MockMvcResultMatchers.jsonPath("$[0].age").value(23));
     }
@@ -240,4 +385,120 @@ public class AuthorControllerIntegrationTest {
                         .contentType(MediaType.APPLICATION_JSON)
         ).andExpect(MockMvcResultMatchers.status().isNoContent());
     }
+
+    // -------------------- BOOK COUNTS --------------------
+
+    @Test
+    @DisplayName("GET /authors/{id} → bookCount reflects books written through the service")
+    public void displayOneAuthor_shouldReturnBookCount_whenAuthorHasBooks() throws Exception {
+        AuthorEntity author = authorService.save(MockDataUtil.sampleAuthorEntityA());
+        BookEntity book1 = MockDataUtil.sampleBookEntity1(author);
+        BookEntity book2 = MockDataUtil.sampleBookEntity2(author);
+        bookService.createUpdateBook(book1.getIsbn(), book1);
+        bookService.createUpdateBook(book2.getIsbn(), book2);
+        // Re-saving an existing book under the same author must not count it twice.
+        bookService.createUpdateBook(book1.getIsbn(), MockDataUtil.sampleBookEntity1(author));
+
+        mockMvc.perform(get("/authors/" + author.getId()))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.bookCount").value(2));
+    }
+
+    @Test
+    @DisplayName("PATCH book author → count moves from the old author to the new one")
+    public void bookCount_shouldMove_whenBookIsReassigned() throws Exception {
+        AuthorEntity from = authorService.save(MockDataUtil.sampleAuthorEntityA());
+        AuthorEntity to = authorService.save(MockDataUtil.sampleAuthorEntityB());
+        BookEntity book = MockDataUtil.sampleBookEntity1(from);
+        bookService.createUpdateBook(book.getIsbn(), book);
+
+        bookService.partialUpdate(book.getIsbn(), BookEntity.builder().authorEntity(to).build());
+
+        mockMvc.perform(get("/authors/" + from.getId()))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.bookCount").value(0));
+        mockMvc.perform(get("/authors/" + to.getId()))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.bookCount").value(1));
+    }
+
+    @Test
+    @DisplayName("concurrent book writes for one author → no lost increments")
+    public void bookCount_shouldBeExact_whenBooksAreWrittenConcurrently() throws Exception {
+        AuthorEntity author = authorService.save(MockDataUtil.sampleAuthorEntityA());
+        int writers = 8;
+        ExecutorService pool = Executors.newFixedThreadPool(writers);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < writers; i++) {
+                long isbn = Isbn.withCheckDigit(978_000_000_000L + i);
+                futures.add(pool.submit(() -> bookService.createUpdateBook(isbn,
+                        BookEntity.builder().title("Book " + isbn).authorEntity(author).build())));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+
+        mockMvc.perform(get("/authors/" + author.getId()))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.bookCount").value(writers));
+    }
+
+    @Test
+    @DisplayName("GET /authors/prolific → authors ordered by bookCount desc")
+    public void listMostProlificAuthors_shouldOrderByBookCountDesc() throws Exception {
+        AuthorEntity one = authorService.save(MockDataUtil.sampleAuthorEntityA());
+        AuthorEntity none = authorService.save(MockDataUtil.sampleAuthorEntityB());
+        AuthorEntity two = authorService.save(MockDataUtil.sampleAuthorEntityC());
+        BookEntity book1 = MockDataUtil.sampleBookEntity1(one);
+        BookEntity book2 = MockDataUtil.sampleBookEntity2(two);
+        BookEntity book3 = MockDataUtil.sampleBookEntity3(two);
+        bookService.createUpdateBook(book1.getIsbn(), book1);
+        bookService.createUpdateBook(book2.getIsbn(), book2);
+        bookService.createUpdateBook(book3.getIsbn(), book3);
+
+        mockMvc.perform(get("/authors/prolific"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content[0].id").value(two.getId()))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content[0].bookCount").value(2))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content[1].id").value(one.getId()))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content[2].id").value(none.getId()))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content[2].bookCount").value(0));
+    }
+
+    @Test
+    @DisplayName("GET /authors/prolific (lean envelope) → same order and counts, lean page fields")
+    public void listMostProlificAuthorsLean_shouldOrderByBookCountDesc_whenLeanMediaTypeRequested() throws Exception {
+        AuthorEntity none = authorService.save(MockDataUtil.sampleAuthorEntityB());
+        AuthorEntity one = authorService.save(MockDataUtil.sampleAuthorEntityA());
+        BookEntity book = MockDataUtil.sampleBookEntity1(one);
+        bookService.createUpdateBook(book.getIsbn(), book);
+
+        mockMvc.perform(get("/authors/prolific").accept(PageJsonWriter.MEDIA_TYPE))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentType(PageJsonWriter.MEDIA_TYPE))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content[0].id").value(one.getId()))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content[0].name").value("govind"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content[0].bookCount").value(1))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content[1].id").value(none.getId()))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content[1].bookCount").value(0))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.size").value(20))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.totalElements").value(2))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.pageable").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("reconciliation → drifted counts are rebuilt from the books table")
+    public void reconcile_shouldRepairDriftedCounts() throws Exception {
+        AuthorEntity author = authorService.save(MockDataUtil.sampleAuthorEntityA());
+        BookEntity book = MockDataUtil.sampleBookEntity1(author);
+        bookService.createUpdateBook(book.getIsbn(), book);
+        jdbcTemplate.update("update authors set book_count = 42 where id = ?", author.getId());
+
+        assertThat(reconciler.reconcile()).isEqualTo(1);
+        assertThat(reconciler.reconcile()).isZero();
+
+        mockMvc.perform(get("/authors/" + author.getId()))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.bookCount").value(1));
+    }
 }
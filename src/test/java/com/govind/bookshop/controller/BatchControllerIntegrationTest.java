@@ -0,0 +1,219 @@
+package com.govind.bookshop.controller;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.Collections;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Integration tests for {@code POST /batch}: ordered mixed writes in one transaction.
+ *
+ * <p>Naming convention: <b>&lt;operation&gt;_should&lt;Expected&gt;_when&lt;Condition&gt;</b>.</p>
+ */
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+@SpringBootTest(properties = "bookshop.batch.max-operations=3")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class BatchControllerIntegrationTest {
+
+    private static final String AMERICAN_GODS = "9780060558123";
+    private static final String MISSING_BOOK = "9780306406157";
+
+    private final MockMvc mockMvc;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Autowired
+    public BatchControllerIntegrationTest(MockMvc mockMvc, JdbcTemplate jdbcTemplate,
+                                          TransactionTemplate transactionTemplate) {
+        this.mockMvc = mockMvc;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @Test
+    @DisplayName("POST /batch → 200, commits all operations, later ones using ids created earlier")
+    public void executeBatch_shouldCommitAll_whenEveryOperationSucceeds() throws Exception {
+        String batch = """
+                { "operations": [
+                  { "method": "POST", "path": "/authors", "ref": "gaiman", "body": { "name": "Neil Gaiman", "age": 45 } },
+                  { "method": "PUT", "path": "/books/978-0-06-055812-3",
+                    "body": { "title": "American Gods", "author": { "id": "$gaiman", "name": "Neil Gaiman", "age": 45 } } },
+                  { "method": "PATCH", "path": "/authors/$gaiman", "body": { "age": 46 } }
+                ] }""";
+
+        mockMvc.perform(post("/batch").contentType(MediaType.APPLICATION_JSON).content(batch))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.committed").value(true))
+                .andExpect(jsonPath("$.operations[0].status").value(201))
+                .andExpect(jsonPath("$.operations[0].ref").value("gaiman"))
+                .andExpect(jsonPath("$.operations[1].status").value(201))
+                .andExpect(jsonPath("$.operations[1].body.isbn").value(AMERICAN_GODS))
+                .andExpect(jsonPath("$.operations[2].status").value(200))
+                .andExpect(jsonPath("$.operations[2].body.age").value(46));
+
+        Long authorId = jdbcTemplate.queryForObject("select id from authors", Long.class);
+        mockMvc.perform(get("/books/" + AMERICAN_GODS))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.author.id").value(authorId));
+        mockMvc.perform(get("/authors/" + authorId))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.age").value(46));
+    }
+
+    @Test
+    @DisplayName("POST /batch → failing operation's status, nothing written, later operations 424")
+    public void executeBatch_shouldRollBackAll_whenAnOperationFails() throws Exception {
+        String batch = """
+                { "operations": [
+                  { "method": "POST", "path": "/authors", "ref": "a", "body": { "name": "Neil Gaiman", "age": 45 } },
+                  { "method": "PATCH", "path": "/books/%s", "body": { "title": "Nope" } },
+                  { "method": "DELETE", "path": "/authors/$a" }
+                ] }""".formatted(MISSING_BOOK);
+
+        mockMvc.perform(post("/batch").contentType(MediaType.APPLICATION_JSON).content(batch))
+                .andExpect(status().isNotFound())
+                .andExpect(jsonPath("$.committed").value(false))
+                .andExpect(jsonPath("$.operations[0].status").value(201))
+                .andExpect(jsonPath("$.operations[1].status").value(404))
+                .andExpect(jsonPath("$.operations[2].status").value(424));
+
+        assertThat(jdbcTemplate.queryForObject("select count(*) from authors", Long.class)).isZero();
+        assertThat(jdbcTemplate.queryForObject("select count(*) from changes", Long.class)).isZero();
+    }
+
+    @Test
+    @DisplayName("POST /batch → 400 before running anything when an operation is malformed")
+    public void executeBatch_shouldReturn400_whenOperationIsInvalid() throws Exception {
+        String batch = """
+                { "operations": [
+                  { "method": "POST", "path": "/authors", "body": { "name": "Neil Gaiman", "age": 45 } },
+                  { "method": "PUT", "path": "/books/%s", "body": { "title": "American Gods" } },
+                  { "method": "DELETE", "path": "/books/12345" }
+                ] }""".formatted(AMERICAN_GODS);
+
+        mockMvc.perform(post("/batch").contentType(MediaType.APPLICATION_JSON).content(batch))
+                .andExpect(status().isBadRequest())
+                .andExpect(jsonPath("$.committed").value(false))
+                .andExpect(jsonPath("$.operations[2].status").value(400))
+                .andExpect(jsonPath("$.operations[2].error").isString());
+
+        assertThat(jdbcTemplate.queryForObject("select count(*) from authors", Long.class)).isZero();
+    }
+
+    @Test
+    @DisplayName("POST /batch → other writers proceed while a batch waits for a row lock")
+    public void executeBatch_shouldNotBlockOtherWriters_whenWaitingForRowLock() throws Exception {
+        putBook();
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> holder = holdBookLock(release);
+
+        String batch = """
+                { "operations": [
+                  { "method": "POST", "path": "/authors", "body": { "name": "Terry Pratchett", "age": 66 } },
+                  { "method": "PATCH", "path": "/books/%s", "body": { "title": "American Gods (10th anniversary)" } }
+                ] }""".formatted(AMERICAN_GODS);
+        CompletableFuture<Integer> batchStatus = CompletableFuture.supplyAsync(() -> postBatch(batch));
+        Thread.sleep(200);
+
+        // The batch is parked on the book row; it must not hold the change counter every write needs.
+        mockMvc.perform(post("/authors").contentType(MediaType.APPLICATION_JSON)
+                        .content("{ \"name\": \"Ursula K. Le Guin\", \"age\": 88 }"))
+                .andExpect(status().isCreated());
+        assertThat(batchStatus).isNotDone();
+
+        release.countDown();
+        holder.get(10, TimeUnit.SECONDS);
+        assertThat(batchStatus.get(10, TimeUnit.SECONDS)).isEqualTo(200);
+        assertThat(jdbcTemplate.queryForObject("select title from books", String.class))
+                .isEqualTo("American Gods (10th anniversary)");
+        assertThat(jdbcTemplate.queryForObject("select count(*) from authors", Long.class)).isEqualTo(3L);
+    }
+
+    @Test
+    @DisplayName("POST /batch → 409 with Retry-After, nothing written, when a row stays locked")
+    public void executeBatch_shouldReturn409_whenRowLockNotAcquired() throws Exception {
+        putBook();
+        CountDownLatch release = new CountDownLatch(1);
+        CompletableFuture<Void> holder = holdBookLock(release);
+        String batch = """
+                { "operations": [
+                  { "method": "POST", "path": "/authors", "body": { "name": "Terry Pratchett", "age": 66 } },
+                  { "method": "DELETE", "path": "/books/%s" }
+                ] }""".formatted(AMERICAN_GODS);
+        try {
+            mockMvc.perform(post("/batch").contentType(MediaType.APPLICATION_JSON).content(batch))
+                    .andExpect(status().isConflict())
+                    .andExpect(header().string("Retry-After", "1"));
+        } finally {
+            release.countDown();
+            holder.get(10, TimeUnit.SECONDS);
+        }
+        assertThat(jdbcTemplate.queryForObject("select count(*) from books", Long.class)).isEqualTo(1L);
+        assertThat(jdbcTemplate.queryForObject("select count(*) from authors", Long.class)).isEqualTo(1L);
+    }
+
+    @Test
+    @DisplayName("POST /batch → 400 for an empty batch or one over the size limit")
+    public void executeBatch_shouldReturn400_whenBatchEmptyOrTooLarge() throws Exception {
+        mockMvc.perform(post("/batch").contentType(MediaType.APPLICATION_JSON).content("{ \"operations\": [] }"))
+                .andExpect(status().isBadRequest());
+
+        String delete = "{ \"method\": \"DELETE\", \"path\": \"/books/" + AMERICAN_GODS + "\" }";
+        String tooMany = "{ \"operations\": [" + String.join(",", Collections.nCopies(4, delete)) + "] }";
+        mockMvc.perform(post("/batch").contentType(MediaType.APPLICATION_JSON).content(tooMany))
+                .andExpect(status().isBadRequest());
+    }
+
+    private void putBook() throws Exception {
+        mockMvc.perform(put("/books/" + AMERICAN_GODS).contentType(MediaType.APPLICATION_JSON)
+                        .content("{ \"title\": \"American Gods\", \"author\": { \"name\": \"Neil Gaiman\", \"age\": 45 } }"))
+                .andExpect(status().isCreated());
+    }
+
+    /** Locks the book row in another transaction until {@code release}; returns once it is held. */
+    private CompletableFuture<Void> holdBookLock(CountDownLatch release) throws InterruptedException {
+        CountDownLatch locked = new CountDownLatch(1);
+        CompletableFuture<Void> holder = CompletableFuture.runAsync(() -> transactionTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.queryForList("select isbn from books where isbn = ? for update", Long.class,
+                    Long.parseLong(AMERICAN_GODS));
+            locked.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }));
+        assertThat(locked.await(10, TimeUnit.SECONDS)).isTrue();
+        return holder;
+    }
+
+    private int postBatch(String batch) {
+        try {
+            return mockMvc.perform(post("/batch").contentType(MediaType.APPLICATION_JSON).content(batch))
+                    .andReturn().getResponse().getStatus();
+        } catch (Exception e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -1,10 +1,14 @@
 package com.govind.bookshop.controller;
 
+import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.govind.bookshop.MockDataUtil;
+import com.govind.bookshop.book.domain.Isbn;
 import com.govind.bookshop.book.domain.dto.BookDto;
 import com.govind.bookshop.book.domain.entity.BookEntity;
 import com.govind.bookshop.book.service.impl.BookServiceImpl;
+import com.govind.bookshop.json.PageJsonWriter;
+import com.govind.bookshop.views.BookViewFlusher;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -12,12 +16,19 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.http.MediaType;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
 
+import java.nio.charset.StandardCharsets;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
 
 /**
@@ -36,12 +47,17 @@ public class BookControllerIntegrationTest {
     private final MockMvc mockMvc;
     private final ObjectMapper objectMapper;
     private final BookServiceImpl bookService;
+    private final BookViewFlusher viewFlusher;
+    private final JdbcTemplate jdbcTemplate;
 
     @Autowired
-    public BookControllerIntegrationTest(MockMvc mockMvc, ObjectMapper objectMapper, BookServiceImpl bookService) {
+    public BookControllerIntegrationTest(MockMvc mockMvc, ObjectMapper objectMapper, BookServiceImpl bookService,
+                                         BookViewFlusher viewFlusher, JdbcTemplate jdbcTemplate) {
         this.mockMvc = mockMvc;
         this.bookService = bookService;
         this.objectMapper = objectMapper;
+        this.viewFlusher = viewFlusher;
+        this.jdbcTemplate = jdbcTemplate;
     }
 
     // -------------------- CREATE/UPDATE via PUT --------------------
@@ -80,7 +96,7 @@ public class BookControllerIntegrationTest {
         String jsonBook = objectMapper.writeValueAsString(book);
 
         mockMvc.perform(
-                put("/books/120-2093-33-213")
+                put("/books/9780596517984")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(jsonBook)
         ).andExpect(MockMvcResultMatchers.status().isCreated());
@@ -95,7 +111,7 @@ public class BookControllerIntegrationTest {
         String jsonBook = objectMapper.writeValueAsString(book0);
 
         mockMvc.perform(
-                put("/books/123-123-145-675")
+                put("/books/" + book0.getIsbn())
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(jsonBook)
         ).andExpect(MockMvcResultMatchers.status().isOk());
@@ -111,10 +127,10 @@ public class BookControllerIntegrationTest {
         String jsonBook = objectMapper.writeValueAsString(book);
 
         mockMvc.perform(
-                        put("/books/123-123-145-675")
+                        put("/books/" + book0.getIsbn())
                                 .contentType(MediaType.APPLICATION_JSON)
                                 .content(jsonBook)
-                ).andExpect(MockMvcResultMatchers.jsonPath("$.isbn").value(book0.getIsbn()))
+                ).andExpect(MockMvcResultMatchers.jsonPath("$.isbn").value(Isbn.format(book0.getIsbn())))
                 .andExpect(MockMvcResultMatchers.jsonPath("$.title").value(book.getTitle()))
                 .andExpect(MockMvcResultMatchers.status().isOk());
     }
@@ -124,10 +140,12 @@ public class BookControllerIntegrationTest {
     @Test
     @DisplayName("GET /books → 200 OK")
     public void listBooks_shouldReturn200OK_whenCalled() throws Exception {
-        mockMvc.perform(
+        MvcResult started = mockMvc.perform(
                 get("/books")
                         .contentType(MediaType.APPLICATION_JSON)
-        ).andExpect(MockMvcResultMatchers.status().isOk());
+        ).andExpect(MockMvcResultMatchers.request().asyncStarted()).andReturn();
+
+        mockMvc.perform(asyncDispatch(started)).andExpect(MockMvcResultMatchers.status().isOk());
     }
 
     @Test
@@ -136,11 +154,105 @@ public class BookControllerIntegrationTest {
         BookEntity book = MockDataUtil.createMockBookData1(null);
         bookService.createUpdateBook(book.getIsbn(), book);
 
+        MvcResult started = mockMvc.perform(
+                get("/books")
+                        .contentType(MediaType.APPLICATION_JSON)
+        ).andReturn();
+
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content[0].isbn").value(Isbn.format(book.getIsbn())))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content[0].title").value(book.getTitle()));
+    }
+
+    @Test
+    @DisplayName("GET /books (lean envelope) → same items as the default page, no pageable/sort metadata")
+    public void listBooksLean_shouldMatchDefaultPageItems_whenLeanMediaTypeRequested() throws Exception {
+        BookEntity withAuthor = MockDataUtil.createMockBookData1(MockDataUtil.createMockAuthorDataA());
+        BookEntity withoutAuthor = MockDataUtil.createMockBookData2(null);
+        bookService.createUpdateBook(withAuthor.getIsbn(), withAuthor);
+        bookService.createUpdateBook(withoutAuthor.getIsbn(), withoutAuthor);
+
+        String standard = mockMvc.perform(asyncDispatch(mockMvc.perform(get("/books").param("sort", "isbn")).andReturn()))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+        String lean = mockMvc.perform(get("/books").param("sort", "isbn").param("size", "1")
+                                .accept(PageJsonWriter.MEDIA_TYPE))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.content().contentType(PageJsonWriter.MEDIA_TYPE))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.page").value(0))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.size").value(1))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.totalElements").value(2))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.totalPages").value(2))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.pageable").doesNotExist())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.sort").doesNotExist())
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+        String leanSecond = mockMvc.perform(get("/books").param("sort", "isbn").param("size", "1").param("page", "1")
+                        .accept(PageJsonWriter.MEDIA_TYPE))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+
+        JsonNode expected = objectMapper.readTree(standard).get("content");
+        assertThat(objectMapper.readTree(lean).get("content").get(0)).isEqualTo(expected.get(0));
+        assertThat(objectMapper.readTree(leanSecond).get("content").get(0)).isEqualTo(expected.get(1));
+    }
+
+    // -------------------- MULTI-GET (GET /books?isbn=...) --------------------
+
+    @Test
+    @DisplayName("GET /books?isbn=a,b,c → found books in request order plus missing ISBNs")
+    public void lookupBooks_shouldKeepRequestOrderAndReportMissing_whenSomeIsbnsUnknown() throws Exception {
+        BookEntity book1 = MockDataUtil.createMockBookData1(null);
+        BookEntity book2 = MockDataUtil.createMockBookData2(null);
+        bookService.createUpdateBook(book1.getIsbn(), book1);
+        bookService.createUpdateBook(book2.getIsbn(), book2);
+
         mockMvc.perform(
                         get("/books")
+                                .param("isbn", book2.getIsbn() + ",9781492078005," + book1.getIsbn())
                                 .contentType(MediaType.APPLICATION_JSON)
-                ).andExpect(MockMvcResultMatchers.jsonPath("$.content[0].isbn").value(book.getIsbn()))
-                .andExpect(MockMvcResultMatchers.jsonPath("$.content[0].title").value(book.getTitle()));
+                ).andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.books[0].isbn").value(Isbn.format(book2.getIsbn())))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.books[1].isbn").value(Isbn.format(book1.getIsbn())))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.missing[0]").value("9781492078005"));
+    }
+
+    @Test
+    @DisplayName("GET /books?isbn=... → spellings of the same ISBN collapse to one book")
+    public void lookupBooks_shouldCollapseSpellings_whenSameIsbnRequestedTwice() throws Exception {
+        BookEntity book = MockDataUtil.createMockBookData1(null);
+        bookService.createUpdateBook(book.getIsbn(), book);
+
+        mockMvc.perform(
+                        get("/books")
+                                .param("isbn", "0306406152", "978-0-306-40615-7")
+                                .contentType(MediaType.APPLICATION_JSON)
+                ).andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.books.length()").value(1))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.books[0].isbn").value("9780306406157"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.missing").isEmpty());
+    }
+
+    @Test
+    @DisplayName("GET /books?isbn=... → 400 Bad Request when any ISBN is invalid")
+    public void lookupBooks_shouldReturn400_whenAnyIsbnInvalid() throws Exception {
+        mockMvc.perform(
+                get("/books")
+                        .param("isbn", "9780306406157,not-an-isbn")
+                        .contentType(MediaType.APPLICATION_JSON)
+        ).andExpect(MockMvcResultMatchers.status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("GET /books?isbn=... → 400 Bad Request when over the batch cap")
+    public void lookupBooks_shouldReturn400_whenBatchExceedsCap() throws Exception {
+        String tooMany = IntStream.rangeClosed(1, 201)
+                .mapToObj(Integer::toString)
+                .collect(Collectors.joining(","));
+
+        mockMvc.perform(
+                get("/books")
+                        .param("isbn", tooMany)
+                        .contentType(MediaType.APPLICATION_JSON)
+        ).andExpect(MockMvcResultMatchers.status().isBadRequest());
     }
 
     // -------------------- READ ONE (GET /books/{isbn}) --------------------
@@ -161,11 +273,39 @@ public class BookControllerIntegrationTest {
     @DisplayName("GET /books/{isbn} → 404 Not Found when missing")
     public void getBookByIsbn_shouldReturn404NotFound_whenBookMissing() throws Exception {
         mockMvc.perform(
-                get("/books/1")
+                get("/books/9781934356593")
                         .contentType(MediaType.APPLICATION_JSON)
         ).andExpect(MockMvcResultMatchers.status().isNotFound());
     }
 
+    @Test
+    @DisplayName("GET /books/{isbn} → 400 Bad Request when the check digit is wrong")
+    public void getBookByIsbn_shouldReturn400BadRequest_whenIsbnInvalid() throws Exception {
+        mockMvc.perform(
+                get("/books/9780306406158")
+                        .contentType(MediaType.APPLICATION_JSON)
+        ).andExpect(MockMvcResultMatchers.status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("GET /books/{isbn} → ISBN-10 and hyphenated spellings resolve to the canonical ISBN-13")
+    public void getBookByIsbn_shouldReturnCanonicalIsbn_whenLookedUpByAnotherSpelling() throws Exception {
+        BookEntity book = MockDataUtil.createMockBookData1(null); // 9780306406157 == ISBN-10 0-306-40615-2
+        bookService.createUpdateBook(book.getIsbn(), book);
+
+        mockMvc.perform(
+                        get("/books/0-306-40615-2")
+                                .contentType(MediaType.APPLICATION_JSON)
+                ).andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.isbn").value("9780306406157"));
+
+        mockMvc.perform(
+                        get("/books/978-0-306-40615-7")
+                                .contentType(MediaType.APPLICATION_JSON)
+                ).andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.isbn").value("9780306406157"));
+    }
+
     @Test
     @DisplayName("GET /books/{isbn} → returns book body")
     public void getBookByIsbn_shouldReturnBookBody_whenBookExists() throws Exception {
@@ -175,7 +315,7 @@ public class BookControllerIntegrationTest {
         mockMvc.perform(
                         get("/books/" + book.getIsbn())
                                 .contentType(MediaType.APPLICATION_JSON)
-                ).andExpect(MockMvcResultMatchers.jsonPath("$.isbn").value(book.getIsbn()))
+                ).andExpect(MockMvcResultMatchers.jsonPath("$.isbn").value(Isbn.format(book.getIsbn())))
                 .andExpect(MockMvcResultMatchers.jsonPath("$.title").value(book.getTitle()));
     }
 
@@ -193,7 +333,7 @@ public class BookControllerIntegrationTest {
                         patch("/books/" + book0.getIsbn())
                                 .contentType(MediaType.APPLICATION_JSON)
                                 .content(jsonBook)
-                ).andExpect(MockMvcResultMatchers.jsonPath("$.isbn").value(book0.getIsbn()))
+                ).andExpect(MockMvcResultMatchers.jsonPath("$.isbn").value(Isbn.format(book0.getIsbn())))
                 .andExpect(MockMvcResultMatchers.jsonPath("$.title").value(book0.getTitle()))
                 .andExpect(MockMvcResultMatchers.status().isOk());
     }
@@ -214,10 +354,51 @@ public class BookControllerIntegrationTest {
                         patch("/books/" + book0.getIsbn())
                                 .contentType(MediaType.APPLICATION_JSON)
                                 .content(jsonBook)
-                ).andExpect(MockMvcResultMatchers.jsonPath("$.isbn").value(book0.getIsbn()))
+                ).andExpect(MockMvcResultMatchers.jsonPath("$.isbn").value(Isbn.format(book0.getIsbn())))
                 .andExpect(MockMvcResultMatchers.jsonPath("$.title").value(mockBook.getTitle()));
     }
 
+    // -------------------- VIEWS / POPULAR --------------------
+
+    @Test
+    @DisplayName("GET /books/popular → most viewed first, views persisted in book_views")
+    public void listPopularBooks_shouldRankByViews_whenViewsAreFlushed() throws Exception {
+        BookEntity book1 = MockDataUtil.createMockBookData1(null);
+        BookEntity book2 = MockDataUtil.createMockBookData2(null);
+        bookService.createUpdateBook(book1.getIsbn(), book1);
+        bookService.createUpdateBook(book2.getIsbn(), book2);
+        for (int i = 0; i < 3; i++) {
+            mockMvc.perform(get("/books/" + book2.getIsbn())).andExpect(MockMvcResultMatchers.status().isOk());
+        }
+        mockMvc.perform(get("/books/" + book1.getIsbn())).andExpect(MockMvcResultMatchers.status().isOk());
+        mockMvc.perform(get("/books/9781934356593")).andExpect(MockMvcResultMatchers.status().isNotFound());
+
+        viewFlusher.flush();
+
+        mockMvc.perform(get("/books/popular"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.length()").value(2))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].book.isbn").value(Isbn.format(book2.getIsbn())))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[1].book.isbn").value(Isbn.format(book1.getIsbn())));
+        assertThat(jdbcTemplate.queryForObject("SELECT views FROM book_views WHERE isbn = ?", Long.class, book2.getIsbn()))
+                .isEqualTo(3L);
+
+        mockMvc.perform(get("/books/" + book2.getIsbn())).andExpect(MockMvcResultMatchers.status().isOk());
+        viewFlusher.flush();
+        assertThat(jdbcTemplate.queryForObject("SELECT views FROM book_views WHERE isbn = ?", Long.class, book2.getIsbn()))
+                .isEqualTo(4L);
+        assertThat(jdbcTemplate.queryForObject("SELECT COUNT(*) FROM book_views", Long.class)).isEqualTo(2L);
+    }
+
+    @Test
+    @DisplayName("GET /books/popular → 400 Bad Request when limit is out of range")
+    public void listPopularBooks_shouldReturn400_whenLimitOutOfRange() throws Exception {
+        mockMvc.perform(get("/books/popular").param("limit", "0"))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+        mockMvc.perform(get("/books/popular").param("limit", "101"))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+    }
+
     // -------------------- DELETE --------------------
 
     @Test
@@ -236,7 +417,7 @@ public class BookControllerIntegrationTest {
     @DisplayName("DELETE /books/{isbn} → 204 No Content even when missing (idempotent)")
     public void deleteBook_shouldReturn204NoContent_whenBookDoesNotExist() throws Exception {
         mockMvc.perform(
-                delete("/books/99")
+                delete("/books/9781934356593")
                         .contentType(MediaType.APPLICATION_JSON)
         ).andExpect(MockMvcResultMatchers.status().isNoContent());
     }
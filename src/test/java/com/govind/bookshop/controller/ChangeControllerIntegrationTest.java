@@ -0,0 +1,148 @@
+package com.govind.bookshop.controller;
+
+import com.govind.bookshop.MockDataUtil;
+import com.govind.bookshop.author.domain.entity.AuthorEntity;
+import com.govind.bookshop.author.service.impl.AuthorServiceImpl;
+import com.govind.bookshop.book.domain.Isbn;
+import com.govind.bookshop.book.domain.entity.BookEntity;
+import com.govind.bookshop.book.service.impl.BookServiceImpl;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+
+/**
+ * Integration tests for the change feed ({@code /changes}) using MockMvc.
+ *
+ * <p>Naming convention: <b>&lt;operation&gt;_should&lt;Expected&gt;_when&lt;Condition&gt;</b>
+ * (underscores improve readability in Java identifiers).</p>
+ */
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+@SpringBootTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class ChangeControllerIntegrationTest {
+
+    private final MockMvc mockMvc;
+    private final AuthorServiceImpl authorService;
+    private final BookServiceImpl bookService;
+
+    @Autowired
+    public ChangeControllerIntegrationTest(MockMvc mockMvc, AuthorServiceImpl authorService, BookServiceImpl bookService) {
+        this.mockMvc = mockMvc;
+        this.authorService = authorService;
+        this.bookService = bookService;
+    }
+
+    @Test
+    @DisplayName("GET /changes → empty batch and since token echoed when nothing changed")
+    public void changes_shouldReturnEmptyBatch_whenNothingChanged() throws Exception {
+        mockMvc.perform(get("/changes").param("since", "0"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.changes").isEmpty())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.next").value("0"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.hasMore").value(false));
+    }
+
+    @Test
+    @DisplayName("GET /changes → book and its cascaded author as upserts with current state")
+    public void changes_shouldReturnUpsertsWithState_whenBookIsSaved() throws Exception {
+        BookEntity book = MockDataUtil.sampleBookEntity1(MockDataUtil.sampleAuthorEntityA());
+        bookService.createUpdateBook(book.getIsbn(), book);
+
+        mockMvc.perform(get("/changes").param("since", "0"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.changes.length()").value(2))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.changes[0].type").value("book"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.changes[0].op").value("upsert"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.changes[0].key").value(Isbn.format(book.getIsbn())))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.changes[0].book.title").value(book.getTitle()))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.changes[1].type").value("author"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.changes[1].author.name").value("govind"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.next").value("2"));
+    }
+
+    @Test
+    @DisplayName("GET /changes → single tombstone when a record was created then deleted")
+    public void changes_shouldReturnTombstone_whenAuthorIsDeleted() throws Exception {
+        AuthorEntity saved = authorService.save(MockDataUtil.sampleAuthorEntityB());
+        mockMvc.perform(delete("/authors/" + saved.getId()))
+                .andExpect(MockMvcResultMatchers.status().isNoContent());
+
+        mockMvc.perform(get("/changes").param("since", "0"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.changes.length()").value(1))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.changes[0].op").value("delete"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.changes[0].key").value(saved.getId().toString()))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.changes[0].author").doesNotExist());
+    }
+
+    @Test
+    @DisplayName("DELETE of an unknown id → no tombstone")
+    public void changes_shouldStayEmpty_whenDeletingMissingAuthor() throws Exception {
+        mockMvc.perform(delete("/authors/999"));
+
+        mockMvc.perform(get("/changes"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.changes").isEmpty());
+    }
+
+    @Test
+    @DisplayName("GET /changes?limit= → bounded batches chained by the next token")
+    public void changes_shouldPageThroughNextToken_whenLimitIsSmall() throws Exception {
+        authorService.save(MockDataUtil.sampleAuthorEntityA());
+        authorService.save(MockDataUtil.sampleAuthorEntityB());
+        authorService.save(MockDataUtil.sampleAuthorEntityC());
+
+        mockMvc.perform(get("/changes").param("since", "0").param("limit", "2"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.changes.length()").value(2))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.hasMore").value(true))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.next").value("2"));
+
+        mockMvc.perform(get("/changes").param("since", "2").param("limit", "2"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.changes.length()").value(1))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.changes[0].author.name").value("gard"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.hasMore").value(false))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.next").value("3"));
+    }
+
+    @Test
+    @DisplayName("GET /changes → only changes after since")
+    public void changes_shouldReturnOnlyNewerChanges_whenSinceIsGiven() throws Exception {
+        AuthorEntity saved = authorService.save(MockDataUtil.sampleAuthorEntityA());
+        authorService.partialUpdate(saved.getId(), AuthorEntity.builder().age(40).build());
+
+        mockMvc.perform(get("/changes").param("since", "1"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.changes.length()").value(1))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.changes[0].seq").value(2))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.changes[0].author.age").value(40));
+    }
+
+    @Test
+    @DisplayName("GET /changes → 400 Bad Request when since is not a token")
+    public void changes_shouldReturn400_whenTokenIsMalformed() throws Exception {
+        mockMvc.perform(get("/changes").param("since", "yesterday"))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+    }
+
+    @Test
+    @DisplayName("GET /changes?wait= → answers once a change commits during the wait")
+    public void awaitChanges_shouldAnswer_whenChangeCommitsDuringWait() throws Exception {
+        MvcResult pending = mockMvc.perform(get("/changes").param("since", "0").param("wait", "10"))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+
+        authorService.save(MockDataUtil.sampleAuthorEntityC());
+
+        mockMvc.perform(asyncDispatch(pending))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.changes[0].author.name").value("gard"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.next").value("1"));
+    }
+}
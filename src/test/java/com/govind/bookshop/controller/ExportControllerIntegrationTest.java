@@ -0,0 +1,185 @@
+package com.govind.bookshop.controller;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.govind.bookshop.MockDataUtil;
+import com.govind.bookshop.book.domain.Isbn;
+import com.govind.bookshop.book.domain.entity.BookEntity;
+import com.govind.bookshop.book.service.impl.BookServiceImpl;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+
+/**
+ * Integration tests for catalog exports ({@code /exports}) using MockMvc.
+ *
+ * <p>Naming convention: <b>&lt;operation&gt;_should&lt;Expected&gt;_when&lt;Condition&gt;</b>
+ * (underscores improve readability in Java identifiers).</p>
+ */
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+@SpringBootTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class ExportControllerIntegrationTest {
+
+    private final MockMvc mockMvc;
+    private final ObjectMapper objectMapper;
+    private final BookServiceImpl bookService;
+
+    @Autowired
+    public ExportControllerIntegrationTest(MockMvc mockMvc, ObjectMapper objectMapper, BookServiceImpl bookService) {
+        this.mockMvc = mockMvc;
+        this.objectMapper = objectMapper;
+        this.bookService = bookService;
+    }
+
+    @Test
+    @DisplayName("POST /exports → 202, then the file holds every author and book as gzip NDJSON")
+    public void startExport_shouldWriteCatalogFile_whenExportCompletes() throws Exception {
+        BookEntity book1 = MockDataUtil.sampleBookEntity1(MockDataUtil.sampleAuthorEntityA());
+        BookEntity book2 = MockDataUtil.sampleBookEntity2(null);
+        bookService.createUpdateBook(book1.getIsbn(), book1);
+        bookService.createUpdateBook(book2.getIsbn(), book2);
+
+        String id = startExport(202);
+        mockMvc.perform(get("/exports/" + id))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.id").value(id))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.format").value("ndjson"));
+        JsonNode export = awaitReady(id);
+
+        assertThat(export.get("authors").asLong()).isEqualTo(1);
+        assertThat(export.get("books").asLong()).isEqualTo(2);
+        assertThat(export.get("download").asText()).isEqualTo("/exports/" + id + "/file");
+
+        byte[] file = mockMvc.perform(get("/exports/" + id + "/file"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ACCEPT_RANGES, "bytes"))
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.ETAG, "\"" + id + "\""))
+                .andExpect(MockMvcResultMatchers.header().longValue(HttpHeaders.CONTENT_LENGTH, export.get("sizeBytes").asLong()))
+                .andReturn().getResponse().getContentAsByteArray();
+        List<JsonNode> lines = readNdjson(file);
+
+        assertThat(lines).hasSize(3);
+        assertThat(lines.get(0).get("author").get("name").asText()).isEqualTo("govind");
+        assertThat(lines.get(1).get("book").get("isbn").asText()).isEqualTo(Isbn.format(Math.min(book1.getIsbn(), book2.getIsbn())));
+        assertThat(lines.get(2).get("book").get("isbn").asText()).isEqualTo(Isbn.format(Math.max(book1.getIsbn(), book2.getIsbn())));
+    }
+
+    @Test
+    @DisplayName("POST /exports → 200 with the same export until the catalog changes")
+    public void startExport_shouldReuseExport_whenCatalogUnchanged() throws Exception {
+        BookEntity book = MockDataUtil.sampleBookEntity1(null);
+        bookService.createUpdateBook(book.getIsbn(), book);
+
+        String first = startExport(202);
+        awaitReady(first);
+        String again = startExport(200);
+        assertThat(again).isEqualTo(first);
+
+        BookEntity other = MockDataUtil.sampleBookEntity2(null);
+        bookService.createUpdateBook(other.getIsbn(), other);
+
+        String fresh = startExport(202);
+        assertThat(fresh).isNotEqualTo(first);
+        assertThat(awaitReady(fresh).get("books").asLong()).isEqualTo(2);
+    }
+
+    @Test
+    @DisplayName("GET /exports/{id}/file with Range → 206 with that slice, 416 past the end")
+    public void downloadExport_shouldServeByteRange_whenRangeRequested() throws Exception {
+        BookEntity book = MockDataUtil.sampleBookEntity1(MockDataUtil.sampleAuthorEntityA());
+        bookService.createUpdateBook(book.getIsbn(), book);
+        String id = startExport(202);
+        long size = awaitReady(id).get("sizeBytes").asLong();
+        byte[] full = mockMvc.perform(get("/exports/" + id + "/file"))
+                .andReturn().getResponse().getContentAsByteArray();
+
+        byte[] head = mockMvc.perform(get("/exports/" + id + "/file").header(HttpHeaders.RANGE, "bytes=0-9"))
+                .andExpect(MockMvcResultMatchers.status().isPartialContent())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.CONTENT_RANGE, "bytes 0-9/" + size))
+                .andReturn().getResponse().getContentAsByteArray();
+        byte[] tail = mockMvc.perform(get("/exports/" + id + "/file")
+                        .header(HttpHeaders.RANGE, "bytes=10-")
+                        .header(HttpHeaders.IF_RANGE, "\"" + id + "\""))
+                .andExpect(MockMvcResultMatchers.status().isPartialContent())
+                .andReturn().getResponse().getContentAsByteArray();
+
+        assertThat(head).isEqualTo(Arrays.copyOfRange(full, 0, 10));
+        assertThat(tail).isEqualTo(Arrays.copyOfRange(full, 10, full.length));
+
+        mockMvc.perform(get("/exports/" + id + "/file").header(HttpHeaders.RANGE, "bytes=" + size + "-"))
+                .andExpect(MockMvcResultMatchers.status().isRequestedRangeNotSatisfiable())
+                .andExpect(MockMvcResultMatchers.header().string(HttpHeaders.CONTENT_RANGE, "bytes */" + size));
+        mockMvc.perform(get("/exports/" + id + "/file")
+                        .header(HttpHeaders.RANGE, "bytes=10-")
+                        .header(HttpHeaders.IF_RANGE, "\"some-other-export\""))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.header().longValue(HttpHeaders.CONTENT_LENGTH, size));
+    }
+
+    @Test
+    @DisplayName("POST /exports?format=parquet → 400; GET /exports/{unknown} → 404")
+    public void exports_shouldRejectBadRequests_whenFormatOrIdUnknown() throws Exception {
+        mockMvc.perform(post("/exports").param("format", "parquet"))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+        mockMvc.perform(get("/exports/does-not-exist"))
+                .andExpect(MockMvcResultMatchers.status().isNotFound());
+        mockMvc.perform(get("/exports/does-not-exist/file"))
+                .andExpect(MockMvcResultMatchers.status().isNotFound());
+    }
+
+    private String startExport(int expectedStatus) throws Exception {
+        String body = mockMvc.perform(post("/exports"))
+                .andExpect(MockMvcResultMatchers.status().is(expectedStatus))
+                .andExpect(MockMvcResultMatchers.header().exists(HttpHeaders.LOCATION))
+                .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+        return objectMapper.readTree(body).get("id").asText();
+    }
+
+    private JsonNode awaitReady(String id) throws Exception {
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while (true) {
+            String body = mockMvc.perform(get("/exports/" + id))
+                    .andReturn().getResponse().getContentAsString(StandardCharsets.UTF_8);
+            JsonNode export = objectMapper.readTree(body);
+            String status = export.get("status").asText();
+            if ("ready".equals(status)) {
+                return export;
+            }
+            assertThat(status).isNotEqualTo("failed");
+            assertThat(System.nanoTime()).as("export %s still %s", id, status).isLessThan(deadline);
+            Thread.sleep(20);
+        }
+    }
+
+    private List<JsonNode> readNdjson(byte[] gzip) throws IOException {
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(gzip))) {
+            String text = new String(in.readAllBytes(), StandardCharsets.UTF_8);
+            return text.lines().map(line -> {
+                try {
+                    return objectMapper.readTree(line);
+                } catch (IOException e) {
+                    throw new IllegalStateException(e);
+                }
+            }).toList();
+        }
+    }
+}
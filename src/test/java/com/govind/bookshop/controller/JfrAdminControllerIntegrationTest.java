@@ -0,0 +1,120 @@
+package com.govind.bookshop.controller;
+
+import com.govind.bookshop.MockDataUtil;
+import com.govind.bookshop.author.domain.entity.AuthorEntity;
+import com.govind.bookshop.author.service.impl.AuthorServiceImpl;
+import jdk.jfr.consumer.RecordedEvent;
+import jdk.jfr.consumer.RecordingFile;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+
+/**
+ * Integration tests for {@code /admin/jfr} and the application's JFR events.
+ *
+ * <p>Naming convention: <b>&lt;operation&gt;_should&lt;Expected&gt;_when&lt;Condition&gt;</b>
+ * (underscores improve readability in Java identifiers).</p>
+ */
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+@SpringBootTest(properties = "bookshop.jfr.admin.enabled=true")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class JfrAdminControllerIntegrationTest {
+
+    private final MockMvc mockMvc;
+    private final AuthorServiceImpl authorService;
+
+    @Autowired
+    public JfrAdminControllerIntegrationTest(MockMvc mockMvc, AuthorServiceImpl authorService) {
+        this.mockMvc = mockMvc;
+        this.authorService = authorService;
+    }
+
+    @AfterEach
+    void stopRecording() throws Exception {
+        MvcResult stop = mockMvc.perform(delete("/admin/jfr")).andReturn();
+        if (stop.getRequest().isAsyncStarted()) {
+            mockMvc.perform(asyncDispatch(stop));
+        }
+    }
+
+    @Test
+    @DisplayName("POST /admin/jfr → 201, a second start → 409, unknown settings → 400")
+    public void startRecording_shouldAllowOneAtATime() throws Exception {
+        mockMvc.perform(post("/admin/jfr").param("settings", "no-such-settings"))
+                .andExpect(MockMvcResultMatchers.status().isBadRequest());
+
+        mockMvc.perform(post("/admin/jfr"))
+                .andExpect(MockMvcResultMatchers.status().isCreated())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.state").value("running"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.settings").value("default"));
+        mockMvc.perform(post("/admin/jfr").param("settings", "profile"))
+                .andExpect(MockMvcResultMatchers.status().isConflict());
+        mockMvc.perform(get("/admin/jfr"))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+    }
+
+    @Test
+    @DisplayName("DELETE /admin/jfr → recording with request, controller, service, repository and mapping events")
+    public void stopRecording_shouldReturnApplicationEvents_whenRequestsWereRecorded() throws Exception {
+        AuthorEntity author = authorService.save(MockDataUtil.sampleAuthorEntityA());
+        mockMvc.perform(post("/admin/jfr").param("threshold", "0ms"))
+                .andExpect(MockMvcResultMatchers.status().isCreated());
+
+        mockMvc.perform(get("/authors/" + author.getId())).andExpect(MockMvcResultMatchers.status().isOk());
+
+        MvcResult stop = mockMvc.perform(delete("/admin/jfr")).andReturn();
+        byte[] recording = mockMvc.perform(asyncDispatch(stop))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andReturn().getResponse().getContentAsByteArray();
+        mockMvc.perform(get("/admin/jfr")).andExpect(MockMvcResultMatchers.status().isNotFound());
+
+        Path file = Files.createTempFile("jfr-test-", ".jfr");
+        try {
+            Files.write(file, recording);
+            List<RecordedEvent> events = RecordingFile.readAllEvents(file).stream()
+                    .filter(event -> event.getEventType().getName().startsWith("bookshop."))
+                    .toList();
+
+            assertThat(events).anySatisfy(event -> {
+                assertThat(event.getEventType().getName()).isEqualTo("bookshop.Request");
+                assertThat(event.getString("route")).isEqualTo("/authors/{id}");
+                assertThat(event.getInt("status")).isEqualTo(200);
+            });
+            assertThat(events).anySatisfy(event -> {
+                assertThat(event.getEventType().getName()).isEqualTo("bookshop.Repository");
+                assertThat(event.getString("component")).isEqualTo("AuthorRepository");
+                assertThat(event.getString("key")).isEqualTo(author.getId().toString());
+                assertThat(event.getLong("rows")).isEqualTo(1);
+            });
+            assertThat(events).extracting(event -> event.getEventType().getName())
+                    .contains("bookshop.Controller", "bookshop.Service", "bookshop.Mapping", "bookshop.Serialization");
+            assertThat(RecordingFile.readAllEvents(file)).extracting(event -> event.getEventType().getName())
+                    .doesNotContain("jdk.InitialEnvironmentVariable", "jdk.InitialSystemProperty",
+                            "jdk.JVMInformation", "jdk.SystemProcess");
+        } finally {
+            Files.deleteIfExists(file);
+        }
+    }
+
+    @Test
+    @DisplayName("GET /admin/jfr/dump → 404 when nothing is recording")
+    public void dumpRecording_shouldReturn404_whenNotRecording() throws Exception {
+        mockMvc.perform(get("/admin/jfr/dump")).andExpect(MockMvcResultMatchers.status().isNotFound());
+    }
+}
@@ -0,0 +1,105 @@
+package com.govind.bookshop.controller;
+
+import com.govind.bookshop.MockDataUtil;
+import com.govind.bookshop.author.domain.entity.AuthorEntity;
+import com.govind.bookshop.author.service.impl.AuthorServiceImpl;
+import com.govind.bookshop.book.domain.entity.BookEntity;
+import com.govind.bookshop.book.service.impl.BookServiceImpl;
+import com.govind.bookshop.membership.KeyMembership;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+
+/**
+ * Integration tests for the key membership filters and {@code /debug/membership}.
+ *
+ * <p>Naming convention: <b>&lt;operation&gt;_should&lt;Expected&gt;_when&lt;Condition&gt;</b>
+ * (underscores improve readability in Java identifiers).</p>
+ */
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+@SpringBootTest(properties = {"bookshop.invalidation.transport=in-jvm",
+        "bookshop.invalidation.in-jvm-hub=membership-controller-test", "bookshop.membership.debug.enabled=true"})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class MembershipControllerIntegrationTest {
+
+    private static final String UNKNOWN_ISBN = "9781934356593";
+
+    private final MockMvc mockMvc;
+    private final BookServiceImpl bookService;
+    private final AuthorServiceImpl authorService;
+    private final KeyMembership membership;
+
+    @Autowired
+    public MembershipControllerIntegrationTest(MockMvc mockMvc, BookServiceImpl bookService,
+                                               AuthorServiceImpl authorService, KeyMembership membership) {
+        this.mockMvc = mockMvc;
+        this.bookService = bookService;
+        this.authorService = authorService;
+        this.membership = membership;
+    }
+
+    @BeforeEach
+    void awaitFilters() throws InterruptedException {
+        long deadline = System.nanoTime() + 30_000_000_000L;
+        while (!membership.stats().stream().allMatch(KeyMembership.Stats::ready) && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+    }
+
+    @Test
+    @DisplayName("GET /books/{isbn}, GET /authors/{id} → 404 from the filter; PATCH/PUT ask the database")
+    public void lookup_shouldReturn404FromFilter_whenKeyNeverExisted() throws Exception {
+        mockMvc.perform(get("/books/" + UNKNOWN_ISBN)).andExpect(MockMvcResultMatchers.status().isNotFound());
+        mockMvc.perform(patch("/books/" + UNKNOWN_ISBN).contentType(MediaType.APPLICATION_JSON).content("{\"title\":\"x\"}"))
+                .andExpect(MockMvcResultMatchers.status().isNotFound());
+        mockMvc.perform(get("/authors/424242")).andExpect(MockMvcResultMatchers.status().isNotFound());
+        mockMvc.perform(put("/authors/424242").contentType(MediaType.APPLICATION_JSON).content("{\"name\":\"x\"}"))
+                .andExpect(MockMvcResultMatchers.status().isNotFound());
+
+        KeyMembership.Stats books = membership.stats().get(0);
+        KeyMembership.Stats authors = membership.stats().get(1);
+        assertThat(books.absent()).isEqualTo(1);
+        assertThat(authors.absent()).isEqualTo(1);
+        assertThat(books.falsePositives() + authors.falsePositives()).isZero();
+    }
+
+    @Test
+    @DisplayName("GET /books/{isbn} → 200 right after create, 404 after delete (via the database)")
+    public void lookup_shouldFollowWrites_whenBooksAreCreatedAndDeleted() throws Exception {
+        AuthorEntity author = authorService.save(MockDataUtil.sampleAuthorEntityA());
+        BookEntity book = MockDataUtil.createMockBookData1(author);
+        bookService.createUpdateBook(book.getIsbn(), book);
+
+        mockMvc.perform(get("/books/" + book.getIsbn())).andExpect(MockMvcResultMatchers.status().isOk());
+        mockMvc.perform(get("/authors/" + author.getId())).andExpect(MockMvcResultMatchers.status().isOk());
+
+        bookService.delete(book.getIsbn());
+
+        mockMvc.perform(get("/books/" + book.getIsbn())).andExpect(MockMvcResultMatchers.status().isNotFound());
+        assertThat(membership.stats().get(0).falsePositives()).as("deleted keys stay in the filter").isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("GET /debug/membership → size and false-positive rates per key space")
+    public void membership_shouldReportSizeAndRates() throws Exception {
+        mockMvc.perform(get("/debug/membership"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].keys").value("books"))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].ready").value(true))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].targetFpp").value(0.01))
+                .andExpect(MockMvcResultMatchers.jsonPath("$[0].bytes").isNumber())
+                .andExpect(MockMvcResultMatchers.jsonPath("$[1].keys").value("authors"));
+    }
+}
@@ -0,0 +1,205 @@
+package com.govind.bookshop.controller;
+
+import com.govind.bookshop.MockDataUtil;
+import com.govind.bookshop.author.domain.dto.AuthorDto;
+import com.govind.bookshop.book.domain.dto.BookDto;
+import com.govind.bookshop.reactive.ReactiveBookShopApplication;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.reactive.AutoConfigureWebTestClient;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.web.reactive.server.WebTestClient;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Integration tests for the reactive variant (WebFlux + R2DBC on in-memory H2).
+ *
+ * <p>Checks that it keeps the HTTP contract of the servlet API. Naming convention:
+ * <b>&lt;operation&gt;_should&lt;Expected&gt;_when&lt;Condition&gt;</b>.</p>
+ */
+@SpringBootTest(
+        classes = ReactiveBookShopApplication.class,
+        properties = {
+                "spring.main.web-application-type=reactive",
+                "spring.r2dbc.url=r2dbc:h2:mem:///reactive-test?options=DB_CLOSE_DELAY=-1",
+                "spring.r2dbc.username=sa",
+                "spring.r2dbc.password=",
+                "spring.sql.init.mode=always",
+                "spring.sql.init.schema-locations=classpath:reactive-schema.sql"
+        })
+@AutoConfigureWebTestClient
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class ReactiveApiIntegrationTest {
+
+    private final WebTestClient webTestClient;
+
+    @Autowired
+    public ReactiveApiIntegrationTest(WebTestClient webTestClient) {
+        this.webTestClient = webTestClient;
+    }
+
+    // -------------------- AUTHORS --------------------
+
+    @Test
+    @DisplayName("POST /authors → 201 Created with generated id")
+    public void createAuthor_shouldReturn201WithBody_whenPayloadIsValid() {
+        webTestClient.post().uri("/authors")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(MockDataUtil.sampleAuthorDtoA())
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody()
+                .jsonPath("$.id").isNumber()
+                .jsonPath("$.name").isEqualTo("govind")
+                .jsonPath("$.age").isEqualTo(23);
+    }
+
+    @Test
+    @DisplayName("GET /authors/{id} → 404 Not Found when missing")
+    public void getAuthorById_shouldReturn404_whenAuthorDoesNotExist() {
+        webTestClient.get().uri("/authors/1")
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    @DisplayName("PUT /authors/{id} → 404 when target does not exist")
+    public void updateAuthor_shouldReturn404_whenAuthorDoesNotExist() {
+        webTestClient.put().uri("/authors/42")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(MockDataUtil.sampleAuthorDtoA())
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    // -------------------- BOOKS --------------------
+
+    @Test
+    @DisplayName("PUT /books/{isbn} → 201 on create, 200 on replace")
+    public void createOrUpdateBook_shouldReturn201ThenOK_whenPutTwice() {
+        BookDto book = MockDataUtil.sampleBookDto1(MockDataUtil.sampleAuthorDtoA());
+
+        webTestClient.put().uri("/books/" + book.getIsbn())
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(book)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody()
+                .jsonPath("$.isbn").isEqualTo(book.getIsbn())
+                .jsonPath("$.author.id").isNumber()
+                .jsonPath("$.author.name").isEqualTo("govind");
+
+        book.setTitle("The one, revised");
+        webTestClient.put().uri("/books/" + book.getIsbn())
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(book)
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.title").isEqualTo("The one, revised");
+    }
+
+    @Test
+    @DisplayName("GET /books → page envelope matching the servlet API")
+    public void listBooks_shouldReturnPageEnvelope_whenBooksExist() {
+        putBook(MockDataUtil.sampleBookDto1(null));
+
+        webTestClient.get().uri("/books?page=0&size=10")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.content[0].isbn").isEqualTo("9780306406157")
+                .jsonPath("$.totalElements").isEqualTo(1)
+                .jsonPath("$.size").isEqualTo(10)
+                .jsonPath("$.number").isEqualTo(0);
+    }
+
+    @Test
+    @DisplayName("GET /books (NDJSON) → streams every book")
+    public void streamBooks_shouldEmitEachBook_whenNdjsonRequested() {
+        BookDto first = MockDataUtil.sampleBookDto1(null);
+        BookDto second = MockDataUtil.sampleBookDto1(null);
+        second.setIsbn("9780140449136");
+        putBook(first);
+        putBook(second);
+
+        var books = webTestClient.get().uri("/books?sort=isbn,desc")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(BookDto.class)
+                .getResponseBody()
+                .collectList()
+                .block();
+
+        assertThat(books).extracting(BookDto::getIsbn)
+                .containsExactly("9780306406157", "9780140449136");
+    }
+
+    @Test
+    @DisplayName("PATCH /books/{isbn} → updates title and keeps author")
+    public void patchBook_shouldUpdateTitleAndKeepAuthor_whenOnlyTitleProvided() {
+        BookDto book = MockDataUtil.sampleBookDto1(AuthorDto.builder().name("gard").age(29).build());
+        putBook(book);
+
+        webTestClient.patch().uri("/books/" + book.getIsbn())
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"title\":\"the food\"}")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.title").isEqualTo("the food")
+                .jsonPath("$.author.name").isEqualTo("gard");
+    }
+
+    @Test
+    @DisplayName("PATCH /books/{isbn} → 404 when missing; DELETE → 204 either way")
+    public void patchAndDeleteBook_shouldFollowServletContract_whenBookMissing() {
+        webTestClient.patch().uri("/books/9781934356593")
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue("{\"title\":\"x\"}")
+                .exchange()
+                .expectStatus().isNotFound();
+
+        webTestClient.delete().uri("/books/9781934356593")
+                .exchange()
+                .expectStatus().isNoContent();
+    }
+
+    @Test
+    @DisplayName("DELETE /books/{isbn} → 204, and the book's author is deleted with it, as in the servlet API")
+    public void deleteBook_shouldDeleteAuthorToo_whenBookHasAuthor() {
+        BookDto book = MockDataUtil.sampleBookDto1(MockDataUtil.sampleAuthorDtoA());
+        BookDto saved = webTestClient.put().uri("/books/" + book.getIsbn())
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(book)
+                .exchange()
+                .expectStatus().isCreated()
+                .expectBody(BookDto.class)
+                .returnResult().getResponseBody();
+        assertThat(saved).isNotNull();
+
+        webTestClient.delete().uri("/books/" + book.getIsbn())
+                .exchange()
+                .expectStatus().isNoContent();
+
+        webTestClient.get().uri("/books/" + book.getIsbn())
+                .exchange()
+                .expectStatus().isNotFound();
+        webTestClient.get().uri("/authors/" + saved.getAuthor().getId())
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    private void putBook(BookDto book) {
+        webTestClient.put().uri("/books/" + book.getIsbn())
+                .contentType(MediaType.APPLICATION_JSON)
+                .bodyValue(book)
+                .exchange()
+                .expectStatus().isCreated();
+    }
+}
@@ -0,0 +1,142 @@
+package com.govind.bookshop.controller;
+
+import com.govind.bookshop.MockDataUtil;
+import com.govind.bookshop.book.domain.Isbn;
+import com.govind.bookshop.book.domain.entity.BookEntity;
+import com.govind.bookshop.book.service.impl.BookServiceImpl;
+import com.govind.bookshop.shard.BookShards;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+
+/**
+ * Integration tests for {@code /books} with books sharded over three embedded H2 databases.
+ *
+ * <p>Naming convention: <b>&lt;operation&gt;_should&lt;Expected&gt;_when&lt;Condition&gt;</b>
+ * (underscores improve readability in Java identifiers).</p>
+ */
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+@SpringBootTest(properties = {
+        "bookshop.sharding.enabled=true",
+        "bookshop.sharding.urls=" + ShardedBookControllerIntegrationTest.SHARD_URL + ","
+                + ShardedBookControllerIntegrationTest.SHARD_URL + "," + ShardedBookControllerIntegrationTest.SHARD_URL
+})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+public class ShardedBookControllerIntegrationTest {
+
+    /** Each {@code ${random.uuid}} resolves separately, so every shard is its own database. */
+    static final String SHARD_URL = "jdbc:h2:mem:shard-${random.uuid};MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE";
+
+    private static final int BOOKS = 30;
+
+    private final MockMvc mockMvc;
+    private final BookServiceImpl bookService;
+    private final BookShards shards;
+
+    @Autowired
+    public ShardedBookControllerIntegrationTest(MockMvc mockMvc, BookServiceImpl bookService, BookShards shards) {
+        this.mockMvc = mockMvc;
+        this.bookService = bookService;
+        this.shards = shards;
+    }
+
+    @Test
+    @DisplayName("PUT /books/{isbn} → each book stored once, on its owning shard, read back with its author")
+    public void createOrUpdateBook_shouldStoreOnOwningShardOnly_whenShardingEnabled() throws Exception {
+        List<BookEntity> books = seed();
+        BookEntity withAuthor = books.get(0);
+
+        for (BookEntity book : books) {
+            for (BookShards.Shard shard : shards.active()) {
+                long expected = shard.equals(shards.owner(book.getIsbn())) ? 1 : 0;
+                assertThat(rowsOn(shard, book.getIsbn())).isEqualTo(expected);
+            }
+        }
+        assertThat(shards.active()).allMatch(shard -> shard.jdbc()
+                .queryForObject("SELECT COUNT(*) FROM books", Long.class) > 0);
+
+        mockMvc.perform(get("/books/" + Isbn.format(withAuthor.getIsbn())))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.title").value(withAuthor.getTitle()))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.author.name").value("govind"));
+    }
+
+    @Test
+    @DisplayName("GET /books?sort=title → pages merged across shards in global order")
+    public void listBooks_shouldMergeShardsInOrder_whenSortedPageRequested() throws Exception {
+        List<BookEntity> books = seed();
+        List<BookEntity> byTitle = new ArrayList<>(books);
+        byTitle.sort(Comparator.comparing(BookEntity::getTitle));
+        List<BookEntity> byIsbnDesc = new ArrayList<>(books);
+        byIsbnDesc.sort(Comparator.comparing(BookEntity::getIsbn).reversed());
+
+        mockMvc.perform(asyncDispatch(mockMvc.perform(get("/books").param("sort", "title").param("page", "2").param("size", "5"))
+                        .andReturn()))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.totalElements").value(BOOKS))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content.length()").value(5))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content[0].title").value(byTitle.get(10).getTitle()))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content[4].title").value(byTitle.get(14).getTitle()));
+        mockMvc.perform(asyncDispatch(mockMvc.perform(get("/books").param("sort", "isbn,desc").param("size", "3")).andReturn()))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content[0].isbn").value(Isbn.format(byIsbnDesc.get(0).getIsbn())))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.content[2].isbn").value(Isbn.format(byIsbnDesc.get(2).getIsbn())));
+    }
+
+    @Test
+    @DisplayName("GET /books?isbn=a,b,c → books gathered from several shards")
+    public void lookupBooks_shouldGatherAcrossShards_whenIsbnsLiveOnDifferentShards() throws Exception {
+        List<BookEntity> books = seed();
+
+        mockMvc.perform(get("/books").param("isbn", Isbn.format(books.get(1).getIsbn()) + ","
+                        + Isbn.format(books.get(2).getIsbn()) + "," + Isbn.format(books.get(3).getIsbn()) + ",9781492078005"))
+                .andExpect(MockMvcResultMatchers.status().isOk())
+                .andExpect(MockMvcResultMatchers.jsonPath("$.books.length()").value(3))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.books[0].isbn").value(Isbn.format(books.get(1).getIsbn())))
+                .andExpect(MockMvcResultMatchers.jsonPath("$.missing[0]").value("9781492078005"));
+    }
+
+    @Test
+    @DisplayName("DELETE /books/{isbn} → row removed from its shard")
+    public void deleteBook_shouldRemoveRowFromShard_whenBookExists() throws Exception {
+        BookEntity book = seed().get(5);
+
+        mockMvc.perform(delete("/books/" + Isbn.format(book.getIsbn())))
+                .andExpect(MockMvcResultMatchers.status().isNoContent());
+
+        assertThat(rowsOn(shards.owner(book.getIsbn()), book.getIsbn())).isZero();
+        mockMvc.perform(get("/books/" + Isbn.format(book.getIsbn())))
+                .andExpect(MockMvcResultMatchers.status().isNotFound());
+    }
+
+    /** {@value #BOOKS} books, titles out of ISBN order; the first has an author. */
+    private List<BookEntity> seed() {
+        List<BookEntity> books = new ArrayList<>();
+        for (int i = 0; i < BOOKS; i++) {
+            BookEntity book = BookEntity.builder()
+                    .title(String.format("title-%02d", (i * 7) % BOOKS))
+                    .authorEntity(i == 0 ? MockDataUtil.sampleAuthorEntityA() : null)
+                    .build();
+            books.add(bookService.createUpdateBook(Isbn.withCheckDigit(978_000_000_000L + i), book));
+        }
+        return books;
+    }
+
+    private static long rowsOn(BookShards.Shard shard, long isbn) {
+        return shard.jdbc().queryForObject("SELECT COUNT(*) FROM books WHERE isbn = ?", Long.class, isbn);
+    }
+}
@@ -0,0 +1,222 @@
+package com.govind.bookshop.deadline;
+
+import com.govind.bookshop.book.domain.dto.BookDto;
+import com.govind.bookshop.book.repository.JdbcBookReader;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.AsyncEvent;
+import jakarta.servlet.AsyncListener;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Primary;
+import org.springframework.dao.QueryTimeoutException;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.StatementCallback;
+import org.springframework.mock.web.MockAsyncContext;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+import org.springframework.transaction.TransactionTimedOutException;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.context.request.async.DeferredResult;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * Request deadlines end up as statement and transaction timeouts, and cancelling a request
+ * stops its running query.
+ */
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+@SpringBootTest(properties = "bookshop.deadline.endpoints=GET /authors=1ns,GET /books/{isbn}=0s")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class DeadlineIntegrationTest {
+
+    /** Sums ten billion rows: runs far longer than any test waits, until cancelled. */
+    private static final String ENDLESS_QUERY = "SELECT SUM(\"X\") FROM SYSTEM_RANGE(1, 10000000000)";
+
+    /** Serves title-sorted book pages with {@link #ENDLESS_QUERY}. */
+    @TestConfiguration
+    static class EndlessBookReader {
+
+        static final CountDownLatch querying = new CountDownLatch(1);
+
+        @Bean
+        @Primary
+        JdbcBookReader endlessBookReader(JdbcTemplate jdbcTemplate) {
+            return new JdbcBookReader(jdbcTemplate, "jdbc", false) {
+                @Override
+                public Optional<Page<BookDto>> findBooks(Pageable pageable) {
+                    if (pageable.getSort().getOrderFor("title") == null) {
+                        return super.findBooks(pageable);
+                    }
+                    querying.countDown();
+                    jdbcTemplate.queryForObject(ENDLESS_QUERY, Long.class);
+                    return Optional.empty();
+                }
+            };
+        }
+    }
+
+    private final MockMvc mockMvc;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final MeterRegistry registry;
+
+    @Autowired
+    DeadlineIntegrationTest(MockMvc mockMvc, JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate,
+                            MeterRegistry registry) {
+        this.mockMvc = mockMvc;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+        this.registry = registry;
+    }
+
+    @AfterEach
+    void unbind() {
+        RequestDeadline.unbind();
+    }
+
+    @Test
+    @DisplayName("GET /authors → 503 with Retry-After once its deadline has passed; other routes unaffected")
+    void listAuthors_shouldReturn503_whenDeadlineExceeded() throws Exception {
+        MvcResult started = mockMvc.perform(get("/authors")).andExpect(MockMvcResultMatchers.request().asyncStarted()).andReturn();
+
+        mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"));
+        mockMvc.perform(get("/books/9780306406157"))
+                .andExpect(status().isNotFound());
+
+        assertThat(count("GET /authors", "timeout")).isPositive();
+        assertThat(count("GET /authors", "cancelled")).isZero();
+    }
+
+    @Test
+    @DisplayName("a transaction begun under a deadline times out with it; without one it has no timeout")
+    void transaction_shouldInheritRemainingTime_whenDeadlineBound() {
+        StatementCallback<Integer> queryTimeout = statement -> statement.getQueryTimeout();
+
+        Integer unbounded = transactionTemplate.execute(status -> jdbcTemplate.execute(queryTimeout));
+        assertThat(unbounded).isZero();
+
+        RequestDeadline.bind(new RequestDeadline("test", Duration.ofSeconds(30)));
+        Integer bounded = transactionTemplate.execute(status -> jdbcTemplate.execute(queryTimeout));
+        assertThat(bounded).isBetween(1, 30);
+
+        RequestDeadline.bind(new RequestDeadline("test", Duration.ofNanos(1)));
+        assertThatThrownBy(() -> transactionTemplate.executeWithoutResult(status -> { }))
+                .isInstanceOf(TransactionTimedOutException.class);
+        assertThat(count("test", "timeout")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("cancelling a request stops its running query and counts it as cancelled")
+    void cancel_shouldStopRunningQuery_whenRequestCancelled() throws Exception {
+        RequestDeadline deadline = new RequestDeadline("GET /slow", Duration.ofMinutes(5));
+        CompletableFuture<Long> query = CompletableFuture.supplyAsync(() -> {
+            RequestDeadline.bind(deadline);
+            try {
+                return jdbcTemplate.queryForObject(ENDLESS_QUERY, Long.class);
+            } finally {
+                RequestDeadline.unbind();
+            }
+        });
+
+        // Whether the cancel lands mid-query or just before it, the query must not complete.
+        Thread.sleep(300);
+        deadline.cancel();
+
+        assertThatThrownBy(() -> query.get(30, TimeUnit.SECONDS))
+                .isInstanceOf(ExecutionException.class)
+                .hasCauseInstanceOf(QueryTimeoutException.class);
+        assertThat(count("GET /slow", "cancelled")).isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("GET /books → a client that disconnects mid-query has its statement cancelled")
+    void listBooks_shouldCancelQuery_whenClientDisconnects() throws Exception {
+        MvcResult started = mockMvc.perform(get("/books").param("sort", "title"))
+                .andExpect(MockMvcResultMatchers.request().asyncStarted())
+                .andReturn();
+        assertThat(EndlessBookReader.querying.await(10, TimeUnit.SECONDS)).isTrue();
+        Thread.sleep(300);
+
+        // What the container does when writing to, or reading from, a gone client fails.
+        MockAsyncContext context = (MockAsyncContext) started.getRequest().getAsyncContext();
+        for (AsyncListener listener : context.getListeners()) {
+            listener.onError(new AsyncEvent(context, new IOException("Broken pipe")));
+        }
+
+        // Well inside the route's 10s default budget, so only the cancel can have stopped it.
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (count("GET /books", "cancelled") == 0) {
+            assertThat(System.nanoTime()).as("query still running").isLessThan(deadline);
+            Thread.sleep(20);
+        }
+        assertThat(count("GET /books", "timeout")).isZero();
+    }
+
+    @Test
+    @DisplayName("a failed or timed-out DeferredResult request cancels its deadline")
+    void deferredResult_shouldCancelDeadline_whenAsyncRequestFails() {
+        DeadlineDeferredResultInterceptor interceptor = new DeadlineDeferredResultInterceptor();
+        RequestDeadline failed = new RequestDeadline("GET /changes", Duration.ofMinutes(5));
+        RequestDeadline timedOut = new RequestDeadline("GET /changes", Duration.ofMinutes(5));
+
+        assertThat(interceptor.handleError(request(failed), new DeferredResult<>(), new IOException("Broken pipe"))).isTrue();
+        assertThat(interceptor.handleTimeout(request(timedOut), new DeferredResult<>())).isTrue();
+
+        assertThat(failed.isCancelled()).isTrue();
+        assertThat(timedOut.isCancelled()).isTrue();
+    }
+
+    @Test
+    @DisplayName("statements outside requests keep the pool's unlimited timeout")
+    void statement_shouldHaveNoTimeout_whenNoDeadlineBound() {
+        assertThat(jdbcTemplate.execute((StatementCallback<Integer>) statement -> statement.getQueryTimeout())).isZero();
+
+        RequestDeadline.bind(new RequestDeadline("test", Duration.ofSeconds(30)));
+        assertThat(jdbcTemplate.queryForObject("SELECT 1", Integer.class)).isEqualTo(1);
+        RequestDeadline.unbind();
+
+        // The timeout set for the request is not left behind on the pooled connection.
+        assertThat(jdbcTemplate.execute((StatementCallback<Integer>) statement -> statement.getQueryTimeout())).isZero();
+    }
+
+    private static ServletWebRequest request(RequestDeadline deadline) {
+        MockHttpServletRequest request = new MockHttpServletRequest("GET", "/changes");
+        request.setAttribute(DeadlineInterceptor.ATTRIBUTE, deadline);
+        return new ServletWebRequest(request);
+    }
+
+    private double count(String route, String outcome) {
+        Counter counter = registry.find("bookshop.deadline.queries").tag("route", route).tag("outcome", outcome).counter();
+        return counter == null ? 0 : counter.count();
+    }
+}
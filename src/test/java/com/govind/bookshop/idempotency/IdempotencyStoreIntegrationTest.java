@@ -0,0 +1,189 @@
+package com.govind.bookshop.idempotency;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * {@link IdempotencyStore} against the migrated H2 schema. Two stores over one database stand
+ * in for two instances.
+ */
+@ActiveProfiles("test")
+@SpringBootTest
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class IdempotencyStoreIntegrationTest {
+
+    private static final Duration TTL = Duration.ofMinutes(10);
+
+    private static final IdempotencyStore.Codec<String> TEXT = new IdempotencyStore.Codec<>() {
+        @Override
+        public String encode(String value) {
+            return value;
+        }
+
+        @Override
+        public String decode(String stored) {
+            return stored;
+        }
+    };
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final ObjectMapper objectMapper;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Autowired
+    IdempotencyStoreIntegrationTest(ObjectMapper objectMapper, JdbcTemplate jdbcTemplate,
+                                    TransactionTemplate transactionTemplate) {
+        this.objectMapper = objectMapper;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @Test
+    @DisplayName("a retry with the same key and payload replays the first result without running again")
+    void execute_shouldReplayResult_whenKeyIsRetried() {
+        IdempotencyStore<String> store = store(Duration.ofSeconds(1), Clock.systemUTC());
+        AtomicInteger runs = new AtomicInteger();
+
+        IdempotencyStore.Result<String> first = store.execute("k", "payload", () -> "created-" + runs.incrementAndGet());
+        IdempotencyStore.Result<String> retry = store.execute("k", "payload", () -> "created-" + runs.incrementAndGet());
+
+        assertThat(first).isEqualTo(new IdempotencyStore.Result<>("created-1", false));
+        assertThat(retry).isEqualTo(new IdempotencyStore.Result<>("created-1", true));
+        assertThat(runs.get()).isEqualTo(1);
+        assertThat(registry.counter("bookshop.idempotency.requests", "name", "test", "outcome", "replayed").count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("a retry that reaches another instance replays the result stored by the first")
+    void execute_shouldReplayResult_whenRetryReachesAnotherInstance() {
+        IdempotencyStore<String> nodeA = store(Duration.ofSeconds(1), Clock.systemUTC());
+        IdempotencyStore<String> nodeB = store(Duration.ofSeconds(1), Clock.systemUTC());
+
+        nodeA.execute("k", "payload", () -> "created-on-a");
+
+        assertThat(nodeB.execute("k", "payload", () -> "created-on-b"))
+                .isEqualTo(new IdempotencyStore.Result<>("created-on-a", true));
+    }
+
+    @Test
+    @DisplayName("reusing a key for a different payload is rejected")
+    void execute_shouldRejectKey_whenPayloadDiffers() {
+        IdempotencyStore<String> store = store(Duration.ofSeconds(1), Clock.systemUTC());
+        store.execute("k", "payload", () -> "created");
+
+        assertThatThrownBy(() -> store.execute("k", "other payload", () -> "created again"))
+                .isInstanceOf(IdempotencyKeyMismatchException.class);
+    }
+
+    @Test
+    @DisplayName("concurrent duplicates wait for the first request and replay its result")
+    void execute_shouldRunOnce_whenDuplicatesOverlap() throws Exception {
+        IdempotencyStore<String> store = store(Duration.ofSeconds(5), Clock.systemUTC());
+        AtomicInteger runs = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<IdempotencyStore.Result<String>>> results = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                results.add(pool.submit(() -> store.execute("k", "payload", () -> {
+                    int run = runs.incrementAndGet();
+                    await(release);
+                    return "created-" + run;
+                })));
+            }
+            Thread.sleep(100);
+            release.countDown();
+
+            for (Future<IdempotencyStore.Result<String>> result : results) {
+                assertThat(result.get(10, TimeUnit.SECONDS).value()).isEqualTo("created-1");
+            }
+            assertThat(runs.get()).isEqualTo(1);
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("a duplicate gives up with 'in use' when the first request runs past the wait timeout")
+    void execute_shouldTimeOut_whenFirstRequestIsSlow() throws Exception {
+        IdempotencyStore<String> store = store(Duration.ofSeconds(1), Clock.systemUTC());
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try {
+            Future<?> slow = pool.submit(() -> store.execute("k", "payload", () -> {
+                started.countDown();
+                await(release);
+                return "slow";
+            }));
+            assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+            assertThatThrownBy(() -> store.execute("k", "payload", () -> "duplicate"))
+                    .isInstanceOf(IdempotencyKeyInUseException.class);
+            release.countDown();
+            slow.get(10, TimeUnit.SECONDS);
+        } finally {
+            release.countDown();
+            pool.shutdownNow();
+        }
+    }
+
+    @Test
+    @DisplayName("a failed run is forgotten, so the retry runs the action again")
+    void execute_shouldRunAgain_whenFirstRunFailed() {
+        IdempotencyStore<String> store = store(Duration.ofSeconds(1), Clock.systemUTC());
+
+        assertThatThrownBy(() -> store.execute("k", "payload", () -> {
+            throw new IllegalStateException("database down");
+        })).isInstanceOf(IllegalStateException.class);
+
+        assertThat(store.execute("k", "payload", () -> "created")).isEqualTo(new IdempotencyStore.Result<>("created", false));
+    }
+
+    @Test
+    @DisplayName("keys expire after the TTL and are claimed afresh")
+    void execute_shouldForgetKey_whenExpired() {
+        store(Duration.ofSeconds(1), Clock.systemUTC()).execute("k", "payload", () -> "first");
+        IdempotencyStore<String> later = store(Duration.ofSeconds(1), Clock.offset(Clock.systemUTC(), TTL.plusSeconds(1)));
+
+        assertThat(later.execute("k", "payload", () -> "second")).isEqualTo(new IdempotencyStore.Result<>("second", false));
+        assertThat(jdbcTemplate.queryForObject("select count(*) from idempotency_keys", Long.class)).isEqualTo(1L);
+    }
+
+    private IdempotencyStore<String> store(Duration waitTimeout, Clock clock) {
+        return new IdempotencyStore<>("test", TTL, waitTimeout, TEXT, objectMapper, jdbcTemplate, transactionTemplate,
+                registry, clock);
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
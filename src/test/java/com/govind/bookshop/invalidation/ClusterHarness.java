@@ -0,0 +1,65 @@
+package com.govind.bookshop.invalidation;
+
+import com.govind.bookshop.BookShopApplication;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Several application instances in one JVM, sharing one in-memory database and one
+ * {@link InJvmTransport.Hub}, with the catalog snapshot enabled on each — a small stand-in for
+ * a cluster behind a load balancer. Each instance listens on a random port. An extra
+ * {@code --name=value} argument replaces the default for that name.
+ */
+public final class ClusterHarness implements AutoCloseable {
+
+    private final List<ConfigurableApplicationContext> nodes = new ArrayList<>();
+
+    public ClusterHarness(int size, String... extraArgs) {
+        String id = UUID.randomUUID().toString();
+        List<String> args = new ArrayList<>(List.of(
+                "--spring.datasource.url=jdbc:h2:mem:cluster-" + id
+                        + ";DB_CLOSE_DELAY=-1;MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE;DEFAULT_NULL_ORDERING=HIGH",
+                "--server.port=0",
+                "--bookshop.snapshot.enabled=true",
+                "--bookshop.invalidation.transport=in-jvm",
+                "--bookshop.invalidation.in-jvm-hub=" + id));
+        for (String extra : extraArgs) {
+            String name = extra.substring(0, extra.indexOf('=') + 1);
+            args.removeIf(arg -> arg.startsWith(name));
+            args.add(extra);
+        }
+        try {
+            // One at a time: the first instance runs the Flyway migrations for the rest.
+            for (int i = 0; i < size; i++) {
+                nodes.add(new SpringApplicationBuilder(BookShopApplication.class)
+                        .profiles("test")
+                        .run(args.toArray(String[]::new)));
+            }
+        } catch (RuntimeException e) {
+            close();
+            throw e;
+        }
+    }
+
+    public int size() {
+        return nodes.size();
+    }
+
+    public <T> T bean(int node, Class<T> type) {
+        return nodes.get(node).getBean(type);
+    }
+
+    @Override
+    public void close() {
+        if (!nodes.isEmpty()) {
+            nodes.get(0).getBean(JdbcTemplate.class).execute("SHUTDOWN");
+        }
+        nodes.forEach(ConfigurableApplicationContext::close);
+        nodes.clear();
+    }
+}
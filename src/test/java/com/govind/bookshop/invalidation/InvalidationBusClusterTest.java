@@ -0,0 +1,71 @@
+package com.govind.bookshop.invalidation;
+
+import com.govind.bookshop.author.domain.entity.AuthorEntity;
+import com.govind.bookshop.author.service.impl.AuthorServiceImpl;
+import com.govind.bookshop.book.domain.Isbn;
+import com.govind.bookshop.book.domain.dto.BookDto;
+import com.govind.bookshop.book.domain.entity.BookEntity;
+import com.govind.bookshop.book.service.impl.BookServiceImpl;
+import com.govind.bookshop.snapshot.CatalogSnapshot;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Three instances started by {@link ClusterHarness}: a write handled by one must show up in
+ * the others' catalog snapshots without any write of their own.
+ */
+class InvalidationBusClusterTest {
+
+    private static final long ISBN = Isbn.withCheckDigit(978_000_000_001L);
+
+    private final ClusterHarness cluster = new ClusterHarness(3);
+
+    @AfterEach
+    void tearDown() {
+        cluster.close();
+    }
+
+    @Test
+    @DisplayName("a book written on node 0 reaches the snapshots of nodes 1 and 2, and so does its deletion")
+    void write_shouldBecomeVisibleOnEveryNode_whenCommittedOnOne() throws Exception {
+        AuthorEntity author = cluster.bean(0, AuthorServiceImpl.class)
+                .save(AuthorEntity.builder().name("govind").age(30).build());
+        cluster.bean(0, BookServiceImpl.class).createUpdateBook(ISBN, BookEntity.builder()
+                .title("Distributed Systems")
+                .authorEntity(author)
+                .build());
+
+        for (int node = 1; node < cluster.size(); node++) {
+            CatalogSnapshot snapshot = cluster.bean(node, CatalogSnapshot.class);
+            BookDto book = awaitPresent(() -> snapshot.findBook(ISBN));
+            assertThat(book.getTitle()).isEqualTo("Distributed Systems");
+            assertThat(book.getAuthor().getName()).isEqualTo("govind");
+        }
+
+        cluster.bean(0, BookServiceImpl.class).delete(ISBN);
+
+        for (int node = 1; node < cluster.size(); node++) {
+            CatalogSnapshot snapshot = cluster.bean(node, CatalogSnapshot.class);
+            awaitCondition(() -> snapshot.findBook(ISBN).isEmpty());
+        }
+    }
+
+    private static <T> T awaitPresent(Supplier<Optional<T>> lookup) throws InterruptedException {
+        awaitCondition(() -> lookup.get().isPresent());
+        return lookup.get().orElseThrow();
+    }
+
+    private static void awaitCondition(Supplier<Boolean> condition) throws InterruptedException {
+        long deadline = System.nanoTime() + 10_000_000_000L;
+        while (!condition.get()) {
+            assertThat(System.nanoTime()).as("timed out").isLessThan(deadline);
+            Thread.sleep(10);
+        }
+    }
+}
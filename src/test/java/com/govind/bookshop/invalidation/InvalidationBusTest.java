@@ -0,0 +1,151 @@
+package com.govind.bookshop.invalidation;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.govind.bookshop.change.domain.entity.ChangeEntity;
+import com.govind.bookshop.change.service.ChangeRecordedEvent;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link InvalidationBus}, two buses joined by an {@link InJvmTransport}.
+ */
+class InvalidationBusTest {
+
+    /** What a listener heard; {@code null} keys mean "invalidate all". */
+    private record Heard(Set<EntityKey> keys) {
+        boolean all() {
+            return keys == null;
+        }
+    }
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final InJvmTransport.Hub hub = InJvmTransport.Hub.named(UUID.randomUUID().toString());
+    private final List<InvalidationBus> buses = new ArrayList<>();
+
+    @AfterEach
+    void tearDown() {
+        buses.forEach(InvalidationBus::shutdown);
+    }
+
+    @Test
+    @DisplayName("a burst of commits reaches the other instance as one batch, and local listeners too")
+    void onCommitted_shouldBatchKeys_whenCommitsArriveTogether() throws Exception {
+        InvalidationBus writer = bus(1000);
+        InvalidationBus reader = bus(1000);
+        BlockingQueue<Heard> local = listen(writer);
+        BlockingQueue<Heard> remote = listen(reader);
+
+        for (int i = 0; i < 50; i++) {
+            writer.onCommitted(new ChangeRecordedEvent(i, ChangeEntity.Type.BOOK, Integer.toString(i)));
+        }
+        writer.onCommitted(new ChangeRecordedEvent(50, ChangeEntity.Type.AUTHOR, "7"));
+
+        Set<EntityKey> expected = new HashSet<>();
+        for (int i = 0; i < 50; i++) {
+            expected.add(new EntityKey(ChangeEntity.Type.BOOK, Integer.toString(i)));
+        }
+        expected.add(EntityKey.parse("author:7"));
+        assertThat(remote.poll(5, TimeUnit.SECONDS).keys()).isEqualTo(expected);
+        assertThat(local.poll(5, TimeUnit.SECONDS).keys()).isEqualTo(expected);
+        assertThat(remote.poll(50, TimeUnit.MILLISECONDS)).isNull();
+        assertThat(local.poll(50, TimeUnit.MILLISECONDS)).isNull();
+    }
+
+    @Test
+    @DisplayName("more pending keys than max-keys become one invalidate-all")
+    void onCommitted_shouldInvalidateAll_whenPendingKeysOverflow() throws Exception {
+        InvalidationBus writer = bus(3);
+        BlockingQueue<Heard> remote = listen(bus(3));
+
+        for (int i = 0; i < 10; i++) {
+            writer.onCommitted(new ChangeRecordedEvent(i, ChangeEntity.Type.BOOK, Integer.toString(i)));
+        }
+
+        assertThat(remote.poll(5, TimeUnit.SECONDS).all()).isTrue();
+        assertThat(remote.poll(50, TimeUnit.MILLISECONDS)).isNull();
+    }
+
+    @Test
+    @DisplayName("a reconnect tells listeners to invalidate everything")
+    void onReconnect_shouldInvalidateAll_whenMessagesMayHaveBeenLost() throws Exception {
+        BlockingQueue<Heard> heard = listen(bus(1000));
+
+        hub.reconnectAll();
+
+        assertThat(heard.poll(5, TimeUnit.SECONDS).all()).isTrue();
+    }
+
+    @Test
+    @DisplayName("after a failed send, the next message starts with invalidate-all")
+    void flush_shouldSendInvalidateAllFirst_whenPreviousSendFailed() throws Exception {
+        BlockingQueue<String> wire = new LinkedBlockingQueue<>();
+        AtomicBoolean fail = new AtomicBoolean(true);
+        InvalidationTransport flaky = new InvalidationTransport() {
+            @Override
+            public void start(Receiver receiver) {
+            }
+
+            @Override
+            public void publish(String message) {
+                if (fail.get()) {
+                    throw new IllegalStateException("connection refused");
+                }
+                wire.add(message);
+            }
+
+            @Override
+            public void close() {
+            }
+        };
+        InvalidationBus bus = new InvalidationBus(flaky, new ObjectMapper(), registry, Duration.ofMillis(1), 1000);
+        buses.add(bus);
+        bus.start();
+
+        bus.onCommitted(new ChangeRecordedEvent(1, ChangeEntity.Type.BOOK, "1"));
+        Thread.sleep(100);
+        fail.set(false);
+        bus.onCommitted(new ChangeRecordedEvent(2, ChangeEntity.Type.BOOK, "2"));
+
+        assertThat(wire.poll(5, TimeUnit.SECONDS)).contains("\"all\":true");
+        assertThat(wire.poll(5, TimeUnit.SECONDS)).contains("book:2");
+    }
+
+    private InvalidationBus bus(int maxKeys) {
+        InvalidationBus bus = new InvalidationBus(new InJvmTransport(hub), new ObjectMapper(), registry,
+                Duration.ofMillis(20), maxKeys);
+        buses.add(bus);
+        bus.start();
+        return bus;
+    }
+
+    private static BlockingQueue<Heard> listen(InvalidationBus bus) {
+        BlockingQueue<Heard> heard = new LinkedBlockingQueue<>();
+        bus.subscribe(new InvalidationListener() {
+            @Override
+            public void invalidate(Set<EntityKey> keys) {
+                heard.add(new Heard(keys));
+            }
+
+            @Override
+            public void invalidateAll() {
+                heard.add(new Heard(null));
+            }
+        });
+        return heard;
+    }
+}
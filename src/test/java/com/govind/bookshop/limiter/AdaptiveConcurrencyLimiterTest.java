@@ -0,0 +1,117 @@
+package com.govind.bookshop.limiter;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.web.MockFilterChain;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.mock.web.MockHttpServletResponse;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link AdaptiveConcurrencyLimiter} and {@link ConcurrencyLimitFilter},
+ * driven by a fake clock so latency is deterministic.
+ */
+class AdaptiveConcurrencyLimiterTest {
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+    private final AtomicLong now = new AtomicLong();
+
+    private AdaptiveConcurrencyLimiter limiter(int initial, int min, int max) {
+        return new AdaptiveConcurrencyLimiter("test", initial, min, max, registry, now::get);
+    }
+
+    @Test
+    @DisplayName("requests beyond the limit are rejected immediately")
+    void tryAcquire_shouldReject_whenLimitReached() {
+        AdaptiveConcurrencyLimiter limiter = limiter(2, 1, 10);
+
+        assertThat(limiter.tryAcquire()).isPresent();
+        Optional<AdaptiveConcurrencyLimiter.Permit> second = limiter.tryAcquire();
+        assertThat(second).isPresent();
+        assertThat(limiter.tryAcquire()).isEmpty();
+
+        second.get().success();
+        assertThat(limiter.tryAcquire()).isPresent();
+        assertThat(registry.counter("bookshop.limiter.calls", "name", "test", "outcome", "rejected").count())
+                .isEqualTo(1);
+    }
+
+    @Test
+    @DisplayName("limit grows while latency stays flat and the limit is in use")
+    void limit_shouldGrow_whenLatencyIsStable() {
+        AdaptiveConcurrencyLimiter limiter = limiter(10, 2, 100);
+
+        runRounds(limiter, 50, 10);
+
+        assertThat(limiter.getLimit()).isGreaterThan(10);
+    }
+
+    @Test
+    @DisplayName("limit shrinks when latency rises well above its baseline")
+    void limit_shouldShrink_whenLatencyInflates() {
+        AdaptiveConcurrencyLimiter limiter = limiter(40, 2, 100);
+        runRounds(limiter, 20, 10);
+        int before = limiter.getLimit();
+
+        runRounds(limiter, 20, 100);
+
+        assertThat(limiter.getLimit()).isLessThan(before);
+    }
+
+    @Test
+    @DisplayName("dropped requests back the limit off, never below the minimum")
+    void dropped_shouldBackOff_toMinimum() {
+        AdaptiveConcurrencyLimiter limiter = limiter(10, 3, 100);
+
+        for (int i = 0; i < 50; i++) {
+            limiter.tryAcquire().orElseThrow().dropped();
+        }
+
+        assertThat(limiter.getLimit()).isEqualTo(3);
+        assertThat(limiter.getInFlight()).isZero();
+    }
+
+    @Test
+    @DisplayName("filter answers 503 with Retry-After when the read limit is saturated")
+    void filter_shouldReturn503WithRetryAfter_whenSaturated() throws Exception {
+        AdaptiveConcurrencyLimiter reads = limiter(1, 1, 1);
+        AdaptiveConcurrencyLimiter writes = new AdaptiveConcurrencyLimiter("writes", 1, 1, 1, registry, now::get);
+        ConcurrencyLimitFilter filter = new ConcurrencyLimitFilter(reads, writes, Duration.ofSeconds(3));
+        AdaptiveConcurrencyLimiter.Permit held = reads.tryAcquire().orElseThrow();
+
+        MockHttpServletResponse rejected = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("GET", "/books"), rejected, new MockFilterChain());
+
+        assertThat(rejected.getStatus()).isEqualTo(503);
+        assertThat(rejected.getHeader("Retry-After")).isEqualTo("3");
+
+        MockHttpServletResponse write = new MockHttpServletResponse();
+        filter.doFilter(new MockHttpServletRequest("PUT", "/books/1"), write, new MockFilterChain());
+        assertThat(write.getStatus()).isEqualTo(200);
+        assertThat(writes.getInFlight()).isZero();
+
+        held.success();
+    }
+
+    /** Fill the limit, advance the clock by {@code latencyMillis}, complete everything. */
+    private void runRounds(AdaptiveConcurrencyLimiter limiter, int rounds, long latencyMillis) {
+        for (int r = 0; r < rounds; r++) {
+            List<AdaptiveConcurrencyLimiter.Permit> permits = new ArrayList<>();
+            Optional<AdaptiveConcurrencyLimiter.Permit> permit;
+            while ((permit = limiter.tryAcquire()).isPresent()) {
+                permits.add(permit.get());
+            }
+            now.addAndGet(TimeUnit.MILLISECONDS.toNanos(latencyMillis));
+            permits.forEach(AdaptiveConcurrencyLimiter.Permit::success);
+        }
+    }
+}
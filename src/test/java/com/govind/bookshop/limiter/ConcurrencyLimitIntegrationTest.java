@@ -0,0 +1,57 @@
+package com.govind.bookshop.limiter;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+/**
+ * {@link ConcurrencyLimitFilter} as registered by {@link ConcurrencyLimitConfig}: every write
+ * route, including {@code POST /batch}, is shed once the write limit is in use.
+ */
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+@SpringBootTest(properties = {"bookshop.limiter.writes.initial-limit=1", "bookshop.limiter.writes.min-limit=1",
+        "bookshop.limiter.writes.max-limit=1"})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class ConcurrencyLimitIntegrationTest {
+
+    private static final String BATCH = """
+            { "operations": [ { "method": "POST", "path": "/authors", "body": { "name": "Neil Gaiman", "age": 45 } } ] }
+            """;
+
+    private final MockMvc mockMvc;
+    private final AdaptiveConcurrencyLimiter writeLimiter;
+
+    @Autowired
+    ConcurrencyLimitIntegrationTest(MockMvc mockMvc, @Qualifier("writeLimiter") AdaptiveConcurrencyLimiter writeLimiter) {
+        this.mockMvc = mockMvc;
+        this.writeLimiter = writeLimiter;
+    }
+
+    @Test
+    @DisplayName("POST /batch → 503 with Retry-After while the write limit is saturated")
+    void batch_shouldReturn503_whenWriteLimitSaturated() throws Exception {
+        AdaptiveConcurrencyLimiter.Permit held = writeLimiter.tryAcquire().orElseThrow();
+
+        mockMvc.perform(post("/batch").contentType(MediaType.APPLICATION_JSON).content(BATCH))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "1"));
+
+        held.success();
+        mockMvc.perform(post("/batch").contentType(MediaType.APPLICATION_JSON).content(BATCH))
+                .andExpect(status().isOk());
+        assertThat(writeLimiter.getInFlight()).isZero();
+    }
+}
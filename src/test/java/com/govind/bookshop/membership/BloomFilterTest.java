@@ -0,0 +1,51 @@
+package com.govind.bookshop.membership;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link BloomFilter}.
+ */
+class BloomFilterTest {
+
+    private static final long FIRST_ISBN = 9_780_000_000_000L;
+
+    @Test
+    @DisplayName("every key put is found; other keys are false positives at about the target rate")
+    void mightContain_shouldNeverMissPutKeys_andStayNearTargetFpp() {
+        int keys = 100_000;
+        BloomFilter filter = new BloomFilter(keys, 0.01);
+        for (long i = 0; i < keys; i++) {
+            filter.put(FIRST_ISBN + i * 10);
+        }
+
+        for (long i = 0; i < keys; i++) {
+            assertThat(filter.mightContain(FIRST_ISBN + i * 10)).isTrue();
+        }
+        int falsePositives = 0;
+        int probes = 200_000;
+        for (long i = 0; i < probes; i++) {
+            if (filter.mightContain(FIRST_ISBN + i * 10 + 5)) {
+                falsePositives++;
+            }
+        }
+        double observed = (double) falsePositives / probes;
+        assertThat(observed).isBetween(0.005, 0.02);
+        assertThat(filter.estimatedFpp()).isBetween(0.005, 0.02);
+        assertThat(filter.keys()).isBetween((long) (keys * 0.99), (long) keys);
+    }
+
+    @Test
+    @DisplayName("sizing follows m = -n ln p / (ln 2)², about 1.2 bytes per key at 1%")
+    void constructor_shouldSizeBitsAndHashes_fromExpectedKeysAndFpp() {
+        BloomFilter filter = new BloomFilter(100_000, 0.01);
+
+        assertThat(filter.hashes()).isEqualTo(7);
+        assertThat(filter.bits()).isBetween(958_506L, 958_506L + 64);
+        assertThat(filter.bytes()).isBetween(119_000L, 120_000L);
+        assertThat(filter.mightContain(42)).isFalse();
+        assertThat(filter.estimatedFpp()).isZero();
+    }
+}
@@ -0,0 +1,66 @@
+package com.govind.bookshop.membership;
+
+import com.govind.bookshop.author.controller.AuthorController;
+import com.govind.bookshop.author.domain.dto.AuthorDto;
+import com.govind.bookshop.author.domain.entity.AuthorEntity;
+import com.govind.bookshop.author.service.impl.AuthorServiceImpl;
+import com.govind.bookshop.invalidation.ClusterHarness;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * {@link KeyMembership} across instances started by {@link ClusterHarness}: an insert on one
+ * instance must never make another answer 404 for a write, and without a transport the
+ * filters must stay out of the way.
+ */
+class KeyMembershipClusterTest {
+
+    @Test
+    @DisplayName("inside the bus delay a peer's filter misses the insert, but its PATCH checks the database")
+    void patch_shouldFindPeerInsert_whenFilterHasNotHeardOfIt() throws Exception {
+        try (ClusterHarness cluster = new ClusterHarness(2, "--bookshop.invalidation.linger=2s")) {
+            KeyMembership peer = cluster.bean(1, KeyMembership.class);
+            awaitReady(peer);
+            AuthorEntity author = cluster.bean(0, AuthorServiceImpl.class)
+                    .save(AuthorEntity.builder().name("govind").age(30).build());
+
+            assertThat(peer.mightContainAuthor(author.getId())).as("still inside the linger").isFalse();
+            assertThat(cluster.bean(1, AuthorController.class)
+                    .partialUpdate(author.getId(), AuthorDto.builder().age(31).build()).getStatusCode())
+                    .isEqualTo(HttpStatus.OK);
+
+            long deadline = System.nanoTime() + 10_000_000_000L;
+            while (!peer.mightContainAuthor(author.getId())) {
+                assertThat(System.nanoTime()).as("timed out").isLessThan(deadline);
+                Thread.sleep(10);
+            }
+        }
+    }
+
+    @Test
+    @DisplayName("without an invalidation transport the filters are off and every key might exist")
+    void lookup_shouldNotUseFilter_whenTransportIsNone() throws Exception {
+        try (ClusterHarness cluster = new ClusterHarness(2, "--bookshop.invalidation.transport=none",
+                "--bookshop.snapshot.enabled=false")) {
+            KeyMembership peer = cluster.bean(1, KeyMembership.class);
+            AuthorEntity author = cluster.bean(0, AuthorServiceImpl.class)
+                    .save(AuthorEntity.builder().name("govind").age(30).build());
+
+            assertThat(peer.isEnabled()).isFalse();
+            assertThat(peer.mightContainAuthor(author.getId())).isTrue();
+            assertThat(cluster.bean(1, AuthorController.class).displayOneAuthor(author.getId()).getStatusCode())
+                    .isEqualTo(HttpStatus.OK);
+        }
+    }
+
+    private static void awaitReady(KeyMembership membership) throws InterruptedException {
+        long deadline = System.nanoTime() + 30_000_000_000L;
+        while (!membership.stats().stream().allMatch(KeyMembership.Stats::ready)) {
+            assertThat(System.nanoTime()).as("timed out").isLessThan(deadline);
+            Thread.sleep(20);
+        }
+    }
+}
@@ -0,0 +1,218 @@
+package com.govind.bookshop.schema;
+
+import com.govind.bookshop.author.repository.AuthorRepository;
+import com.govind.bookshop.author.repository.JdbcAuthorReader;
+import com.govind.bookshop.book.repository.BookRepository;
+import com.govind.bookshop.book.repository.JdbcBookReader;
+import com.govind.bookshop.change.domain.entity.ChangeCounterEntity;
+import com.govind.bookshop.change.repository.ChangeCounterRepository;
+import com.govind.bookshop.change.repository.ChangeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.regex.Pattern;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Guards the indexes in {@code db/migration} against query changes.
+ *
+ * <p>Each test runs a repository method, captures the SQL Hibernate actually sent
+ * ({@link SqlCapture}) and runs {@code EXPLAIN} on it against the migrated H2 schema.
+ * Any statement with a {@code WHERE} or {@code ORDER BY} must be served by an index
+ * (no unconditioned {@code tableScan}); ordered statements must also read rows in index
+ * order ({@code index sorted}) rather than sort them.</p>
+ *
+ * <p>Plans come from H2, not PostgreSQL. They catch a query that stops matching any index;
+ * PostgreSQL may still legitimately prefer a sequential scan on a tiny table.</p>
+ *
+ * <p>Naming convention: <b>&lt;query&gt;_should&lt;Expected&gt;</b>.</p>
+ */
+@ActiveProfiles("test")
+@SpringBootTest(properties =
+        "spring.jpa.properties.hibernate.session_factory.statement_inspector=com.govind.bookshop.schema.SqlCapture")
+public class QueryPlanRegressionTest {
+
+    /** H2 prints a scan with no index condition as {@code schema.table.tableScan} right before the comment end. */
+    private static final Pattern FULL_SCAN = Pattern.compile("\\.tablescan\\s*\\*/", Pattern.CASE_INSENSITIVE);
+
+    private final BookRepository bookRepository;
+    private final AuthorRepository authorRepository;
+    private final ChangeRepository changeRepository;
+    private final ChangeCounterRepository counterRepository;
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Autowired
+    public QueryPlanRegressionTest(BookRepository bookRepository, AuthorRepository authorRepository,
+                                   ChangeRepository changeRepository, ChangeCounterRepository counterRepository,
+                                   JdbcTemplate jdbcTemplate, TransactionTemplate transactionTemplate) {
+        this.bookRepository = bookRepository;
+        this.authorRepository = authorRepository;
+        this.changeRepository = changeRepository;
+        this.counterRepository = counterRepository;
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = transactionTemplate;
+    }
+
+    @BeforeEach
+    void resetCapture() {
+        SqlCapture.reset();
+    }
+
+    @Test
+    @DisplayName("GET /books/{isbn} → primary key lookup, author joined by key")
+    public void bookFindById_shouldUseIndexes() {
+        bookRepository.findById(9780000000002L);
+        assertCapturedQueriesUseIndexes();
+    }
+
+    @Test
+    @DisplayName("GET /books?isbn=a,b → primary key IN lookup")
+    public void bookMultiGet_shouldUseIndexes() {
+        bookRepository.findAllWithAuthorByIsbnIn(List.of(9780000000002L, 9780000000019L));
+        assertCapturedQueriesUseIndexes();
+    }
+
+    @Test
+    @DisplayName("GET /books?sort=title → rows read in idx_books_title order")
+    public void bookPageSortedByTitle_shouldReadInIndexOrder() {
+        bookRepository.findAll(PageRequest.of(0, 20, Sort.by("title", "isbn")));
+        assertCapturedQueriesUseIndexes();
+    }
+
+    @Test
+    @DisplayName("GET /books?sort=isbn → rows read in primary key order")
+    public void bookPageSortedByIsbn_shouldReadInIndexOrder() {
+        bookRepository.findAll(PageRequest.of(0, 20, Sort.by("isbn")));
+        assertCapturedQueriesUseIndexes();
+    }
+
+    @Test
+    @DisplayName("GET /books/{isbn} over JDBC → primary key lookup, author joined by key")
+    public void jdbcBookFindOne_shouldUseIndexes() {
+        assertUsesIndex(JdbcBookReader.FIND_ONE);
+    }
+
+    @Test
+    @DisplayName("GET /books?sort=title over JDBC → rows read in idx_books_title order")
+    public void jdbcBookPageSortedByTitle_shouldReadInIndexOrder() {
+        assertUsesIndex(JdbcBookReader.pageStatement(Sort.by("title")));
+    }
+
+    @Test
+    @DisplayName("GET /books over JDBC → rows read in primary key order")
+    public void jdbcBookPageUnsorted_shouldReadInIndexOrder() {
+        assertUsesIndex(JdbcBookReader.pageStatement(Sort.unsorted()));
+    }
+
+    @Test
+    @DisplayName("GET /authors/prolific over JDBC → rows read in idx_authors_book_count order")
+    public void jdbcAuthorsByBookCount_shouldReadInIndexOrder() {
+        assertUsesIndex(JdbcAuthorReader.pageStatement(Sort.by(Sort.Direction.DESC, "bookCount").and(Sort.by("id"))));
+    }
+
+    @Test
+    @DisplayName("GET /authors/{id} → primary key lookup")
+    public void authorFindById_shouldUseIndexes() {
+        authorRepository.findById(1L);
+        assertCapturedQueriesUseIndexes();
+    }
+
+    @Test
+    @DisplayName("GET /authors/prolific → rows read in idx_authors_book_count order")
+    public void authorsByBookCount_shouldReadInIndexOrder() {
+        authorRepository.findAll(PageRequest.of(0, 20, Sort.by(Sort.Direction.DESC, "bookCount").and(Sort.by("id"))));
+        assertCapturedQueriesUseIndexes();
+    }
+
+    @Test
+    @DisplayName("catalog snapshot load → keyset pages in primary key order")
+    public void snapshotLoadPages_shouldUseIndexes() {
+        bookRepository.findPageAfter(9780000000002L, PageRequest.of(0, 1000));
+        authorRepository.findByIdGreaterThanOrderByIdAsc(1L, PageRequest.of(0, 1000));
+        assertCapturedQueriesUseIndexes();
+    }
+
+    @Test
+    @DisplayName("book write → author book_count adjusted by key")
+    public void adjustBookCount_shouldUseIndexes() {
+        transactionTemplate.executeWithoutResult(status -> authorRepository.adjustBookCount(1L, 1));
+        assertCapturedQueriesUseIndexes();
+    }
+
+    @Test
+    @DisplayName("GET /changes → primary key range in seq order")
+    public void changesSince_shouldUseIndexes() {
+        changeRepository.findBySeqGreaterThanOrderBySeqAsc(0L, PageRequest.of(0, 101));
+        assertCapturedQueriesUseIndexes();
+    }
+
+    @Test
+    @DisplayName("change feed write → counter row locked by key")
+    public void changeCounterLock_shouldUseIndexes() {
+        transactionTemplate.executeWithoutResult(status ->
+                counterRepository.findWithLockById(ChangeCounterEntity.SINGLETON_ID));
+        assertCapturedQueriesUseIndexes();
+    }
+
+    @Test
+    @DisplayName("books by author (FK check on author delete) → idx_books_author_id")
+    public void booksByAuthor_shouldUseForeignKeyIndex() {
+        // H2 indexes foreign keys on its own; PostgreSQL does not, so also pin the migration's index.
+        Integer declared = jdbcTemplate.queryForObject(
+                "select count(*) from information_schema.indexes where lower(index_name) = 'idx_books_author_id'",
+                Integer.class);
+        assertThat(declared).isPositive();
+        assertUsesIndex("select b.isbn from books b where b.author_id = ?");
+    }
+
+    private void assertCapturedQueriesUseIndexes() {
+        List<String> statements = SqlCapture.statements();
+        assertThat(statements).as("captured SQL").isNotEmpty();
+        for (String sql : statements) {
+            String lower = sql.toLowerCase(Locale.ROOT);
+            if (lower.contains(" where ") || lower.contains(" order by ")) {
+                assertUsesIndex(sql);
+            }
+        }
+    }
+
+    private void assertUsesIndex(String sql) {
+        String plan = explain(sql);
+        assertThat(FULL_SCAN.matcher(plan).find())
+                .as("full table scan in plan for %s%n%s", sql, plan)
+                .isFalse();
+        if (sql.toLowerCase(Locale.ROOT).contains(" order by ")) {
+            assertThat(plan.toLowerCase(Locale.ROOT))
+                    .as("plan for %s%n%s", sql, plan)
+                    .contains("index sorted");
+        }
+    }
+
+    /** {@code EXPLAIN} with every parameter bound to {@code '1'}; H2 converts it to the column type. */
+    private String explain(String sql) {
+        return jdbcTemplate.query("EXPLAIN " + sql, ps -> {
+            int count = ps.getParameterMetaData().getParameterCount();
+            for (int i = 1; i <= count; i++) {
+                ps.setString(i, "1");
+            }
+        }, rs -> {
+            StringBuilder plan = new StringBuilder();
+            while (rs.next()) {
+                plan.append(rs.getString(1)).append('\n');
+            }
+            return plan.toString();
+        });
+    }
+}
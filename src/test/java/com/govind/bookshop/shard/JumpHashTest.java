@@ -0,0 +1,57 @@
+package com.govind.bookshop.shard;
+
+import com.govind.bookshop.book.domain.Isbn;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link JumpHash}.
+ */
+class JumpHashTest {
+
+    private static final int KEYS = 100_000;
+
+    @Test
+    @DisplayName("consecutive ISBNs spread evenly over the shards")
+    void shardOf_shouldSpreadEvenly_whenKeysAreDense() {
+        int shards = 8;
+        int[] counts = new int[shards];
+        for (int i = 0; i < KEYS; i++) {
+            counts[JumpHash.shardOf(isbn(i), shards)]++;
+        }
+
+        for (int count : counts) {
+            assertThat(count).isBetween(KEYS / shards * 95 / 100, KEYS / shards * 105 / 100);
+        }
+    }
+
+    @Test
+    @DisplayName("adding a shard moves about 1/(n+1) of the keys, and only onto the new shard")
+    void shardOf_shouldMoveKeysOnlyToNewShard_whenShardCountGrows() {
+        int shards = 4;
+        int moved = 0;
+        for (int i = 0; i < KEYS; i++) {
+            int before = JumpHash.shardOf(isbn(i), shards);
+            int after = JumpHash.shardOf(isbn(i), shards + 1);
+            if (before != after) {
+                assertThat(after).isEqualTo(shards);
+                moved++;
+            }
+        }
+
+        assertThat(moved).isBetween(KEYS / (shards + 1) * 95 / 100, KEYS / (shards + 1) * 105 / 100);
+    }
+
+    @Test
+    @DisplayName("one shard owns everything")
+    void shardOf_shouldReturnZero_whenSingleShard() {
+        assertThat(JumpHash.shardOf(isbn(0), 1)).isZero();
+        assertThat(JumpHash.shardOf(Long.MAX_VALUE, 1)).isZero();
+    }
+
+    private static long isbn(int i) {
+        return Isbn.withCheckDigit(978_000_000_000L + i);
+    }
+}
@@ -0,0 +1,35 @@
+package com.govind.bookshop.shard;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.Comparator;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link KWayMerge}.
+ */
+class KWayMergeTest {
+
+    @Test
+    @DisplayName("sorted lists merge into one order; skip and take cut the page")
+    void merge_shouldReturnPageOfMergedOrder_whenListsAreSorted() {
+        List<List<Integer>> shards = List.of(List.of(1, 4, 7, 10), List.of(), List.of(2, 3, 8), List.of(5, 6, 9));
+
+        assertThat(KWayMerge.merge(shards, Comparator.naturalOrder(), 0, 100))
+                .containsExactly(1, 2, 3, 4, 5, 6, 7, 8, 9, 10);
+        assertThat(KWayMerge.merge(shards, Comparator.naturalOrder(), 3, 4)).containsExactly(4, 5, 6, 7);
+        assertThat(KWayMerge.merge(shards, Comparator.naturalOrder(), 9, 4)).containsExactly(10);
+        assertThat(KWayMerge.merge(shards, Comparator.naturalOrder(), 20, 4)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("descending comparators merge descending lists")
+    void merge_shouldFollowComparator_whenDescending() {
+        List<List<Integer>> shards = List.of(List.of(9, 5, 1), List.of(8, 2));
+
+        assertThat(KWayMerge.merge(shards, Comparator.<Integer>reverseOrder(), 1, 3)).containsExactly(8, 5, 2);
+    }
+}
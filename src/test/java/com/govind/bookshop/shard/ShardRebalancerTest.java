@@ -0,0 +1,121 @@
+package com.govind.bookshop.shard;
+
+import com.govind.bookshop.book.domain.Isbn;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Tests for {@link ShardRebalancer} against embedded H2 shards (no Spring context).
+ */
+class ShardRebalancerTest {
+
+    private static final int BOOKS = 200;
+
+    private final List<String> urls = List.of(url(), url(), url());
+    private final List<BookShards> opened = new ArrayList<>();
+
+    @AfterEach
+    void closeShards() {
+        opened.forEach(BookShards::shutdown);
+    }
+
+    @Test
+    @DisplayName("adding a shard moves exactly the books jump hashing reassigns, and a rerun moves none")
+    void rebalance_shouldMoveReassignedBooks_whenShardAdded() {
+        seed(shards(urls.subList(0, 2), List.of()));
+        BookShards grown = shards(urls, List.of());
+        long expected = 0;
+        for (int i = 0; i < BOOKS; i++) {
+            if (JumpHash.shardOf(isbn(i), 2) != JumpHash.shardOf(isbn(i), 3)) {
+                expected++;
+            }
+        }
+
+        long moved = new ShardRebalancer(grown, false, 16).rebalance();
+
+        assertThat(moved).isEqualTo(expected).isPositive();
+        assertEveryBookOnOwner(grown);
+        assertThat(new ShardRebalancer(grown, false, 16).rebalance()).isZero();
+    }
+
+    @Test
+    @DisplayName("a draining shard is emptied onto the remaining shards")
+    void rebalance_shouldEmptyDrainingShard_whenShardRemoved() {
+        seed(shards(urls, List.of()));
+        BookShards shrunk = shards(urls.subList(0, 2), urls.subList(2, 3));
+
+        new ShardRebalancer(shrunk, false, 16).rebalance();
+
+        assertThat(count(shrunk.draining().get(0))).isZero();
+        assertEveryBookOnOwner(shrunk);
+    }
+
+    @Test
+    @DisplayName("a copy never overwrites the owner's row, so newer writes win over leftovers")
+    void rebalance_shouldKeepOwnersRow_whenBothShardsHaveTheBook() {
+        BookShards two = shards(urls.subList(0, 2), List.of());
+        BookShards three = shards(urls, List.of());
+        long isbn = firstIsbnMovingToNewShard();
+        two.owner(isbn).jdbc().update("INSERT INTO books (isbn, title) VALUES (?, 'stale')", isbn);
+        three.owner(isbn).jdbc().update("INSERT INTO books (isbn, title) VALUES (?, 'fresh')", isbn);
+
+        new ShardRebalancer(three, false, 16).rebalance();
+
+        assertThat(three.owner(isbn).jdbc().queryForObject("SELECT title FROM books WHERE isbn = ?", String.class, isbn))
+                .isEqualTo("fresh");
+        assertThat(count(two.owner(isbn))).isZero();
+    }
+
+    private void assertEveryBookOnOwner(BookShards shards) {
+        long total = 0;
+        for (BookShards.Shard shard : shards.active()) {
+            total += count(shard);
+        }
+        assertThat(total).isEqualTo(BOOKS);
+        for (int i = 0; i < BOOKS; i++) {
+            Long rows = shards.owner(isbn(i)).jdbc()
+                    .queryForObject("SELECT COUNT(*) FROM books WHERE isbn = ?", Long.class, isbn(i));
+            assertThat(rows).isEqualTo(1L);
+        }
+    }
+
+    private static void seed(BookShards shards) {
+        for (int i = 0; i < BOOKS; i++) {
+            shards.owner(isbn(i)).jdbc().update("INSERT INTO books (isbn, title, author_id) VALUES (?, ?, ?)",
+                    isbn(i), "title-" + i, i % 5 == 0 ? null : (long) i);
+        }
+    }
+
+    private static long firstIsbnMovingToNewShard() {
+        for (int i = 0; ; i++) {
+            if (JumpHash.shardOf(isbn(i), 3) == 2) {
+                return isbn(i);
+            }
+        }
+    }
+
+    private static long count(BookShards.Shard shard) {
+        return shard.jdbc().queryForObject("SELECT COUNT(*) FROM books", Long.class);
+    }
+
+    private BookShards shards(List<String> active, List<String> draining) {
+        BookShards shards = new BookShards(null, active, draining, "sa", "", 2);
+        opened.add(shards);
+        return shards;
+    }
+
+    private static long isbn(int i) {
+        return Isbn.withCheckDigit(978_000_000_000L + i);
+    }
+
+    private static String url() {
+        return "jdbc:h2:mem:rebalance-" + UUID.randomUUID() + ";MODE=PostgreSQL;DATABASE_TO_LOWER=TRUE";
+    }
+}
@@ -0,0 +1,119 @@
+package com.govind.bookshop.singleflight;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * Unit tests for {@link SingleFlight}.
+ */
+class SingleFlightTest {
+
+    private static final int CALLERS = 16;
+
+    private final SimpleMeterRegistry registry = new SimpleMeterRegistry();
+
+    @Test
+    @DisplayName("concurrent callers with the same key share one load and one result")
+    void execute_shouldRunLoaderOnce_whenCallersOverlap() throws Exception {
+        SingleFlight<String, Object> flight = new SingleFlight<>("test", true, Duration.ofSeconds(5), registry);
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<Object>> results = runConcurrently(CALLERS, () -> flight.execute("k", () -> {
+            loads.incrementAndGet();
+            await(release);
+            return new Object();
+        }), release);
+
+        Object first = results.get(0).get();
+        for (Future<Object> result : results) {
+            assertThat(result.get()).isSameAs(first);
+        }
+        assertThat(loads.get()).isEqualTo(1);
+        assertThat(registry.counter("bookshop.singleflight.calls", "name", "test", "outcome", "collapsed").count())
+                .isEqualTo(CALLERS - 1);
+    }
+
+    @Test
+    @DisplayName("a leader failure reaches every waiter, and the key is released afterwards")
+    void execute_shouldPropagateLeaderException_toAllWaiters() throws Exception {
+        SingleFlight<String, Object> flight = new SingleFlight<>("test", true, Duration.ofSeconds(5), registry);
+        CountDownLatch release = new CountDownLatch(1);
+        IllegalStateException boom = new IllegalStateException("boom");
+
+        List<Future<Object>> results = runConcurrently(CALLERS, () -> flight.execute("k", () -> {
+            await(release);
+            throw boom;
+        }), release);
+
+        for (Future<Object> result : results) {
+            assertThatThrownBy(result::get).hasCause(boom);
+        }
+        assertThat(flight.execute("k", () -> "fresh")).isEqualTo("fresh");
+    }
+
+    @Test
+    @DisplayName("a waiter gives up after the wait timeout")
+    void execute_shouldTimeOutWaiter_whenLeaderIsSlow() throws Exception {
+        SingleFlight<String, Object> flight = new SingleFlight<>("test", true, Duration.ofMillis(50), registry);
+        CountDownLatch leaderStarted = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService pool = Executors.newSingleThreadExecutor();
+        try {
+            pool.submit(() -> flight.execute("k", () -> {
+                leaderStarted.countDown();
+                await(release);
+                return "slow";
+            }));
+            leaderStarted.await(5, TimeUnit.SECONDS);
+
+            assertThatThrownBy(() -> flight.execute("k", () -> "never"))
+                    .isInstanceOf(SingleFlightTimeoutException.class);
+        } finally {
+            release.countDown();
+            pool.shutdown();
+        }
+    }
+
+    /** Start {@code n} callers, give them time to pile up on the key, then let the leader finish. */
+    private static List<Future<Object>> runConcurrently(int n, java.util.concurrent.Callable<Object> call,
+                                                        CountDownLatch release) throws InterruptedException {
+        ExecutorService pool = Executors.newFixedThreadPool(n);
+        CountDownLatch started = new CountDownLatch(n);
+        List<Future<Object>> futures = new ArrayList<>();
+        for (int i = 0; i < n; i++) {
+            futures.add(pool.submit(() -> {
+                started.countDown();
+                return call.call();
+            }));
+        }
+        started.await(5, TimeUnit.SECONDS);
+        Thread.sleep(100);
+        release.countDown();
+        pool.shutdown();
+        pool.awaitTermination(5, TimeUnit.SECONDS);
+        return futures;
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.govind.bookshop.snapshot;
+
+import com.govind.bookshop.author.domain.dto.AuthorDto;
+import com.govind.bookshop.book.domain.dto.BookDto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Sort;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link CatalogSnapshot}.
+ */
+class CatalogSnapshotTest {
+
+    private static final long ISBN_1 = 9780306406157L;
+    private static final long ISBN_2 = 9780140449136L;
+    private static final long ISBN_3 = 9780262033848L;
+
+    private final CatalogSnapshot snapshot = new CatalogSnapshot();
+
+    @Test
+    @DisplayName("books are returned with their author, keyed by ISBN")
+    void findBook_shouldReturnBookWithAuthor_whenPresent() {
+        snapshot.putAuthor(7L, "Gödel", 71, 1L);
+        snapshot.putBook(ISBN_1, "Über formal unentscheidbare Sätze", 7L);
+
+        BookDto book = snapshot.findBook(ISBN_1).orElseThrow();
+
+        assertThat(book.getIsbn()).isEqualTo("9780306406157");
+        assertThat(book.getTitle()).isEqualTo("Über formal unentscheidbare Sätze");
+        assertThat(book.getAuthor()).isEqualTo(AuthorDto.builder().id(7L).name("Gödel").age(71).bookCount(1L).build());
+        assertThat(snapshot.findBook(ISBN_2)).isEmpty();
+    }
+
+    @Test
+    @DisplayName("upserts replace in place, removals drop the row, nulls round-trip")
+    void putAndRemove_shouldKeepLatestState_whenRowsChange() {
+        snapshot.putBook(ISBN_1, "first", null);
+        snapshot.putBook(ISBN_1, null, null);
+        snapshot.putAuthor(1L, null, null, null);
+
+        assertThat(snapshot.bookCount()).isEqualTo(1);
+        assertThat(snapshot.findBook(ISBN_1).orElseThrow().getTitle()).isNull();
+        assertThat(snapshot.findBook(ISBN_1).orElseThrow().getAuthor()).isNull();
+        assertThat(snapshot.findAuthor(1L).orElseThrow().getAge()).isNull();
+
+        snapshot.removeBook(ISBN_1);
+        snapshot.removeBook(ISBN_1);
+        snapshot.removeAuthor(1L);
+
+        assertThat(snapshot.findBook(ISBN_1)).isEmpty();
+        assertThat(snapshot.findAllAuthors()).isEmpty();
+    }
+
+    @Test
+    @DisplayName("pages slice ISBN order either way; other sorts are left to the database")
+    void findBooks_shouldServeIsbnOrder_whenSortSupported() {
+        snapshot.putBook(ISBN_3, "c", null);
+        snapshot.putBook(ISBN_1, "a", null);
+        snapshot.putBook(ISBN_2, "b", null);
+
+        Page<BookDto> first = snapshot.findBooks(PageRequest.of(0, 2)).orElseThrow();
+        Page<BookDto> last = snapshot.findBooks(PageRequest.of(1, 2)).orElseThrow();
+        Page<BookDto> descending = snapshot.findBooks(PageRequest.of(0, 3, Sort.by(Sort.Direction.DESC, "isbn"))).orElseThrow();
+
+        assertThat(first.getContent()).extracting(BookDto::getIsbn).containsExactly("9780140449136", "9780262033848");
+        assertThat(first.getTotalElements()).isEqualTo(3);
+        assertThat(last.getContent()).extracting(BookDto::getIsbn).containsExactly("9780306406157");
+        assertThat(descending.getContent()).extracting(BookDto::getIsbn)
+                .containsExactly("9780306406157", "9780262033848", "9780140449136");
+        assertThat(snapshot.findBooks(PageRequest.of(0, 2, Sort.by("title")))).isEmpty();
+    }
+
+    @Test
+    @DisplayName("rewriting titles many times compacts the arena and keeps every value")
+    void putBook_shouldCompactArena_whenMostBytesAreGarbage() {
+        for (int round = 0; round < 2_000; round++) {
+            for (long i = 0; i < 10; i++) {
+                snapshot.putBook(ISBN_1 + i, "title-" + i + "-" + round, null);
+            }
+        }
+
+        assertThat(snapshot.findBook(ISBN_1 + 9).orElseThrow().getTitle()).isEqualTo("title-9-1999");
+        assertThat(snapshot.footprintBytes()).isLessThan(200 * 1024); // ~280 KiB were written
+    }
+}
@@ -0,0 +1,58 @@
+package com.govind.bookshop.views;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Unit tests for {@link PopularityRanking}.
+ */
+class PopularityRankingTest {
+
+    private static final long HOUR = Duration.ofHours(1).toNanos();
+
+    @Test
+    @DisplayName("views add up per book; the top is ordered by score")
+    void add_shouldRankByViews_whenMergedAtTheSameTime() {
+        PopularityRanking ranking = new PopularityRanking(2, 10, Duration.ofHours(1), 0);
+
+        ranking.add(Map.of(1L, 5L, 2L, 3L, 3L, 1L), 0);
+        ranking.add(Map.of(2L, 4L), 0);
+
+        assertThat(ranking.top(10)).containsExactly(
+                new PopularityRanking.Entry(2L, 7.0),
+                new PopularityRanking.Entry(1L, 5.0));
+        assertThat(ranking.top(1)).extracting(PopularityRanking.Entry::isbn).containsExactly(2L);
+    }
+
+    @Test
+    @DisplayName("older views weigh half per half-life, so recent views overtake them")
+    void add_shouldDecayOldViews_whenTimePasses() {
+        PopularityRanking ranking = new PopularityRanking(5, 10, Duration.ofHours(1), 0);
+
+        ranking.add(Map.of(1L, 100L), 0);
+        ranking.add(Map.of(2L, 30L), 2 * HOUR);
+
+        assertThat(ranking.top(5)).containsExactly(
+                new PopularityRanking.Entry(2L, 30.0),
+                new PopularityRanking.Entry(1L, 25.0));
+    }
+
+    @Test
+    @DisplayName("only capacity books are tracked; the lowest scores are dropped")
+    void add_shouldDropLowestScores_whenOverCapacity() {
+        PopularityRanking ranking = new PopularityRanking(1, 2, Duration.ofHours(1), 0);
+
+        ranking.add(Map.of(1L, 3L, 2L, 2L, 3L, 1L), 0);
+        ranking.add(Map.of(3L, 3L), 0);
+
+        // Book 3 was dropped with 1 view, so it comes back with 3 and ties below book 1.
+        assertThat(ranking.top(1)).containsExactly(new PopularityRanking.Entry(1L, 3.0));
+        ranking.add(Map.of(3L, 1L), 0);
+        assertThat(ranking.top(1)).containsExactly(new PopularityRanking.Entry(3L, 4.0));
+    }
+}
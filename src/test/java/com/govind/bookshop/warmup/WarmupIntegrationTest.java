@@ -0,0 +1,50 @@
+package com.govind.bookshop.warmup;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * {@link Warmup} against a real server port: every stage runs, then readiness opens.
+ */
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = {
+        "bookshop.warmup.enabled=true",
+        "bookshop.warmup.iterations=200",
+        "bookshop.warmup.requests=3"
+})
+class WarmupIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private Warmup warmup;
+
+    @Test
+    @DisplayName("GET /actuator/health/readiness → 200 once every stage has run")
+    void readiness_shouldOpen_whenWarmupFinishes() throws Exception {
+        awaitComplete(warmup);
+
+        assertThat(warmup.state()).isEqualTo(Warmup.State.DONE);
+        assertThat(warmup.stages()).containsOnlyKeys("mapping", "queries", "hot-keys", "endpoints");
+        mockMvc.perform(get("/actuator/health/readiness"))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+    }
+
+    static void awaitComplete(Warmup warmup) throws InterruptedException {
+        long deadline = System.nanoTime() + 30_000_000_000L;
+        while (!warmup.isComplete() && System.nanoTime() < deadline) {
+            Thread.sleep(20);
+        }
+    }
+}
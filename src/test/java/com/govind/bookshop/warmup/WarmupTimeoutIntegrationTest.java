@@ -0,0 +1,57 @@
+package com.govind.bookshop.warmup;
+
+import com.govind.bookshop.views.BookViewCounter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.result.MockMvcResultMatchers;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+
+/**
+ * {@link Warmup} that cannot finish: readiness stays closed and views go uncounted until the
+ * timeout, then both open.
+ */
+@ActiveProfiles("test")
+@AutoConfigureMockMvc
+@SpringBootTest(properties = {
+        "bookshop.warmup.enabled=true",
+        "bookshop.warmup.iterations=2000000000",
+        "bookshop.warmup.timeout=5s"
+})
+class WarmupTimeoutIntegrationTest {
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Autowired
+    private Warmup warmup;
+
+    @Autowired
+    private BookViewCounter viewCounter;
+
+    @Test
+    @DisplayName("GET /actuator/health/readiness → 503 while warming up, 200 after the timeout")
+    void readiness_shouldOpen_whenWarmupTimesOut() throws Exception {
+        mockMvc.perform(get("/actuator/health/readiness"))
+                .andExpect(MockMvcResultMatchers.status().isServiceUnavailable());
+        mockMvc.perform(get("/actuator/health/liveness"))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+        viewCounter.record(9780306406157L);
+        assertThat(viewCounter.isPaused()).isTrue();
+        assertThat(viewCounter.pendingBooks()).isZero();
+
+        WarmupIntegrationTest.awaitComplete(warmup);
+
+        assertThat(warmup.state()).isEqualTo(Warmup.State.TIMED_OUT);
+        assertThat(warmup.stages()).doesNotContainKey("mapping");
+        mockMvc.perform(get("/actuator/health/readiness"))
+                .andExpect(MockMvcResultMatchers.status().isOk());
+        assertThat(viewCounter.isPaused()).isFalse();
+    }
+}
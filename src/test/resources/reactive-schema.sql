@@ -0,0 +1,15 @@
+-- Schema for ReactiveApiIntegrationTest (H2 over R2DBC); mirrors the JPA-managed tables.
+DROP TABLE IF EXISTS books;
+DROP TABLE IF EXISTS authors;
+
+CREATE TABLE authors (
+    id   BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY,
+    name VARCHAR(255),
+    age  INTEGER
+);
+
+CREATE TABLE books (
+    isbn      BIGINT PRIMARY KEY,
+    title     VARCHAR(255),
+    author_id BIGINT REFERENCES authors (id)
+);